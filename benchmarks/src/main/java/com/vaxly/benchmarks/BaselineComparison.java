@@ -0,0 +1,115 @@
+package com.vaxly.benchmarks;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.Map;
+
+/**
+ * Compares a JMH JSON result file with a baseline, such as {@code benchmarks/baseline/hot-paths.json}.
+ * <p>
+ * Results are matched by benchmark, mode and parameters. For each, the score and the allocation per operation
+ * ({@code gc.alloc.rate.norm}, present when run with {@code -prof gc}) are printed side by side with the
+ * change. A result regresses when its score is worse by more than the threshold (lower throughput, higher
+ * time), or when it allocates more than the threshold and at least {@value #ALLOCATION_SLACK_BYTES} bytes
+ * more per operation. The exit status is 1 if anything regressed, so the comparison can gate a build.
+ * <pre>
+ * java -cp benchmarks/target/benchmarks.jar com.vaxly.benchmarks.BaselineComparison \
+ *     benchmarks/baseline/hot-paths.json benchmarks/target/hot-paths.json [thresholdPercent]
+ * </pre>
+ * Scores are only comparable between runs on the same machine; see {@code benchmarks/baseline/README.md}.
+ */
+public final class BaselineComparison {
+
+    static final double DEFAULT_THRESHOLD_PERCENT = 10.0;
+    static final double ALLOCATION_SLACK_BYTES = 16.0;
+
+    private static final String ALLOCATION_METRIC = "gc.alloc.rate.norm";
+
+    private BaselineComparison() {}
+
+    public static void main(String[] args) throws IOException {
+        if (args.length < 2) {
+            System.err.println("usage: BaselineComparison <baseline.json> <current.json> [thresholdPercent]");
+            System.exit(2);
+        }
+        double threshold = args.length > 2 ? Double.parseDouble(args[2]) : DEFAULT_THRESHOLD_PERCENT;
+        Map<String, JsonNode> baseline = read(Path.of(args[0]));
+        Map<String, JsonNode> current = read(Path.of(args[1]));
+
+        int regressions = 0;
+        System.out.printf("%-72s %16s %16s %9s %12s %12s%n", "benchmark", "baseline", "current", "change", "B/op before", "B/op after");
+        for (Map.Entry<String, JsonNode> entry : current.entrySet()) {
+            JsonNode before = baseline.get(entry.getKey());
+            JsonNode after = entry.getValue();
+            double afterScore = after.path("primaryMetric").path("score").asDouble();
+            String unit = after.path("primaryMetric").path("scoreUnit").asText();
+            double afterAllocation = allocation(after);
+            if (before == null) {
+                System.out.printf("%-72s %16s %16s %9s %12s %12s%n", entry.getKey(), "-",
+                        format(afterScore, unit), "new", "-", format(afterAllocation));
+                continue;
+            }
+
+            double beforeScore = before.path("primaryMetric").path("score").asDouble();
+            double beforeAllocation = allocation(before);
+            double change = percentChange(beforeScore, afterScore);
+            // Throughput regresses downwards, every time-based mode upwards
+            double worse = "thrpt".equals(after.path("mode").asText()) ? -change : change;
+            boolean slower = worse > threshold;
+            boolean allocatesMore = !Double.isNaN(beforeAllocation) && !Double.isNaN(afterAllocation)
+                    && afterAllocation - beforeAllocation >= ALLOCATION_SLACK_BYTES
+                    && (beforeAllocation == 0 || percentChange(beforeAllocation, afterAllocation) > threshold);
+            if (slower || allocatesMore) {
+                regressions++;
+            }
+            System.out.printf("%-72s %16s %16s %+8.1f%% %12s %12s%s%n", entry.getKey(), format(beforeScore, unit),
+                    format(afterScore, unit), change, format(beforeAllocation), format(afterAllocation),
+                    slower || allocatesMore ? "  REGRESSED" : "");
+        }
+        for (String key : baseline.keySet()) {
+            if (!current.containsKey(key)) {
+                System.out.printf("%-72s missing from the current results%n", key);
+            }
+        }
+
+        System.out.printf("%n%d regression(s) beyond %.1f%%%n", regressions, threshold);
+        System.exit(regressions > 0 ? 1 : 0);
+    }
+
+    /**
+     * @return The results in the file, keyed by benchmark, mode and parameters (e.g., "RedisKeysBenchmark.rateKeyFromPair avgt").
+     */
+    static Map<String, JsonNode> read(Path file) throws IOException {
+        Map<String, JsonNode> results = new LinkedHashMap<>();
+        for (JsonNode result : new ObjectMapper().readTree(file.toFile())) {
+            StringBuilder key = new StringBuilder(result.path("benchmark").asText().replace("com.vaxly.benchmarks.", ""))
+                    .append(' ').append(result.path("mode").asText());
+            for (Map.Entry<String, JsonNode> param : result.path("params").properties()) {
+                key.append(' ').append(param.getKey()).append('=').append(param.getValue().asText());
+            }
+            results.put(key.toString(), result);
+        }
+        return results;
+    }
+
+    private static double allocation(JsonNode result) {
+        JsonNode metric = result.path("secondaryMetrics").path(ALLOCATION_METRIC);
+        return metric.isMissingNode() ? Double.NaN : metric.path("score").asDouble();
+    }
+
+    private static double percentChange(double before, double after) {
+        return before == 0 ? 0 : (after - before) / before * 100;
+    }
+
+    private static String format(double score, String unit) {
+        return String.format("%.3f %s", score, unit);
+    }
+
+    private static String format(double bytes) {
+        return Double.isNaN(bytes) ? "-" : String.format("%.0f", bytes);
+    }
+}
@@ -0,0 +1,139 @@
+package com.vaxly.benchmarks;
+
+import com.vaxly.vaxlyshared.bulk.BulkConverter;
+import com.vaxly.vaxlyshared.bulk.BulkFormat;
+import com.vaxly.vaxlyshared.bulk.PairRateResolver;
+import com.vaxly.vaxlyshared.currency.CurrencyRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStreamReader;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.SplittableRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures bulk conversion of a {@link #ROWS}-row CSV file held in memory, in rows per second.
+ * <p>
+ * {@code chunked} runs {@link BulkConverter}: columnar chunks, one rate lookup per distinct pair, and a vectorised
+ * multiply. {@code rowByRow} is the baseline it replaces, minus the HTTP round trip per row: split each line,
+ * build the pair key, look the rate up in a map and format the result. Both price pairs from the same in-memory
+ * rate table, drawn from {@code currencies} currencies, and write to a null writer, so the numbers exclude
+ * network and disk.
+ * <p>
+ * {@code multiplyKernel} isolates the multiply loop on one {@link #CHUNK}-row chunk; compare with
+ * {@code -jvmArgsAppend -XX:-UseSuperWord} to see the effect of vectorisation.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(value = 1, jvmArgsAppend = "-Xmx2g")
+public class BulkConversionBenchmark {
+
+    static final int ROWS = 2_000_000;
+    static final int CHUNK = 4096;
+
+    @Param({"20", "150"})
+    public int currencies;
+
+    private byte[] csv;
+    private double[] rateByPair;
+    private Map<String, Double> rateByKey;
+    private BulkConverter converter;
+    private PairRateResolver resolver;
+
+    private double[] amounts;
+    private double[] rates;
+    private double[] results;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        SplittableRandom random = new SplittableRandom(42);
+        rateByPair = new double[CurrencyRegistry.PAIR_COUNT];
+        rateByKey = new HashMap<>();
+        for (int base = 0; base < currencies; base++) {
+            for (int quote = 0; quote < currencies; quote++) {
+                double rate = 0.01 + random.nextDouble() * 100;
+                int pairId = CurrencyRegistry.pairId(base, quote);
+                rateByPair[pairId] = rate;
+                rateByKey.put(CurrencyRegistry.pairKey(pairId), rate);
+            }
+        }
+
+        StringBuilder text = new StringBuilder(ROWS * 20).append("from,to,amount\n");
+        for (int i = 0; i < ROWS; i++) {
+            text.append(CurrencyRegistry.code(random.nextInt(currencies))).append(',')
+                    .append(CurrencyRegistry.code(random.nextInt(currencies))).append(',')
+                    .append(Math.round(random.nextDouble() * 1_000_000) / 100.0).append('\n');
+        }
+        csv = text.toString().getBytes(StandardCharsets.UTF_8);
+        System.out.printf("%ninput: %d rows, %d MB%n", ROWS, csv.length / (1024 * 1024));
+
+        converter = new BulkConverter(CHUNK);
+        resolver = (pairIds, count, resolvedRates, states) -> {
+            for (int i = 0; i < count; i++) {
+                resolvedRates[i] = rateByPair[pairIds[i]];
+                states[i] = "CACHED";
+            }
+        };
+
+        amounts = random.doubles(CHUNK).toArray();
+        rates = random.doubles(CHUNK).toArray();
+        results = new double[CHUNK];
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long chunked() throws IOException {
+        return converter.convert(reader(), Writer.nullWriter(), BulkFormat.CSV, resolver);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(ROWS)
+    public long rowByRow() throws IOException {
+        BufferedReader reader = reader();
+        Writer output = Writer.nullWriter();
+        reader.readLine();
+        long rows = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            String[] fields = line.split(",");
+            String pair = fields[0].toUpperCase() + "_" + fields[1].toUpperCase();
+            double amount = Double.parseDouble(fields[2]);
+            Double rate = rateByKey.get(pair);
+            output.write(fields[0] + "," + fields[1] + "," + amount + "," + rate + "," + (amount * rate) + ",CACHED\n");
+            rows++;
+        }
+        return rows;
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(CHUNK)
+    public double[] multiplyKernel() {
+        BulkConverter.multiply(amounts, rates, results, CHUNK);
+        return results;
+    }
+
+    private BufferedReader reader() {
+        return new BufferedReader(new InputStreamReader(new ByteArrayInputStream(csv), StandardCharsets.UTF_8), 64 * 1024);
+    }
+}
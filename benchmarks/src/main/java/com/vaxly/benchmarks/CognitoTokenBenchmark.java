@@ -0,0 +1,77 @@
+package com.vaxly.benchmarks;
+
+import com.vaxly.vaxlyshared.aws.AwsCognitoTokenProvider;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+import reactor.core.publisher.Mono;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link AwsCognitoTokenProvider#getAccessToken()}, called before every history-service request.
+ * <p>
+ * {@code cachedToken} is the steady state: a token is held and returned as is. {@code cachedTokenAsync} is
+ * the same for the reactive pipeline, and {@code cachedTokenContended} has four threads reading one provider
+ * to show that the read path takes no lock. {@code fetchToken} is the first call on a fresh provider, which
+ * requests a token from {@link StubCognito} and parses the response; it is reported in microseconds.
+ * <p>
+ * Throughput and average time are reported; run with {@code -prof gc} for allocation per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CognitoTokenBenchmark {
+
+    private StubCognito cognito;
+    private AwsCognitoTokenProvider provider;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        cognito = new StubCognito();
+        provider = cognito.newProvider();
+        if (!StubCognito.ACCESS_TOKEN.equals(provider.getAccessToken())) {
+            throw new IllegalStateException("Stub token endpoint returned an unexpected token");
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        cognito.close();
+    }
+
+    @Benchmark
+    public String cachedToken() {
+        return provider.getAccessToken();
+    }
+
+    @Benchmark
+    public Mono<String> cachedTokenAsync() {
+        return provider.getAccessTokenAsync();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public String cachedTokenContended() {
+        return provider.getAccessToken();
+    }
+
+    @Benchmark
+    @OutputTimeUnit(TimeUnit.MICROSECONDS)
+    public String fetchToken() {
+        return cognito.newProvider().getAccessToken();
+    }
+}
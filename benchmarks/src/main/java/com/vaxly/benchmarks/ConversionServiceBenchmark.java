@@ -0,0 +1,172 @@
+package com.vaxly.benchmarks;
+
+import com.vaxly.conversionservice.config.CrossRateProperties;
+import com.vaxly.conversionservice.config.FreshnessProperties;
+import com.vaxly.conversionservice.config.LocalCacheProperties;
+import com.vaxly.conversionservice.config.NegativeCacheProperties;
+import com.vaxly.conversionservice.config.RefreshProperties;
+import com.vaxly.conversionservice.config.UsageProperties;
+import com.vaxly.conversionservice.dtos.ConversionResponseDto;
+import com.vaxly.conversionservice.enums.StateFlag;
+import com.vaxly.conversionservice.service.ConversionMetrics;
+import com.vaxly.conversionservice.service.ConversionService;
+import com.vaxly.conversionservice.service.CrossRateEngine;
+import com.vaxly.conversionservice.service.LocalRateCache;
+import com.vaxly.conversionservice.service.RateMatrix;
+import com.vaxly.conversionservice.service.RefreshRequestPublisher;
+import com.vaxly.conversionservice.service.RequestCoalescer;
+import com.vaxly.conversionservice.service.StaleRateRevalidator;
+import com.vaxly.conversionservice.service.UnknownPairCache;
+import com.vaxly.conversionservice.service.UsageCounterService;
+import com.vaxly.vaxlyshared.config.RedisConfig;
+import com.vaxly.vaxlyshared.constants.RedisKeys;
+import com.vaxly.vaxlyshared.dtos.RateInfoDto;
+import com.vaxly.vaxlyshared.serialization.RateInfoRedisSerializer;
+import com.vaxly.vaxlyshared.service.RateUpdatePublisher;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link ConversionService#convert} through each tier, with the service wired as in production from
+ * its real collaborators and default settings.
+ * <p>
+ * Redis is {@link InMemoryRedis} behind the template {@link RedisConfig} builds, so the rate serializer runs on
+ * every Redis read. History-service is an in-memory exchange function returning a canned rate; the
+ * resilience and load-balancing filters of the deployed client are not installed. Cognito is
+ * {@link StubCognito}, called once: the token is cached for the whole run. Metrics go to a Prometheus
+ * registry with percentile histograms.
+ * <ul>
+ *     <li>{@code localHit}: the pair is in the local cache.</li>
+ *     <li>{@code redisHit}: the pair's local entry is invalidated first, so it is read from Redis.</li>
+ *     <li>{@code derived}: the pair is cached nowhere but its legs through USD are.</li>
+ *     <li>{@code historyFallback}: no route is cached, so the rate comes from history-service.</li>
+ * </ul>
+ * Throughput and sampled latency (with percentiles) are reported for each; run with {@code -prof gc} for
+ * allocation per conversion. Logging below WARN is off (see {@code logback.xml}), so log formatting and
+ * console output are not measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.SampleTime})
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ConversionServiceBenchmark {
+
+    private static final String HISTORY_BODY = "{\"currencyPair\":\"AUD_NZD\",\"rate\":1.0921,\"source\":\"openexchangerates\"}";
+
+    private StubCognito cognito;
+    private LocalRateCache localRateCache;
+    private ConversionService conversionService;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        InMemoryRedis redis = new InMemoryRedis();
+        cognito = new StubCognito();
+        PrometheusMeterRegistry meterRegistry = new PrometheusMeterRegistry(PrometheusConfig.DEFAULT);
+
+        // Rates are stored in binary, as when the baseline was recorded, rather than the configured default
+        RedisTemplate<String, RateInfoDto> rateTemplate = new RedisConfig(RateInfoRedisSerializer.Format.BINARY).rateRedisTemplate(redis);
+        StringRedisTemplate stringTemplate = new StringRedisTemplate(redis);
+
+        CrossRateProperties crossRateProperties = new CrossRateProperties();
+        FreshnessProperties freshnessProperties = new FreshnessProperties();
+        RateMatrix rateMatrix = new RateMatrix(crossRateProperties, freshnessProperties);
+        localRateCache = new LocalRateCache(new LocalCacheProperties(), rateMatrix, meterRegistry);
+
+        WebClient historyClient = WebClient.builder()
+                .baseUrl("http://history-service/api/v1/historical/")
+                .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.OK)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
+                        .body(HISTORY_BODY)
+                        .build()))
+                .build();
+
+        // Refresh requests are only sent for UNAVAILABLE pairs, which no benchmark produces
+        RefreshRequestPublisher refreshRequestPublisher = new RefreshRequestPublisher(stringTemplate, null,
+                new RefreshProperties(), false, meterRegistry);
+
+        conversionService = new ConversionService(
+                rateTemplate,
+                historyClient,
+                cognito.newProvider(),
+                refreshRequestPublisher,
+                new UsageCounterService(stringTemplate, new UsageProperties(), meterRegistry),
+                localRateCache,
+                new RequestCoalescer(Duration.ofSeconds(5), meterRegistry),
+                new CrossRateEngine(crossRateProperties),
+                new StaleRateRevalidator(freshnessProperties, false, meterRegistry),
+                new UnknownPairCache(stringTemplate, new NegativeCacheProperties(), meterRegistry),
+                rateMatrix,
+                new ConversionMetrics(meterRegistry),
+                new RateUpdatePublisher(stringTemplate));
+
+        Instant now = Instant.now();
+        localRateCache.put("USD_EUR", new RateInfoDto("openexchangerates", now, 0.9214, "USD_EUR"));
+        rateTemplate.opsForValue().set(RedisKeys.rateKey("GBP_JPY"), new RateInfoDto("openexchangerates", now, 191.37, "GBP_JPY"));
+        rateTemplate.opsForValue().set(RedisKeys.rateKey("USD_CAD"), new RateInfoDto("openexchangerates", now, 1.3712, "USD_CAD"));
+        rateTemplate.opsForValue().set(RedisKeys.rateKey("USD_CHF"), new RateInfoDto("openexchangerates", now, 0.8841, "USD_CHF"));
+
+        expect(localHit(), StateFlag.CACHED);
+        expect(redisHit(), StateFlag.CACHED);
+        expect(derived(), StateFlag.DERIVED);
+        expect(historyFallback(), StateFlag.FALLBACK_DB);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        cognito.close();
+    }
+
+    @Benchmark
+    public ConversionResponseDto localHit() {
+        return conversionService.convert("USD", "EUR", 250.0);
+    }
+
+    @Benchmark
+    public ConversionResponseDto redisHit() {
+        localRateCache.invalidate("GBP_JPY");
+        return conversionService.convert("GBP", "JPY", 250.0);
+    }
+
+    @Benchmark
+    public ConversionResponseDto derived() {
+        return conversionService.convert("CAD", "CHF", 250.0);
+    }
+
+    @Benchmark
+    public ConversionResponseDto historyFallback() {
+        return conversionService.convert("AUD", "NZD", 250.0);
+    }
+
+    private static void expect(ConversionResponseDto response, StateFlag stateFlag) {
+        if (response.getStateFlag() != stateFlag) {
+            throw new IllegalStateException("Expected " + stateFlag + " but was " + response.getStateFlag()
+                    + " for " + response.getFrom() + "_" + response.getTo());
+        }
+    }
+}
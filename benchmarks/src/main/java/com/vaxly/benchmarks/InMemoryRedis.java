@@ -0,0 +1,135 @@
+package com.vaxly.benchmarks;
+
+import org.springframework.dao.DataAccessException;
+import org.springframework.data.redis.connection.RedisClusterConnection;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.connection.RedisSentinelConnection;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.types.Expiration;
+
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory stand-in for Redis, so benchmarks measure the code around a Redis call rather than the network.
+ * <p>
+ * Serves the string and key commands the conversion hot path issues ({@code GET}, {@code MGET}, {@code SET},
+ * {@code SET NX}, {@code EXISTS}, {@code DEL}) from a map of raw bytes, behind the real {@code RedisTemplate},
+ * so key and value serializers still run on every call. Expirations are accepted and ignored. Any other
+ * command fails with {@link UnsupportedOperationException} rather than silently measuring nothing.
+ */
+final class InMemoryRedis implements RedisConnectionFactory {
+
+    private final Map<ByteBuffer, byte[]> values = new ConcurrentHashMap<>();
+    private final RedisConnection connection = (RedisConnection) Proxy.newProxyInstance(
+            InMemoryRedis.class.getClassLoader(), new Class<?>[]{RedisConnection.class}, new Commands());
+
+    @Override
+    public RedisConnection getConnection() {
+        return connection;
+    }
+
+    @Override
+    public RedisClusterConnection getClusterConnection() {
+        throw new UnsupportedOperationException("cluster connection");
+    }
+
+    @Override
+    public boolean getConvertPipelineAndTxResults() {
+        return true;
+    }
+
+    @Override
+    public RedisSentinelConnection getSentinelConnection() {
+        throw new UnsupportedOperationException("sentinel connection");
+    }
+
+    @Override
+    public DataAccessException translateExceptionIfPossible(RuntimeException ex) {
+        return null;
+    }
+
+    /**
+     * Drops every stored value.
+     */
+    void clear() {
+        values.clear();
+    }
+
+    private final class Commands implements InvocationHandler {
+
+        @Override
+        public Object invoke(Object proxy, Method method, Object[] args) {
+            return switch (method.getName()) {
+                // The connection serves its own command groups
+                case "stringCommands", "keyCommands" -> proxy;
+                case "close", "openPipeline" -> null;
+                case "isClosed", "isPipelined", "isQueueing" -> false;
+                case "closePipeline" -> List.of();
+                case "getNativeConnection" -> values;
+                case "get" -> values.get(ByteBuffer.wrap((byte[]) args[0]));
+                case "mGet" -> mGet((byte[][]) args[0]);
+                case "set" -> set(args);
+                case "setNX" -> values.putIfAbsent(ByteBuffer.wrap((byte[]) args[0]), (byte[]) args[1]) == null;
+                case "exists" -> exists(args[0]);
+                case "del" -> del((byte[][]) args[0]);
+                case "hashCode" -> System.identityHashCode(proxy);
+                case "equals" -> proxy == args[0];
+                case "toString" -> "InMemoryRedis";
+                default -> throw new UnsupportedOperationException(method.getName());
+            };
+        }
+
+        private List<byte[]> mGet(byte[][] keys) {
+            List<byte[]> result = new ArrayList<>(keys.length);
+            for (byte[] key : keys) {
+                result.add(values.get(ByteBuffer.wrap(key)));
+            }
+            return result;
+        }
+
+        private Boolean set(Object[] args) {
+            ByteBuffer key = ByteBuffer.wrap((byte[]) args[0]);
+            byte[] value = (byte[]) args[1];
+            // SET key value [EX ttl] [NX|XX]; the TTL is ignored
+            if (args.length == 4 && args[2] instanceof Expiration && args[3] instanceof RedisStringCommands.SetOption option) {
+                return switch (option) {
+                    case SET_IF_ABSENT -> values.putIfAbsent(key, value) == null;
+                    case SET_IF_PRESENT -> values.computeIfPresent(key, (k, v) -> value) != null;
+                    default -> {
+                        values.put(key, value);
+                        yield true;
+                    }
+                };
+            }
+            values.put(key, value);
+            return true;
+        }
+
+        private Object exists(Object keys) {
+            if (keys instanceof byte[] key) {
+                return values.containsKey(ByteBuffer.wrap(key));
+            }
+            long count = 0;
+            for (byte[] key : (byte[][]) keys) {
+                count += values.containsKey(ByteBuffer.wrap(key)) ? 1 : 0;
+            }
+            return count;
+        }
+
+        private Long del(byte[][] keys) {
+            long count = 0;
+            for (byte[] key : keys) {
+                count += values.remove(ByteBuffer.wrap(key)) != null ? 1 : 0;
+            }
+            return count;
+        }
+    }
+}
@@ -0,0 +1,89 @@
+package com.vaxly.benchmarks;
+
+import com.vaxly.conversionservice.dtos.ConversionResponseDto;
+import com.vaxly.conversionservice.enums.StateFlag;
+import com.vaxly.conversionservice.service.ConversionMetrics;
+import io.micrometer.prometheusmetrics.PrometheusConfig;
+import io.micrometer.prometheusmetrics.PrometheusMeterRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the metrics {@link com.vaxly.conversionservice.service.ConversionService#convert} records per request,
+ * against a Prometheus registry with percentile histograms, as deployed.
+ * <p>
+ * {@code localHit} records what a local-cache hit records: one tier timer, the request timer, the rate age and the
+ * hit-ratio window, with the clock reads around them. {@code redisHit} adds the Redis tier. {@code baseline} reads
+ * the clock only. The {@code *Contended} variants run on four threads sharing one registry. Compare the
+ * difference with the latency of a local-cache hit, a few microseconds end to end.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class MetricsOverheadBenchmark {
+
+    private ConversionMetrics metrics;
+    private ConversionResponseDto response;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        metrics = new ConversionMetrics(new PrometheusMeterRegistry(PrometheusConfig.DEFAULT));
+        response = new ConversionResponseDto("USD", "EUR", 0.92, 92.0, "openexchangerates",
+                Instant.now().minusSeconds(40), StateFlag.CACHED);
+    }
+
+    @Benchmark
+    public long baseline() {
+        long start = System.nanoTime();
+        long tierStart = System.nanoTime();
+        return System.nanoTime() - tierStart + System.nanoTime() - start;
+    }
+
+    @Benchmark
+    public ConversionResponseDto localHit() {
+        long start = System.nanoTime();
+        long tierStart = System.nanoTime();
+        metrics.recordTier(ConversionMetrics.Tier.LOCAL_CACHE, ConversionMetrics.Outcome.HIT, System.nanoTime() - tierStart);
+        metrics.recordRequest(response, System.nanoTime() - start);
+        return response;
+    }
+
+    @Benchmark
+    public ConversionResponseDto redisHit() {
+        long start = System.nanoTime();
+        long tierStart = System.nanoTime();
+        metrics.recordTier(ConversionMetrics.Tier.LOCAL_CACHE, ConversionMetrics.Outcome.MISS, System.nanoTime() - tierStart);
+        tierStart = System.nanoTime();
+        metrics.recordTier(ConversionMetrics.Tier.REDIS, ConversionMetrics.Outcome.HIT, System.nanoTime() - tierStart);
+        metrics.recordRequest(response, System.nanoTime() - start);
+        return response;
+    }
+
+    @Benchmark
+    @Threads(4)
+    public long baselineContended() {
+        return baseline();
+    }
+
+    @Benchmark
+    @Threads(4)
+    public ConversionResponseDto localHitContended() {
+        return localHit();
+    }
+}
@@ -0,0 +1,100 @@
+package com.vaxly.benchmarks;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import com.fasterxml.jackson.annotation.JsonProperty;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.fasterxml.jackson.datatype.jsr310.JavaTimeModule;
+import com.vaxly.vaxlyshared.dtos.RateInfoDto;
+import com.vaxly.vaxlyshared.serialization.RateInfoRedisSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares the cost of encoding and decoding a cached {@link RateInfoDto} as JSON, the way rates were stored
+ * before, against the binary format of {@link RateInfoRedisSerializer}.
+ * <p>
+ * The JSON baseline uses {@link Jackson2JsonRedisSerializer} with an {@link ObjectMapper} that can actually
+ * round-trip the DTO (JSR-310 module, ISO timestamps, a creator mix-in). {@code legacyJsonDecode} measures the
+ * binary serializer's fallback path for JSON values still in Redis during a rollout.
+ * <p>
+ * Bytes per value for each format are printed once at setup. Run with {@code -prof gc} to see allocation per
+ * operation ({@code gc.alloc.rate.norm}).
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RateCodecBenchmark {
+
+    private Jackson2JsonRedisSerializer<RateInfoDto> jsonSerializer;
+    private RateInfoRedisSerializer binarySerializer;
+
+    private RateInfoDto rate;
+    private byte[] json;
+    private byte[] binary;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        ObjectMapper mapper = new ObjectMapper()
+                .registerModule(new JavaTimeModule())
+                .disable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .addMixIn(RateInfoDto.class, RateInfoDtoMixIn.class);
+        jsonSerializer = new Jackson2JsonRedisSerializer<>(mapper, RateInfoDto.class);
+        binarySerializer = new RateInfoRedisSerializer(RateInfoRedisSerializer.Format.BINARY);
+
+        rate = new RateInfoDto("exchangerate-api", Instant.parse("2025-10-01T12:30:45.123Z"), 0.9214, "USD_EUR");
+        json = jsonSerializer.serialize(rate);
+        binary = binarySerializer.serialize(rate);
+        System.out.printf("%nbytes per value: json=%d binary=%d%n", json.length, binary.length);
+    }
+
+    @Benchmark
+    public byte[] jsonEncode() {
+        return jsonSerializer.serialize(rate);
+    }
+
+    @Benchmark
+    public RateInfoDto jsonDecode() {
+        return jsonSerializer.deserialize(json);
+    }
+
+    @Benchmark
+    public byte[] binaryEncode() {
+        return binarySerializer.serialize(rate);
+    }
+
+    @Benchmark
+    public RateInfoDto binaryDecode() {
+        return binarySerializer.deserialize(binary);
+    }
+
+    @Benchmark
+    public RateInfoDto legacyJsonDecode() {
+        return binarySerializer.deserialize(json);
+    }
+
+    abstract static class RateInfoDtoMixIn {
+        @JsonCreator
+        RateInfoDtoMixIn(@JsonProperty("source") String source,
+                         @JsonProperty("timestamp") Instant timestamp,
+                         @JsonProperty("rate") double rate,
+                         @JsonProperty("currencyPair") String currencyPair) {
+        }
+    }
+}
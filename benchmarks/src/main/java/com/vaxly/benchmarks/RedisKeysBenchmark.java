@@ -0,0 +1,101 @@
+package com.vaxly.benchmarks;
+
+import com.vaxly.vaxlyshared.constants.RedisKeys;
+import com.vaxly.vaxlyshared.currency.CurrencyRegistry;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the {@link RedisKeys} builders called on every conversion and refresh.
+ * <p>
+ * {@code rateKeyFromPair}, {@code rateKeyFromCodes} and {@code rateKeyFromPairId} return the cached key of a
+ * supported pair, from a canonical pair string, from lower-case codes as a client may send them, and from a
+ * {@link CurrencyRegistry} pair id. {@code rateKeyUnsupportedPair} is the fallback for pairs outside the
+ * registry, which builds the key on every call. {@code normalizePair}, {@code inflightKey} and
+ * {@code rateChannel} cover the other per-pair keys; {@code usageWindowKeys} the keys read for each ranking.
+ * <p>
+ * Inputs are read from fields so they are not constant-folded. Throughput and average time are reported;
+ * run with {@code -prof gc} for allocation per call, which should be zero for supported pairs.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RedisKeysBenchmark {
+
+    private String pair;
+    private String base;
+    private String quote;
+    private int pairId;
+    private String unsupportedPair;
+    private long epochMillis;
+    private Duration window;
+    private Duration bucket;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        pair = "USD_EUR";
+        base = "usd";
+        quote = "eur";
+        pairId = CurrencyRegistry.pairId(pair);
+        unsupportedPair = "usd_abc";
+        epochMillis = 1_760_000_000_000L;
+        window = Duration.ofMinutes(15);
+        bucket = Duration.ofMinutes(1);
+    }
+
+    @Benchmark
+    public String rateKeyFromPair() {
+        return RedisKeys.rateKey(pair);
+    }
+
+    @Benchmark
+    public String rateKeyFromCodes() {
+        return RedisKeys.rateKey(base, quote);
+    }
+
+    @Benchmark
+    public String rateKeyFromPairId() {
+        return RedisKeys.rateKey(pairId);
+    }
+
+    @Benchmark
+    public String rateKeyUnsupportedPair() {
+        return RedisKeys.rateKey(unsupportedPair);
+    }
+
+    @Benchmark
+    public String normalizePair() {
+        return RedisKeys.normalizePair(base, quote);
+    }
+
+    @Benchmark
+    public String inflightKey() {
+        return RedisKeys.inflightKey(base, quote);
+    }
+
+    @Benchmark
+    public String rateChannel() {
+        return RedisKeys.rateChannel(pair);
+    }
+
+    @Benchmark
+    public List<String> usageWindowKeys() {
+        return RedisKeys.usageWindowKeys(epochMillis, window, bucket);
+    }
+}
@@ -0,0 +1,114 @@
+package com.vaxly.benchmarks;
+
+import com.vaxly.vaxlyshared.config.RedisConfig;
+import com.vaxly.vaxlyshared.dtos.RateInfoDto;
+import com.vaxly.vaxlyshared.serialization.RateInfoRedisSerializer;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.lang.reflect.Proxy;
+import java.nio.ByteBuffer;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the serializers {@link RedisConfig} installs, used as the templates use them.
+ * <p>
+ * {@code keyEncode}, {@code valueEncode} and {@code valueDecode} call the blocking template's key and value
+ * serializers directly. {@code reactiveValueEncode} and {@code reactiveValueDecode} go through the reactive
+ * template's serialization context, which adds the {@link ByteBuffer} conversion. {@code templateSet} and
+ * {@code templateGet} are a full {@code SET}/{@code GET} through the blocking template against
+ * {@link InMemoryRedis}: both serializers plus the template's connection handling, without the network.
+ * {@link RateCodecBenchmark} compares the value format itself with the JSON it replaced.
+ * <p>
+ * Throughput and average time are reported; run with {@code -prof gc} for allocation per call.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RedisSerializerBenchmark {
+
+    private RedisTemplate<String, RateInfoDto> template;
+    private RedisSerializer<String> keySerializer;
+    private RedisSerializer<RateInfoDto> valueSerializer;
+    private RedisSerializationContext.SerializationPair<RateInfoDto> reactiveValuePair;
+
+    private String key;
+    private RateInfoDto rate;
+    private byte[] encoded;
+    private ByteBuffer reactiveEncoded;
+
+    @Setup(Level.Trial)
+    @SuppressWarnings("unchecked")
+    public void setUp() {
+        // Pinned rather than left to the configured default, so the numbers stay comparable with the baseline
+        RedisConfig config = new RedisConfig(RateInfoRedisSerializer.Format.BINARY);
+        template = config.rateRedisTemplate(new InMemoryRedis());
+        keySerializer = (RedisSerializer<String>) template.getKeySerializer();
+        valueSerializer = (RedisSerializer<RateInfoDto>) template.getValueSerializer();
+
+        // Only the serialization context is used, so the reactive template never needs a connection
+        ReactiveRedisConnectionFactory noConnections = (ReactiveRedisConnectionFactory) Proxy.newProxyInstance(
+                getClass().getClassLoader(), new Class<?>[]{ReactiveRedisConnectionFactory.class}, (proxy, method, args) -> {
+                    throw new UnsupportedOperationException(method.getName());
+                });
+        reactiveValuePair = config.reactiveRateRedisTemplate(noConnections).getSerializationContext().getValueSerializationPair();
+
+        key = "USD_EUR";
+        rate = new RateInfoDto("exchangerate-api", Instant.parse("2025-10-01T12:30:45.123Z"), 0.9214, key);
+        encoded = valueSerializer.serialize(rate);
+        reactiveEncoded = reactiveValuePair.write(rate);
+        template.opsForValue().set(key, rate);
+    }
+
+    @Benchmark
+    public byte[] keyEncode() {
+        return keySerializer.serialize(key);
+    }
+
+    @Benchmark
+    public byte[] valueEncode() {
+        return valueSerializer.serialize(rate);
+    }
+
+    @Benchmark
+    public RateInfoDto valueDecode() {
+        return valueSerializer.deserialize(encoded);
+    }
+
+    @Benchmark
+    public ByteBuffer reactiveValueEncode() {
+        return reactiveValuePair.write(rate);
+    }
+
+    @Benchmark
+    public RateInfoDto reactiveValueDecode() {
+        return reactiveValuePair.read(reactiveEncoded.duplicate());
+    }
+
+    @Benchmark
+    public void templateSet() {
+        template.opsForValue().set(key, rate);
+    }
+
+    @Benchmark
+    public RateInfoDto templateGet() {
+        return template.opsForValue().get(key);
+    }
+}
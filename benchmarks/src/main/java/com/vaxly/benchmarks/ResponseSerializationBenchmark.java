@@ -0,0 +1,142 @@
+package com.vaxly.benchmarks;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.vaxly.conversionservice.dtos.ConversionResponseDto;
+import com.vaxly.conversionservice.enums.StateFlag;
+import com.vaxly.conversionservice.exceptions.GlobalExceptionHandler.ErrorResponse;
+import com.vaxly.conversionservice.serialization.ConversionJsonHttpMessageConverter;
+import com.vaxly.conversionservice.serialization.ConversionJsonWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.http.converter.json.MappingJackson2HttpMessageConverter;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.Instant;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Compares writing a conversion result and an error body through Spring's Jackson converter, configured as Spring
+ * Boot configures it, with {@link ConversionJsonHttpMessageConverter}.
+ * <p>
+ * The {@code *Response} and {@code *Error} benchmarks write to a reused in-memory stream through the same
+ * {@link HttpMessageConverter#write} call the dispatcher makes, header handling included. The {@code *Bytes}
+ * benchmarks isolate serialization: {@code ObjectMapper.writeValueAsBytes} against {@link ConversionJsonWriter#toJson}.
+ * Run with {@code -prof gc} to compare bytes allocated per operation ({@code gc.alloc.rate.norm}).
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class ResponseSerializationBenchmark {
+
+    private ObjectMapper objectMapper;
+    private HttpMessageConverter<Object> jackson;
+    private HttpMessageConverter<Object> precompiled;
+
+    private ConversionResponseDto response;
+    private ErrorResponse error;
+    private BufferedMessage message;
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        objectMapper = Jackson2ObjectMapperBuilder.json()
+                .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+                .build();
+        jackson = new MappingJackson2HttpMessageConverter(objectMapper);
+        precompiled = new ConversionJsonHttpMessageConverter();
+
+        response = new ConversionResponseDto("USD", "EUR", 0.9213, 921.3, "openexchangerates",
+                Instant.parse("2025-06-01T12:30:15.250Z"), StateFlag.CACHED);
+        error = new ErrorResponse(Instant.now().toString(), 503,
+                "Failed to retrieve historical rate for currency pair", "0b7a3f5e-2c1d-4e8f-9a6b-5c4d3e2f1a0b");
+        message = new BufferedMessage();
+    }
+
+    @Benchmark
+    public int jacksonResponse() throws IOException {
+        return write(jackson, response);
+    }
+
+    @Benchmark
+    public int precompiledResponse() throws IOException {
+        return write(precompiled, response);
+    }
+
+    @Benchmark
+    public int jacksonError() throws IOException {
+        return write(jackson, error);
+    }
+
+    @Benchmark
+    public int precompiledError() throws IOException {
+        return write(precompiled, error);
+    }
+
+    @Benchmark
+    public byte[] jacksonResponseBytes() throws IOException {
+        return objectMapper.writeValueAsBytes(response);
+    }
+
+    @Benchmark
+    public byte[] precompiledResponseBytes() {
+        return ConversionJsonWriter.toJson(response);
+    }
+
+    @Benchmark
+    public byte[] jacksonErrorBytes() throws IOException {
+        return objectMapper.writeValueAsBytes(error);
+    }
+
+    @Benchmark
+    public byte[] precompiledErrorBytes() {
+        return ConversionJsonWriter.toJson(error);
+    }
+
+    private int write(HttpMessageConverter<Object> converter, Object body) throws IOException {
+        message.reset();
+        converter.write(body, MediaType.APPLICATION_JSON, message);
+        return message.body.size();
+    }
+
+    /**
+     * In-memory response: the body buffer is reused, headers are fresh per write as they are per request.
+     */
+    private static final class BufferedMessage implements HttpOutputMessage {
+        private final ByteArrayOutputStream body = new ByteArrayOutputStream(512);
+        private HttpHeaders headers = new HttpHeaders();
+
+        void reset() {
+            body.reset();
+            headers = new HttpHeaders();
+        }
+
+        @Override
+        public OutputStream getBody() {
+            return body;
+        }
+
+        @Override
+        public HttpHeaders getHeaders() {
+            return headers;
+        }
+    }
+}
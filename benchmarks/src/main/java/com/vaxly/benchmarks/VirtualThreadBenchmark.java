@@ -0,0 +1,141 @@
+package com.vaxly.benchmarks;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+import reactor.netty.resources.LoopResources;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Compares platform-thread and virtual-thread request handling when every request blocks on a
+ * slow downstream, the way {@code ConversionService} blocks on history-service on a cache miss.
+ * <p>
+ * Each invocation submits {@link #REQUESTS} requests at once. In {@code platform} mode they share a
+ * pool the size of Tomcat's default {@code server.tomcat.threads.max}; in {@code virtual} mode each
+ * request gets its own virtual thread, as with {@code spring.threads.virtual.enabled=true}.
+ * The downstream is a local stub server that answers after {@code downstreamDelayMs}.
+ * <p>
+ * JMH reports throughput in requests per second. Per-request latency, measured from submission so it
+ * includes time spent queued for a thread, is printed as p50/p99 at the end of every iteration.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 5)
+@Measurement(iterations = 5, time = 10)
+@Fork(1)
+public class VirtualThreadBenchmark {
+
+    static final int REQUESTS = 1000;
+    static final int TOMCAT_MAX_THREADS = 200;
+
+    private static final String RATE_BODY = "{\"currencyPair\":\"USD_EUR\",\"rate\":0.92}";
+
+    @Param({"platform", "virtual"})
+    public String mode;
+
+    @Param({"50"})
+    public long downstreamDelayMs;
+
+    private LoopResources downstreamLoops;
+    private DisposableServer downstream;
+    private ExecutorService requestExecutor;
+    private WebClient webClient;
+
+    private final long[] latencies = new long[REQUESTS * 1024];
+    private final AtomicInteger recorded = new AtomicInteger();
+
+    @Setup(Level.Trial)
+    public void setUp() {
+        // Separate event loops so the stub does not compete with the client for Netty threads
+        downstreamLoops = LoopResources.create("stub-downstream", 2, true);
+        downstream = HttpServer.create()
+                .host("127.0.0.1")
+                .port(0)
+                .runOn(downstreamLoops)
+                .route(routes -> routes.get("/api/v1/historical", (request, response) ->
+                        Mono.delay(Duration.ofMillis(downstreamDelayMs))
+                                .then(response.header("Content-Type", "application/json")
+                                        .sendString(Mono.just(RATE_BODY))
+                                        .then())))
+                .bindNow();
+
+        webClient = WebClient.create("http://127.0.0.1:" + downstream.port() + "/api/v1/historical");
+        requestExecutor = "virtual".equals(mode)
+                ? Executors.newVirtualThreadPerTaskExecutor()
+                : Executors.newFixedThreadPool(TOMCAT_MAX_THREADS);
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        requestExecutor.shutdownNow();
+        downstream.disposeNow();
+        downstreamLoops.dispose();
+    }
+
+    @TearDown(Level.Iteration)
+    public void reportLatency() {
+        int count = Math.min(recorded.getAndSet(0), latencies.length);
+        if (count == 0) {
+            return;
+        }
+        long[] sorted = Arrays.copyOf(latencies, count);
+        Arrays.sort(sorted);
+        System.out.printf("%n[%s] requests=%d p50=%.1fms p99=%.1fms%n", mode, count,
+                percentile(sorted, 0.50) / 1e6, percentile(sorted, 0.99) / 1e6);
+    }
+
+    @Benchmark
+    @OperationsPerInvocation(REQUESTS)
+    public void handleRequestsWithSlowDownstream() throws Exception {
+        Future<?>[] inFlight = new Future<?>[REQUESTS];
+        for (int i = 0; i < REQUESTS; i++) {
+            long submittedAt = System.nanoTime();
+            inFlight[i] = requestExecutor.submit(() -> {
+                webClient.get()
+                        .uri(uriBuilder -> uriBuilder.queryParam("currencyPair", "USD_EUR").build())
+                        .retrieve()
+                        .bodyToMono(String.class)
+                        .block();
+                record(System.nanoTime() - submittedAt);
+            });
+        }
+        for (Future<?> request : inFlight) {
+            request.get();
+        }
+    }
+
+    private void record(long nanos) {
+        int slot = recorded.getAndIncrement();
+        if (slot < latencies.length) {
+            latencies[slot] = nanos;
+        }
+    }
+
+    private static long percentile(long[] sorted, double percentile) {
+        int index = (int) Math.ceil(percentile * sorted.length) - 1;
+        return sorted[Math.max(0, index)];
+    }
+}
@@ -0,0 +1,49 @@
+package com.vaxly.conversionservice;
+
+import com.vaxly.conversionservice.exceptions.InvalidConversionRequestException;
+import com.vaxly.conversionservice.service.BulkConversionService;
+import com.vaxly.vaxlyshared.bulk.BulkFormat;
+import jakarta.servlet.http.HttpServletRequest;
+import jakarta.servlet.http.HttpServletResponse;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Bulk conversion of uploaded CSV or NDJSON files. Serves both the blocking and the reactive deployment.
+ * <p>
+ * The response is written to the servlet output stream while the upload is still being read, one chunk at a time,
+ * so memory use does not grow with the file and the request is not subject to the async request timeout.
+ */
+@RestController
+@RequestMapping("api/v1/convert")
+public class BulkConversionController {
+    private final BulkConversionService bulkConversionService;
+    private static final Logger logger = LoggerFactory.getLogger(BulkConversionController.class);
+
+    public BulkConversionController(BulkConversionService bulkConversionService) {
+        this.bulkConversionService = bulkConversionService;
+    }
+
+    /**
+     * Converts every {@code from,to,amount} row of the request body and streams one result row back per input row.
+     * Always returns 200 once streaming has started; rows that cannot be priced carry their state flag.
+     */
+    @PostMapping(value = "/bulk", consumes = {"text/csv", "application/x-ndjson"})
+    public void convertBulk(HttpServletRequest request, HttpServletResponse response) throws IOException {
+        BulkFormat format = BulkFormat.fromContentType(request.getContentType());
+        if (format == null) {
+            throw new InvalidConversionRequestException("Bulk uploads must be text/csv or application/x-ndjson");
+        }
+        logger.info("Received bulk {} upload", format);
+
+        response.setContentType(format.getMediaType());
+        response.setCharacterEncoding(StandardCharsets.UTF_8.name());
+        bulkConversionService.convert(request.getInputStream(), response.getOutputStream(), format);
+    }
+}
@@ -1,10 +1,15 @@
 package com.vaxly.conversionservice;
 
+import com.vaxly.conversionservice.config.HttpCacheProperties;
 import com.vaxly.conversionservice.enums.StateFlag;
+import com.vaxly.conversionservice.exceptions.InvalidConversionRequestException;
 import com.vaxly.conversionservice.service.ConversionService;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
@@ -12,18 +17,32 @@ import org.springframework.web.bind.annotation.RestController;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import com.vaxly.conversionservice.dtos.BatchConversionRequestDto;
+import com.vaxly.conversionservice.dtos.BatchConversionResponseDto;
+import com.vaxly.conversionservice.dtos.ConversionRequestDto;
 import com.vaxly.conversionservice.dtos.ConversionResponseDto;
+import com.vaxly.conversionservice.dtos.ConvertAllResponseDto;
+
+import java.util.List;
 
 @RestController
 @RequestMapping("api/v1/convert")
+@ConditionalOnProperty(name = "conversion.reactive.enabled", havingValue = "false", matchIfMissing = true)
 public class ConversionController {
+    static final int MAX_BATCH_SIZE = 500;
+
     private final ConversionService conversionService;
+    private final HttpCacheProperties httpCacheProperties;
     private static final Logger logger = LoggerFactory.getLogger(ConversionController.class);
 
-    public ConversionController(ConversionService conversionService) {
+    public ConversionController(ConversionService conversionService, HttpCacheProperties httpCacheProperties) {
         this.conversionService = conversionService;
+        this.httpCacheProperties = httpCacheProperties;
     }
 
+    /**
+     * Converts an amount. Successful responses carry an ETag, so a conditional GET for an unchanged rate gets 304.
+     */
     @GetMapping
     public ResponseEntity<ConversionResponseDto> convert(@RequestParam String from, @RequestParam String to, @RequestParam double amount) {
         logger.info("Received request to convert {} {} to {}", amount, from, to);
@@ -35,6 +54,45 @@ public class ConversionController {
         }
 
         logger.info("Successfully converted {} {} to {}. Converted amount: {}", amount, from, to, response.getConvertedAmount());
-        return ResponseEntity.ok(response);
+        return RateValidators.ok(response, List.of(response), httpCacheProperties.getMaxAge());
+    }
+
+    /**
+     * Converts a basket of amounts in one call.
+     * Always returns 200; items that could not be priced carry {@link StateFlag#UNAVAILABLE}.
+     */
+    @PostMapping("/batch")
+    public ResponseEntity<BatchConversionResponseDto> convertBatch(@RequestBody BatchConversionRequestDto request) {
+        List<ConversionRequestDto> conversions = validateBatch(request);
+        logger.info("Received batch request to convert {} item(s)", conversions.size());
+
+        List<ConversionResponseDto> results = conversionService.convertBatch(conversions);
+
+        logger.info("Completed batch conversion of {} item(s)", results.size());
+        return ResponseEntity.ok(new BatchConversionResponseDto(results));
+    }
+
+    /**
+     * Converts an amount into every supported currency, or into the listed ones, from the in-memory rate matrix.
+     * Always returns 200; listed currencies without a rate carry {@link StateFlag#UNAVAILABLE}.
+     */
+    @GetMapping("/all")
+    public ResponseEntity<ConvertAllResponseDto> convertToAll(@RequestParam String from, @RequestParam double amount,
+                                                              @RequestParam(required = false) List<String> to) {
+        logger.info("Received request to convert {} {} into {} currency(ies)", amount, from, to == null ? "all" : to.size());
+
+        List<ConversionResponseDto> results = conversionService.convertToAll(from, to, amount);
+        return RateValidators.ok(new ConvertAllResponseDto(from.toUpperCase(), amount, results), results, httpCacheProperties.getMaxAge());
+    }
+
+    static List<ConversionRequestDto> validateBatch(BatchConversionRequestDto request) {
+        List<ConversionRequestDto> conversions = request.getConversions();
+        if (conversions == null || conversions.isEmpty()) {
+            throw new InvalidConversionRequestException("Batch must contain at least one conversion");
+        }
+        if (conversions.size() > MAX_BATCH_SIZE) {
+            throw new InvalidConversionRequestException("Batch must not contain more than " + MAX_BATCH_SIZE + " conversions");
+        }
+        return conversions;
     }
 }
@@ -3,11 +3,14 @@ package com.vaxly.conversionservice;
 import org.springframework.boot.SpringApplication;
 import org.springframework.boot.autoconfigure.SpringBootApplication;
 import org.springframework.context.annotation.Import;
+import org.springframework.scheduling.annotation.EnableScheduling;
 
 @SpringBootApplication(scanBasePackages = {
         "com.vaxly.conversionservice",
         "com.vaxly.vaxlyshared"
-})public class ConversionServiceApplication {
+})
+@EnableScheduling
+public class ConversionServiceApplication {
 
 	public static void main(String[] args) {
 		SpringApplication.run(ConversionServiceApplication.class, args);
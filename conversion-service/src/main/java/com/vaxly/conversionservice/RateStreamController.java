@@ -0,0 +1,68 @@
+package com.vaxly.conversionservice;
+
+import com.vaxly.conversionservice.config.StreamProperties;
+import com.vaxly.conversionservice.exceptions.InvalidConversionRequestException;
+import com.vaxly.conversionservice.service.RateStreamHub;
+import com.vaxly.vaxlyshared.currency.CurrencyRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Server-sent-event stream of rate changes, for clients that would otherwise poll {@code api/v1/convert}.
+ * Serves both the blocking and the reactive deployment.
+ */
+@RestController
+@RequestMapping("api/v1/convert")
+public class RateStreamController {
+    private final RateStreamHub rateStreamHub;
+    private final StreamProperties streamProperties;
+    private static final Logger logger = LoggerFactory.getLogger(RateStreamController.class);
+
+    public RateStreamController(RateStreamHub rateStreamHub, StreamProperties streamProperties) {
+        this.rateStreamHub = rateStreamHub;
+        this.streamProperties = streamProperties;
+    }
+
+    /**
+     * Opens a stream of {@code rate} events for the given pairs (e.g., {@code pairs=USD_EUR,GBP_JPY}).
+     * Each pair's current rate is sent first when this instance has one; after that an event is sent only when
+     * the pair's rate changes.
+     */
+    @GetMapping(value = "/stream", produces = MediaType.TEXT_EVENT_STREAM_VALUE)
+    public SseEmitter stream(@RequestParam List<String> pairs) {
+        Set<String> currencyPairs = validatePairs(pairs);
+        logger.info("Opening rate stream for {}", currencyPairs);
+
+        SseEmitter emitter = new SseEmitter(streamProperties.getTimeout().toMillis());
+        rateStreamHub.subscribe(emitter, currencyPairs);
+        return emitter;
+    }
+
+    private Set<String> validatePairs(List<String> pairs) {
+        Set<String> currencyPairs = new LinkedHashSet<>();
+        for (String pair : pairs) {
+            int pairId = CurrencyRegistry.pairId(pair.trim());
+            if (pairId == CurrencyRegistry.UNKNOWN) {
+                throw new InvalidConversionRequestException("Unsupported currency pair: " + pair);
+            }
+            currencyPairs.add(CurrencyRegistry.pairKey(pairId));
+        }
+        if (currencyPairs.isEmpty()) {
+            throw new InvalidConversionRequestException("At least one currency pair is required");
+        }
+        if (currencyPairs.size() > streamProperties.getMaxPairs()) {
+            throw new InvalidConversionRequestException("A stream may watch at most " + streamProperties.getMaxPairs() + " pairs");
+        }
+        return currencyPairs;
+    }
+}
@@ -0,0 +1,56 @@
+package com.vaxly.conversionservice;
+
+import com.vaxly.conversionservice.dtos.ConversionResponseDto;
+import com.vaxly.conversionservice.enums.StateFlag;
+import org.springframework.http.CacheControl;
+import org.springframework.http.ResponseEntity;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * HTTP validators for conversion responses.
+ * <p>
+ * The ETag is a strong validator hashed from what identifies the rate version behind each result: its source,
+ * timestamp, value and state flag. The request parameters are part of the URL, so they need not be part of it.
+ * Responses carrying it are answered with 304 and no body by Spring MVC when the request's {@code If-None-Match}
+ * matches, so the body is only serialized for clients whose copy is out of date.
+ * <p>
+ * Fresh responses may be cached for {@code conversion.http-cache.max-age}; stale ones must be revalidated each time.
+ */
+final class RateValidators {
+
+    private RateValidators() {}
+
+    /**
+     * @return A 200 response carrying the results' ETag and Cache-Control, or no validator if any result has no timestamp.
+     */
+    static <T> ResponseEntity<T> ok(T body, List<ConversionResponseDto> results, Duration maxAge) {
+        String etag = etag(results);
+        if (etag == null) {
+            return ResponseEntity.ok(body);
+        }
+        boolean stale = results.stream().anyMatch(result -> result.getStateFlag() == StateFlag.STALE);
+        return ResponseEntity.ok()
+                .eTag(etag)
+                .cacheControl(stale ? CacheControl.noCache() : CacheControl.maxAge(maxAge))
+                .body(body);
+    }
+
+    /**
+     * @return The strong ETag of a set of results, or {@code null} if any of them has no timestamp to derive it from.
+     */
+    static String etag(List<ConversionResponseDto> results) {
+        long hash = 17;
+        for (ConversionResponseDto result : results) {
+            if (result.getTimestamp() == null) {
+                return null;
+            }
+            hash = 31 * hash + result.getTimestamp().toEpochMilli();
+            hash = 31 * hash + Double.hashCode(result.getRate());
+            hash = 31 * hash + Objects.hash(result.getTo(), result.getSource(), result.getStateFlag());
+        }
+        return "\"" + Long.toHexString(hash) + "\"";
+    }
+}
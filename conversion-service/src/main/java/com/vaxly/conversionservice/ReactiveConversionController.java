@@ -0,0 +1,93 @@
+package com.vaxly.conversionservice;
+
+import com.vaxly.conversionservice.dtos.BatchConversionRequestDto;
+import com.vaxly.conversionservice.dtos.BatchConversionResponseDto;
+import com.vaxly.conversionservice.dtos.ConversionRequestDto;
+import com.vaxly.conversionservice.dtos.ConversionResponseDto;
+import com.vaxly.conversionservice.dtos.ConvertAllResponseDto;
+import com.vaxly.conversionservice.config.HttpCacheProperties;
+import com.vaxly.conversionservice.enums.StateFlag;
+import com.vaxly.conversionservice.service.ConversionService;
+import com.vaxly.conversionservice.service.ReactiveConversionService;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.util.List;
+
+/**
+ * Reactive replacement for {@link ConversionController}, active when {@code conversion.reactive.enabled=true}.
+ * <p>
+ * Handlers return {@link Mono}, so the servlet thread is released as soon as the pipeline is assembled
+ * and the response is written when the downstream calls complete.
+ */
+@RestController
+@RequestMapping("api/v1/convert")
+@ConditionalOnProperty(name = "conversion.reactive.enabled", havingValue = "true")
+public class ReactiveConversionController {
+    private final ReactiveConversionService reactiveConversionService;
+    private final ConversionService conversionService;
+    private final HttpCacheProperties httpCacheProperties;
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveConversionController.class);
+
+    public ReactiveConversionController(ReactiveConversionService reactiveConversionService, ConversionService conversionService,
+                                        HttpCacheProperties httpCacheProperties) {
+        this.reactiveConversionService = reactiveConversionService;
+        this.conversionService = conversionService;
+        this.httpCacheProperties = httpCacheProperties;
+    }
+
+    @GetMapping
+    public Mono<ResponseEntity<ConversionResponseDto>> convert(@RequestParam String from, @RequestParam String to, @RequestParam double amount) {
+        logger.info("Received request to convert {} {} to {}", amount, from, to);
+
+        return reactiveConversionService.convert(from, to, amount)
+                .map(response -> {
+                    if (response.getStateFlag() == StateFlag.UNAVAILABLE) {
+                        logger.warn("Rate for {}_{} not found in cache or external API. Returning UNAVAILABLE status.", from, to);
+                        return ResponseEntity.status(HttpStatus.SERVICE_UNAVAILABLE).body(response);
+                    }
+
+                    logger.info("Successfully converted {} {} to {}. Converted amount: {}", amount, from, to, response.getConvertedAmount());
+                    return RateValidators.ok(response, List.of(response), httpCacheProperties.getMaxAge());
+                });
+    }
+
+    /**
+     * Batch conversion has no reactive pipeline of its own; its MGET and grouped downstream call
+     * already amortise the I/O, so it runs on the bounded elastic scheduler to keep the request thread free.
+     */
+    @PostMapping("/batch")
+    public Mono<ResponseEntity<BatchConversionResponseDto>> convertBatch(@RequestBody BatchConversionRequestDto request) {
+        List<ConversionRequestDto> conversions = ConversionController.validateBatch(request);
+        logger.info("Received batch request to convert {} item(s)", conversions.size());
+
+        return Mono.fromCallable(() -> conversionService.convertBatch(conversions))
+                .subscribeOn(Schedulers.boundedElastic())
+                .map(results -> ResponseEntity.ok(new BatchConversionResponseDto(results)));
+    }
+
+    /**
+     * One-to-all conversion only reads the in-memory rate matrix, so it runs on the calling thread.
+     */
+    @GetMapping("/all")
+    public Mono<ResponseEntity<ConvertAllResponseDto>> convertToAll(@RequestParam String from, @RequestParam double amount,
+                                                                    @RequestParam(required = false) List<String> to) {
+        logger.info("Received request to convert {} {} into {} currency(ies)", amount, from, to == null ? "all" : to.size());
+
+        return Mono.fromSupplier(() -> {
+            List<ConversionResponseDto> results = conversionService.convertToAll(from, to, amount);
+            return RateValidators.ok(new ConvertAllResponseDto(from.toUpperCase(), amount, results), results, httpCacheProperties.getMaxAge());
+        });
+    }
+}
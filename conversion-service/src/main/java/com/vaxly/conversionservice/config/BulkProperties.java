@@ -0,0 +1,36 @@
+package com.vaxly.conversionservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+@Configuration
+@ConfigurationProperties(prefix = "conversion.bulk")
+public class BulkProperties {
+
+    /**
+     * Rows read, priced and written together; new pairs in a chunk are resolved in batch conversions.
+     */
+    private int chunkSize = 4096;
+
+    /**
+     * Most new pairs priced per batch conversion. Matches the batch endpoint's limit, so the
+     * history-service lookup for the pairs missing from the cache stays within its URL length limit.
+     */
+    private int batchSize = 500;
+
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    public void setChunkSize(int chunkSize) {
+        this.chunkSize = chunkSize;
+    }
+
+    public int getBatchSize() {
+        return batchSize;
+    }
+
+    public void setBatchSize(int batchSize) {
+        this.batchSize = batchSize;
+    }
+}
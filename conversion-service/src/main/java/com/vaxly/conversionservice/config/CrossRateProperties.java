@@ -0,0 +1,38 @@
+package com.vaxly.conversionservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Configuration
+@ConfigurationProperties(prefix = "conversion.cross-rate")
+public class CrossRateProperties {
+
+    /**
+     * Whether a cache miss may be answered from the inverse pair or from two cached legs.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Currencies tried, in order, as the middle leg of a triangulated rate (e.g., EUR_GBP via USD).
+     */
+    private List<String> pivots = new ArrayList<>(List.of("USD", "EUR"));
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public List<String> getPivots() {
+        return pivots;
+    }
+
+    public void setPivots(List<String> pivots) {
+        this.pivots = pivots;
+    }
+}
@@ -0,0 +1,50 @@
+package com.vaxly.conversionservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "conversion.freshness")
+public class FreshnessProperties {
+
+    /**
+     * Age after which a cached rate is still served, flagged STALE, while a refresh runs in the background.
+     */
+    private Duration softTtl = Duration.ofMinutes(5);
+
+    /**
+     * Age after which a cached rate is no longer served and the request falls through to the next tier.
+     */
+    private Duration hardTtl = Duration.ofHours(1);
+
+    /**
+     * Platform threads running background refreshes; unused when virtual threads are enabled.
+     */
+    private int refreshThreads = 4;
+
+    public Duration getSoftTtl() {
+        return softTtl;
+    }
+
+    public void setSoftTtl(Duration softTtl) {
+        this.softTtl = softTtl;
+    }
+
+    public Duration getHardTtl() {
+        return hardTtl;
+    }
+
+    public void setHardTtl(Duration hardTtl) {
+        this.hardTtl = hardTtl;
+    }
+
+    public int getRefreshThreads() {
+        return refreshThreads;
+    }
+
+    public void setRefreshThreads(int refreshThreads) {
+        this.refreshThreads = refreshThreads;
+    }
+}
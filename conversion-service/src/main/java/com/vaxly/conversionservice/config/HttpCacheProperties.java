@@ -0,0 +1,25 @@
+package com.vaxly.conversionservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "conversion.http-cache")
+public class HttpCacheProperties {
+
+    /**
+     * Cache-Control max-age of fresh conversion responses. Match it to the scheduler's refresh interval,
+     * since a rate cannot change sooner than that.
+     */
+    private Duration maxAge = Duration.ofSeconds(30);
+
+    public Duration getMaxAge() {
+        return maxAge;
+    }
+
+    public void setMaxAge(Duration maxAge) {
+        this.maxAge = maxAge;
+    }
+}
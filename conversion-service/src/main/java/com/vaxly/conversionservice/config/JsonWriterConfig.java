@@ -0,0 +1,23 @@
+package com.vaxly.conversionservice.config;
+
+import com.vaxly.conversionservice.serialization.ConversionJsonHttpMessageConverter;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.http.converter.HttpMessageConverter;
+import org.springframework.web.servlet.config.annotation.WebMvcConfigurer;
+
+import java.util.List;
+
+/**
+ * Puts the pre-compiled conversion JSON writer ahead of Jackson for conversion results and error bodies.
+ * Set {@code conversion.json.fast-writer.enabled=false} to fall back to Jackson for everything.
+ */
+@Configuration
+@ConditionalOnProperty(name = "conversion.json.fast-writer.enabled", havingValue = "true", matchIfMissing = true)
+public class JsonWriterConfig implements WebMvcConfigurer {
+
+    @Override
+    public void extendMessageConverters(List<HttpMessageConverter<?>> converters) {
+        converters.add(0, new ConversionJsonHttpMessageConverter());
+    }
+}
@@ -0,0 +1,38 @@
+package com.vaxly.conversionservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "conversion.cache.local")
+public class LocalCacheProperties {
+
+    /**
+     * Maximum number of currency pairs held in the in-process cache.
+     */
+    private long maximumSize = 1_000;
+
+    /**
+     * Upper bound on how long an entry is served without going back to Redis.
+     * Acts as a safety net when a rate-update notification is lost.
+     */
+    private Duration ttl = Duration.ofSeconds(30);
+
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    public void setMaximumSize(long maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+}
@@ -0,0 +1,76 @@
+package com.vaxly.conversionservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "conversion.negative-cache")
+public class NegativeCacheProperties {
+
+    /**
+     * Whether pairs the history-service answered 404 for are remembered at all.
+     */
+    private boolean enabled = true;
+
+    /**
+     * How long this instance skips the history-service for a pair it reported unknown.
+     */
+    private Duration ttl = Duration.ofSeconds(30);
+
+    /**
+     * Maximum number of unknown pairs held in-process.
+     */
+    private long maximumSize = 10_000;
+
+    /**
+     * Whether unknown pairs are also shared with other instances through Redis.
+     */
+    private boolean shared = false;
+
+    /**
+     * Lifetime of the shared Redis entry.
+     */
+    private Duration sharedTtl = Duration.ofSeconds(60);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getTtl() {
+        return ttl;
+    }
+
+    public void setTtl(Duration ttl) {
+        this.ttl = ttl;
+    }
+
+    public long getMaximumSize() {
+        return maximumSize;
+    }
+
+    public void setMaximumSize(long maximumSize) {
+        this.maximumSize = maximumSize;
+    }
+
+    public boolean isShared() {
+        return shared;
+    }
+
+    public void setShared(boolean shared) {
+        this.shared = shared;
+    }
+
+    public Duration getSharedTtl() {
+        return sharedTtl;
+    }
+
+    public void setSharedTtl(Duration sharedTtl) {
+        this.sharedTtl = sharedTtl;
+    }
+}
@@ -0,0 +1,70 @@
+package com.vaxly.conversionservice.config;
+
+import com.vaxly.conversionservice.service.LocalRateCache;
+import com.vaxly.conversionservice.service.RateMatrix;
+import com.vaxly.conversionservice.service.UnknownPairCache;
+import com.vaxly.vaxlyshared.constants.RedisKeys;
+import com.vaxly.vaxlyshared.dtos.RateInfoDto;
+import com.vaxly.vaxlyshared.serialization.RateInfoRedisSerializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.PatternTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Subscribes to rate-update notifications and keeps the in-process rate cache coherent with Redis.
+ * A pair that has just been written is also no longer unknown, so its negative-cache entry is dropped.
+ * <p>
+ * The {@link RateMatrix} is fed from the per-pair {@link RedisKeys#rateChannel(String)} channels, which carry the
+ * new rate itself, so {@code GET /all} and new rate streams see every rate written, not only those this instance
+ * has read since.
+ */
+@Configuration
+public class RateUpdateListenerConfig {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateUpdateListenerConfig.class);
+
+    @Bean
+    public MessageListener localRateCacheInvalidator(LocalRateCache localRateCache, UnknownPairCache unknownPairCache) {
+        return (message, pattern) -> {
+            String currencyPair = new String(message.getBody(), StandardCharsets.UTF_8);
+            logger.debug("Received rate update for {}. Invalidating local cache entry.", currencyPair);
+            localRateCache.invalidate(currencyPair);
+            unknownPairCache.invalidate(currencyPair);
+        };
+    }
+
+    @Bean
+    public MessageListener rateMatrixUpdater(RateMatrix rateMatrix) {
+        RateInfoRedisSerializer rateSerializer = new RateInfoRedisSerializer();
+        return (message, pattern) -> {
+            try {
+                RateInfoDto rate = rateSerializer.deserialize(message.getBody());
+                if (rate != null && rate.getCurrencyPair() != null) {
+                    rateMatrix.update(rate.getCurrencyPair(), rate);
+                }
+            } catch (Exception e) {
+                logger.warn("Ignoring unreadable rate on {}. Error: {}",
+                        new String(message.getChannel(), StandardCharsets.UTF_8), e.getMessage());
+            }
+        };
+    }
+
+    @Bean
+    public RedisMessageListenerContainer rateUpdateListenerContainer(RedisConnectionFactory cf,
+                                                                    MessageListener localRateCacheInvalidator,
+                                                                    MessageListener rateMatrixUpdater) {
+        RedisMessageListenerContainer container = new RedisMessageListenerContainer();
+        container.setConnectionFactory(cf);
+        container.addMessageListener(localRateCacheInvalidator, new ChannelTopic(RedisKeys.RATE_UPDATES_CHANNEL));
+        container.addMessageListener(rateMatrixUpdater, new PatternTopic(RedisKeys.RATE_CHANNEL_PREFIX + "*"));
+        return container;
+    }
+}
@@ -0,0 +1,63 @@
+package com.vaxly.conversionservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "conversion.refresh")
+public class RefreshProperties {
+
+    /**
+     * Lifetime of the shared {@code inflight:} lease taken before a refresh is enqueued; matches the scheduler's.
+     */
+    private Duration leaseTtl = Duration.ofSeconds(120);
+
+    /**
+     * Period during which further refresh requests for a pair are dropped by this instance without touching Redis.
+     */
+    private Duration dedupWindow = Duration.ofSeconds(30);
+
+    /**
+     * Refresh requests waiting to be enqueued; beyond this, new requests are dropped.
+     */
+    private int maxPending = 1000;
+
+    /**
+     * Platform threads enqueueing refreshes; unused when virtual threads are enabled.
+     */
+    private int threads = 2;
+
+    public Duration getLeaseTtl() {
+        return leaseTtl;
+    }
+
+    public void setLeaseTtl(Duration leaseTtl) {
+        this.leaseTtl = leaseTtl;
+    }
+
+    public Duration getDedupWindow() {
+        return dedupWindow;
+    }
+
+    public void setDedupWindow(Duration dedupWindow) {
+        this.dedupWindow = dedupWindow;
+    }
+
+    public int getMaxPending() {
+        return maxPending;
+    }
+
+    public void setMaxPending(int maxPending) {
+        this.maxPending = maxPending;
+    }
+
+    public int getThreads() {
+        return threads;
+    }
+
+    public void setThreads(int threads) {
+        this.threads = threads;
+    }
+}
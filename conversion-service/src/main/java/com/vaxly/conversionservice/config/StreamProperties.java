@@ -0,0 +1,51 @@
+package com.vaxly.conversionservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "conversion.stream")
+public class StreamProperties {
+
+    /**
+     * Maximum number of currency pairs a single stream may subscribe to.
+     */
+    private int maxPairs = 50;
+
+    /**
+     * How long a stream stays open before the client has to reconnect.
+     */
+    private Duration timeout = Duration.ofMinutes(30);
+
+    /**
+     * Interval between comment-only events sent to every open stream, so idle connections are not
+     * closed by proxies and dead clients are noticed.
+     */
+    private Duration heartbeatInterval = Duration.ofSeconds(15);
+
+    public int getMaxPairs() {
+        return maxPairs;
+    }
+
+    public void setMaxPairs(int maxPairs) {
+        this.maxPairs = maxPairs;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    public Duration getHeartbeatInterval() {
+        return heartbeatInterval;
+    }
+
+    public void setHeartbeatInterval(Duration heartbeatInterval) {
+        this.heartbeatInterval = heartbeatInterval;
+    }
+}
@@ -0,0 +1,102 @@
+package com.vaxly.conversionservice.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "conversion.usage")
+public class UsageProperties {
+
+    /**
+     * Maximum number of distinct pairs buffered between flushes; uses of further new pairs are dropped.
+     */
+    private int maxPendingPairs = 10_000;
+
+    /**
+     * Rows in the shared Count-Min Sketch. Every instance must use the same dimensions.
+     */
+    private int sketchDepth = 4;
+
+    /**
+     * Counters per row in the shared Count-Min Sketch. Every instance must use the same dimensions.
+     */
+    private int sketchWidth = 2_048;
+
+    /**
+     * Number of most popular pairs kept in the ranked top-K set read by the scheduler.
+     */
+    private int topK = 200;
+
+    /**
+     * Time after which a use counts half as much in the decayed ranking.
+     */
+    private Duration halfLife = Duration.ofHours(1);
+
+    /**
+     * Length of the sliding window behind the windowed ranking. Must match the scheduler's.
+     */
+    private Duration window = Duration.ofMinutes(15);
+
+    /**
+     * Granularity of the sliding window; the window moves forward one bucket at a time. Must match the scheduler's.
+     */
+    private Duration windowBucket = Duration.ofMinutes(1);
+
+    public int getMaxPendingPairs() {
+        return maxPendingPairs;
+    }
+
+    public void setMaxPendingPairs(int maxPendingPairs) {
+        this.maxPendingPairs = maxPendingPairs;
+    }
+
+    public int getSketchDepth() {
+        return sketchDepth;
+    }
+
+    public void setSketchDepth(int sketchDepth) {
+        this.sketchDepth = sketchDepth;
+    }
+
+    public int getSketchWidth() {
+        return sketchWidth;
+    }
+
+    public void setSketchWidth(int sketchWidth) {
+        this.sketchWidth = sketchWidth;
+    }
+
+    public int getTopK() {
+        return topK;
+    }
+
+    public void setTopK(int topK) {
+        this.topK = topK;
+    }
+
+    public Duration getHalfLife() {
+        return halfLife;
+    }
+
+    public void setHalfLife(Duration halfLife) {
+        this.halfLife = halfLife;
+    }
+
+    public Duration getWindow() {
+        return window;
+    }
+
+    public void setWindow(Duration window) {
+        this.window = window;
+    }
+
+    public Duration getWindowBucket() {
+        return windowBucket;
+    }
+
+    public void setWindowBucket(Duration windowBucket) {
+        this.windowBucket = windowBucket;
+    }
+}
@@ -0,0 +1,66 @@
+package com.vaxly.conversionservice.config;
+
+import com.vaxly.conversionservice.enums.WarmUpSource;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "conversion.warm-up")
+public class WarmUpProperties {
+
+    /**
+     * Whether to load rates into the in-process cache before the instance reports ready.
+     */
+    private boolean enabled = true;
+
+    /**
+     * What to load: the most popular pairs (read from Redis, topped up from history-service),
+     * or the whole book streamed from history-service's export.
+     * TOP_PAIRS falls back to FULL_BOOK while no usage has been recorded yet.
+     */
+    private WarmUpSource source = WarmUpSource.TOP_PAIRS;
+
+    /**
+     * Maximum number of pairs loaded. Anything beyond conversion.cache.local.maximum-size would be evicted.
+     */
+    private int maxPairs = 1_000;
+
+    /**
+     * Upper bound on how long warm-up may hold back readiness; the instance starts cold after that.
+     */
+    private Duration timeout = Duration.ofSeconds(30);
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public WarmUpSource getSource() {
+        return source;
+    }
+
+    public void setSource(WarmUpSource source) {
+        this.source = source;
+    }
+
+    public int getMaxPairs() {
+        return maxPairs;
+    }
+
+    public void setMaxPairs(int maxPairs) {
+        this.maxPairs = maxPairs;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+}
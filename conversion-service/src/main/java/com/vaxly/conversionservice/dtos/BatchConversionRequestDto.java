@@ -0,0 +1,15 @@
+package com.vaxly.conversionservice.dtos;
+
+import java.util.List;
+
+public class BatchConversionRequestDto {
+    private final List<ConversionRequestDto> conversions;
+
+    public BatchConversionRequestDto(List<ConversionRequestDto> conversions) {
+        this.conversions = conversions;
+    }
+
+    public List<ConversionRequestDto> getConversions() {
+        return conversions;
+    }
+}
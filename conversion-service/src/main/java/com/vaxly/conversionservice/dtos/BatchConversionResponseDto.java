@@ -0,0 +1,15 @@
+package com.vaxly.conversionservice.dtos;
+
+import java.util.List;
+
+public class BatchConversionResponseDto {
+    private final List<ConversionResponseDto> results;
+
+    public BatchConversionResponseDto(List<ConversionResponseDto> results) {
+        this.results = results;
+    }
+
+    public List<ConversionResponseDto> getResults() {
+        return results;
+    }
+}
@@ -0,0 +1,25 @@
+package com.vaxly.conversionservice.dtos;
+
+public class ConversionRequestDto {
+    private final String from;
+    private final String to;
+    private final double amount;
+
+    public ConversionRequestDto(String from, String to, double amount) {
+        this.from = from;
+        this.to = to;
+        this.amount = amount;
+    }
+
+    public String getFrom() {
+        return from;
+    }
+
+    public String getTo() {
+        return to;
+    }
+
+    public double getAmount() {
+        return amount;
+    }
+}
@@ -1,6 +1,7 @@
 package com.vaxly.conversionservice.dtos;
 import java.time.Instant;
 
+import com.fasterxml.jackson.annotation.JsonInclude;
 import com.vaxly.conversionservice.enums.StateFlag;
 
 public class ConversionResponseDto {
@@ -11,8 +12,17 @@ public class ConversionResponseDto {
     private final String source;
     private final Instant timestamp;
     private final StateFlag stateFlag;
+    @JsonInclude(JsonInclude.Include.NON_NULL)
+    private final Long oldestLegAgeSeconds;
 
     public ConversionResponseDto(String from, String to, double rate, double convertedAmount, String source, Instant timestamp, StateFlag stateFlag) {
+        this(from, to, rate, convertedAmount, source, timestamp, stateFlag, null);
+    }
+
+    /**
+     * @param oldestLegAgeSeconds For a {@link StateFlag#DERIVED} rate, the age of the oldest cached leg it was built from.
+     */
+    public ConversionResponseDto(String from, String to, double rate, double convertedAmount, String source, Instant timestamp, StateFlag stateFlag, Long oldestLegAgeSeconds) {
         this.from = from;
         this.to = to;
         this.rate = rate;
@@ -20,6 +30,7 @@ public class ConversionResponseDto {
         this.source = source;
         this.timestamp = timestamp;
         this.stateFlag = stateFlag;
+        this.oldestLegAgeSeconds = oldestLegAgeSeconds;
     }
 
     public String getFrom() {
@@ -49,4 +60,8 @@ public class ConversionResponseDto {
     public StateFlag getStateFlag() {
         return stateFlag;
     }
+
+    public Long getOldestLegAgeSeconds() {
+        return oldestLegAgeSeconds;
+    }
 }
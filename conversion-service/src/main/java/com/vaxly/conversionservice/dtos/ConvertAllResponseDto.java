@@ -0,0 +1,27 @@
+package com.vaxly.conversionservice.dtos;
+
+import java.util.List;
+
+public class ConvertAllResponseDto {
+    private final String from;
+    private final double amount;
+    private final List<ConversionResponseDto> results;
+
+    public ConvertAllResponseDto(String from, double amount, List<ConversionResponseDto> results) {
+        this.from = from;
+        this.amount = amount;
+        this.results = results;
+    }
+
+    public String getFrom() {
+        return from;
+    }
+
+    public double getAmount() {
+        return amount;
+    }
+
+    public List<ConversionResponseDto> getResults() {
+        return results;
+    }
+}
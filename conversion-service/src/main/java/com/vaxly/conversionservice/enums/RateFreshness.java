@@ -0,0 +1,7 @@
+package com.vaxly.conversionservice.enums;
+
+public enum RateFreshness {
+    FRESH,
+    STALE,
+    EXPIRED
+}
@@ -3,6 +3,8 @@ package com.vaxly.conversionservice.enums;
 public enum StateFlag {
     LIVE,
     CACHED,
+    STALE,
     FALLBACK_DB,
+    DERIVED,
     UNAVAILABLE
 }
\ No newline at end of file
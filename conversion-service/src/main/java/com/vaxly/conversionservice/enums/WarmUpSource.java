@@ -0,0 +1,6 @@
+package com.vaxly.conversionservice.enums;
+
+public enum WarmUpSource {
+    TOP_PAIRS,
+    FULL_BOOK
+}
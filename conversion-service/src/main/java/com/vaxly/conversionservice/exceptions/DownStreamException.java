@@ -3,11 +3,26 @@ package com.vaxly.conversionservice.exceptions;
 import org.springframework.http.HttpStatus;
 import org.springframework.web.bind.annotation.ResponseStatus;
 
+import java.time.Duration;
+
 @ResponseStatus(HttpStatus.NOT_FOUND)
 public class DownStreamException extends RuntimeException {
+
+    private final Duration retryAfter;
+
     public DownStreamException(String message) {
-        super(message);
+        this(message, null);
     }
-}
 
+    /**
+     * @param retryAfter How long clients should wait before retrying, when the downstream guard knows it.
+     */
+    public DownStreamException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
 
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -12,20 +12,24 @@ import org.springframework.web.bind.annotation.ExceptionHandler;
 import jakarta.servlet.http.HttpServletRequest;
 import java.time.Instant;
 import java.util.UUID;
+import java.util.concurrent.ThreadLocalRandom;
 
 @ControllerAdvice
 public class GlobalExceptionHandler {
 
     private static final Logger logger = LoggerFactory.getLogger(GlobalExceptionHandler.class);
 
+    private static final long DEFAULT_RETRY_AFTER_SECONDS = 30;
+
     /**
      * Handles downstream service failures.
-     * Returns 503 with correlation ID and optional Retry-After.
+     * Returns 503 with correlation ID and Retry-After: the time the circuit breaker or concurrency limit
+     * asked for when the call was rejected, otherwise a default.
      */
     @ExceptionHandler(DownStreamException.class)
     public ResponseEntity<ErrorResponse> handleDownstreamException(DownStreamException ex,
                                                                    HttpServletRequest request) {
-        String correlationId = UUID.randomUUID().toString();
+        String correlationId = newCorrelationId();
 
         ErrorResponse body = new ErrorResponse(
                 Instant.now().toString(),
@@ -35,12 +39,32 @@ public class GlobalExceptionHandler {
         );
 
         HttpHeaders headers = new HttpHeaders();
-        headers.add(HttpHeaders.RETRY_AFTER, "30");
+        headers.add(HttpHeaders.RETRY_AFTER, String.valueOf(retryAfterSeconds(ex)));
         headers.add("X-Correlation-ID", correlationId);
 
         return new ResponseEntity<>(body, headers, HttpStatus.SERVICE_UNAVAILABLE);
     }
 
+    /**
+     * A random version-4 UUID. Correlation IDs only need to be unique, not unguessable, so this draws from
+     * {@link ThreadLocalRandom} rather than the shared {@code SecureRandom} behind {@link UUID#randomUUID()},
+     * which serialises callers exactly when a downstream outage makes every request fail at once.
+     */
+    static String newCorrelationId() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long mostSignificantBits = (random.nextLong() & ~0xF000L) | 0x4000L;
+        long leastSignificantBits = (random.nextLong() & ~(0xC000_0000_0000_0000L)) | 0x8000_0000_0000_0000L;
+        return new UUID(mostSignificantBits, leastSignificantBits).toString();
+    }
+
+    private static long retryAfterSeconds(DownStreamException ex) {
+        if (ex.getRetryAfter() == null) {
+            return DEFAULT_RETRY_AFTER_SECONDS;
+        }
+        // Round up so clients never come back before the breaker lets probes through
+        return Math.max(1, (ex.getRetryAfter().toMillis() + 999) / 1000);
+    }
+
     // DTO for error response
     public static class ErrorResponse {
         private String timestamp;
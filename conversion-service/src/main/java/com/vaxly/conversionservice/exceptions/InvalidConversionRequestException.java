@@ -0,0 +1,11 @@
+package com.vaxly.conversionservice.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidConversionRequestException extends RuntimeException {
+    public InvalidConversionRequestException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,75 @@
+package com.vaxly.conversionservice.logging;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.turbo.TurboFilter;
+import ch.qos.logback.core.spi.FilterReply;
+import org.slf4j.Marker;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Caps how many INFO lines each call site may log per second, so the success path of a busy endpoint does not
+ * flood the appender. Configured in {@code logback-spring.xml}.
+ * <p>
+ * A call site is identified by its message format string, which is a literal in the code and so the same
+ * instance on every call. Each site gets {@code maxPerSecond} lines per wall-clock second; the rest are denied
+ * before a logging event is even created. The limit is approximate under contention, which is fine for logs.
+ * <p>
+ * Only INFO from loggers under {@code loggerPrefix} is limited. WARN and ERROR always pass, and DEBUG and TRACE
+ * are left to the logger levels, so raising a logger to DEBUG at runtime shows everything. Formats built at run
+ * time would otherwise grow the per-site table without bound, so sites beyond {@code maxCallSites} are not limited.
+ */
+public class CallSiteRateLimitFilter extends TurboFilter {
+
+    private String loggerPrefix = "com.vaxly";
+    private int maxPerSecond = 20;
+    private int maxCallSites = 10_000;
+
+    private final Map<String, Window> windows = new ConcurrentHashMap<>();
+
+    @Override
+    public FilterReply decide(Marker marker, Logger logger, Level level, String format, Object[] params, Throwable t) {
+        // isInfoEnabled() checks arrive without a format; let the logger level answer them
+        if (format == null || level == null || level.levelInt != Level.INFO_INT || !isStarted()
+                || !logger.getName().startsWith(loggerPrefix)) {
+            return FilterReply.NEUTRAL;
+        }
+        Window window = windows.get(format);
+        if (window == null) {
+            if (windows.size() >= maxCallSites) {
+                return FilterReply.NEUTRAL;
+            }
+            window = windows.computeIfAbsent(format, key -> new Window());
+        }
+        return window.tryAcquire(System.currentTimeMillis() / 1000, maxPerSecond) ? FilterReply.NEUTRAL : FilterReply.DENY;
+    }
+
+    public void setLoggerPrefix(String loggerPrefix) {
+        this.loggerPrefix = loggerPrefix;
+    }
+
+    public void setMaxPerSecond(int maxPerSecond) {
+        this.maxPerSecond = maxPerSecond;
+    }
+
+    public void setMaxCallSites(int maxCallSites) {
+        this.maxCallSites = maxCallSites;
+    }
+
+    private static final class Window {
+        private volatile long second;
+        private final AtomicInteger count = new AtomicInteger();
+
+        private boolean tryAcquire(long now, int limit) {
+            if (second != now) {
+                // Racing resets may let a few extra lines through at the turn of a second
+                second = now;
+                count.set(0);
+            }
+            return count.incrementAndGet() <= limit;
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package com.vaxly.conversionservice.serialization;
+
+import org.springframework.http.HttpInputMessage;
+import org.springframework.http.HttpOutputMessage;
+import org.springframework.http.MediaType;
+import org.springframework.http.converter.AbstractHttpMessageConverter;
+import org.springframework.http.converter.HttpMessageNotReadableException;
+
+import java.io.IOException;
+
+/**
+ * Writes conversion results and error bodies with {@link ConversionJsonWriter} instead of Jackson. Registered ahead
+ * of the Jackson converter, it handles only those two types; every other body, and every request body, still goes
+ * through Jackson.
+ * <p>
+ * The body is assembled in one buffer and written to the response in a single call with its Content-Length.
+ */
+public class ConversionJsonHttpMessageConverter extends AbstractHttpMessageConverter<Object> {
+
+    private static final int INITIAL_CAPACITY = 256;
+
+    public ConversionJsonHttpMessageConverter() {
+        super(MediaType.APPLICATION_JSON);
+    }
+
+    @Override
+    protected boolean supports(Class<?> clazz) {
+        return ConversionJsonWriter.supports(clazz);
+    }
+
+    @Override
+    protected boolean canRead(MediaType mediaType) {
+        return false;
+    }
+
+    @Override
+    protected Object readInternal(Class<?> clazz, HttpInputMessage inputMessage) {
+        throw new HttpMessageNotReadableException("Conversion JSON is write-only", inputMessage);
+    }
+
+    @Override
+    protected void writeInternal(Object body, HttpOutputMessage outputMessage) throws IOException {
+        JsonBuffer buffer = new JsonBuffer(INITIAL_CAPACITY);
+        ConversionJsonWriter.write(body, buffer);
+        outputMessage.getHeaders().setContentLength(buffer.size());
+        buffer.writeTo(outputMessage.getBody());
+    }
+}
@@ -0,0 +1,149 @@
+package com.vaxly.conversionservice.serialization;
+
+import com.vaxly.conversionservice.dtos.ConversionResponseDto;
+import com.vaxly.conversionservice.enums.StateFlag;
+import com.vaxly.conversionservice.exceptions.GlobalExceptionHandler.ErrorResponse;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Pre-compiled JSON writer for the convert hot path: {@link ConversionResponseDto} and the error body.
+ * <p>
+ * Each body is written as a fixed sequence of pre-encoded fragments: every field name with its punctuation, every
+ * {@link StateFlag} with its quotes, and the strings that recur from one response to the next (currency codes,
+ * sources, error messages), encoded once and then copied. Numbers and timestamps are formatted straight into the
+ * buffer. There is no reflection, no per-field lookup and, on the common path, no allocation beyond the buffer.
+ * <p>
+ * The output is byte-for-byte what Jackson produces for the same objects with the services' {@code ObjectMapper},
+ * field order included, so clients cannot tell which path wrote a response.
+ */
+public final class ConversionJsonWriter {
+
+    /** Bounds the recurring-string cache; strings beyond it are encoded on every write. */
+    static final int MAX_CACHED_STRINGS = 1024;
+
+    private static final byte[] FROM = ascii("{\"from\":");
+    private static final byte[] TO = ascii(",\"to\":");
+    private static final byte[] RATE = ascii(",\"rate\":");
+    private static final byte[] CONVERTED_AMOUNT = ascii(",\"convertedAmount\":");
+    private static final byte[] SOURCE = ascii(",\"source\":");
+    private static final byte[] TIMESTAMP = ascii(",\"timestamp\":");
+    private static final byte[] STATE_FLAG_NULL = ascii(",\"stateFlag\":null");
+    private static final byte[] OLDEST_LEG_AGE_SECONDS = ascii(",\"oldestLegAgeSeconds\":");
+
+    private static final byte[] ERROR_TIMESTAMP = ascii("{\"timestamp\":");
+    private static final byte[] ERROR_STATUS = ascii(",\"status\":");
+    private static final byte[] ERROR_MESSAGE = ascii(",\"message\":");
+    private static final byte[] ERROR_CORRELATION_ID = ascii(",\"correlationId\":");
+
+    private static final byte[] END = ascii("}");
+
+    // ,"stateFlag":"CACHED" and friends, indexed by ordinal
+    private static final byte[][] STATE_FLAGS = new byte[StateFlag.values().length][];
+
+    static {
+        for (StateFlag flag : StateFlag.values()) {
+            STATE_FLAGS[flag.ordinal()] = ascii(",\"stateFlag\":\"" + flag.name() + "\"");
+        }
+    }
+
+    private static final Map<String, byte[]> ENCODED_STRINGS = new ConcurrentHashMap<>();
+
+    private ConversionJsonWriter() {}
+
+    /**
+     * Appends a conversion result's JSON to the buffer.
+     */
+    static void write(ConversionResponseDto response, JsonBuffer out) {
+        out.write(FROM);
+        writeString(response.getFrom(), out);
+        out.write(TO);
+        writeString(response.getTo(), out);
+        out.write(RATE);
+        out.writeDouble(response.getRate());
+        out.write(CONVERTED_AMOUNT);
+        out.writeDouble(response.getConvertedAmount());
+        out.write(SOURCE);
+        writeString(response.getSource(), out);
+        out.write(TIMESTAMP);
+        if (response.getTimestamp() == null) {
+            out.writeNull();
+        } else {
+            out.writeInstant(response.getTimestamp());
+        }
+        out.write(response.getStateFlag() == null ? STATE_FLAG_NULL : STATE_FLAGS[response.getStateFlag().ordinal()]);
+        if (response.getOldestLegAgeSeconds() != null) {
+            out.write(OLDEST_LEG_AGE_SECONDS);
+            out.writeLong(response.getOldestLegAgeSeconds());
+        }
+        out.write(END);
+    }
+
+    /**
+     * Appends an error body's JSON to the buffer.
+     */
+    static void write(ErrorResponse error, JsonBuffer out) {
+        out.write(ERROR_TIMESTAMP);
+        writeString(error.getTimestamp(), out);
+        out.write(ERROR_STATUS);
+        out.writeLong(error.getStatus());
+        out.write(ERROR_MESSAGE);
+        writeString(error.getMessage(), out);
+        out.write(ERROR_CORRELATION_ID);
+        // Unique per error, so never worth caching
+        if (error.getCorrelationId() == null) {
+            out.writeNull();
+        } else {
+            out.writeString(error.getCorrelationId());
+        }
+        out.write(END);
+    }
+
+    /**
+     * @return The body's JSON; {@code body} must be a {@link ConversionResponseDto} or an {@link ErrorResponse}.
+     */
+    public static byte[] toJson(Object body) {
+        JsonBuffer buffer = new JsonBuffer(256);
+        write(body, buffer);
+        return buffer.toByteArray();
+    }
+
+    static void write(Object body, JsonBuffer out) {
+        if (body instanceof ConversionResponseDto response) {
+            write(response, out);
+        } else if (body instanceof ErrorResponse error) {
+            write(error, out);
+        } else {
+            throw new IllegalArgumentException("Unsupported body type: " + body.getClass().getName());
+        }
+    }
+
+    /**
+     * @return {@code true} if bodies of this type are written by this class.
+     */
+    public static boolean supports(Class<?> type) {
+        return ConversionResponseDto.class == type || ErrorResponse.class == type;
+    }
+
+    private static void writeString(String value, JsonBuffer out) {
+        if (value == null) {
+            out.writeNull();
+            return;
+        }
+        byte[] encoded = ENCODED_STRINGS.get(value);
+        if (encoded == null) {
+            if (ENCODED_STRINGS.size() >= MAX_CACHED_STRINGS) {
+                out.writeString(value);
+                return;
+            }
+            encoded = ENCODED_STRINGS.computeIfAbsent(value, JsonBuffer::encodeString);
+        }
+        out.write(encoded);
+    }
+
+    private static byte[] ascii(String fragment) {
+        return fragment.getBytes(StandardCharsets.US_ASCII);
+    }
+}
@@ -0,0 +1,237 @@
+package com.vaxly.conversionservice.serialization;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+
+/**
+ * Growable UTF-8 byte buffer with the handful of JSON primitives {@link ConversionJsonWriter} needs.
+ * <p>
+ * Numbers and timestamps are written the way Jackson writes them for the services' {@code ObjectMapper}, so the
+ * output is byte-for-byte what the reflective path would have produced.
+ */
+final class JsonBuffer {
+
+    private static final byte[] NULL = {'n', 'u', 'l', 'l'};
+    private static final byte[] HEX = "0123456789ABCDEF".getBytes(StandardCharsets.US_ASCII);
+    private static final long SECONDS_PER_DAY = 86_400;
+    // Above this Double.toString switches to scientific notation
+    private static final double PLAIN_INTEGER_LIMIT = 1e7;
+
+    private byte[] bytes;
+    private int size;
+
+    JsonBuffer(int capacity) {
+        this.bytes = new byte[capacity];
+    }
+
+    int size() {
+        return size;
+    }
+
+    void writeTo(OutputStream out) throws IOException {
+        out.write(bytes, 0, size);
+    }
+
+    byte[] toByteArray() {
+        return Arrays.copyOf(bytes, size);
+    }
+
+    void write(byte[] fragment) {
+        ensure(fragment.length);
+        System.arraycopy(fragment, 0, bytes, size, fragment.length);
+        size += fragment.length;
+    }
+
+    void writeNull() {
+        write(NULL);
+    }
+
+    void writeLong(long value) {
+        if (value == Long.MIN_VALUE) {
+            writeAscii(Long.toString(value));
+            return;
+        }
+        ensure(20);
+        if (value < 0) {
+            bytes[size++] = '-';
+            value = -value;
+        }
+        int digits = digits(value);
+        int end = size + digits;
+        for (int i = end - 1; i >= size; i--) {
+            bytes[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        size = end;
+    }
+
+    /**
+     * Writes a double as {@link Double#toString(double)} does, which is what Jackson writes. Whole numbers below
+     * 10^7, the usual shape of a converted amount, are written without building a string; non-finite values are
+     * quoted, as Jackson does by default.
+     */
+    void writeDouble(double value) {
+        if (value == (long) value && Math.abs(value) < PLAIN_INTEGER_LIMIT && !(value == 0 && 1 / value < 0)) {
+            writeLong((long) value);
+            ensure(2);
+            bytes[size++] = '.';
+            bytes[size++] = '0';
+        } else if (Double.isFinite(value)) {
+            writeAscii(Double.toString(value));
+        } else {
+            ensure(1);
+            bytes[size++] = '"';
+            writeAscii(Double.toString(value));
+            ensure(1);
+            bytes[size++] = '"';
+        }
+    }
+
+    /**
+     * Writes an instant as a quoted ISO-8601 string, identical to {@link Instant#toString()}, without allocating.
+     */
+    void writeInstant(Instant instant) {
+        long epochDay = Math.floorDiv(instant.getEpochSecond(), SECONDS_PER_DAY);
+        int secondOfDay = (int) Math.floorMod(instant.getEpochSecond(), SECONDS_PER_DAY);
+
+        // Civil-from-days (H. Hinnant): proleptic Gregorian date of an epoch day
+        long z = epochDay + 719_468;
+        long era = Math.floorDiv(z, 146_097);
+        long dayOfEra = z - era * 146_097;
+        long yearOfEra = (dayOfEra - dayOfEra / 1_460 + dayOfEra / 36_524 - dayOfEra / 146_096) / 365;
+        long dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        long monthIndex = (5 * dayOfYear + 2) / 153;
+        int day = (int) (dayOfYear - (153 * monthIndex + 2) / 5 + 1);
+        int month = (int) (monthIndex < 10 ? monthIndex + 3 : monthIndex - 9);
+        long year = yearOfEra + era * 400 + (month <= 2 ? 1 : 0);
+        if (year < 0 || year > 9999) {
+            // Signed and five-digit years are formatted differently; leave them to the JDK
+            writeString(instant.toString());
+            return;
+        }
+
+        ensure(32);
+        bytes[size++] = '"';
+        writeDigits((int) year, 4);
+        bytes[size++] = '-';
+        writeDigits(month, 2);
+        bytes[size++] = '-';
+        writeDigits(day, 2);
+        bytes[size++] = 'T';
+        writeDigits(secondOfDay / 3600, 2);
+        bytes[size++] = ':';
+        writeDigits(secondOfDay / 60 % 60, 2);
+        bytes[size++] = ':';
+        writeDigits(secondOfDay % 60, 2);
+        int nano = instant.getNano();
+        if (nano > 0) {
+            // Fractions are printed in groups of three digits, as many as needed
+            bytes[size++] = '.';
+            if (nano % 1_000_000 == 0) {
+                writeDigits(nano / 1_000_000, 3);
+            } else if (nano % 1_000 == 0) {
+                writeDigits(nano / 1_000, 6);
+            } else {
+                writeDigits(nano, 9);
+            }
+        }
+        bytes[size++] = 'Z';
+        bytes[size++] = '"';
+    }
+
+    /**
+     * Writes a quoted, escaped JSON string.
+     */
+    void writeString(String value) {
+        ensure(value.length() + 2);
+        bytes[size++] = '"';
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c >= 0x80) {
+                writeNonAscii(value, i);
+                break;
+            }
+            if (c < 0x20 || c == '"' || c == '\\') {
+                writeEscaped(c);
+            } else {
+                ensure(1);
+                bytes[size++] = (byte) c;
+            }
+        }
+        ensure(1);
+        bytes[size++] = '"';
+    }
+
+    /**
+     * @return The quoted, escaped JSON form of a string, for reuse as a constant fragment.
+     */
+    static byte[] encodeString(String value) {
+        JsonBuffer buffer = new JsonBuffer(value.length() + 8);
+        buffer.writeString(value);
+        return buffer.toByteArray();
+    }
+
+    private void writeNonAscii(String value, int from) {
+        // Rare: sources and messages are ASCII. Escape what JSON requires, then let the JDK encode the rest.
+        StringBuilder rest = new StringBuilder(value.length() - from);
+        for (int i = from; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x20 || c == '"' || c == '\\') {
+                rest.append(new String(escape(c), StandardCharsets.US_ASCII));
+            } else {
+                rest.append(c);
+            }
+        }
+        write(rest.toString().getBytes(StandardCharsets.UTF_8));
+    }
+
+    private void writeEscaped(char c) {
+        write(escape(c));
+    }
+
+    private static byte[] escape(char c) {
+        return switch (c) {
+            case '"' -> new byte[]{'\\', '"'};
+            case '\\' -> new byte[]{'\\', '\\'};
+            case '\n' -> new byte[]{'\\', 'n'};
+            case '\r' -> new byte[]{'\\', 'r'};
+            case '\t' -> new byte[]{'\\', 't'};
+            case '\b' -> new byte[]{'\\', 'b'};
+            case '\f' -> new byte[]{'\\', 'f'};
+            default -> new byte[]{'\\', 'u', '0', '0', HEX[c >> 4], HEX[c & 0xF]};
+        };
+    }
+
+    private void writeAscii(String value) {
+        ensure(value.length());
+        for (int i = 0; i < value.length(); i++) {
+            bytes[size++] = (byte) value.charAt(i);
+        }
+    }
+
+    private void writeDigits(int value, int width) {
+        for (int i = size + width - 1; i >= size; i--) {
+            bytes[i] = (byte) ('0' + value % 10);
+            value /= 10;
+        }
+        size += width;
+    }
+
+    private static int digits(long value) {
+        int digits = 1;
+        while (value >= 10) {
+            value /= 10;
+            digits++;
+        }
+        return digits;
+    }
+
+    private void ensure(int extra) {
+        if (size + extra > bytes.length) {
+            bytes = Arrays.copyOf(bytes, Math.max(bytes.length * 2, size + extra));
+        }
+    }
+}
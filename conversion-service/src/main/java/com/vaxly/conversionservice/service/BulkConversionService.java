@@ -0,0 +1,97 @@
+package com.vaxly.conversionservice.service;
+
+import com.vaxly.conversionservice.config.BulkProperties;
+import com.vaxly.conversionservice.dtos.ConversionRequestDto;
+import com.vaxly.conversionservice.dtos.ConversionResponseDto;
+import com.vaxly.conversionservice.enums.StateFlag;
+import com.vaxly.vaxlyshared.bulk.BulkConverter;
+import com.vaxly.vaxlyshared.bulk.BulkFormat;
+import com.vaxly.vaxlyshared.currency.CurrencyRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Converts uploaded files of {@code (from, to, amount)} rows, streaming results back as they are computed.
+ * <p>
+ * Parsing, chunking and multiplication are done by {@link BulkConverter}. Rates come from
+ * {@link ConversionService#convertBatch}: each chunk's new pairs are priced in batches of at most
+ * {@code conversion.bulk.batch-size}, through the same cache, derived and history-service tiers as single
+ * conversions, and each pair is priced once per upload.
+ */
+@Service
+public class BulkConversionService {
+
+    private static final Logger logger = LoggerFactory.getLogger(BulkConversionService.class);
+
+    private final ConversionService conversionService;
+    private final BulkConverter bulkConverter;
+    private final int batchSize;
+
+    public BulkConversionService(ConversionService conversionService, BulkProperties properties) {
+        this.conversionService = conversionService;
+        this.bulkConverter = new BulkConverter(properties.getChunkSize());
+        this.batchSize = properties.getBatchSize();
+    }
+
+    /**
+     * @param input  The uploaded rows, UTF-8 encoded.
+     * @param output Receives the result rows, UTF-8 encoded, in the same format.
+     * @param format The format of both streams.
+     * @return The number of rows converted.
+     * @throws IOException if either stream fails.
+     */
+    public long convert(InputStream input, OutputStream output, BulkFormat format) throws IOException {
+        long start = System.nanoTime();
+        Writer writer = new OutputStreamWriter(output, StandardCharsets.UTF_8);
+        long rows = bulkConverter.convert(new InputStreamReader(input, StandardCharsets.UTF_8), writer, format, this::resolve);
+        logger.info("Converted {} bulk row(s) in {} ms.", rows, (System.nanoTime() - start) / 1_000_000);
+        return rows;
+    }
+
+    private void resolve(int[] pairIds, int count, double[] rates, String[] states) {
+        for (int from = 0; from < count; from += batchSize) {
+            resolveBatch(pairIds, from, Math.min(from + batchSize, count), rates, states);
+        }
+    }
+
+    private void resolveBatch(int[] pairIds, int from, int to, double[] rates, String[] states) {
+        List<ConversionRequestDto> requests = new ArrayList<>(to - from);
+        for (int i = from; i < to; i++) {
+            int pairId = pairIds[i];
+            requests.add(new ConversionRequestDto(
+                    CurrencyRegistry.code(CurrencyRegistry.baseId(pairId)),
+                    CurrencyRegistry.code(CurrencyRegistry.quoteId(pairId)),
+                    1.0));
+        }
+
+        List<ConversionResponseDto> results;
+        try {
+            results = conversionService.convertBatch(requests);
+        } catch (RuntimeException e) {
+            // Rows already streamed cannot be withdrawn, so a failed lookup marks its pairs unavailable instead
+            logger.warn("Failed to price {} pair(s) for a bulk conversion. Error: {}", to - from, e.getMessage());
+            for (int i = from; i < to; i++) {
+                states[i] = StateFlag.UNAVAILABLE.name();
+            }
+            return;
+        }
+        for (int i = from; i < to; i++) {
+            ConversionResponseDto result = results.get(i - from);
+            states[i] = result.getStateFlag().name();
+            if (result.getStateFlag() != StateFlag.UNAVAILABLE) {
+                rates[i] = result.getRate();
+            }
+        }
+    }
+}
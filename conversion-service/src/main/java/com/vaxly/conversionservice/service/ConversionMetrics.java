@@ -0,0 +1,244 @@
+package com.vaxly.conversionservice.service;
+
+import com.vaxly.conversionservice.dtos.ConversionResponseDto;
+import com.vaxly.conversionservice.enums.StateFlag;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Latency and cache-efficiency metrics for {@link ConversionService} and {@link ReactiveConversionService}.
+ * <ul>
+ *   <li>{@code conversion.requests}: end-to-end latency of single conversions, blocking or reactive, tagged by the
+ *       {@code outcome} state flag (or {@code ERROR} when the call threw).</li>
+ *   <li>{@code conversion.batch}: end-to-end latency of {@link ConversionService#convertBatch}, tagged by
+ *       {@code outcome} ({@code SUCCESS} or {@code ERROR}). Each item of a batch is also counted in the rate age and
+ *       hit ratio below; the batch's cache reads are not timed per tier, only its grouped history call.</li>
+ *   <li>{@code conversion.tier}: latency of each data-source tier the request touched, tagged by {@code tier}
+ *       ({@code local_cache}, {@code redis}, {@code derived}, {@code history}, {@code sqs_publish}) and
+ *       {@code outcome} ({@code hit}, {@code miss}, {@code error}, {@code success}).</li>
+ *   <li>{@code conversion.served.rate.age}: age in seconds of the rate each response or batch item was priced from,
+ *       by state flag.</li>
+ *   <li>{@code conversion.cache.hit.ratio}: share of conversions over the last minute answered without calling
+ *       the history-service (CACHED, STALE or DERIVED).</li>
+ * </ul>
+ * Timers and summaries publish percentile histograms, bounded to the range the service actually sees, so
+ * percentiles can be aggregated across instances. Every meter is registered once and held; recording costs a
+ * clock read and a few uncontended increments.
+ */
+@Component
+public class ConversionMetrics {
+
+    public static final String TIER_TIMER = "conversion.tier";
+
+    public enum Tier {
+        LOCAL_CACHE, REDIS, DERIVED, HISTORY, SQS_PUBLISH;
+
+        final String tag = name().toLowerCase(Locale.ROOT);
+    }
+
+    public enum Outcome {
+        HIT, MISS, SUCCESS, ERROR;
+
+        final String tag = name().toLowerCase(Locale.ROOT);
+    }
+
+    private static final String ERROR_OUTCOME = "ERROR";
+
+    private final MeterRegistry meterRegistry;
+    private final Timer[] requestTimers = new Timer[StateFlag.values().length];
+    private final Timer requestErrorTimer;
+    private final Timer batchTimer;
+    private final Timer batchErrorTimer;
+    private final DistributionSummary[] rateAges = new DistributionSummary[StateFlag.values().length];
+    // Registered on first use, so only the tier/outcome pairs that occur are exported
+    private final Timer[][] tierTimers = new Timer[Tier.values().length][Outcome.values().length];
+    private final HitRatioWindow hitRatio = new HitRatioWindow();
+
+    public ConversionMetrics(MeterRegistry meterRegistry) {
+        this.meterRegistry = meterRegistry;
+        for (StateFlag flag : StateFlag.values()) {
+            requestTimers[flag.ordinal()] = requestTimer(flag.name());
+            rateAges[flag.ordinal()] = DistributionSummary.builder("conversion.served.rate.age")
+                    .description("Age of the rate a conversion was priced from")
+                    .baseUnit("seconds")
+                    .tag("outcome", flag.name())
+                    .publishPercentileHistogram()
+                    .minimumExpectedValue(1.0)
+                    .maximumExpectedValue((double) Duration.ofDays(1).toSeconds())
+                    .register(meterRegistry);
+        }
+        this.requestErrorTimer = requestTimer(ERROR_OUTCOME);
+        this.batchTimer = batchTimer("SUCCESS");
+        this.batchErrorTimer = batchTimer(ERROR_OUTCOME);
+        Gauge.builder("conversion.cache.hit.ratio", hitRatio, window -> window.ratio(System.currentTimeMillis()))
+                .description("Share of conversions in the last minute served without calling the history-service")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Records a completed conversion.
+     *
+     * @param response     The response returned to the caller.
+     * @param elapsedNanos Time spent in {@link ConversionService#convert}.
+     */
+    public void recordRequest(ConversionResponseDto response, long elapsedNanos) {
+        requestTimers[response.getStateFlag().ordinal()].record(elapsedNanos, TimeUnit.NANOSECONDS);
+        recordServed(response, System.currentTimeMillis());
+    }
+
+    /**
+     * Records a completed batch conversion.
+     *
+     * @param responses    The responses returned to the caller, one per item.
+     * @param elapsedNanos Time spent in {@link ConversionService#convertBatch}.
+     */
+    public void recordBatch(List<ConversionResponseDto> responses, long elapsedNanos) {
+        batchTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        long now = System.currentTimeMillis();
+        for (ConversionResponseDto response : responses) {
+            recordServed(response, now);
+        }
+    }
+
+    /**
+     * Records a batch conversion that ended in an exception.
+     */
+    public void recordBatchError(long elapsedNanos) {
+        batchErrorTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * Records a conversion that ended in an exception.
+     */
+    public void recordRequestError(long elapsedNanos) {
+        requestErrorTimer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+        hitRatio.record(false, System.currentTimeMillis());
+    }
+
+    /**
+     * Records one data-source lookup.
+     */
+    public void recordTier(Tier tier, Outcome outcome, long elapsedNanos) {
+        Timer timer = tierTimers[tier.ordinal()][outcome.ordinal()];
+        if (timer == null) {
+            // Racing threads get the same timer back from the registry
+            timer = tierTimer(meterRegistry, tier, outcome);
+            tierTimers[tier.ordinal()][outcome.ordinal()] = timer;
+        }
+        timer.record(elapsedNanos, TimeUnit.NANOSECONDS);
+    }
+
+    /**
+     * @return The tier timer, for components that time a tier on their own thread.
+     */
+    public static Timer tierTimer(MeterRegistry meterRegistry, Tier tier, Outcome outcome) {
+        return Timer.builder(TIER_TIMER)
+                .description("Latency of one conversion data-source tier")
+                .tag("tier", tier.tag)
+                .tag("outcome", outcome.tag)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(10_000))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(meterRegistry);
+    }
+
+    private void recordServed(ConversionResponseDto response, long nowMillis) {
+        StateFlag flag = response.getStateFlag();
+        hitRatio.record(flag == StateFlag.CACHED || flag == StateFlag.STALE || flag == StateFlag.DERIVED, nowMillis);
+
+        long ageSeconds = ageSeconds(response);
+        if (ageSeconds >= 0) {
+            rateAges[flag.ordinal()].record(ageSeconds);
+        }
+    }
+
+    private Timer batchTimer(String outcome) {
+        return Timer.builder("conversion.batch")
+                .description("End-to-end latency of batch conversions")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(10_000))
+                .maximumExpectedValue(Duration.ofSeconds(30))
+                .register(meterRegistry);
+    }
+
+    private Timer requestTimer(String outcome) {
+        return Timer.builder("conversion.requests")
+                .description("End-to-end latency of single conversions")
+                .tag("outcome", outcome)
+                .publishPercentileHistogram()
+                .minimumExpectedValue(Duration.ofNanos(10_000))
+                .maximumExpectedValue(Duration.ofSeconds(10))
+                .register(meterRegistry);
+    }
+
+    private static long ageSeconds(ConversionResponseDto response) {
+        if (response.getOldestLegAgeSeconds() != null) {
+            return response.getOldestLegAgeSeconds();
+        }
+        if (response.getTimestamp() == null) {
+            return -1;
+        }
+        return Math.max(0, (System.currentTimeMillis() - response.getTimestamp().toEpochMilli()) / 1000);
+    }
+
+    /**
+     * Hit and total counts over the last minute, in six ten-second buckets. A bucket is reset the first time it is
+     * written in a new period; a racing write may land in the old count, which only nudges the ratio.
+     */
+    static final class HitRatioWindow {
+        private static final int BUCKETS = 6;
+        private static final long BUCKET_MILLIS = 10_000;
+
+        private final AtomicLongArray periods = new AtomicLongArray(BUCKETS);
+        private final LongAdder[] hits = new LongAdder[BUCKETS];
+        private final LongAdder[] totals = new LongAdder[BUCKETS];
+
+        HitRatioWindow() {
+            for (int i = 0; i < BUCKETS; i++) {
+                hits[i] = new LongAdder();
+                totals[i] = new LongAdder();
+            }
+        }
+
+        void record(boolean hit, long nowMillis) {
+            long period = nowMillis / BUCKET_MILLIS;
+            int bucket = (int) (period % BUCKETS);
+            long current = periods.get(bucket);
+            if (current != period && periods.compareAndSet(bucket, current, period)) {
+                hits[bucket].reset();
+                totals[bucket].reset();
+            }
+            totals[bucket].increment();
+            if (hit) {
+                hits[bucket].increment();
+            }
+        }
+
+        /**
+         * @return The hit ratio over the last minute, or NaN if there were no conversions.
+         */
+        double ratio(long nowMillis) {
+            long period = nowMillis / BUCKET_MILLIS;
+            long hitCount = 0;
+            long totalCount = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                if (period - periods.get(i) < BUCKETS) {
+                    hitCount += hits[i].sum();
+                    totalCount += totals[i].sum();
+                }
+            }
+            return totalCount == 0 ? Double.NaN : (double) hitCount / totalCount;
+        }
+    }
+}
@@ -2,14 +2,19 @@ package com.vaxly.conversionservice.service;
 
 import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vaxly.conversionservice.dtos.ConversionRequestDto;
 import com.vaxly.conversionservice.dtos.ConversionResponseDto;
+import com.vaxly.conversionservice.enums.RateFreshness;
 import com.vaxly.vaxlyshared.dtos.RateInfoDto;
-import com.vaxly.vaxlyshared.service.SqsProducerService;
 import com.vaxly.conversionservice.enums.StateFlag;
 import com.vaxly.conversionservice.exceptions.DownStreamException;
 import com.vaxly.conversionservice.exceptions.HistoricalRateNotFoundException;
+import com.vaxly.conversionservice.exceptions.InvalidConversionRequestException;
 import com.vaxly.vaxlyshared.aws.AwsCognitoTokenProvider;
 import com.vaxly.vaxlyshared.constants.RedisKeys;
+import com.vaxly.vaxlyshared.currency.CurrencyRegistry;
+import com.vaxly.vaxlyshared.resilience.DownstreamRejectedException;
+import com.vaxly.vaxlyshared.service.RateUpdatePublisher;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -22,7 +27,17 @@ import org.springframework.web.reactive.function.client.WebClientResponseExcepti
 import reactor.core.publisher.Mono;
 
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
 
 @Service
 public class ConversionService {
@@ -32,18 +47,34 @@ public class ConversionService {
 
     private final WebClient webClient;
     private final  AwsCognitoTokenProvider tokenProvider;
-    private final SqsProducerService sqsProducerService;
+    private final RefreshRequestPublisher refreshRequestPublisher;
     private final UsageCounterService usageCounterService;
+    private final LocalRateCache localRateCache;
+    private final RequestCoalescer requestCoalescer;
+    private final CrossRateEngine crossRateEngine;
+    private final StaleRateRevalidator staleRateRevalidator;
+    private final UnknownPairCache unknownPairCache;
+    private final RateMatrix rateMatrix;
+    private final ConversionMetrics conversionMetrics;
+    private final RateUpdatePublisher rateUpdatePublisher;
 
     private final ObjectMapper mapper = new ObjectMapper();
     private static final Logger logger = LoggerFactory.getLogger(ConversionService.class);
 
-    public ConversionService(RedisTemplate<String, RateInfoDto> redisTemplate, WebClient webClient, AwsCognitoTokenProvider tokenProvider, SqsProducerService sqsProducerService, UsageCounterService usageCounterService) {
+    public ConversionService(RedisTemplate<String, RateInfoDto> redisTemplate, WebClient webClient, AwsCognitoTokenProvider tokenProvider, RefreshRequestPublisher refreshRequestPublisher, UsageCounterService usageCounterService, LocalRateCache localRateCache, RequestCoalescer requestCoalescer, CrossRateEngine crossRateEngine, StaleRateRevalidator staleRateRevalidator, UnknownPairCache unknownPairCache, RateMatrix rateMatrix, ConversionMetrics conversionMetrics, RateUpdatePublisher rateUpdatePublisher) {
         this.redisTemplate = redisTemplate;
         this.webClient = webClient;
         this.tokenProvider = tokenProvider;
-        this.sqsProducerService = sqsProducerService;
+        this.refreshRequestPublisher = refreshRequestPublisher;
         this.usageCounterService = usageCounterService;
+        this.localRateCache = localRateCache;
+        this.requestCoalescer = requestCoalescer;
+        this.crossRateEngine = crossRateEngine;
+        this.staleRateRevalidator = staleRateRevalidator;
+        this.unknownPairCache = unknownPairCache;
+        this.rateMatrix = rateMatrix;
+        this.conversionMetrics = conversionMetrics;
+        this.rateUpdatePublisher = rateUpdatePublisher;
     }
 
 
@@ -52,18 +83,36 @@ public class ConversionService {
      * The process prioritizes speed by checking a local cache first, before falling back
      * to a remote service if no data is found.
      * <p>
-     * 1. **Cache First**: Attempts to retrieve the conversion rate from Redis.
-     * 2. **API Fallback**: If the rate is not in the cache, it calls the historical-service API
-     * to fetch the rate.
-     * 3. **Unavailable**: If both sources fail, it returns a response with an 'UNAVAILABLE' state.
+     * 1. **Cache First**: Attempts to retrieve the conversion rate from the in-process cache, then Redis.
+     * A rate past its soft TTL is still returned, flagged 'STALE', while it is refreshed in the background;
+     * a rate past its hard TTL is ignored (see {@link StaleRateRevalidator}).
+     * 2. **Derived**: If the pair is not cached, it is computed from its cached inverse or from two
+     * cached legs through a pivot currency (see {@link CrossRateEngine}).
+     * 3. **API Fallback**: If no route is cached either, it calls the historical-service API
+     * to fetch the rate, unless that service recently reported the pair unknown (see {@link UnknownPairCache}).
+     * 4. **Unavailable**: If all sources fail, it returns a response with an 'UNAVAILABLE' state and requests
+     * a background refresh (see {@link RefreshRequestPublisher}).
      *
      * @param from   Source currency code (e.g., "USD").
      * @param to     Target currency code (e.g., "EUR").
      * @param amount Amount to convert.
      * @return A {@link ConversionResponseDto} with the conversion result and data source state.
+     * @throws InvalidConversionRequestException if either code is not a supported ISO 4217 code; nothing is read.
      */
     public ConversionResponseDto convert(String from, String to, double amount) {
-        String currencyPair = RedisKeys.normalizePair(from, to);
+        String currencyPair = supportedPair(from, to);
+        long start = System.nanoTime();
+        try {
+            ConversionResponseDto response = convert(currencyPair, from, to, amount);
+            conversionMetrics.recordRequest(response, System.nanoTime() - start);
+            return response;
+        } catch (RuntimeException e) {
+            conversionMetrics.recordRequestError(System.nanoTime() - start);
+            throw e;
+        }
+    }
+
+    private ConversionResponseDto convert(String currencyPair, String from, String to, double amount) {
         logger.info("Starting conversion for {} from {} to {}. Checking cache for key: {}", amount, from, to, currencyPair);
 
         Optional<RateInfoDto> cachedData = getCachedRate(currencyPair);
@@ -71,20 +120,42 @@ public class ConversionService {
             usageCounterService.incrementUsage(currencyPair);
 
             RateInfoDto data = cachedData.get();
-            logger.info("Rate for {} found in cache. Source: {}", currencyPair, data.getSource());
+            StateFlag stateFlag = StateFlag.CACHED;
+            if (staleRateRevalidator.freshness(data) == RateFreshness.STALE) {
+                stateFlag = StateFlag.STALE;
+                staleRateRevalidator.revalidate(currencyPair, () -> refreshRate(currencyPair, data));
+            }
+            logger.info("Rate for {} found in cache. Source: {}, State: {}", currencyPair, data.getSource(), stateFlag);
             return new ConversionResponseDto(
                     from, to,
                     data.getRate(),
                     amount * data.getRate(),
                     data.getSource(),
                     data.getTimestamp(),
-                    StateFlag.CACHED
+                    stateFlag
             );
         }
 
-        logger.info("Rate for {} not found in cache. Falling back to external API.", currencyPair);
-        String accessToken = tokenProvider.getAccessToken();
-        Optional<RateInfoDto> historicalData = getHistoricalRate(currencyPair, accessToken);
+        long derivedStart = System.nanoTime();
+        Optional<DerivedRate> derivedData = getDerivedRate(from, to);
+        conversionMetrics.recordTier(ConversionMetrics.Tier.DERIVED,
+                derivedData.isPresent() ? ConversionMetrics.Outcome.HIT : ConversionMetrics.Outcome.MISS, System.nanoTime() - derivedStart);
+        if (derivedData.isPresent()) {
+            DerivedRate derived = derivedData.get();
+            // Credit the legs rather than the derived pair so the scheduler keeps the legs fresh
+            usageCounterService.incrementUsage(countLegs(derived));
+
+            logger.info("Rate for {} derived from cached legs {}.", currencyPair, derived.getLegs());
+            return derived.toResponse(from, to, amount);
+        }
+
+        Optional<RateInfoDto> historicalData = Optional.empty();
+        if (unknownPairCache.isUnknown(currencyPair)) {
+            logger.info("Rate for {} not found in cache and recently reported unknown by external API. Skipping the call.", currencyPair);
+        } else {
+            logger.info("Rate for {} not found in cache. Falling back to external API.", currencyPair);
+            historicalData = getTimedHistoricalRate(currencyPair);
+        }
         if (historicalData.isPresent()) {
             usageCounterService.incrementUsage(currencyPair);
 
@@ -102,44 +173,434 @@ public class ConversionService {
 
         logger.warn("Rate for {} not found in cache or external API. Returning UNAVAILABLE status.", currencyPair);
 
-        // Publish a background refresh message for this currency pair to trigger async rate population
-        sqsProducerService.sendMessage(currencyPair);
+        // Request a background refresh for this currency pair; repeats are deduplicated and sent off this thread
+        refreshRequestPublisher.request(currencyPair);
         return new ConversionResponseDto(from, to, 0.0, 0.0, null, null, StateFlag.UNAVAILABLE);
     }
 
     /**
-     * Retrieves a currency conversion rate from the Redis cache.
+     * Converts a basket of amounts using the same tiers as {@link #convert(String, String, double)},
+     * but resolving each tier once for the whole batch rather than once per item.
+     * <p>
+     * 1. **Cache First**: Local hits are served in-process; remaining pairs are read with a single Redis MGET.
+     * Stale rates are served as 'STALE' and refreshed in the background; expired rates count as misses.
+     * 2. **Derived**: Pairs still missing are derived from cached legs, fetched together in one more MGET.
+     * 3. **API Fallback**: Pairs still missing are fetched from the historical-service in one grouped call,
+     * except those it recently reported unknown.
+     * 4. **Unavailable**: Pairs found nowhere are enqueued once each for a background refresh.
+     * <p>
+     * Usage for every resolved pair is recorded in one pipelined write. Each result keeps
+     * the {@link StateFlag} of the tier that served it, in the same order as the requests.
+     *
+     * @param requests The conversions to perform.
+     * @return One {@link ConversionResponseDto} per request, in request order.
+     * @throws InvalidConversionRequestException if any item has an unsupported currency code; nothing is read.
+     */
+    public List<ConversionResponseDto> convertBatch(List<ConversionRequestDto> requests) {
+        List<String> currencyPairs = requests.stream()
+                .map(request -> supportedPair(request.getFrom(), request.getTo()))
+                .toList();
+        long start = System.nanoTime();
+        try {
+            List<ConversionResponseDto> results = convertBatch(requests, currencyPairs);
+            conversionMetrics.recordBatch(results, System.nanoTime() - start);
+            return results;
+        } catch (RuntimeException e) {
+            conversionMetrics.recordBatchError(System.nanoTime() - start);
+            throw e;
+        }
+    }
+
+    private List<ConversionResponseDto> convertBatch(List<ConversionRequestDto> requests, List<String> currencyPairs) {
+        Set<String> distinctPairs = new LinkedHashSet<>(currencyPairs);
+        logger.info("Starting batch conversion of {} item(s) across {} distinct pair(s).", requests.size(), distinctPairs.size());
+
+        Map<String, RateInfoDto> cachedRates = getCachedRates(distinctPairs);
+
+        Map<String, ConversionRequestDto> missedRequests = new HashMap<>();
+        for (int i = 0; i < requests.size(); i++) {
+            if (!cachedRates.containsKey(currencyPairs.get(i))) {
+                missedRequests.putIfAbsent(currencyPairs.get(i), requests.get(i));
+            }
+        }
+        Map<String, DerivedRate> derivedRates = missedRequests.isEmpty() ? Map.of() : getDerivedRates(missedRequests.values());
+
+        Set<String> misses = new LinkedHashSet<>(distinctPairs);
+        misses.removeAll(cachedRates.keySet());
+        misses.removeAll(derivedRates.keySet());
+        misses.removeAll(unknownPairCache.unknownAmong(misses));
+        Map<String, RateInfoDto> historicalRates = misses.isEmpty() ? Map.of() : getTimedHistoricalRates(misses);
+
+        List<ConversionResponseDto> results = new ArrayList<>(requests.size());
+        Map<String, Long> usageByPair = new HashMap<>();
+        Set<String> unavailablePairs = new LinkedHashSet<>();
+        for (int i = 0; i < requests.size(); i++) {
+            ConversionRequestDto request = requests.get(i);
+            String currencyPair = currencyPairs.get(i);
+
+            RateInfoDto data = cachedRates.get(currencyPair);
+            StateFlag stateFlag = StateFlag.CACHED;
+            if (data != null && staleRateRevalidator.freshness(data) == RateFreshness.STALE) {
+                RateInfoDto served = data;
+                stateFlag = StateFlag.STALE;
+                staleRateRevalidator.revalidate(currencyPair, () -> refreshRate(currencyPair, served));
+            }
+            DerivedRate derived = derivedRates.get(currencyPair);
+            if (data == null && derived != null) {
+                derived.getLegs().forEach(leg -> usageByPair.merge(leg, 1L, Long::sum));
+                results.add(derived.toResponse(request.getFrom(), request.getTo(), request.getAmount()));
+                continue;
+            }
+            if (data == null) {
+                data = historicalRates.get(currencyPair);
+                stateFlag = StateFlag.FALLBACK_DB;
+            }
+
+            if (data == null) {
+                unavailablePairs.add(currencyPair);
+                results.add(new ConversionResponseDto(request.getFrom(), request.getTo(), 0.0, 0.0, null, null, StateFlag.UNAVAILABLE));
+                continue;
+            }
+
+            usageByPair.merge(currencyPair, 1L, Long::sum);
+            results.add(new ConversionResponseDto(
+                    request.getFrom(), request.getTo(),
+                    data.getRate(),
+                    request.getAmount() * data.getRate(),
+                    data.getSource(),
+                    data.getTimestamp(),
+                    stateFlag
+            ));
+        }
+
+        usageCounterService.incrementUsage(usageByPair);
+
+        if (!unavailablePairs.isEmpty()) {
+            logger.warn("{} pair(s) not found in cache or external API: {}", unavailablePairs.size(), unavailablePairs);
+            // Request a background refresh once per missing pair, however many items referenced it
+            unavailablePairs.forEach(refreshRequestPublisher::request);
+        }
+        return results;
+    }
+
+    /**
+     * Converts an amount into many currencies at once, reading only the in-memory {@link RateMatrix}: no Redis
+     * or history-service call is made, however many targets are asked for.
+     * <p>
+     * Each target is served from its own cell ('CACHED', or 'STALE' past the soft TTL), else from the inverse
+     * cell or two legs through a pivot ('DERIVED'). Cells past the hard TTL are ignored. Usage is not recorded
+     * and no refresh is requested, so a dashboard polling every currency does not skew the popularity ranking.
+     *
+     * @param from   Source currency code (e.g., "EUR").
+     * @param to     Target currency codes. When empty, every supported currency with a rate is returned;
+     *               otherwise one result per code, in order, 'UNAVAILABLE' where no rate is held.
+     * @param amount Amount to convert.
+     * @return One {@link ConversionResponseDto} per target.
+     * @throws InvalidConversionRequestException if any code is not a supported ISO 4217 code.
+     */
+    public List<ConversionResponseDto> convertToAll(String from, List<String> to, double amount) {
+        int base = supportedCurrency(from);
+        boolean everyCurrency = to == null || to.isEmpty();
+        int[] quotes = everyCurrency
+                ? IntStream.range(0, CurrencyRegistry.CURRENCY_COUNT).filter(quote -> quote != base).toArray()
+                : to.stream().mapToInt(ConversionService::supportedCurrency).toArray();
+
+        RateMatrix.Snapshot snapshot = rateMatrix.snapshot();
+        long now = System.currentTimeMillis();
+        String baseCode = CurrencyRegistry.code(base);
+        List<ConversionResponseDto> results = new ArrayList<>(quotes.length);
+        for (int quote : quotes) {
+            RateMatrix.Resolved resolved = rateMatrix.resolve(snapshot, base, quote, now);
+            if (resolved == null) {
+                if (!everyCurrency) {
+                    results.add(new ConversionResponseDto(baseCode, CurrencyRegistry.code(quote), 0.0, 0.0, null, null, StateFlag.UNAVAILABLE));
+                }
+                continue;
+            }
+            Instant timestamp = resolved.timestamp() == RateMatrix.NO_TIMESTAMP ? null : Instant.ofEpochMilli(resolved.timestamp());
+            StateFlag stateFlag;
+            Long oldestLegAgeSeconds = null;
+            if (resolved.derived()) {
+                stateFlag = StateFlag.DERIVED;
+                oldestLegAgeSeconds = timestamp == null ? null : Math.max(0, (now - resolved.timestamp()) / 1000);
+            } else {
+                stateFlag = staleRateRevalidator.freshness(timestamp) == RateFreshness.STALE ? StateFlag.STALE : StateFlag.CACHED;
+            }
+            results.add(new ConversionResponseDto(baseCode, CurrencyRegistry.code(quote), resolved.rate(),
+                    amount * resolved.rate(), null, timestamp, stateFlag, oldestLegAgeSeconds));
+        }
+        logger.debug("Converted {} {} into {} currency(ies) from the rate matrix.", amount, baseCode, results.size());
+        return results;
+    }
+
+    /**
+     * Retrieves a currency conversion rate from the cache tiers.
+     * The in-process cache is consulted first; on a local miss the rate is read from Redis under
+     * {@link RedisKeys#rateKey(String)}, where the worker and the re-prime job write it, and, if present,
+     * stored locally so subsequent lookups need no network I/O.
+     * A rate past its hard TTL is treated as a miss.
      *
      * @param key The currency pair key (e.g., "USD_EUR").
-     * @return An {@link Optional} containing the cached {@link RateInfoDto}, or empty if not found.
+     * @return An {@link Optional} containing the cached {@link RateInfoDto}, or empty if not found or expired.
      */
     private Optional<RateInfoDto> getCachedRate(String key) {
+        long start = System.nanoTime();
+        Optional<RateInfoDto> local = localRateCache.get(key);
+        conversionMetrics.recordTier(ConversionMetrics.Tier.LOCAL_CACHE,
+                local.isPresent() ? ConversionMetrics.Outcome.HIT : ConversionMetrics.Outcome.MISS, System.nanoTime() - start);
+        if (local.isPresent()) {
+            logger.debug("Rate for {} found in local cache.", key);
+            return local.filter(rate -> !isExpired(key, rate));
+        }
+
         logger.debug("Attempting to retrieve rate from Redis with key: {}", key);
-        Optional<RateInfoDto> result = Optional.ofNullable(redisTemplate.opsForValue().get(key));
+        start = System.nanoTime();
+        Optional<RateInfoDto> result;
+        try {
+            result = Optional.ofNullable(redisTemplate.opsForValue().get(RedisKeys.rateKey(key)));
+        } catch (RuntimeException e) {
+            conversionMetrics.recordTier(ConversionMetrics.Tier.REDIS, ConversionMetrics.Outcome.ERROR, System.nanoTime() - start);
+            throw e;
+        }
+        conversionMetrics.recordTier(ConversionMetrics.Tier.REDIS,
+                result.isPresent() ? ConversionMetrics.Outcome.HIT : ConversionMetrics.Outcome.MISS, System.nanoTime() - start);
         if(result.isPresent()) {
             logger.debug("Rate for {} found in cache.", key);
+            localRateCache.put(key, result.get());
         } else {
             logger.debug("Rate for {} not found in cache.", key);
         }
+        return result.filter(rate -> !isExpired(key, rate));
+    }
+
+    /**
+     * Retrieves rates for several currency pairs from the cache tiers.
+     * Local hits are returned directly; the remaining keys are read with a single Redis MGET
+     * and any values found are stored locally. Rates past their hard TTL are left out.
+     *
+     * @param keys The currency pair keys (e.g., ["USD_EUR", "GBP_JPY"]).
+     * @return The rates found, keyed by currency pair; misses are absent.
+     */
+    private Map<String, RateInfoDto> getCachedRates(Collection<String> keys) {
+        Map<String, RateInfoDto> found = new HashMap<>();
+        List<String> remoteKeys = new ArrayList<>();
+        for (String key : keys) {
+            localRateCache.get(key).ifPresentOrElse(rate -> {
+                if (!isExpired(key, rate)) {
+                    found.put(key, rate);
+                }
+            }, () -> remoteKeys.add(key));
+        }
+        if (remoteKeys.isEmpty()) {
+            return found;
+        }
+
+        logger.debug("Attempting to retrieve {} rate(s) from Redis with MGET.", remoteKeys.size());
+        List<RateInfoDto> values = redisTemplate.opsForValue().multiGet(remoteKeys.stream().map(RedisKeys::rateKey).toList());
+        if (values == null) {
+            return found;
+        }
+        for (int i = 0; i < remoteKeys.size(); i++) {
+            RateInfoDto rate = values.get(i);
+            if (rate != null) {
+                localRateCache.put(remoteKeys.get(i), rate);
+                if (!isExpired(remoteKeys.get(i), rate)) {
+                    found.put(remoteKeys.get(i), rate);
+                }
+            }
+        }
+        return found;
+    }
+
+    private static int supportedCurrency(String code) {
+        int currencyId = CurrencyRegistry.currencyId(code);
+        if (currencyId == CurrencyRegistry.UNKNOWN) {
+            throw new InvalidConversionRequestException("Unsupported currency: " + code);
+        }
+        return currencyId;
+    }
+
+    /**
+     * Checks both codes against the {@link CurrencyRegistry} before any cache or network access.
+     *
+     * @return The canonical pair key (e.g., "USD_EUR").
+     * @throws InvalidConversionRequestException if either code is not a supported ISO 4217 code.
+     */
+    static String supportedPair(String from, String to) {
+        int pairId = CurrencyRegistry.pairId(from, to);
+        if (pairId == CurrencyRegistry.UNKNOWN) {
+            throw new InvalidConversionRequestException("Unsupported currency pair: " + from + " to " + to);
+        }
+        return CurrencyRegistry.pairKey(pairId);
+    }
+
+    private boolean isExpired(String key, RateInfoDto rate) {
+        if (staleRateRevalidator.freshness(rate) != RateFreshness.EXPIRED) {
+            return false;
+        }
+        logger.debug("Cached rate for {} is past its hard TTL; ignoring it.", key);
+        return true;
+    }
+
+    /**
+     * Background refresh of a stale rate. Requests an upstream refresh through {@link RefreshRequestPublisher};
+     * the worker then stores the new rate and announces it, so every instance drops its copy. If the
+     * historical-service already holds a rate newer than the one served, it is stored in Redis and the local
+     * cache straight away and announced through {@link RateUpdatePublisher}.
+     *
+     * @param currencyPair The currency pair key (e.g., "USD_EUR").
+     * @param served       The stale rate that was served.
+     */
+    private void refreshRate(String currencyPair, RateInfoDto served) {
+        refreshRequestPublisher.request(currencyPair);
+        getHistoricalRate(currencyPair, tokenProvider.getAccessToken())
+                .filter(rate -> HistoricalRateParser.isNewer(rate, served))
+                .ifPresent(rate -> {
+                    redisTemplate.opsForValue().set(RedisKeys.rateKey(currencyPair), rate);
+                    localRateCache.put(currencyPair, rate);
+                    rateUpdatePublisher.publish(rate);
+                    logger.info("Refreshed stale rate for {} from history-service.", currencyPair);
+                });
+    }
+
+    /**
+     * Derives a rate for a pair that is not cached from cached legs, reading every candidate
+     * leg from the cache tiers in one pass.
+     *
+     * @param from Source currency code (e.g., "EUR").
+     * @param to   Target currency code (e.g., "GBP").
+     * @return An {@link Optional} containing the {@link DerivedRate}, or empty if no route is cached.
+     */
+    private Optional<DerivedRate> getDerivedRate(String from, String to) {
+        Set<String> legs = crossRateEngine.legsFor(from, to);
+        if (legs.isEmpty()) {
+            return Optional.empty();
+        }
+        return crossRateEngine.derive(from, to, getCachedRates(legs));
+    }
+
+    /**
+     * Derives rates for several uncached pairs, reading the union of their candidate legs in one pass.
+     *
+     * @param requests One request per uncached pair.
+     * @return The derived rates, keyed by currency pair; pairs with no cached route are absent.
+     */
+    private Map<String, DerivedRate> getDerivedRates(Collection<ConversionRequestDto> requests) {
+        Set<String> legs = new LinkedHashSet<>();
+        requests.forEach(request -> legs.addAll(crossRateEngine.legsFor(request.getFrom(), request.getTo())));
+        if (legs.isEmpty()) {
+            return Map.of();
+        }
+
+        Map<String, RateInfoDto> cachedLegs = getCachedRates(legs);
+        Map<String, DerivedRate> derived = new HashMap<>();
+        for (ConversionRequestDto request : requests) {
+            crossRateEngine.derive(request.getFrom(), request.getTo(), cachedLegs)
+                    .ifPresent(rate -> derived.put(RedisKeys.normalizePair(request.getFrom(), request.getTo()), rate));
+        }
+        return derived;
+    }
+
+    private static Map<String, Long> countLegs(DerivedRate derived) {
+        return derived.getLegs().stream().collect(Collectors.toMap(Function.identity(), leg -> 1L, Long::sum));
+    }
+
+    /**
+     * Fetches the historical rates for several currency pairs from the external service
+     * in one grouped request.
+     * <p>
+     * Failures are logged and treated as "not found" for the whole group, so the affected
+     * items are reported as unavailable rather than failing the batch. A call rejected by the
+     * client's circuit breaker or concurrency limit fails fast with a {@link DownStreamException} instead.
+     *
+     * @param currencyPairs The currency pairs to fetch (e.g., ["USD_EUR", "GBP_JPY"]).
+     * @param accessToken   The AWS Cognito access token for authorization.
+     * @return The rates returned by the service, keyed by currency pair.
+     */
+    public Map<String, RateInfoDto> getHistoricalRates(Collection<String> currencyPairs, String accessToken) {
+        logger.info("Fetching historical rates from external API for {} pair(s).", currencyPairs.size());
+
+        try {
+            String responseBody = webClient.get()
+                    .uri(uriBuilder -> uriBuilder.path("batch")
+                            .queryParam("currencyPairs", String.join(",", currencyPairs))
+                            .build())
+                    .header("Authorization", "Bearer " + accessToken)
+                    .retrieve()
+                    .bodyToMono(String.class)
+                    .block();
+
+            Map<String, RateInfoDto> result = new HashMap<>();
+            for (JsonNode node : mapper.readTree(responseBody)) {
+                if (node.has("currencyPair")) {
+                    String currencyPair = node.get("currencyPair").asText();
+                    HistoricalRateParser.toRateInfo(node, currencyPair).ifPresent(rate -> result.put(currencyPair, rate));
+                }
+            }
+            logger.info("Received {} of {} requested rate(s) from downstream API.", result.size(), currencyPairs.size());
+            // The batch endpoint omits pairs it has no rate for; remember them like a 404
+            currencyPairs.stream().filter(pair -> !result.containsKey(pair)).forEach(unknownPairCache::markUnknown);
+            return result;
+        } catch (DownstreamRejectedException e) {
+            logger.warn("Historical rates request for {} pair(s) rejected. Reason: {}", currencyPairs.size(), e.getMessage());
+            throw new DownStreamException("Failed to retrieve historical rates for " + currencyPairs.size() + " pair(s)", e.getRetryAfter());
+        } catch (WebClientResponseException e) {
+            logger.error("WebClient error while fetching historical rates. Status: {}, Body: {}", e.getStatusCode(), e.getResponseBodyAsString());
+            return Map.of();
+        } catch (Exception e) {
+            logger.error("Failed to retrieve historical rates for {} pair(s). Error: {}", currencyPairs.size(), e.getMessage(), e);
+            return Map.of();
+        }
+    }
+
+    /**
+     * {@link #getHistoricalRates(Collection, String)} for the batch fallback, timed as one history-tier lookup.
+     */
+    private Map<String, RateInfoDto> getTimedHistoricalRates(Collection<String> currencyPairs) {
+        long start = System.nanoTime();
+        Map<String, RateInfoDto> result = getHistoricalRates(currencyPairs, tokenProvider.getAccessToken());
+        conversionMetrics.recordTier(ConversionMetrics.Tier.HISTORY,
+                result.isEmpty() ? ConversionMetrics.Outcome.MISS : ConversionMetrics.Outcome.HIT, System.nanoTime() - start);
         return result;
     }
 
+    /**
+     * {@link #getHistoricalRate(String, String)} for the single-conversion fallback, timed as the history tier.
+     */
+    private Optional<RateInfoDto> getTimedHistoricalRate(String currencyPair) {
+        long start = System.nanoTime();
+        try {
+            Optional<RateInfoDto> result = getHistoricalRate(currencyPair, tokenProvider.getAccessToken());
+            conversionMetrics.recordTier(ConversionMetrics.Tier.HISTORY,
+                    result.isPresent() ? ConversionMetrics.Outcome.HIT : ConversionMetrics.Outcome.MISS, System.nanoTime() - start);
+            return result;
+        } catch (RuntimeException e) {
+            conversionMetrics.recordTier(ConversionMetrics.Tier.HISTORY, ConversionMetrics.Outcome.ERROR, System.nanoTime() - start);
+            throw e;
+        }
+    }
+
     /**
      * Fetches the historical rate for a currency pair from an external service.
      * <p>
      * This method coordinates the retrieval of a currency rate by handling the
-     * primary call and managing potential exceptions.
+     * primary call and managing potential exceptions. Concurrent calls for the same
+     * pair are coalesced so that only one downstream request per pair is outstanding;
+     * the other callers share its result.
      *
      * @param currencyPair The currency pair string (e.g., "USD_EUR").
      * @param accessToken  The AWS Cognito access token for authorization.
      * @return An {@link Optional} containing the {@link RateInfoDto} if the rate is retrieved,
      * or empty if the request failed or returned no data.
+     * @throws DownStreamException if the call was rejected by the client's circuit breaker or concurrency limit,
+     * carrying the time after which a retry may succeed.
      */
     public Optional<RateInfoDto> getHistoricalRate(String currencyPair, String accessToken) {
         logger.info("Fetching historical rate from external API for pair: {}", currencyPair);
 
         try {
-            Optional<RateInfoDto> result = fetchRateFromApi(currencyPair, accessToken);
+            Optional<RateInfoDto> result = requestCoalescer.execute(currencyPair,
+                    () -> fetchRateFromApi(currencyPair, accessToken));
 
             if (result.isPresent()) {
                 logger.info("Successfully received rate for {} from downstream API. Rate: {}", currencyPair, result.get().getRate());
@@ -147,6 +608,9 @@ public class ConversionService {
                 logger.warn("Response from downstream API for {} did not contain a valid rate.", currencyPair);
             }
             return result;
+        } catch (DownstreamRejectedException e) {
+            logger.warn("Historical rate request for {} rejected. Reason: {}", currencyPair, e.getMessage());
+            throw new DownStreamException("Failed to retrieve historical rate for currency pair " + currencyPair, e.getRetryAfter());
         } catch (Exception e) {
             logger.error("Failed to retrieve historical rate for currency pair {}. Error: {}", currencyPair, e.getMessage(), e);
             throw new DownStreamException("Failed to retrieve historical rate for currency pair " + currencyPair);
@@ -157,8 +621,8 @@ public class ConversionService {
      * Executes the WebClient call and handles deserialization and HTTP status codes.
      * <p>
      * This helper method encapsulates the entire WebClient interaction, returning an
-     * Optional with the result or an empty Optional on a 404 response. Other errors
-     * will be propagated as exceptions.
+     * Optional with the result or an empty Optional on a 404 response, which is also recorded
+     * in the {@link UnknownPairCache}. Other errors will be propagated as exceptions.
      *
      * @param currencyPair The currency pair for the API call.
      * @param accessToken  The authorization token.
@@ -182,18 +646,12 @@ public class ConversionService {
                     .block();
 
 
-            JsonNode node = mapper.readTree(responseBody);
-            if (node.has("rate") && node.has("source")) {
-                double rate = node.get("rate").asDouble();
-                String source = node.get("source").asText();
-                Instant timestamp = Instant.now();
-                return Optional.of(new RateInfoDto(source, timestamp, rate, currencyPair));
-            } else {
-                logger.warn("Response from downstream API for {} did not contain expected fields.", currencyPair);
-                return Optional.empty();
-            }
+            return HistoricalRateParser.toRateInfo(mapper.readTree(responseBody), currencyPair);
         } catch (HistoricalRateNotFoundException e) {
+            unknownPairCache.markUnknown(currencyPair);
             return Optional.empty();
+        } catch (DownstreamRejectedException e) {
+            throw e;
         } catch (WebClientResponseException e) {
             logger.error("WebClient error while fetching historical rate for {}. Status: {}, Body: {}", currencyPair, e.getStatusCode(), e.getResponseBodyAsString());
             return Optional.empty();
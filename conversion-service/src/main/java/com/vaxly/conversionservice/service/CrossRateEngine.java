@@ -0,0 +1,149 @@
+package com.vaxly.conversionservice.service;
+
+import com.vaxly.conversionservice.config.CrossRateProperties;
+import com.vaxly.vaxlyshared.constants.RedisKeys;
+import com.vaxly.vaxlyshared.dtos.RateInfoDto;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+/**
+ * Derives rates for pairs that are not cached from pairs that are.
+ * <p>
+ * A pair {@code FROM_TO} is answered, in order of preference, from:
+ * <ol>
+ *   <li>its inverse {@code TO_FROM}, as {@code 1 / rate};</li>
+ *   <li>two legs through each configured pivot {@code P}: {@code FROM_P × P_TO}, where either leg may
+ *   itself be read through its inverse.</li>
+ * </ol>
+ * The engine performs no I/O. Callers ask {@link #legsFor(String, String)} which keys could help,
+ * fetch whichever of them are cached in one round trip, and hand the result to {@link #derive}.
+ */
+@Component
+public class CrossRateEngine {
+
+    private final boolean enabled;
+    private final List<String> pivots;
+
+    public CrossRateEngine(CrossRateProperties properties) {
+        this.enabled = properties.isEnabled();
+        this.pivots = properties.getPivots().stream().map(String::toUpperCase).distinct().toList();
+    }
+
+    /**
+     * Lists every cached pair that could contribute to a derived {@code from → to} rate.
+     *
+     * @param from Source currency code (e.g., "EUR").
+     * @param to   Target currency code (e.g., "GBP").
+     * @return The candidate leg keys, or an empty set if derivation is disabled.
+     */
+    public Set<String> legsFor(String from, String to) {
+        Set<String> legs = new LinkedHashSet<>();
+        if (!enabled) {
+            return legs;
+        }
+        String base = from.toUpperCase();
+        String quote = to.toUpperCase();
+
+        legs.add(RedisKeys.normalizePair(quote, base));
+        for (String pivot : pivots) {
+            if (pivot.equals(base) || pivot.equals(quote)) {
+                continue;
+            }
+            legs.add(RedisKeys.normalizePair(base, pivot));
+            legs.add(RedisKeys.normalizePair(pivot, base));
+            legs.add(RedisKeys.normalizePair(pivot, quote));
+            legs.add(RedisKeys.normalizePair(quote, pivot));
+        }
+        return legs;
+    }
+
+    /**
+     * Derives the {@code from → to} rate from the legs available.
+     *
+     * @param from   Source currency code (e.g., "EUR").
+     * @param to     Target currency code (e.g., "GBP").
+     * @param cached The cached rates, keyed by currency pair; typically the hits among {@link #legsFor}.
+     * @return The derived rate, or empty if no inverse or pivot route is fully cached.
+     */
+    public Optional<DerivedRate> derive(String from, String to, Map<String, RateInfoDto> cached) {
+        if (!enabled) {
+            return Optional.empty();
+        }
+        String base = from.toUpperCase();
+        String quote = to.toUpperCase();
+        String currencyPair = RedisKeys.normalizePair(base, quote);
+
+        Optional<Leg> inverse = inverseLeg(base, quote, cached);
+        if (inverse.isPresent()) {
+            return Optional.of(toDerivedRate(currencyPair, inverse.get().rate(), List.of(inverse.get())));
+        }
+
+        for (String pivot : pivots) {
+            if (pivot.equals(base) || pivot.equals(quote)) {
+                continue;
+            }
+            Optional<Leg> first = leg(base, pivot, cached);
+            Optional<Leg> second = first.isPresent() ? leg(pivot, quote, cached) : Optional.empty();
+            if (second.isPresent()) {
+                double rate = first.get().rate() * second.get().rate();
+                return Optional.of(toDerivedRate(currencyPair, rate, List.of(first.get(), second.get())));
+            }
+        }
+        return Optional.empty();
+    }
+
+    /**
+     * Resolves {@code base → quote} from its direct key, falling back to the inverse key.
+     */
+    private static Optional<Leg> leg(String base, String quote, Map<String, RateInfoDto> cached) {
+        String key = RedisKeys.normalizePair(base, quote);
+        RateInfoDto direct = cached.get(key);
+        if (direct != null && direct.getRate() > 0) {
+            return Optional.of(new Leg(key, direct, direct.getRate()));
+        }
+        return inverseLeg(base, quote, cached);
+    }
+
+    private static Optional<Leg> inverseLeg(String base, String quote, Map<String, RateInfoDto> cached) {
+        String key = RedisKeys.normalizePair(quote, base);
+        RateInfoDto inverse = cached.get(key);
+        if (inverse != null && inverse.getRate() > 0) {
+            return Optional.of(new Leg(key, inverse, 1.0 / inverse.getRate()));
+        }
+        return Optional.empty();
+    }
+
+    private static DerivedRate toDerivedRate(String currencyPair, double rate, List<Leg> legs) {
+        boolean allTimestamped = legs.stream().allMatch(leg -> leg.source().getTimestamp() != null);
+        Instant oldest = allTimestamped
+                ? legs.stream().map(leg -> leg.source().getTimestamp()).min(Instant::compareTo).orElseThrow()
+                : null;
+        Long oldestLegAgeSeconds = oldest == null
+                ? null
+                : Math.max(0, Duration.between(oldest, Instant.now()).toSeconds());
+
+        String source = legs.stream()
+                .map(leg -> leg.source().getSource())
+                .filter(Objects::nonNull)
+                .distinct()
+                .collect(Collectors.joining(","));
+
+        RateInfoDto derived = new RateInfoDto(source, oldest, rate, currencyPair);
+        List<String> legKeys = legs.stream().map(Leg::key).toList();
+        return new DerivedRate(derived, legKeys, oldestLegAgeSeconds);
+    }
+
+    /**
+     * One hop of a derived route: the cache key and entry it came from, and the rate in the direction travelled.
+     */
+    private record Leg(String key, RateInfoDto source, double rate) {}
+}
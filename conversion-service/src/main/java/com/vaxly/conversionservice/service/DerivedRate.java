@@ -0,0 +1,59 @@
+package com.vaxly.conversionservice.service;
+
+import com.vaxly.conversionservice.dtos.ConversionResponseDto;
+import com.vaxly.conversionservice.enums.StateFlag;
+import com.vaxly.vaxlyshared.dtos.RateInfoDto;
+
+import java.util.List;
+
+/**
+ * A rate computed by {@link CrossRateEngine} from one or more cached legs rather than read directly.
+ */
+public final class DerivedRate {
+
+    private final RateInfoDto rate;
+    private final List<String> legs;
+    private final Long oldestLegAgeSeconds;
+
+    public DerivedRate(RateInfoDto rate, List<String> legs, Long oldestLegAgeSeconds) {
+        this.rate = rate;
+        this.legs = List.copyOf(legs);
+        this.oldestLegAgeSeconds = oldestLegAgeSeconds;
+    }
+
+    /**
+     * @return The derived rate for the requested pair, stamped with the timestamp of its oldest leg.
+     */
+    public RateInfoDto getRate() {
+        return rate;
+    }
+
+    /**
+     * @return The cached pair keys the rate was computed from (e.g., ["USD_EUR", "USD_GBP"]).
+     */
+    public List<String> getLegs() {
+        return legs;
+    }
+
+    /**
+     * @return Age in seconds of the oldest leg, or {@code null} if a leg carries no timestamp.
+     */
+    public Long getOldestLegAgeSeconds() {
+        return oldestLegAgeSeconds;
+    }
+
+    /**
+     * @return A {@link StateFlag#DERIVED} response converting {@code amount} at this rate.
+     */
+    public ConversionResponseDto toResponse(String from, String to, double amount) {
+        return new ConversionResponseDto(
+                from, to,
+                rate.getRate(),
+                amount * rate.getRate(),
+                rate.getSource(),
+                rate.getTimestamp(),
+                StateFlag.DERIVED,
+                oldestLegAgeSeconds
+        );
+    }
+}
@@ -0,0 +1,66 @@
+package com.vaxly.conversionservice.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.vaxly.vaxlyshared.dtos.RateInfoDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+import java.util.Optional;
+
+/**
+ * Maps historical-service rate objects onto {@link RateInfoDto}.
+ * Shared by the blocking and reactive conversion paths so both read the response identically.
+ */
+final class HistoricalRateParser {
+
+    private static final Logger logger = LoggerFactory.getLogger(HistoricalRateParser.class);
+
+    private HistoricalRateParser() {}
+
+    /**
+     * @param node         The JSON object returned by the historical-service.
+     * @param currencyPair The currency pair the object describes.
+     * @return The mapped rate, or empty if the object lacks the expected fields.
+     */
+    static Optional<RateInfoDto> toRateInfo(JsonNode node, String currencyPair) {
+        if (node.has("rate") && node.has("source")) {
+            double rate = node.get("rate").asDouble();
+            String source = node.get("source").asText();
+            return Optional.of(new RateInfoDto(source, lastUpdatedAt(node, currencyPair), rate, currencyPair));
+        }
+        logger.warn("Response from downstream API for {} did not contain expected fields.", currencyPair);
+        return Optional.empty();
+    }
+
+    /**
+     * @param candidate A rate just read from the historical-service.
+     * @param current   The rate it would replace.
+     * @return {@code true} if {@code candidate} was updated after {@code current}.
+     */
+    static boolean isNewer(RateInfoDto candidate, RateInfoDto current) {
+        if (candidate.getTimestamp() == null) {
+            return false;
+        }
+        return current.getTimestamp() == null || candidate.getTimestamp().isAfter(current.getTimestamp());
+    }
+
+    /**
+     * Reads when the historical-service last updated the rate, so a rate it has held for a while is aged
+     * from that time rather than from when it was read.
+     *
+     * @return The update time, or {@code null} if the object has none; such rates cannot be aged.
+     */
+    private static Instant lastUpdatedAt(JsonNode node, String currencyPair) {
+        if (!node.hasNonNull("lastUpdatedAt")) {
+            return null;
+        }
+        try {
+            return Instant.parse(node.get("lastUpdatedAt").asText());
+        } catch (DateTimeParseException e) {
+            logger.warn("Ignoring unreadable lastUpdatedAt for {}: {}", currencyPair, e.getMessage());
+            return null;
+        }
+    }
+}
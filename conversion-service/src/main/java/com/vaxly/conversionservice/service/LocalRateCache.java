@@ -0,0 +1,71 @@
+package com.vaxly.conversionservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.stats.CacheStats;
+import com.vaxly.conversionservice.config.LocalCacheProperties;
+import com.vaxly.vaxlyshared.dtos.RateInfoDto;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.stereotype.Component;
+
+import java.util.Optional;
+
+/**
+ * Bounded in-process near-cache for rates read from Redis.
+ * <p>
+ * Entries are evicted by size (least recently used first) and by a write TTL, and are
+ * invalidated eagerly when a rate-update notification arrives for the pair.
+ * Hit, miss and eviction counts are published to Micrometer under the {@code rates.local} cache name.
+ * Every rate put here is also written to the {@link RateMatrix}.
+ */
+@Component
+public class LocalRateCache {
+
+    static final String CACHE_NAME = "rates.local";
+
+    private final Cache<String, RateInfoDto> cache;
+    private final RateMatrix rateMatrix;
+
+    public LocalRateCache(LocalCacheProperties props, RateMatrix rateMatrix, MeterRegistry meterRegistry) {
+        this.rateMatrix = rateMatrix;
+        this.cache = Caffeine.newBuilder()
+                .maximumSize(props.getMaximumSize())
+                .expireAfterWrite(props.getTtl())
+                .recordStats()
+                .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    /**
+     * Looks up a rate without any network I/O.
+     *
+     * @param currencyPair The currency pair key (e.g., "USD_EUR").
+     * @return An {@link Optional} containing the cached rate, or empty on a miss.
+     */
+    public Optional<RateInfoDto> get(String currencyPair) {
+        return Optional.ofNullable(cache.getIfPresent(currencyPair));
+    }
+
+    public void put(String currencyPair, RateInfoDto rate) {
+        cache.put(currencyPair, rate);
+        rateMatrix.update(currencyPair, rate);
+    }
+
+    /**
+     * Drops the local copy of a pair so the next read goes back to Redis.
+     *
+     * @param currencyPair The currency pair key (e.g., "USD_EUR").
+     */
+    public void invalidate(String currencyPair) {
+        cache.invalidate(currencyPair);
+    }
+
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public CacheStats stats() {
+        return cache.stats();
+    }
+}
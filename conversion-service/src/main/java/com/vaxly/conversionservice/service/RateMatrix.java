@@ -0,0 +1,200 @@
+package com.vaxly.conversionservice.service;
+
+import com.vaxly.conversionservice.config.CrossRateProperties;
+import com.vaxly.conversionservice.config.FreshnessProperties;
+import com.vaxly.vaxlyshared.currency.CurrencyRegistry;
+import com.vaxly.vaxlyshared.dtos.RateInfoDto;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+
+/**
+ * Dense in-memory matrix of every rate this instance has seen, indexed by {@link CurrencyRegistry} currency id.
+ * <p>
+ * Cell {@code [base][quote]} holds the last {@code BASE_QUOTE} rate put into the {@link LocalRateCache} or
+ * published on the pair's rate channel (see {@code RateUpdateListenerConfig}), or NaN, together with its timestamp
+ * in epoch milliseconds. Unlike the local cache it is never evicted; rates older
+ * than {@code conversion.freshness.hard-ttl} are simply skipped when read.
+ * <p>
+ * Readers take a {@link Snapshot} and read it without locking. Writers are serialised and copy on write:
+ * an update copies the row tables and the one row it changes, leaving every other row shared with the
+ * previous snapshot, so a write costs a few kilobytes however many rates are stored.
+ */
+@Component
+public class RateMatrix {
+
+    /** Timestamp of a cell whose rate carried none; such rates never expire. */
+    static final long NO_TIMESTAMP = Long.MIN_VALUE;
+
+    private static final int SIZE = CurrencyRegistry.CURRENCY_COUNT;
+
+    private final boolean crossRatesEnabled;
+    private final int[] pivotIds;
+    private final long hardTtlMillis;
+    private final Object writeLock = new Object();
+    private volatile Snapshot snapshot = Snapshot.empty();
+
+    public RateMatrix(CrossRateProperties crossRateProperties, FreshnessProperties freshnessProperties) {
+        this.crossRatesEnabled = crossRateProperties.isEnabled();
+        this.pivotIds = crossRateProperties.getPivots().stream()
+                .mapToInt(CurrencyRegistry::currencyId)
+                .filter(id -> id != CurrencyRegistry.UNKNOWN)
+                .distinct()
+                .toArray();
+        this.hardTtlMillis = freshnessProperties.getHardTtl().toMillis();
+    }
+
+    /**
+     * Stores a rate in its cell. Pairs outside the registry, non-positive rates and repeats of the current
+     * value are ignored.
+     *
+     * @param currencyPair The currency pair key (e.g., "USD_EUR").
+     * @param rate         The rate for the pair.
+     */
+    public void update(String currencyPair, RateInfoDto rate) {
+        int pairId = CurrencyRegistry.pairId(currencyPair);
+        if (pairId == CurrencyRegistry.UNKNOWN || !(rate.getRate() > 0)) {
+            return;
+        }
+        int base = CurrencyRegistry.baseId(pairId);
+        int quote = CurrencyRegistry.quoteId(pairId);
+        long timestamp = rate.getTimestamp() == null ? NO_TIMESTAMP : rate.getTimestamp().toEpochMilli();
+
+        synchronized (writeLock) {
+            Snapshot current = snapshot;
+            if (current.rates[base][quote] == rate.getRate() && current.timestamps[base][quote] == timestamp) {
+                return;
+            }
+            double[][] rates = current.rates.clone();
+            long[][] timestamps = current.timestamps.clone();
+            rates[base] = rates[base].clone();
+            timestamps[base] = timestamps[base].clone();
+            rates[base][quote] = rate.getRate();
+            timestamps[base][quote] = timestamp;
+            snapshot = new Snapshot(rates, timestamps);
+        }
+    }
+
+    /**
+     * @return The current matrix; later updates never change it.
+     */
+    public Snapshot snapshot() {
+        return snapshot;
+    }
+
+    /**
+     * Resolves {@code base → quote} the way {@link CrossRateEngine} does, but from a matrix snapshot: the direct cell,
+     * then the inverse cell, then two legs through each configured pivot. Cells past the hard TTL are skipped.
+     *
+     * @param snapshot A snapshot taken with {@link #snapshot()}.
+     * @param base     The base currency id.
+     * @param quote    The quote currency id.
+     * @param nowMillis The current time, in epoch milliseconds.
+     * @return The resolved rate, or {@code null} if no route is available.
+     */
+    public Resolved resolve(Snapshot snapshot, int base, int quote, long nowMillis) {
+        if (base == quote) {
+            return new Resolved(1.0, NO_TIMESTAMP, false);
+        }
+        long cutoff = nowMillis - hardTtlMillis;
+        double direct = snapshot.leg(base, quote, cutoff);
+        if (!Double.isNaN(direct)) {
+            return new Resolved(direct, snapshot.timestamps[base][quote], false);
+        }
+        if (!crossRatesEnabled) {
+            return null;
+        }
+        double inverse = snapshot.leg(quote, base, cutoff);
+        if (!Double.isNaN(inverse)) {
+            return new Resolved(1.0 / inverse, snapshot.timestamps[quote][base], true);
+        }
+        for (int pivot : pivotIds) {
+            if (pivot == base || pivot == quote) {
+                continue;
+            }
+            double first = snapshot.legOrInverse(base, pivot, cutoff);
+            double second = Double.isNaN(first) ? Double.NaN : snapshot.legOrInverse(pivot, quote, cutoff);
+            if (!Double.isNaN(second)) {
+                long timestamp = oldest(snapshot.legTimestamp(base, pivot, cutoff), snapshot.legTimestamp(pivot, quote, cutoff));
+                return new Resolved(first * second, timestamp, true);
+            }
+        }
+        return null;
+    }
+
+    private static long oldest(long first, long second) {
+        if (first == NO_TIMESTAMP || second == NO_TIMESTAMP) {
+            return NO_TIMESTAMP;
+        }
+        return Math.min(first, second);
+    }
+
+    /**
+     * A rate read from the matrix.
+     *
+     * @param rate      The rate.
+     * @param timestamp The timestamp of the oldest cell it was read from, or {@link #NO_TIMESTAMP}.
+     * @param derived   Whether it came from an inverse or pivot route rather than its own cell.
+     */
+    public record Resolved(double rate, long timestamp, boolean derived) {
+    }
+
+    /**
+     * An immutable view of the matrix. Rows may be shared with earlier and later snapshots but are never written
+     * once published.
+     */
+    public static final class Snapshot {
+        private final double[][] rates;
+        private final long[][] timestamps;
+
+        private Snapshot(double[][] rates, long[][] timestamps) {
+            this.rates = rates;
+            this.timestamps = timestamps;
+        }
+
+        private static Snapshot empty() {
+            double[] emptyRates = new double[SIZE];
+            long[] emptyTimestamps = new long[SIZE];
+            Arrays.fill(emptyRates, Double.NaN);
+            Arrays.fill(emptyTimestamps, NO_TIMESTAMP);
+            double[][] rates = new double[SIZE][];
+            long[][] timestamps = new long[SIZE][];
+            // Every row starts as the same empty array; a row is copied on its first write
+            Arrays.fill(rates, emptyRates);
+            Arrays.fill(timestamps, emptyTimestamps);
+            return new Snapshot(rates, timestamps);
+        }
+
+        /**
+         * @return The stored {@code base → quote} rate, or NaN if none has been seen.
+         */
+        public double rate(int base, int quote) {
+            return rates[base][quote];
+        }
+
+        /**
+         * @return The stored rate's timestamp in epoch milliseconds, or {@link #NO_TIMESTAMP}.
+         */
+        public long timestamp(int base, int quote) {
+            return timestamps[base][quote];
+        }
+
+        private double leg(int base, int quote, long cutoff) {
+            long timestamp = timestamps[base][quote];
+            return timestamp != NO_TIMESTAMP && timestamp < cutoff ? Double.NaN : rates[base][quote];
+        }
+
+        private double legOrInverse(int base, int quote, long cutoff) {
+            double direct = leg(base, quote, cutoff);
+            if (!Double.isNaN(direct)) {
+                return direct;
+            }
+            double inverse = leg(quote, base, cutoff);
+            return Double.isNaN(inverse) ? Double.NaN : 1.0 / inverse;
+        }
+
+        private long legTimestamp(int base, int quote, long cutoff) {
+            return Double.isNaN(leg(base, quote, cutoff)) ? timestamps[quote][base] : timestamps[base][quote];
+        }
+    }
+}
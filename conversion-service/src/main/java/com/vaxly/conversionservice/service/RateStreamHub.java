@@ -0,0 +1,218 @@
+package com.vaxly.conversionservice.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vaxly.vaxlyshared.constants.RedisKeys;
+import com.vaxly.vaxlyshared.currency.CurrencyRegistry;
+import com.vaxly.vaxlyshared.dtos.RateInfoDto;
+import com.vaxly.vaxlyshared.serialization.RateInfoRedisSerializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.connection.Message;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.web.servlet.mvc.method.annotation.ResponseBodyEmitter;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.io.IOException;
+import java.time.Instant;
+import java.util.Collection;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArraySet;
+
+/**
+ * Pushes rate changes to server-sent-event streams.
+ * <p>
+ * Each pair that at least one open stream watches has exactly one Redis subscription on this instance, to the pair's
+ * {@link RedisKeys#rateChannel(String)}, however many clients watch it. The subscription is added with the pair's
+ * first stream and dropped with its last. An incoming rate is decoded and rendered as an event once, then written
+ * to every stream watching the pair; a rate equal to the last one pushed for the pair is not sent again.
+ * <p>
+ * A stream that subscribes gets the pair's current rate straight away if this instance has one in its
+ * {@link RateMatrix}, so clients do not wait for the next change to show a price.
+ */
+@Service
+public class RateStreamHub {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateStreamHub.class);
+
+    static final String RATE_EVENT = "rate";
+
+    private final RedisMessageListenerContainer listenerContainer;
+    private final RateMatrix rateMatrix;
+    private final ObjectMapper objectMapper;
+    private final RateInfoRedisSerializer rateSerializer = new RateInfoRedisSerializer();
+
+    private final Map<String, PairTopic> topics = new ConcurrentHashMap<>();
+    private final Map<SseEmitter, Collection<String>> streams = new ConcurrentHashMap<>();
+
+    public RateStreamHub(RedisMessageListenerContainer listenerContainer, RateMatrix rateMatrix, ObjectMapper objectMapper) {
+        this.listenerContainer = listenerContainer;
+        this.rateMatrix = rateMatrix;
+        this.objectMapper = objectMapper;
+    }
+
+    /**
+     * Starts pushing the given pairs' rate changes to a stream until it completes, times out or fails.
+     *
+     * @param emitter       The stream to write to.
+     * @param currencyPairs Canonical pair keys (e.g., "USD_EUR"), as returned by {@link CurrencyRegistry#pairKey(int)}.
+     */
+    public void subscribe(SseEmitter emitter, Collection<String> currencyPairs) {
+        streams.put(emitter, currencyPairs);
+        emitter.onCompletion(() -> unsubscribe(emitter));
+        emitter.onTimeout(() -> unsubscribe(emitter));
+        emitter.onError(error -> unsubscribe(emitter));
+
+        for (String currencyPair : currencyPairs) {
+            PairTopic topic = topics.compute(currencyPair, (pair, existing) -> {
+                PairTopic pairTopic = existing != null ? existing : openTopic(pair);
+                pairTopic.emitters.add(emitter);
+                return pairTopic;
+            });
+            sendCurrentRate(emitter, topic);
+        }
+        logger.debug("Stream subscribed to {}. {} pair(s) now watched.", currencyPairs, topics.size());
+    }
+
+    /**
+     * Stops pushing to a stream, and drops the Redis subscription of every pair no other stream watches.
+     */
+    public void unsubscribe(SseEmitter emitter) {
+        Collection<String> currencyPairs = streams.remove(emitter);
+        if (currencyPairs == null) {
+            return;
+        }
+        for (String currencyPair : currencyPairs) {
+            topics.computeIfPresent(currencyPair, (pair, topic) -> {
+                topic.emitters.remove(emitter);
+                if (!topic.emitters.isEmpty()) {
+                    return topic;
+                }
+                listenerContainer.removeMessageListener(topic, topic.channel);
+                return null;
+            });
+        }
+        logger.debug("Stream unsubscribed from {}. {} pair(s) now watched.", currencyPairs, topics.size());
+    }
+
+    /**
+     * @return The number of pairs with a Redis subscription on this instance.
+     */
+    public int watchedPairs() {
+        return topics.size();
+    }
+
+    /**
+     * Keeps idle streams open through proxies and weeds out clients that went away without closing.
+     */
+    @Scheduled(fixedDelayString = "${conversion.stream.heartbeat-interval:15s}")
+    public void heartbeat() {
+        if (streams.isEmpty()) {
+            return;
+        }
+        Set<ResponseBodyEmitter.DataWithMediaType> comment = SseEmitter.event().comment("heartbeat").build();
+        for (SseEmitter emitter : streams.keySet()) {
+            send(emitter, comment);
+        }
+    }
+
+    private PairTopic openTopic(String currencyPair) {
+        PairTopic topic = new PairTopic(currencyPair);
+        listenerContainer.addMessageListener(topic, topic.channel);
+        return topic;
+    }
+
+    private void sendCurrentRate(SseEmitter emitter, PairTopic topic) {
+        Set<ResponseBodyEmitter.DataWithMediaType> event = topic.lastEvent;
+        if (event == null) {
+            event = currentRateEvent(topic.currencyPair);
+        }
+        if (event != null) {
+            send(emitter, event);
+        }
+    }
+
+    private Set<ResponseBodyEmitter.DataWithMediaType> currentRateEvent(String currencyPair) {
+        int pairId = CurrencyRegistry.pairId(currencyPair);
+        RateMatrix.Snapshot snapshot = rateMatrix.snapshot();
+        int base = CurrencyRegistry.baseId(pairId);
+        int quote = CurrencyRegistry.quoteId(pairId);
+        double rate = snapshot.rate(base, quote);
+        if (Double.isNaN(rate)) {
+            return null;
+        }
+        long timestamp = snapshot.timestamp(base, quote);
+        return render(new RateInfoDto(null,
+                timestamp == RateMatrix.NO_TIMESTAMP ? null : Instant.ofEpochMilli(timestamp),
+                rate, currencyPair));
+    }
+
+    private Set<ResponseBodyEmitter.DataWithMediaType> render(RateInfoDto rate) {
+        try {
+            return SseEmitter.event()
+                    .name(RATE_EVENT)
+                    .data(objectMapper.writeValueAsString(rate), MediaType.APPLICATION_JSON)
+                    .build();
+        } catch (JsonProcessingException e) {
+            logger.error("Failed to render rate for {}. Error: {}", rate.getCurrencyPair(), e.getMessage());
+            return null;
+        }
+    }
+
+    private void send(SseEmitter emitter, Set<ResponseBodyEmitter.DataWithMediaType> event) {
+        try {
+            emitter.send(event);
+        } catch (IOException | IllegalStateException e) {
+            // The client has gone; completing triggers unsubscribe through the completion callback
+            logger.debug("Dropping stream after failed send: {}", e.getMessage());
+            unsubscribe(emitter);
+            emitter.completeWithError(e);
+        }
+    }
+
+    /**
+     * Listener for one pair's rate channel, shared by every stream watching the pair.
+     */
+    private final class PairTopic implements MessageListener {
+        private final String currencyPair;
+        private final ChannelTopic channel;
+        private final Set<SseEmitter> emitters = new CopyOnWriteArraySet<>();
+        private volatile double lastRate = Double.NaN;
+        private volatile Set<ResponseBodyEmitter.DataWithMediaType> lastEvent;
+
+        private PairTopic(String currencyPair) {
+            this.currencyPair = currencyPair;
+            this.channel = new ChannelTopic(RedisKeys.rateChannel(currencyPair));
+        }
+
+        @Override
+        public void onMessage(Message message, byte[] pattern) {
+            RateInfoDto rate;
+            try {
+                rate = rateSerializer.deserialize(message.getBody());
+            } catch (RuntimeException e) {
+                logger.warn("Ignoring unreadable rate on {}. Error: {}", channel.getTopic(), e.getMessage());
+                return;
+            }
+            if (rate == null || rate.getRate() == lastRate) {
+                return;
+            }
+            Set<ResponseBodyEmitter.DataWithMediaType> event = render(rate);
+            if (event == null) {
+                return;
+            }
+            lastRate = rate.getRate();
+            lastEvent = event;
+            for (SseEmitter emitter : emitters) {
+                send(emitter, event);
+            }
+        }
+    }
+}
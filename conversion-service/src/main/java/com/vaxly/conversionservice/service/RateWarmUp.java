@@ -0,0 +1,197 @@
+package com.vaxly.conversionservice.service;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vaxly.conversionservice.config.WarmUpProperties;
+import com.vaxly.conversionservice.enums.WarmUpSource;
+import com.vaxly.vaxlyshared.aws.AwsCognitoTokenProvider;
+import com.vaxly.vaxlyshared.constants.RedisKeys;
+import com.vaxly.vaxlyshared.dtos.RateInfoDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.http.MediaType;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Loads rates into the in-process cache while the instance is starting, so the first requests after a deploy
+ * are served locally instead of falling through to history-service one pair at a time.
+ * <p>
+ * Runs as an {@link ApplicationRunner}: Spring Boot only switches readiness to {@code ACCEPTING_TRAFFIC}
+ * once every runner has returned, so the readiness probe passes after warm-up (or after
+ * {@code conversion.warm-up.timeout}, whichever comes first). Failures are logged and the instance starts cold.
+ * <p>
+ * Local entries expire after {@code conversion.cache.local.ttl}, so every rate loaded from history-service is also
+ * written to Redis (SET NX, pipelined, under {@link RedisKeys#rateKey(String)}). Reads after the local copy expires
+ * are then served from Redis, and a rate the worker stored in the meantime is never replaced by an older one.
+ * <ul>
+ *   <li>{@link WarmUpSource#TOP_PAIRS}: the most used pairs from {@link RedisKeys#USAGE_TOPK_KEY}, read from Redis
+ *   with one MGET; pairs missing from Redis are fetched from history-service in grouped calls.</li>
+ *   <li>{@link WarmUpSource#FULL_BOOK}: every latest rate, streamed from history-service's export endpoint.</li>
+ * </ul>
+ */
+@Component
+public class RateWarmUp implements ApplicationRunner {
+
+    private static final int HISTORY_BATCH_SIZE = 100;
+
+    private final RedisTemplate<String, RateInfoDto> redisTemplate;
+    private final StringRedisTemplate stringRedisTemplate;
+    private final ConversionService conversionService;
+    private final WebClient webClient;
+    private final AwsCognitoTokenProvider tokenProvider;
+    private final LocalRateCache localRateCache;
+    private final WarmUpProperties properties;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private static final Logger logger = LoggerFactory.getLogger(RateWarmUp.class);
+
+    public RateWarmUp(RedisTemplate<String, RateInfoDto> redisTemplate, StringRedisTemplate stringRedisTemplate, ConversionService conversionService, WebClient webClient, AwsCognitoTokenProvider tokenProvider, LocalRateCache localRateCache, WarmUpProperties properties) {
+        this.redisTemplate = redisTemplate;
+        this.stringRedisTemplate = stringRedisTemplate;
+        this.conversionService = conversionService;
+        this.webClient = webClient;
+        this.tokenProvider = tokenProvider;
+        this.localRateCache = localRateCache;
+        this.properties = properties;
+    }
+
+    @Override
+    public void run(ApplicationArguments args) {
+        if (!properties.isEnabled()) {
+            return;
+        }
+        Duration timeout = properties.getTimeout();
+        long start = System.nanoTime();
+        try {
+            int loaded = CompletableFuture.supplyAsync(this::warmUp).get(timeout.toMillis(), TimeUnit.MILLISECONDS);
+            logger.info("Warm-up loaded {} rate(s) into the local cache in {} ms.", loaded,
+                    TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start));
+        } catch (TimeoutException e) {
+            logger.warn("Warm-up did not finish within {}; reporting ready with a partially warm cache.", timeout);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (Exception e) {
+            logger.warn("Warm-up failed; starting with a cold cache. Error: {}", e.getMessage(), e);
+        }
+    }
+
+    /**
+     * @return The number of rates stored in the local cache.
+     */
+    private int warmUp() {
+        if (properties.getSource() == WarmUpSource.TOP_PAIRS) {
+            Set<String> topPairs = stringRedisTemplate.opsForZSet()
+                    .reverseRange(RedisKeys.USAGE_TOPK_KEY, 0, properties.getMaxPairs() - 1L);
+            if (topPairs != null && !topPairs.isEmpty()) {
+                return loadPairs(new ArrayList<>(topPairs));
+            }
+            logger.info("No usage recorded yet; warming up from the full book instead.");
+        }
+        return loadFullBook();
+    }
+
+    private int loadPairs(List<String> currencyPairs) {
+        List<RateInfoDto> values = redisTemplate.opsForValue().multiGet(currencyPairs.stream().map(RedisKeys::rateKey).toList());
+        List<String> misses = new ArrayList<>();
+        int loaded = 0;
+        for (int i = 0; i < currencyPairs.size(); i++) {
+            RateInfoDto rate = values == null ? null : values.get(i);
+            if (rate != null) {
+                localRateCache.put(currencyPairs.get(i), rate);
+                loaded++;
+            } else {
+                misses.add(currencyPairs.get(i));
+            }
+        }
+        if (misses.isEmpty()) {
+            return loaded;
+        }
+
+        logger.info("{} of {} top pair(s) not in Redis; fetching them from history-service.", misses.size(), currencyPairs.size());
+        String accessToken = tokenProvider.getAccessToken();
+        for (int from = 0; from < misses.size(); from += HISTORY_BATCH_SIZE) {
+            List<String> batch = misses.subList(from, Math.min(from + HISTORY_BATCH_SIZE, misses.size()));
+            Map<String, RateInfoDto> fetched = conversionService.getHistoricalRates(batch, accessToken);
+            fetched.forEach(localRateCache::put);
+            writeIfAbsent(fetched.values());
+            loaded += fetched.size();
+        }
+        return loaded;
+    }
+
+    private int loadFullBook() {
+        Long loaded = webClient.get()
+                .uri("export")
+                .header("Authorization", "Bearer " + tokenProvider.getAccessToken())
+                .accept(MediaType.APPLICATION_NDJSON)
+                .retrieve()
+                .bodyToFlux(String.class)
+                .take(properties.getMaxPairs())
+                .concatMap(line -> Mono.justOrEmpty(parseLine(line)))
+                .doOnNext(rate -> localRateCache.put(rate.getCurrencyPair(), rate))
+                .buffer(HISTORY_BATCH_SIZE)
+                .map(this::writeIfAbsent)
+                .reduce(0L, Long::sum)
+                .block(properties.getTimeout());
+        return loaded == null ? 0 : loaded.intValue();
+    }
+
+    /**
+     * Stores the rates in Redis unless a key already holds a rate.
+     *
+     * @return The number of rates passed in.
+     */
+    @SuppressWarnings("unchecked")
+    private long writeIfAbsent(Collection<RateInfoDto> rates) {
+        if (rates.isEmpty()) {
+            return 0;
+        }
+        RedisSerializer<String> keySerializer = redisTemplate.getStringSerializer();
+        RedisSerializer<RateInfoDto> valueSerializer = (RedisSerializer<RateInfoDto>) redisTemplate.getValueSerializer();
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            rates.forEach(rate -> connection.stringCommands().set(
+                    keySerializer.serialize(RedisKeys.rateKey(rate.getCurrencyPair())),
+                    valueSerializer.serialize(rate),
+                    Expiration.persistent(),
+                    RedisStringCommands.SetOption.ifAbsent()));
+            return null;
+        });
+        return rates.size();
+    }
+
+    private RateInfoDto parseLine(String line) {
+        if (line.isBlank()) {
+            return null;
+        }
+        try {
+            JsonNode node = mapper.readTree(line);
+            if (!node.has("currencyPair")) {
+                return null;
+            }
+            return HistoricalRateParser.toRateInfo(node, node.get("currencyPair").asText()).orElse(null);
+        } catch (Exception e) {
+            logger.warn("Skipping unreadable export line. Error: {}", e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,317 @@
+package com.vaxly.conversionservice.service;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vaxly.conversionservice.dtos.ConversionResponseDto;
+import com.vaxly.conversionservice.enums.RateFreshness;
+import com.vaxly.conversionservice.enums.StateFlag;
+import com.vaxly.conversionservice.exceptions.DownStreamException;
+import com.vaxly.conversionservice.exceptions.HistoricalRateNotFoundException;
+import com.vaxly.conversionservice.exceptions.InvalidConversionRequestException;
+import com.vaxly.vaxlyshared.aws.AwsCognitoTokenProvider;
+import com.vaxly.vaxlyshared.resilience.DownstreamRejectedException;
+import com.vaxly.vaxlyshared.constants.RedisKeys;
+import com.vaxly.vaxlyshared.dtos.RateInfoDto;
+import com.vaxly.vaxlyshared.service.RateUpdatePublisher;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.HttpStatusCode;
+import org.springframework.stereotype.Service;
+import org.springframework.web.reactive.function.client.WebClient;
+import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.function.Supplier;
+
+/**
+ * Non-blocking counterpart of {@link ConversionService}, active when {@code conversion.reactive.enabled=true}.
+ * <p>
+ * The cache lookup, token fetch, historical-service call, usage increment and SQS publish are composed
+ * into a single reactive chain, so no request thread is held while any downstream round trip is in progress.
+ * The tiers (including cross-rate derivation) and {@link StateFlag} semantics are identical to the blocking service,
+ * and so are the {@link ConversionMetrics} it records.
+ */
+@Service
+@ConditionalOnProperty(name = "conversion.reactive.enabled", havingValue = "true")
+public class ReactiveConversionService {
+
+    private final ReactiveRedisTemplate<String, RateInfoDto> redisTemplate;
+    private final WebClient webClient;
+    private final AwsCognitoTokenProvider tokenProvider;
+    private final RefreshRequestPublisher refreshRequestPublisher;
+    private final UsageCounterService usageCounterService;
+    private final LocalRateCache localRateCache;
+    private final RequestCoalescer requestCoalescer;
+    private final CrossRateEngine crossRateEngine;
+    private final StaleRateRevalidator staleRateRevalidator;
+    private final UnknownPairCache unknownPairCache;
+    private final RateUpdatePublisher rateUpdatePublisher;
+    private final ConversionMetrics conversionMetrics;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private static final Logger logger = LoggerFactory.getLogger(ReactiveConversionService.class);
+
+    public ReactiveConversionService(ReactiveRedisTemplate<String, RateInfoDto> redisTemplate, WebClient webClient, AwsCognitoTokenProvider tokenProvider, RefreshRequestPublisher refreshRequestPublisher, UsageCounterService usageCounterService, LocalRateCache localRateCache, RequestCoalescer requestCoalescer, CrossRateEngine crossRateEngine, StaleRateRevalidator staleRateRevalidator, UnknownPairCache unknownPairCache, RateUpdatePublisher rateUpdatePublisher, ConversionMetrics conversionMetrics) {
+        this.redisTemplate = redisTemplate;
+        this.webClient = webClient;
+        this.tokenProvider = tokenProvider;
+        this.refreshRequestPublisher = refreshRequestPublisher;
+        this.usageCounterService = usageCounterService;
+        this.localRateCache = localRateCache;
+        this.requestCoalescer = requestCoalescer;
+        this.crossRateEngine = crossRateEngine;
+        this.staleRateRevalidator = staleRateRevalidator;
+        this.unknownPairCache = unknownPairCache;
+        this.rateUpdatePublisher = rateUpdatePublisher;
+        this.conversionMetrics = conversionMetrics;
+    }
+
+    /**
+     * Converts an amount from one currency to another using the same tiered strategy as
+     * {@link ConversionService#convert(String, String, double)}, without blocking.
+     *
+     * @param from   Source currency code (e.g., "USD").
+     * @param to     Target currency code (e.g., "EUR").
+     * @param amount Amount to convert.
+     * @return A {@link Mono} of the conversion result and data source state, or an
+     * {@link InvalidConversionRequestException} if either code is not a supported ISO 4217 code.
+     */
+    public Mono<ConversionResponseDto> convert(String from, String to, double amount) {
+        String currencyPair;
+        try {
+            currencyPair = ConversionService.supportedPair(from, to);
+        } catch (InvalidConversionRequestException e) {
+            return Mono.error(e);
+        }
+
+        Mono<ConversionResponseDto> cached = getCachedRate(currencyPair)
+                .flatMap(data -> recordUsage(currencyPair)
+                        .then(Mono.fromSupplier(() -> toResponse(from, to, amount, data, cachedState(currencyPair, data)))));
+
+        // Credit the legs rather than the derived pair so the scheduler keeps the legs fresh
+        Mono<ConversionResponseDto> derived = timed(ConversionMetrics.Tier.DERIVED, () -> getDerivedRate(from, to))
+                .flatMap(rate -> Flux.fromIterable(rate.getLegs())
+                        .concatMap(this::recordUsage)
+                        .then(Mono.fromSupplier(() -> rate.toResponse(from, to, amount))));
+
+        Mono<ConversionResponseDto> historical = Mono.defer(() -> unknownPairCache.isUnknownAsync(currencyPair))
+                .filter(unknown -> !unknown)
+                .flatMap(notUnknown -> {
+                    logger.info("Rate for {} not found in cache. Falling back to external API.", currencyPair);
+                    return timed(ConversionMetrics.Tier.HISTORY, () -> tokenProvider.getAccessTokenAsync()
+                                    .flatMap(accessToken -> getHistoricalRate(currencyPair, accessToken)))
+                            .flatMap(data -> recordUsage(currencyPair)
+                                    .thenReturn(toResponse(from, to, amount, data, StateFlag.FALLBACK_DB)));
+                });
+
+        Mono<ConversionResponseDto> unavailable = Mono.defer(() -> {
+            logger.warn("Rate for {} not found in cache or external API. Returning UNAVAILABLE status.", currencyPair);
+            // Request a background refresh for this currency pair; repeats are deduplicated and sent off this thread
+            refreshRequestPublisher.request(currencyPair);
+            return Mono.just(new ConversionResponseDto(from, to, 0.0, 0.0, null, null, StateFlag.UNAVAILABLE));
+        });
+
+        Mono<ConversionResponseDto> response = cached
+                .switchIfEmpty(derived)
+                .switchIfEmpty(historical)
+                .switchIfEmpty(unavailable);
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return response
+                    .doOnSuccess(result -> conversionMetrics.recordRequest(result, System.nanoTime() - start))
+                    .doOnError(e -> conversionMetrics.recordRequestError(System.nanoTime() - start));
+        });
+    }
+
+    /**
+     * Looks up a rate in the in-process cache, then in Redis via the reactive template.
+     *
+     * @param key The currency pair key (e.g., "USD_EUR").
+     * @return A {@link Mono} of the cached rate, or empty if not found or past its hard TTL.
+     */
+    private Mono<RateInfoDto> getCachedRate(String key) {
+        return timed(ConversionMetrics.Tier.LOCAL_CACHE, () -> Mono.justOrEmpty(localRateCache.get(key)))
+                .switchIfEmpty(timed(ConversionMetrics.Tier.REDIS, () -> redisTemplate.opsForValue().get(RedisKeys.rateKey(key)))
+                        .doOnNext(rate -> localRateCache.put(key, rate)))
+                .filter(rate -> staleRateRevalidator.freshness(rate) != RateFreshness.EXPIRED);
+    }
+
+    /**
+     * Times one data-source tier from subscription: a value is a hit, an empty result a miss.
+     */
+    private <T> Mono<T> timed(ConversionMetrics.Tier tier, Supplier<Mono<T>> lookup) {
+        return Mono.defer(() -> {
+            long start = System.nanoTime();
+            return lookup.get()
+                    .doOnSuccess(value -> conversionMetrics.recordTier(tier,
+                            value != null ? ConversionMetrics.Outcome.HIT : ConversionMetrics.Outcome.MISS, System.nanoTime() - start))
+                    .doOnError(e -> conversionMetrics.recordTier(tier, ConversionMetrics.Outcome.ERROR, System.nanoTime() - start));
+        });
+    }
+
+    /**
+     * Flags a cached rate past its soft TTL as STALE and starts a background refresh for it.
+     */
+    private StateFlag cachedState(String currencyPair, RateInfoDto data) {
+        if (staleRateRevalidator.freshness(data) != RateFreshness.STALE) {
+            return StateFlag.CACHED;
+        }
+        staleRateRevalidator.revalidate(currencyPair, () -> refreshRate(currencyPair, data));
+        return StateFlag.STALE;
+    }
+
+    /**
+     * Background refresh of a stale rate, as in {@link ConversionService}: requests an upstream refresh, and stores
+     * and announces a newer rate the historical-service already holds. Runs on the revalidator's threads, so it may
+     * block until stored.
+     */
+    private void refreshRate(String currencyPair, RateInfoDto served) {
+        refreshRequestPublisher.request(currencyPair);
+        tokenProvider.getAccessTokenAsync()
+                .flatMap(accessToken -> getHistoricalRate(currencyPair, accessToken))
+                .filter(rate -> HistoricalRateParser.isNewer(rate, served))
+                .flatMap(rate -> redisTemplate.opsForValue().set(RedisKeys.rateKey(currencyPair), rate)
+                        .doOnSuccess(stored -> {
+                            localRateCache.put(currencyPair, rate);
+                            rateUpdatePublisher.publish(rate);
+                        }))
+                .block();
+    }
+
+    /**
+     * Looks up several rates in the in-process cache, reading the remaining keys from Redis with one MGET.
+     *
+     * @param keys The currency pair keys (e.g., ["USD_EUR", "USD_GBP"]).
+     * @return A {@link Mono} of the rates found, keyed by currency pair; misses and expired rates are absent.
+     */
+    private Mono<Map<String, RateInfoDto>> getCachedRates(Collection<String> keys) {
+        Map<String, RateInfoDto> found = new HashMap<>();
+        List<String> remoteKeys = new ArrayList<>();
+        for (String key : keys) {
+            localRateCache.get(key).ifPresentOrElse(rate -> {
+                if (staleRateRevalidator.freshness(rate) != RateFreshness.EXPIRED) {
+                    found.put(key, rate);
+                }
+            }, () -> remoteKeys.add(key));
+        }
+        if (remoteKeys.isEmpty()) {
+            return Mono.just(found);
+        }
+
+        return redisTemplate.opsForValue().multiGet(remoteKeys.stream().map(RedisKeys::rateKey).toList())
+                .map(values -> {
+                    for (int i = 0; i < remoteKeys.size(); i++) {
+                        RateInfoDto rate = values.get(i);
+                        if (rate != null) {
+                            localRateCache.put(remoteKeys.get(i), rate);
+                            if (staleRateRevalidator.freshness(rate) != RateFreshness.EXPIRED) {
+                                found.put(remoteKeys.get(i), rate);
+                            }
+                        }
+                    }
+                    return found;
+                })
+                .defaultIfEmpty(found);
+    }
+
+    /**
+     * Derives a rate for an uncached pair from its cached inverse or pivot legs.
+     *
+     * @return A {@link Mono} of the derived rate, or empty if no route is cached.
+     */
+    private Mono<DerivedRate> getDerivedRate(String from, String to) {
+        Set<String> legs = crossRateEngine.legsFor(from, to);
+        if (legs.isEmpty()) {
+            return Mono.empty();
+        }
+        return getCachedRates(legs).flatMap(cached -> Mono.justOrEmpty(crossRateEngine.derive(from, to, cached)));
+    }
+
+    /**
+     * Fetches the historical rate for a currency pair, coalescing concurrent fetches for the same pair.
+     * Only a failure to obtain a result at all (e.g., a coalescing timeout, or a call rejected by the client's
+     * circuit breaker or concurrency limit) surfaces as a {@link DownStreamException}.
+     *
+     * @param currencyPair The currency pair string (e.g., "USD_EUR").
+     * @param accessToken  The AWS Cognito access token for authorization.
+     * @return A {@link Mono} of the rate, or empty if the downstream service has none.
+     */
+    public Mono<RateInfoDto> getHistoricalRate(String currencyPair, String accessToken) {
+        return requestCoalescer.executeAsync(currencyPair, () -> fetchRateFromApi(currencyPair, accessToken))
+                .onErrorMap(e -> !(e instanceof DownStreamException), e -> {
+                    logger.error("Failed to retrieve historical rate for currency pair {}. Error: {}", currencyPair, e.getMessage(), e);
+                    return new DownStreamException("Failed to retrieve historical rate for currency pair " + currencyPair);
+                });
+    }
+
+    /**
+     * Executes the WebClient call without blocking. A 404 or any other downstream error
+     * resolves to an empty {@link Mono}, mirroring the blocking service; a 404 is also recorded in the {@link UnknownPairCache}.
+     */
+    private Mono<RateInfoDto> fetchRateFromApi(String currencyPair, String accessToken) {
+        return webClient.get()
+                .uri(currencyPair)
+                .header("Authorization", "Bearer " + accessToken)
+                .retrieve()
+                .onStatus(status -> status.value() == HttpStatus.NOT_FOUND.value(), resp -> {
+                    logger.warn("Rate for {} not found in downstream service (404).", currencyPair);
+                    return Mono.error(new HistoricalRateNotFoundException("Rate not found"));
+                })
+                .onStatus(HttpStatusCode::isError, resp -> {
+                    logger.error("Downstream service returned an error. Status: {}", resp.statusCode());
+                    return resp.createException();
+                })
+                .bodyToMono(String.class)
+                .<RateInfoDto>handle((responseBody, sink) -> {
+                    try {
+                        HistoricalRateParser.toRateInfo(mapper.readTree(responseBody), currencyPair).ifPresent(sink::next);
+                    } catch (Exception e) {
+                        sink.error(e);
+                    }
+                })
+                .onErrorMap(DownstreamRejectedException.class, e -> {
+                    logger.warn("Historical rate request for {} rejected. Reason: {}", currencyPair, e.getMessage());
+                    return new DownStreamException("Failed to retrieve historical rate for currency pair " + currencyPair, e.getRetryAfter());
+                })
+                .onErrorResume(HistoricalRateNotFoundException.class, e -> {
+                    unknownPairCache.markUnknown(currencyPair);
+                    return Mono.empty();
+                })
+                .onErrorResume(WebClientResponseException.class, e -> {
+                    logger.error("WebClient error while fetching historical rate for {}. Status: {}, Body: {}", currencyPair, e.getStatusCode(), e.getResponseBodyAsString());
+                    return Mono.empty();
+                })
+                .onErrorResume(e -> !(e instanceof DownStreamException), e -> {
+                    logger.error("Failed to retrieve historical rate for currency pair {}. Error: {}", currencyPair, e.getMessage(), e);
+                    return Mono.empty();
+                });
+    }
+
+    private Mono<Void> recordUsage(String currencyPair) {
+        return usageCounterService.incrementUsageAsync(currencyPair)
+                .onErrorResume(e -> {
+                    logger.error("Failed to increment usage for currency pair '{}'. Error: {}", currencyPair, e.getMessage(), e);
+                    return Mono.empty();
+                });
+    }
+
+    private static ConversionResponseDto toResponse(String from, String to, double amount, RateInfoDto data, StateFlag stateFlag) {
+        return new ConversionResponseDto(
+                from, to,
+                data.getRate(),
+                amount * data.getRate(),
+                data.getSource(),
+                data.getTimestamp(),
+                stateFlag
+        );
+    }
+}
@@ -0,0 +1,164 @@
+package com.vaxly.conversionservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vaxly.conversionservice.config.RefreshProperties;
+import com.vaxly.vaxlyshared.constants.RedisKeys;
+import com.vaxly.vaxlyshared.service.SqsProducerService;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Enqueues background refreshes for pairs that no tier could serve, at most one per pair at a time.
+ * <p>
+ * 1. **Dedup window**: Each instance remembers the pairs it requested within {@code conversion.refresh.dedup-window}
+ * and drops repeats in memory, so a burst for one pair costs a single map lookup per request.
+ * 2. **Shared lease**: The first request then takes the pair's {@code inflight:} lease with SET NX, the same key and
+ * TTL the scheduler uses, and only the holder publishes to SQS. Other instances and the scheduler see the pair as
+ * in flight until the lease expires.
+ * 3. **Off the request thread**: The lease and the SQS send run on a small executor (virtual threads when
+ * {@code spring.threads.virtual.enabled=true}). At most {@code conversion.refresh.max-pending} requests wait for it;
+ * beyond that, requests are dropped and retried by a later miss.
+ */
+@Component
+public class RefreshRequestPublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(RefreshRequestPublisher.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final SqsProducerService sqsProducerService;
+    private final Duration leaseTtl;
+    private final int maxPending;
+    private final Cache<String, Boolean> recentlyRequested;
+    private final AtomicInteger pending = new AtomicInteger();
+    private final ExecutorService executor;
+    private final Counter enqueuedCounter;
+    private final Counter windowDedupCounter;
+    private final Counter leaseDedupCounter;
+    private final Counter droppedCounter;
+    private final Timer publishTimer;
+    private final Timer publishErrorTimer;
+
+    public RefreshRequestPublisher(StringRedisTemplate redisTemplate,
+                                   SqsProducerService sqsProducerService,
+                                   RefreshProperties properties,
+                                   @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                                   MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.sqsProducerService = sqsProducerService;
+        this.leaseTtl = properties.getLeaseTtl();
+        this.maxPending = properties.getMaxPending();
+        this.recentlyRequested = Caffeine.newBuilder()
+                .expireAfterWrite(properties.getDedupWindow())
+                .build();
+        this.executor = virtualThreads
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("rate-refresh-", 0).factory())
+                : Executors.newFixedThreadPool(properties.getThreads(), Thread.ofPlatform().name("rate-refresh-", 0).daemon().factory());
+        this.enqueuedCounter = Counter.builder("conversion.refresh.enqueued")
+                .description("Refresh messages published to SQS for unavailable pairs")
+                .register(meterRegistry);
+        this.windowDedupCounter = Counter.builder("conversion.refresh.deduplicated")
+                .description("Refresh requests dropped because the pair was already requested")
+                .tag("by", "window")
+                .register(meterRegistry);
+        this.leaseDedupCounter = Counter.builder("conversion.refresh.deduplicated")
+                .description("Refresh requests dropped because the pair was already requested")
+                .tag("by", "lease")
+                .register(meterRegistry);
+        this.droppedCounter = Counter.builder("conversion.refresh.dropped")
+                .description("Refresh requests dropped because too many were waiting or the lease could not be taken")
+                .register(meterRegistry);
+        this.publishTimer = ConversionMetrics.tierTimer(meterRegistry, ConversionMetrics.Tier.SQS_PUBLISH, ConversionMetrics.Outcome.SUCCESS);
+        this.publishErrorTimer = ConversionMetrics.tierTimer(meterRegistry, ConversionMetrics.Tier.SQS_PUBLISH, ConversionMetrics.Outcome.ERROR);
+    }
+
+    /**
+     * Requests a background refresh of a pair without blocking the caller.
+     *
+     * @param currencyPair The currency pair to refresh (e.g., "USD_EUR").
+     * @return {@code true} if the request was handed to the executor, {@code false} if it was deduplicated or dropped.
+     */
+    public boolean request(String currencyPair) {
+        if (recentlyRequested.asMap().putIfAbsent(currencyPair, Boolean.TRUE) != null) {
+            windowDedupCounter.increment();
+            return false;
+        }
+        if (pending.incrementAndGet() > maxPending) {
+            release(currencyPair);
+            logger.warn("Dropping refresh request for {}: {} request(s) already waiting.", currencyPair, maxPending);
+            return false;
+        }
+        try {
+            executor.execute(() -> publish(currencyPair));
+        } catch (RejectedExecutionException e) {
+            release(currencyPair);
+            return false;
+        }
+        return true;
+    }
+
+    /**
+     * Takes the pair's lease and, if this instance got it, publishes the refresh message.
+     */
+    private void publish(String currencyPair) {
+        try {
+            Boolean acquired = redisTemplate.opsForValue().setIfAbsent(RedisKeys.inflightKey(currencyPair), "true", leaseTtl);
+            if (!Boolean.TRUE.equals(acquired)) {
+                logger.debug("Refresh for {} is already in flight.", currencyPair);
+                leaseDedupCounter.increment();
+                return;
+            }
+            try {
+                sendMessage(currencyPair);
+            } catch (RuntimeException e) {
+                // Nothing was enqueued, so give up the lease rather than blocking every retry until it expires
+                redisTemplate.delete(RedisKeys.inflightKey(currencyPair));
+                throw e;
+            }
+            enqueuedCounter.increment();
+        } catch (Exception e) {
+            // Forget the pair so the next miss tries again instead of waiting out the dedup window
+            recentlyRequested.invalidate(currencyPair);
+            droppedCounter.increment();
+            logger.warn("Failed to request a refresh for {}. Error: {}", currencyPair, e.getMessage());
+        } finally {
+            pending.decrementAndGet();
+        }
+    }
+
+    private void sendMessage(String currencyPair) {
+        long start = System.nanoTime();
+        try {
+            sqsProducerService.sendMessage(currencyPair);
+            publishTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+        } catch (RuntimeException e) {
+            publishErrorTimer.record(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+            throw e;
+        }
+    }
+
+    private void release(String currencyPair) {
+        pending.decrementAndGet();
+        recentlyRequested.invalidate(currencyPair);
+        droppedCounter.increment();
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,123 @@
+package com.vaxly.conversionservice.service;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.function.Supplier;
+
+/**
+ * Collapses concurrent calls for the same key into a single execution ("single flight").
+ * <p>
+ * The first caller for a key runs the loader; callers arriving while it is in flight wait
+ * on the same result instead of issuing their own downstream request. Waiting is bounded by
+ * {@code conversion.coalescing.max-wait}; a follower that times out fails with an
+ * {@link IllegalStateException} while the leader's call carries on for everyone else.
+ * <p>
+ * The number of callers that were collapsed onto another caller's request is published
+ * as the {@code conversion.history.coalesced} counter.
+ */
+@Component
+public class RequestCoalescer {
+
+    private static final Logger logger = LoggerFactory.getLogger(RequestCoalescer.class);
+
+    private final ConcurrentMap<String, CompletableFuture<Object>> inFlight = new ConcurrentHashMap<>();
+    private final Duration maxWait;
+    private final Counter coalescedCounter;
+
+    public RequestCoalescer(@Value("${conversion.coalescing.max-wait:5s}") Duration maxWait, MeterRegistry meterRegistry) {
+        this.maxWait = maxWait;
+        this.coalescedCounter = Counter.builder("conversion.history.coalesced")
+                .description("Callers that waited on an in-flight history-service fetch instead of issuing their own")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Runs {@code loader} for {@code key} unless a call for the same key is already in flight,
+     * in which case the caller waits for and shares that call's result.
+     *
+     * @param key    The coalescing key (e.g., "USD_EUR").
+     * @param loader The call to perform when this caller is the leader.
+     * @return The loader's result, either computed by this caller or shared from the leader.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> T execute(String key, Supplier<T> loader) {
+        CompletableFuture<Object> ours = new CompletableFuture<>();
+        CompletableFuture<Object> existing = inFlight.putIfAbsent(key, ours);
+        if (existing != null) {
+            coalescedCounter.increment();
+            logger.debug("Joining in-flight request for {}.", key);
+            return (T) await(key, existing);
+        }
+
+        try {
+            T result = loader.get();
+            ours.complete(result);
+            return result;
+        } catch (RuntimeException e) {
+            ours.completeExceptionally(e);
+            throw e;
+        } finally {
+            inFlight.remove(key, ours);
+        }
+    }
+
+    /**
+     * Non-blocking variant of {@link #execute(String, Supplier)}.
+     * The leader subscribes to the loader's {@link Mono}; followers subscribe to the leader's
+     * result and time out after the same bound without holding a thread while they wait.
+     *
+     * @param key    The coalescing key (e.g., "USD_EUR").
+     * @param loader Supplies the call to perform when this subscriber is the leader.
+     * @return A {@link Mono} of the shared result.
+     */
+    @SuppressWarnings("unchecked")
+    public <T> Mono<T> executeAsync(String key, Supplier<Mono<T>> loader) {
+        return Mono.defer(() -> {
+            CompletableFuture<Object> ours = new CompletableFuture<>();
+            CompletableFuture<Object> existing = inFlight.putIfAbsent(key, ours);
+            if (existing != null) {
+                coalescedCounter.increment();
+                logger.debug("Joining in-flight request for {}.", key);
+                return Mono.fromFuture(existing, true)
+                        .map(result -> (T) result)
+                        .timeout(maxWait, Mono.error(() -> new IllegalStateException(
+                                "Timed out after " + maxWait.toMillis() + "ms waiting for in-flight request for " + key)));
+            }
+
+            return loader.get()
+                    .doOnSuccess(ours::complete)
+                    .doOnError(ours::completeExceptionally)
+                    .doOnCancel(() -> ours.cancel(false))
+                    .doFinally(signal -> inFlight.remove(key, ours));
+        });
+    }
+
+    private Object await(String key, CompletableFuture<Object> leader) {
+        try {
+            return leader.get(maxWait.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (TimeoutException e) {
+            throw new IllegalStateException("Timed out after " + maxWait.toMillis() + "ms waiting for in-flight request for " + key, e);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while waiting for in-flight request for " + key, e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new IllegalStateException("In-flight request for " + key + " failed", e.getCause());
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package com.vaxly.conversionservice.service;
+
+import com.vaxly.conversionservice.config.FreshnessProperties;
+import com.vaxly.conversionservice.enums.RateFreshness;
+import com.vaxly.vaxlyshared.dtos.RateInfoDto;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+
+/**
+ * Stale-while-revalidate support for cached rates.
+ * <p>
+ * A cached rate's age is measured from its timestamp. Up to {@code conversion.freshness.soft-ttl} it is
+ * {@link RateFreshness#FRESH}; up to {@code conversion.freshness.hard-ttl} it is {@link RateFreshness#STALE}
+ * and may still be served while a refresh runs in the background; beyond that it is {@link RateFreshness#EXPIRED}
+ * and must not be served. Rates without a timestamp cannot be aged and count as fresh.
+ * <p>
+ * Background refreshes are deduplicated per pair: while one is running for a pair, further requests to
+ * revalidate it are dropped. They run on virtual threads when {@code spring.threads.virtual.enabled=true},
+ * otherwise on a pool of {@code conversion.freshness.refresh-threads} platform threads, never on the request thread.
+ */
+@Component
+public class StaleRateRevalidator {
+
+    private static final Logger logger = LoggerFactory.getLogger(StaleRateRevalidator.class);
+
+    private final Duration softTtl;
+    private final Duration hardTtl;
+    private final ExecutorService executor;
+    private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+    private final Counter startedCounter;
+    private final Counter deduplicatedCounter;
+
+    public StaleRateRevalidator(FreshnessProperties properties,
+                                @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads,
+                                MeterRegistry meterRegistry) {
+        this.softTtl = properties.getSoftTtl();
+        this.hardTtl = properties.getHardTtl();
+        this.executor = virtualThreads
+                ? Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("rate-revalidate-", 0).factory())
+                : Executors.newFixedThreadPool(properties.getRefreshThreads(), Thread.ofPlatform().name("rate-revalidate-", 0).daemon().factory());
+        this.startedCounter = Counter.builder("conversion.revalidation.started")
+                .description("Background refreshes started for stale rates")
+                .register(meterRegistry);
+        this.deduplicatedCounter = Counter.builder("conversion.revalidation.deduplicated")
+                .description("Stale reads that found a refresh already running for the pair")
+                .register(meterRegistry);
+    }
+
+    /**
+     * @param rate A cached rate.
+     * @return How the rate's age compares with the soft and hard TTLs.
+     */
+    public RateFreshness freshness(RateInfoDto rate) {
+        return freshness(rate.getTimestamp());
+    }
+
+    /**
+     * @param timestamp When a rate was last updated, or {@code null} if unknown.
+     * @return How the rate's age compares with the soft and hard TTLs.
+     */
+    public RateFreshness freshness(Instant timestamp) {
+        if (timestamp == null) {
+            return RateFreshness.FRESH;
+        }
+        Duration age = Duration.between(timestamp, Instant.now());
+        if (age.compareTo(softTtl) <= 0) {
+            return RateFreshness.FRESH;
+        }
+        return age.compareTo(hardTtl) <= 0 ? RateFreshness.STALE : RateFreshness.EXPIRED;
+    }
+
+    /**
+     * Runs {@code refresh} in the background unless a refresh for the pair is already running.
+     * Failures are logged; the stale rate keeps being served until the hard TTL.
+     *
+     * @param currencyPair The currency pair to refresh (e.g., "USD_EUR").
+     * @param refresh      Fetches the pair's rate and stores it in the cache tiers.
+     * @return {@code true} if a refresh was started, {@code false} if one was already running.
+     */
+    public boolean revalidate(String currencyPair, Runnable refresh) {
+        if (!inFlight.add(currencyPair)) {
+            deduplicatedCounter.increment();
+            return false;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    refresh.run();
+                } catch (Exception e) {
+                    logger.warn("Background refresh of stale rate {} failed. Error: {}", currencyPair, e.getMessage());
+                } finally {
+                    inFlight.remove(currencyPair);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            inFlight.remove(currencyPair);
+            return false;
+        }
+        startedCounter.increment();
+        return true;
+    }
+
+    @PreDestroy
+    public void shutdown() {
+        executor.shutdownNow();
+    }
+}
@@ -0,0 +1,167 @@
+package com.vaxly.conversionservice.service;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.vaxly.conversionservice.config.NegativeCacheProperties;
+import com.vaxly.vaxlyshared.constants.RedisKeys;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Component;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Negative cache for pairs the history-service answered 404 for.
+ * <p>
+ * While a pair is listed here, the historical tier is skipped for it: no token lookup and no HTTP call.
+ * Entries live in-process for {@code conversion.negative-cache.ttl} and, with {@code conversion.negative-cache.shared=true},
+ * in Redis under {@link RedisKeys#unknownPairKey(String)} so one instance's 404 spares the others.
+ * Writing a rate removes the Redis entry ({@code RateUpdatePublisher}) and the resulting rate-update notification
+ * drops the local one. Skipped calls are counted under {@code conversion.negative-cache.saved}.
+ */
+@Component
+public class UnknownPairCache {
+
+    private static final Logger logger = LoggerFactory.getLogger(UnknownPairCache.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final boolean enabled;
+    private final boolean shared;
+    private final Duration sharedTtl;
+    private final Cache<String, Boolean> unknownPairs;
+    private final Counter savedCounter;
+
+    public UnknownPairCache(StringRedisTemplate redisTemplate, NegativeCacheProperties properties, MeterRegistry meterRegistry) {
+        this.redisTemplate = redisTemplate;
+        this.enabled = properties.isEnabled();
+        this.shared = properties.isShared();
+        this.sharedTtl = properties.getSharedTtl();
+        this.unknownPairs = Caffeine.newBuilder()
+                .maximumSize(properties.getMaximumSize())
+                .expireAfterWrite(properties.getTtl())
+                .build();
+        this.savedCounter = Counter.builder("conversion.negative-cache.saved")
+                .description("History-service calls skipped because the pair was recently reported unknown")
+                .register(meterRegistry);
+    }
+
+    /**
+     * Checks whether the history-service recently reported a pair unknown, counting a saved call if so.
+     * May read Redis when sharing is enabled, so it must not be called on an event-loop thread.
+     *
+     * @param currencyPair The currency pair key (e.g., "USD_EUR").
+     * @return {@code true} if the historical tier should be skipped for the pair.
+     */
+    public boolean isUnknown(String currencyPair) {
+        if (!enabled) {
+            return false;
+        }
+        boolean unknown = unknownPairs.getIfPresent(currencyPair) != null || isUnknownShared(currencyPair);
+        if (unknown) {
+            savedCounter.increment();
+        }
+        return unknown;
+    }
+
+    /**
+     * Batch variant of {@link #isUnknown(String)}: pairs not listed locally are checked in Redis with one MGET
+     * rather than one round trip each. Must not be called on an event-loop thread.
+     *
+     * @param currencyPairs The currency pair keys (e.g., ["USD_EUR", "USD_XYZ"]).
+     * @return The pairs whose historical tier should be skipped.
+     */
+    public Set<String> unknownAmong(Collection<String> currencyPairs) {
+        if (!enabled || currencyPairs.isEmpty()) {
+            return Set.of();
+        }
+        Set<String> unknown = new HashSet<>();
+        List<String> remotePairs = new ArrayList<>();
+        for (String currencyPair : currencyPairs) {
+            if (unknownPairs.getIfPresent(currencyPair) != null) {
+                unknown.add(currencyPair);
+            } else if (shared) {
+                remotePairs.add(currencyPair);
+            }
+        }
+        if (!remotePairs.isEmpty()) {
+            try {
+                List<String> values = redisTemplate.opsForValue().multiGet(remotePairs.stream().map(RedisKeys::unknownPairKey).toList());
+                for (int i = 0; values != null && i < remotePairs.size(); i++) {
+                    if (values.get(i) != null) {
+                        unknownPairs.put(remotePairs.get(i), Boolean.TRUE);
+                        unknown.add(remotePairs.get(i));
+                    }
+                }
+            } catch (Exception e) {
+                logger.debug("Could not read shared unknown-pair entries for {} pair(s). Error: {}", remotePairs.size(), e.getMessage());
+            }
+        }
+        savedCounter.increment(unknown.size());
+        return unknown;
+    }
+
+    /**
+     * Non-blocking variant of {@link #isUnknown(String)}; a Redis read, if needed, runs off the calling thread.
+     */
+    public Mono<Boolean> isUnknownAsync(String currencyPair) {
+        if (!enabled || (!shared && unknownPairs.getIfPresent(currencyPair) == null)) {
+            return Mono.just(false);
+        }
+        return Mono.fromCallable(() -> isUnknown(currencyPair)).subscribeOn(Schedulers.boundedElastic());
+    }
+
+    /**
+     * Records that the history-service has no rate for a pair. The Redis write, if any, is done in the background.
+     *
+     * @param currencyPair The currency pair key (e.g., "USD_EUR").
+     */
+    public void markUnknown(String currencyPair) {
+        if (!enabled) {
+            return;
+        }
+        unknownPairs.put(currencyPair, Boolean.TRUE);
+        if (shared) {
+            Schedulers.boundedElastic().schedule(() -> {
+                try {
+                    redisTemplate.opsForValue().set(RedisKeys.unknownPairKey(currencyPair), "true", sharedTtl);
+                } catch (Exception e) {
+                    logger.warn("Failed to share unknown pair {}. Error: {}", currencyPair, e.getMessage());
+                }
+            });
+        }
+    }
+
+    /**
+     * Forgets a pair, typically because a rate for it has just been written.
+     *
+     * @param currencyPair The currency pair key (e.g., "USD_EUR").
+     */
+    public void invalidate(String currencyPair) {
+        unknownPairs.invalidate(currencyPair);
+    }
+
+    private boolean isUnknownShared(String currencyPair) {
+        if (!shared) {
+            return false;
+        }
+        try {
+            if (Boolean.TRUE.equals(redisTemplate.hasKey(RedisKeys.unknownPairKey(currencyPair)))) {
+                unknownPairs.put(currencyPair, Boolean.TRUE);
+                return true;
+            }
+        } catch (Exception e) {
+            logger.debug("Could not read shared unknown-pair entry for {}. Error: {}", currencyPair, e.getMessage());
+        }
+        return false;
+    }
+}
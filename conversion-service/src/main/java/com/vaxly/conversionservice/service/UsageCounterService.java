@@ -1,34 +1,257 @@
 package com.vaxly.conversionservice.service;
 
+import com.vaxly.conversionservice.config.UsageProperties;
 import com.vaxly.vaxlyshared.constants.RedisKeys;
+import com.vaxly.vaxlyshared.usage.CountMinSketch;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.annotation.PreDestroy;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.RedisZSetCommands;
+import org.springframework.data.redis.core.RedisCallback;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
- * Service to manage usage counters in Redis using a Sorted Set.
- * This class tracks the usage frequency of currency pairs, enabling retrieval
- * of the most popular pairs.
+ * Tracks how often each currency pair is used, in fixed memory, so the scheduler can refresh the most popular pairs.
+ * <p>
+ * Increments are aggregated in memory, in one {@link LongAdder} per pair, and flushed every
+ * {@code conversion.usage.flush-interval} and on shutdown into shared Redis structures:
+ * <ul>
+ *   <li>{@link RedisKeys#USAGE_SKETCH_KEY}: a {@link CountMinSketch} stored as a hash of counters. Every instance
+ *   adds its counts into the same cells, so the hash is the merged sketch of the whole fleet.</li>
+ *   <li>{@link RedisKeys#USAGE_TOPK_KEY}: a sorted set of at most {@code conversion.usage.top-k} pairs, scored with
+ *   the merged sketch's estimates and trimmed to the highest scores after every flush.</li>
+ *   <li>{@link RedisKeys#USAGE_DECAYED_KEY}: at most {@code top-k} pairs scored by exponentially decayed use,
+ *   halving in weight every {@code conversion.usage.half-life}.</li>
+ *   <li>{@link RedisKeys#USAGE_WINDOW_PREFIX} buckets: at most {@code top-k} pairs per
+ *   {@code conversion.usage.window-bucket}, expiring once they fall out of {@code conversion.usage.window}.</li>
+ * </ul>
+ * All of them stay the same size however many distinct (or junk) pairs are requested. The decayed and windowed
+ * sets are updated by {@code scripts/usage_ranking_increment.lua}, which evicts the lowest-ranked pair
+ * Space-Saving style when a new pair arrives at a full set.
  */
 @Service
 public class UsageCounterService {
 
     private final StringRedisTemplate redisTemplate;
+    private final Map<String, LongAdder> pendingUsage = new ConcurrentHashMap<>();
+    private final int maxPendingPairs;
+    private final int sketchDepth;
+    private final int sketchWidth;
+    private final int topK;
+    private final Duration halfLife;
+    private final Duration window;
+    private final Duration windowBucket;
+    private final Counter droppedUsage;
+
+    private static final RedisScript<Long> RANKING_INCREMENT_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/usage_ranking_increment.lua"), Long.class);
     private static final Logger logger = LoggerFactory.getLogger(UsageCounterService.class);
-    // Key for the sorted set storing usage counts
 
-    public UsageCounterService(StringRedisTemplate redisTemplate) {
+    public UsageCounterService(StringRedisTemplate redisTemplate, UsageProperties properties, MeterRegistry meterRegistry) {
         this.redisTemplate = redisTemplate;
+        this.maxPendingPairs = properties.getMaxPendingPairs();
+        this.sketchDepth = properties.getSketchDepth();
+        this.sketchWidth = properties.getSketchWidth();
+        this.topK = properties.getTopK();
+        this.halfLife = properties.getHalfLife();
+        this.window = properties.getWindow();
+        this.windowBucket = properties.getWindowBucket();
+        this.droppedUsage = Counter.builder("conversion.usage.dropped")
+                .description("Uses not recorded because the pending buffer was full of other pairs")
+                .register(meterRegistry);
     }
 
     /**
-     * Atomically increments the usage count for a given currency pair in the sorted set.
+     * Records one use of a currency pair. The count reaches Redis on the next flush.
      *
      * @param currencyPair The currency pair to increment (e.g., "USD_EUR").
      */
     public void incrementUsage(String currencyPair) {
-        redisTemplate.opsForZSet().incrementScore(RedisKeys.USAGE_ZSET_KEY, currencyPair, 1);
-        logger.info("Incremented usage for currency pair '{}'.", currencyPair);
+        add(currencyPair, 1);
+    }
+
+    /**
+     * Records uses of several currency pairs. The counts reach Redis on the next flush.
+     *
+     * @param usageByPair Number of uses to add per currency pair (e.g., {"USD_EUR": 3}).
+     */
+    public void incrementUsage(Map<String, Long> usageByPair) {
+        usageByPair.forEach(this::add);
+    }
+
+    /**
+     * Variant of {@link #incrementUsage(String)} for the reactive conversion pipeline.
+     * Recording is in-memory, so the returned {@link Mono} completes without any I/O.
+     *
+     * @param currencyPair The currency pair to increment (e.g., "USD_EUR").
+     * @return A {@link Mono} that completes once the use has been recorded.
+     */
+    public Mono<Void> incrementUsageAsync(String currencyPair) {
+        return Mono.fromRunnable(() -> incrementUsage(currencyPair));
+    }
+
+    /**
+     * Adds the counts accumulated since the last flush to the shared sketch, then re-scores those pairs in the
+     * top-K set, then adds them to the decayed and windowed rankings. Each step is one round trip.
+     * <p>
+     * If the sketch update fails the counts are kept for the next flush. Later failures are only logged:
+     * the sketch already holds the counts, and the pairs are re-ranked the next time they are used.
+     * Pairs that saw no use for a whole interval are dropped from memory.
+     */
+    @Scheduled(fixedDelayString = "${conversion.usage.flush-interval:5s}")
+    public void flush() {
+        Map<String, Long> usageByPair = new LinkedHashMap<>();
+        pendingUsage.forEach((pair, adder) -> {
+            long count = adder.sumThenReset();
+            if (count > 0) {
+                usageByPair.put(pair, count);
+            } else {
+                // Only drop the adder if nothing was added since it was read; see add() for an add that races the removal
+                pendingUsage.computeIfPresent(pair, (key, current) -> current == adder && current.sum() == 0 ? null : current);
+            }
+        });
+        if (usageByPair.isEmpty()) {
+            return;
+        }
+
+        RedisSerializer<String> serializer = redisTemplate.getStringSerializer();
+        List<Object> counters;
+        try {
+            counters = incrementSketch(usageByPair, serializer);
+        } catch (Exception e) {
+            logger.error("Failed to flush usage for {} currency pair(s); will retry. Error: {}", usageByPair.size(), e.getMessage(), e);
+            incrementUsage(usageByPair);
+            return;
+        }
+
+        // Each pair's estimate is the smallest of its updated counters, in the order they were written
+        Map<String, Long> estimates = new LinkedHashMap<>();
+        int index = 0;
+        for (String pair : usageByPair.keySet()) {
+            long estimate = Long.MAX_VALUE;
+            for (int row = 0; row < sketchDepth; row++) {
+                estimate = Math.min(estimate, ((Number) counters.get(index++)).longValue());
+            }
+            estimates.put(pair, estimate);
+        }
+
+        try {
+            updateTopK(estimates, serializer);
+            logger.debug("Flushed usage for {} currency pair(s).", usageByPair.size());
+        } catch (Exception e) {
+            logger.warn("Failed to update top-K usage ranking for {} currency pair(s). Error: {}", estimates.size(), e.getMessage(), e);
+        }
+
+        try {
+            updateRecencyRankings(usageByPair, System.currentTimeMillis());
+        } catch (Exception e) {
+            logger.warn("Failed to update recency usage rankings for {} currency pair(s). Error: {}", usageByPair.size(), e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Flushes any counts still held in memory before the application stops.
+     */
+    @PreDestroy
+    public void flushOnShutdown() {
+        flush();
+    }
+
+    private void add(String currencyPair, long count) {
+        LongAdder adder = pendingUsage.get(currencyPair);
+        if (adder == null) {
+            if (pendingUsage.size() >= maxPendingPairs) {
+                droppedUsage.increment(count);
+                return;
+            }
+            adder = pendingUsage.computeIfAbsent(currencyPair, pair -> new LongAdder());
+        }
+        adder.add(count);
+        if (pendingUsage.get(currencyPair) != adder) {
+            // flush() dropped this adder as idle between our read and our add: move whatever it holds to the live one
+            long orphaned = adder.sumThenReset();
+            if (orphaned > 0) {
+                add(currencyPair, orphaned);
+            }
+        }
+    }
+
+    /**
+     * {@code HINCRBY}s every sketch counter of every pair and returns the updated values, pair by pair and row by row.
+     */
+    private List<Object> incrementSketch(Map<String, Long> usageByPair, RedisSerializer<String> serializer) {
+        byte[] sketchKey = serializer.serialize(RedisKeys.USAGE_SKETCH_KEY);
+        List<byte[]> fields = new ArrayList<>();
+        List<Long> counts = new ArrayList<>();
+        usageByPair.forEach((pair, count) -> {
+            int[] columns = CountMinSketch.cells(pair, sketchDepth, sketchWidth);
+            for (int row = 0; row < sketchDepth; row++) {
+                fields.add(serializer.serialize(RedisKeys.usageSketchField(row, columns[row])));
+                counts.add(count);
+            }
+        });
+
+        return redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            for (int i = 0; i < fields.size(); i++) {
+                connection.hashCommands().hIncrBy(sketchKey, fields.get(i), counts.get(i));
+            }
+            return null;
+        });
+    }
+
+    /**
+     * Raises each pair's score to its latest estimate ({@code ZADD GT}, so a slower instance never lowers it)
+     * and trims the set back to the {@code topK} highest scores.
+     */
+    private void updateTopK(Map<String, Long> estimates, RedisSerializer<String> serializer) {
+        byte[] topKKey = serializer.serialize(RedisKeys.USAGE_TOPK_KEY);
+        redisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            estimates.forEach((pair, estimate) -> connection.zSetCommands()
+                    .zAdd(topKKey, estimate, serializer.serialize(pair), RedisZSetCommands.ZAddArgs.empty().gt()));
+            connection.zSetCommands().zRemRange(topKKey, 0, -(topK + 1L));
+            return null;
+        });
+    }
+
+    /**
+     * Adds the counts to the decayed ranking and to the current sliding-window bucket.
+     */
+    private void updateRecencyRankings(Map<String, Long> usageByPair, long now) {
+        Object[] decayedArgs = rankingArgs(usageByPair, now, halfLife.toMillis(), 0);
+        redisTemplate.execute(RANKING_INCREMENT_SCRIPT,
+                List.of(RedisKeys.USAGE_DECAYED_KEY, RedisKeys.USAGE_DECAYED_LANDMARK_KEY), decayedArgs);
+
+        Object[] windowArgs = rankingArgs(usageByPair, now, 0, window.plus(windowBucket).toSeconds());
+        redisTemplate.execute(RANKING_INCREMENT_SCRIPT,
+                List.of(RedisKeys.usageWindowKey(now, windowBucket)), windowArgs);
+    }
+
+    private Object[] rankingArgs(Map<String, Long> usageByPair, long now, long halfLifeMillis, long ttlSeconds) {
+        List<String> args = new ArrayList<>(4 + usageByPair.size() * 2);
+        args.add(String.valueOf(topK));
+        args.add(String.valueOf(now));
+        args.add(String.valueOf(halfLifeMillis));
+        args.add(String.valueOf(ttlSeconds));
+        usageByPair.forEach((pair, count) -> {
+            args.add(pair);
+            args.add(String.valueOf(count));
+        });
+        return args.toArray();
     }
-}
\ No newline at end of file
+}
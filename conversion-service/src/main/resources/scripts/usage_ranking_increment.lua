@@ -0,0 +1,55 @@
+-- Adds usage counts to a bounded ranking sorted set (Space-Saving over a ZSET).
+--
+-- KEYS[1]  ranking sorted set
+-- KEYS[2]  landmark key for exponential decay (only read when half-life > 0)
+-- ARGV[1]  capacity: maximum number of members kept
+-- ARGV[2]  now, in epoch milliseconds
+-- ARGV[3]  half-life in milliseconds; 0 disables decay
+-- ARGV[4]  TTL in seconds applied to the set; 0 leaves it persistent
+-- ARGV[5..] alternating member, count
+--
+-- Decay uses forward decay: a use at time t adds 2^((t - landmark) / halfLife) rather than 1, so older
+-- scores shrink relative to newer ones without touching them. When the exponent passes 32 the set is
+-- rescaled once by ZUNIONSTORE and the landmark moves to now, keeping scores within double precision.
+
+local key = KEYS[1]
+local capacity = tonumber(ARGV[1])
+local now = tonumber(ARGV[2])
+local halfLife = tonumber(ARGV[3])
+local ttl = tonumber(ARGV[4])
+
+local weight = 1
+if halfLife > 0 then
+    local landmark = tonumber(redis.call('GET', KEYS[2]))
+    if not landmark then
+        landmark = now
+        redis.call('SET', KEYS[2], landmark)
+    end
+    local exponent = (now - landmark) / halfLife
+    if exponent > 32 then
+        redis.call('ZUNIONSTORE', key, 1, key, 'WEIGHTS', 2 ^ (-exponent))
+        redis.call('SET', KEYS[2], now)
+        exponent = 0
+    end
+    weight = 2 ^ exponent
+end
+
+for i = 5, #ARGV, 2 do
+    local member = ARGV[i]
+    local delta = tonumber(ARGV[i + 1]) * weight
+    if redis.call('ZSCORE', key, member) then
+        redis.call('ZINCRBY', key, delta, member)
+    elseif redis.call('ZCARD', key) < capacity then
+        redis.call('ZADD', key, delta, member)
+    else
+        -- The newcomer replaces the lowest-ranked member and inherits its score as an upper bound
+        local lowest = redis.call('ZRANGE', key, 0, 0, 'WITHSCORES')
+        redis.call('ZREM', key, lowest[1])
+        redis.call('ZADD', key, tonumber(lowest[2]) + delta, member)
+    end
+end
+
+if ttl > 0 then
+    redis.call('EXPIRE', key, ttl)
+end
+return redis.call('ZCARD', key)
@@ -0,0 +1,101 @@
+package com.vaxly.conversionservice.unit;
+
+import com.vaxly.conversionservice.config.BulkProperties;
+import com.vaxly.conversionservice.dtos.ConversionRequestDto;
+import com.vaxly.conversionservice.dtos.ConversionResponseDto;
+import com.vaxly.conversionservice.enums.StateFlag;
+import com.vaxly.conversionservice.exceptions.DownStreamException;
+import com.vaxly.conversionservice.service.BulkConversionService;
+import com.vaxly.conversionservice.service.ConversionService;
+import com.vaxly.vaxlyshared.bulk.BulkFormat;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class BulkConversionServiceTest {
+
+    @Mock
+    private ConversionService conversionService;
+
+    private final String DEFAULT_SOURCE = "TEST_SOURCE";
+
+    @Test
+    @DisplayName("convert() prices each distinct pair once through the batch tiers and streams every row")
+    public void givenCsvUpload_whenConvert_thenPricesDistinctPairsOnce() throws IOException {
+        when(conversionService.convertBatch(anyList())).thenReturn(List.of(
+                new ConversionResponseDto("USD", "EUR", 0.5, 0.5, DEFAULT_SOURCE, null, StateFlag.CACHED),
+                new ConversionResponseDto("GBP", "JPY", 0.0, 0.0, null, null, StateFlag.UNAVAILABLE)));
+
+        String output = convert("USD,EUR,10\nGBP,JPY,1\nUSD,EUR,4\n");
+
+        ArgumentCaptor<List<ConversionRequestDto>> requests = ArgumentCaptor.forClass(List.class);
+        verify(conversionService, times(1)).convertBatch(requests.capture());
+        assertEquals(2, requests.getValue().size());
+        assertEquals("""
+                line,from,to,amount,rate,convertedAmount,stateFlag
+                1,USD,EUR,10.0,0.5,5.0,CACHED
+                2,GBP,JPY,1.0,,,UNAVAILABLE
+                3,USD,EUR,4.0,0.5,2.0,CACHED
+                """, output);
+    }
+
+    @Test
+    @DisplayName("convert() marks a chunk's pairs unavailable when pricing them fails, and keeps streaming")
+    public void givenPricingFailure_whenConvert_thenRowsAreUnavailable() throws IOException {
+        when(conversionService.convertBatch(anyList())).thenThrow(new DownStreamException("history-service unavailable"));
+
+        String output = convert("USD,EUR,10\n");
+
+        assertTrue(output.endsWith("1,USD,EUR,10.0,,,UNAVAILABLE\n"));
+    }
+
+    @Test
+    @DisplayName("convert() splits a chunk's new pairs into batches no larger than the batch size")
+    public void givenMorePairsThanBatchSize_whenConvert_thenPricesInSlices() throws IOException {
+        BulkProperties properties = new BulkProperties();
+        properties.setBatchSize(2);
+        when(conversionService.convertBatch(anyList())).thenReturn(
+                List.of(
+                        new ConversionResponseDto("USD", "EUR", 0.5, 0.5, DEFAULT_SOURCE, null, StateFlag.CACHED),
+                        new ConversionResponseDto("GBP", "JPY", 2.0, 2.0, DEFAULT_SOURCE, null, StateFlag.CACHED)),
+                List.of(
+                        new ConversionResponseDto("EUR", "CHF", 4.0, 4.0, DEFAULT_SOURCE, null, StateFlag.CACHED)));
+
+        String output = convert("USD,EUR,10\nGBP,JPY,1\nEUR,CHF,2\n", properties);
+
+        ArgumentCaptor<List<ConversionRequestDto>> requests = ArgumentCaptor.forClass(List.class);
+        verify(conversionService, times(2)).convertBatch(requests.capture());
+        assertEquals(List.of(2, 1), requests.getAllValues().stream().map(List::size).toList());
+        assertEquals("""
+                line,from,to,amount,rate,convertedAmount,stateFlag
+                1,USD,EUR,10.0,0.5,5.0,CACHED
+                2,GBP,JPY,1.0,2.0,2.0,CACHED
+                3,EUR,CHF,2.0,4.0,8.0,CACHED
+                """, output);
+    }
+
+    private String convert(String csv) throws IOException {
+        return convert(csv, new BulkProperties());
+    }
+
+    private String convert(String csv, BulkProperties properties) throws IOException {
+        ByteArrayOutputStream output = new ByteArrayOutputStream();
+        new BulkConversionService(conversionService, properties)
+                .convert(new ByteArrayInputStream(csv.getBytes(StandardCharsets.UTF_8)), output, BulkFormat.CSV);
+        return output.toString(StandardCharsets.UTF_8);
+    }
+}
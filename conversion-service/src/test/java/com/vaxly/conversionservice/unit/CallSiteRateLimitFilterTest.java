@@ -0,0 +1,65 @@
+package com.vaxly.conversionservice.unit;
+
+import ch.qos.logback.classic.Level;
+import ch.qos.logback.classic.Logger;
+import ch.qos.logback.classic.LoggerContext;
+import ch.qos.logback.core.spi.FilterReply;
+import com.vaxly.conversionservice.logging.CallSiteRateLimitFilter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class CallSiteRateLimitFilterTest {
+
+    private CallSiteRateLimitFilter filter;
+    private Logger logger;
+    private Logger frameworkLogger;
+
+    private final String DEFAULT_FORMAT = "Rate for {} found in cache.";
+
+    @BeforeEach
+    public void setup() {
+        LoggerContext context = new LoggerContext();
+        logger = context.getLogger("com.vaxly.conversionservice.service.ConversionService");
+        frameworkLogger = context.getLogger("org.springframework.web");
+
+        filter = new CallSiteRateLimitFilter();
+        filter.setMaxPerSecond(2);
+        filter.setContext(context);
+        filter.start();
+    }
+
+    @Test
+    @DisplayName("decide() denies INFO lines past the per-second limit of their call site only")
+    public void givenBusyCallSite_whenDecide_thenDeniesPastLimit() {
+        assertEquals(FilterReply.NEUTRAL, decide(logger, Level.INFO, DEFAULT_FORMAT));
+        assertEquals(FilterReply.NEUTRAL, decide(logger, Level.INFO, DEFAULT_FORMAT));
+        FilterReply third = decide(logger, Level.INFO, DEFAULT_FORMAT);
+
+        assertEquals(FilterReply.NEUTRAL, decide(logger, Level.INFO, "Starting conversion for {}"));
+        // Unless the second turned over between the calls, the third line is over the limit
+        if (third == FilterReply.NEUTRAL) {
+            assertEquals(FilterReply.NEUTRAL, decide(logger, Level.INFO, DEFAULT_FORMAT));
+        } else {
+            assertEquals(FilterReply.DENY, third);
+        }
+    }
+
+    @Test
+    @DisplayName("decide() never limits WARN, ERROR, DEBUG, level checks or loggers outside the prefix")
+    public void givenUnlimitedEvents_whenDecide_thenAlwaysNeutral() {
+        for (int i = 0; i < 10; i++) {
+            assertEquals(FilterReply.NEUTRAL, decide(logger, Level.WARN, DEFAULT_FORMAT));
+            assertEquals(FilterReply.NEUTRAL, decide(logger, Level.ERROR, DEFAULT_FORMAT));
+            assertEquals(FilterReply.NEUTRAL, decide(logger, Level.DEBUG, DEFAULT_FORMAT));
+            assertEquals(FilterReply.NEUTRAL, decide(logger, Level.INFO, null));
+            assertEquals(FilterReply.NEUTRAL, decide(frameworkLogger, Level.INFO, DEFAULT_FORMAT));
+        }
+    }
+
+    private FilterReply decide(Logger target, Level level, String format) {
+        return filter.decide(null, target, level, format, null, null);
+    }
+}
@@ -2,21 +2,36 @@ package com.vaxly.conversionservice.unit;
 
 import com.vaxly.conversionservice.ConversionController;
 import com.vaxly.conversionservice.service.ConversionService;
+import com.vaxly.conversionservice.dtos.ConversionRequestDto;
 import com.vaxly.conversionservice.dtos.ConversionResponseDto;
+import com.vaxly.conversionservice.config.HttpCacheProperties;
 import com.vaxly.conversionservice.enums.StateFlag;
+import com.vaxly.conversionservice.exceptions.DownStreamException;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.DisplayName;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.MediaType;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.web.servlet.MockMvc;
 
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.content;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.header;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
 
 @WebMvcTest(ConversionController.class)
+@Import(HttpCacheProperties.class)
 public class ConversionControllerTest {
     @MockitoBean
     private ConversionService conversionService;
@@ -39,6 +54,22 @@ public class ConversionControllerTest {
                 .andExpect(jsonPath("$.stateFlag").value("CACHED"));
     }
 
+    @Test
+    @DisplayName("should return 304 NOT MODIFIED with no body when the client's ETag still matches the rate")
+    void whenGetConvertEndpointWithMatchingEtag_thenReturnsNotModified() throws Exception {
+        ConversionResponseDto mockResponse = new ConversionResponseDto("USD", "EUR", 0.92, 92.0, "external", Instant.now(), StateFlag.CACHED);
+        when(conversionService.convert("USD", "EUR", 100.0)).thenReturn(mockResponse);
+
+        String etag = mockMvc.perform(get("/api/v1/convert?from=USD&to=EUR&amount=100.0"))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "max-age=30"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/v1/convert?from=USD&to=EUR&amount=100.0").header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(content().string(""));
+    }
+
     @Test
     @DisplayName("should return 503 SERVICE UNAVAILABLE when data is unavailable")
     void whenGetConvertEndpoint_thenReturnsServiceUnavailable() throws Exception {
@@ -52,4 +83,66 @@ public class ConversionControllerTest {
                 .andExpect(status().isServiceUnavailable())
                 .andExpect(jsonPath("$.stateFlag").value("UNAVAILABLE"));
     }
+
+    @Test
+    @DisplayName("should return 503 with the breaker's Retry-After when the downstream call is rejected")
+    void whenDownstreamRejected_thenReturnsServiceUnavailableWithRetryAfter() throws Exception {
+        when(conversionService.convert("USD", "EUR", 100.0))
+                .thenThrow(new DownStreamException("Failed to retrieve historical rate for currency pair USD_EUR", Duration.ofMillis(12_300)));
+
+        mockMvc.perform(get("/api/v1/convert?from=USD&to=EUR&amount=100.0"))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(header().string("Retry-After", "13"));
+    }
+
+    @Test
+    @DisplayName("should return 200 OK with per-item state flags for a batch request")
+    void whenPostBatchEndpoint_thenReturnsResultsInRequestOrder() throws Exception {
+        List<ConversionResponseDto> mockResults = List.of(
+                new ConversionResponseDto("USD", "EUR", 0.92, 92.0, "external", null, StateFlag.CACHED),
+                new ConversionResponseDto("GBP", "JPY", 0.0, 0.0, null, null, StateFlag.UNAVAILABLE));
+        when(conversionService.convertBatch(anyList())).thenReturn(mockResults);
+
+        mockMvc.perform(post("/api/v1/convert/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("""
+                        {
+                          "conversions": [
+                            { "from": "USD", "to": "EUR", "amount": 100.0 },
+                            { "from": "GBP", "to": "JPY", "amount": 5.0 }
+                          ]
+                        }
+                        """))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.results.length()").value(2))
+                .andExpect(jsonPath("$.results[0].stateFlag").value("CACHED"))
+                .andExpect(jsonPath("$.results[1].stateFlag").value("UNAVAILABLE"));
+    }
+
+    @Test
+    @DisplayName("should return 400 BAD REQUEST for an empty batch")
+    void whenPostEmptyBatch_thenReturnsBadRequest() throws Exception {
+        mockMvc.perform(post("/api/v1/convert/batch")
+                        .contentType(MediaType.APPLICATION_JSON)
+                        .content("{ \"conversions\": [] }"))
+                .andExpect(status().isBadRequest());
+
+        verifyNoInteractions(conversionService);
+    }
+
+    @Test
+    @DisplayName("should return 200 OK with one result per listed currency for a one-to-all request")
+    void whenGetAllEndpoint_thenReturnsRow() throws Exception {
+        List<ConversionResponseDto> mockResults = List.of(
+                new ConversionResponseDto("EUR", "USD", 1.08, 1080.0, null, null, StateFlag.CACHED),
+                new ConversionResponseDto("EUR", "JPY", 0.0, 0.0, null, null, StateFlag.UNAVAILABLE));
+        when(conversionService.convertToAll("eur", List.of("USD", "JPY"), 1000.0)).thenReturn(mockResults);
+
+        mockMvc.perform(get("/api/v1/convert/all?from=eur&amount=1000&to=USD,JPY"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.from").value("EUR"))
+                .andExpect(jsonPath("$.results.length()").value(2))
+                .andExpect(jsonPath("$.results[0].convertedAmount").value(1080.0))
+                .andExpect(jsonPath("$.results[1].stateFlag").value("UNAVAILABLE"));
+    }
 }
@@ -0,0 +1,71 @@
+package com.vaxly.conversionservice.unit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import com.vaxly.conversionservice.dtos.ConversionResponseDto;
+import com.vaxly.conversionservice.enums.StateFlag;
+import com.vaxly.conversionservice.exceptions.GlobalExceptionHandler.ErrorResponse;
+import com.vaxly.conversionservice.serialization.ConversionJsonWriter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.List;
+import java.util.SplittableRandom;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class ConversionJsonWriterTest {
+
+    // Configured the way Spring Boot configures the application's ObjectMapper
+    private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+            .featuresToDisable(SerializationFeature.WRITE_DATES_AS_TIMESTAMPS)
+            .build();
+
+    private final String DEFAULT_SOURCE = "TEST_SOURCE";
+
+    @Test
+    @DisplayName("toJson() writes conversion results exactly as Jackson does")
+    public void givenConversionResults_whenToJson_thenMatchesJackson() throws Exception {
+        List<ConversionResponseDto> responses = List.of(
+                new ConversionResponseDto("USD", "EUR", 0.92, 92.0, DEFAULT_SOURCE, Instant.parse("2024-02-29T23:59:59Z"), StateFlag.CACHED),
+                new ConversionResponseDto("USD", "JPY", 151.37, 1.5137E9, DEFAULT_SOURCE, Instant.parse("1969-12-31T12:00:00.120Z"), StateFlag.STALE),
+                new ConversionResponseDto("GBP", "JPY", 1e-7, -0.0, "quote \"feed\"\né\u001f\u000b", Instant.ofEpochSecond(1_700_000_000, 123_456_000), StateFlag.DERIVED, 42L),
+                new ConversionResponseDto("usd", "eur", 0.0, -12.0, null, null, StateFlag.UNAVAILABLE),
+                new ConversionResponseDto("USD", "EUR", Double.NaN, Double.POSITIVE_INFINITY, DEFAULT_SOURCE, Instant.ofEpochSecond(0, 1), null));
+
+        for (ConversionResponseDto response : responses) {
+            assertEquals(objectMapper.writeValueAsString(response), json(response));
+        }
+    }
+
+    @Test
+    @DisplayName("toJson() matches Jackson for random amounts and timestamps")
+    public void givenRandomValues_whenToJson_thenMatchesJackson() throws Exception {
+        SplittableRandom random = new SplittableRandom(7);
+        for (int i = 0; i < 10_000; i++) {
+            double rate = random.nextDouble() * Math.pow(10, random.nextInt(-4, 5));
+            double amount = i % 2 == 0 ? random.nextLong(-20_000_000, 20_000_000) : random.nextDouble() * 1e9;
+            Instant timestamp = Instant.ofEpochSecond(random.nextLong(-62_000_000_000L, 250_000_000_000L),
+                    random.nextInt(4) == 0 ? 0 : random.nextInt(1_000_000_000));
+            ConversionResponseDto response = new ConversionResponseDto("USD", "EUR", rate, amount, DEFAULT_SOURCE, timestamp, StateFlag.CACHED);
+
+            assertEquals(objectMapper.writeValueAsString(response), json(response));
+        }
+    }
+
+    @Test
+    @DisplayName("toJson() writes the error body exactly as Jackson does")
+    public void givenErrorResponse_whenToJson_thenMatchesJackson() throws Exception {
+        ErrorResponse error = new ErrorResponse(Instant.now().toString(), 503,
+                "Failed to retrieve historical rate for currency pair", "0b7a3f5e-2c1d-4e8f-9a6b-5c4d3e2f1a0b");
+
+        assertEquals(objectMapper.writeValueAsString(error), json(error));
+    }
+
+    private String json(Object body) {
+        return new String(ConversionJsonWriter.toJson(body), StandardCharsets.UTF_8);
+    }
+}
@@ -0,0 +1,74 @@
+package com.vaxly.conversionservice.unit;
+
+import com.vaxly.conversionservice.dtos.ConversionResponseDto;
+import com.vaxly.conversionservice.enums.StateFlag;
+import com.vaxly.conversionservice.service.ConversionMetrics;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ConversionMetricsTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConversionMetrics metrics;
+
+    private final String DEFAULT_SOURCE = "TEST_SOURCE";
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        metrics = new ConversionMetrics(meterRegistry);
+    }
+
+    @Test
+    @DisplayName("recordRequest() times each outcome separately, records the served rate's age and feeds the hit ratio")
+    public void givenConversions_whenRecorded_thenTimersAgeAndHitRatioReflectThem() {
+        metrics.recordRequest(response(StateFlag.CACHED, Instant.now().minusSeconds(120)), 1_000);
+        metrics.recordRequest(response(StateFlag.CACHED, Instant.now()), 1_000);
+        metrics.recordRequest(response(StateFlag.FALLBACK_DB, Instant.now()), 5_000_000);
+        metrics.recordRequest(new ConversionResponseDto("USD", "EUR", 0.0, 0.0, null, null, StateFlag.UNAVAILABLE), 2_000);
+
+        assertEquals(2, meterRegistry.get("conversion.requests").tag("outcome", "CACHED").timer().count());
+        assertEquals(1, meterRegistry.get("conversion.requests").tag("outcome", "FALLBACK_DB").timer().count());
+        assertEquals(120, meterRegistry.get("conversion.served.rate.age").tag("outcome", "CACHED").summary().max(), 1);
+        assertEquals(0, meterRegistry.get("conversion.served.rate.age").tag("outcome", "UNAVAILABLE").summary().count());
+        assertEquals(0.5, meterRegistry.get("conversion.cache.hit.ratio").gauge().value());
+    }
+
+    @Test
+    @DisplayName("recordBatch() times the batch once and counts every item's rate age and hit ratio")
+    public void givenBatch_whenRecorded_thenTimedOnceAndItemsCounted() {
+        metrics.recordBatch(List.of(
+                response(StateFlag.CACHED, Instant.now().minusSeconds(60)),
+                response(StateFlag.FALLBACK_DB, Instant.now()),
+                new ConversionResponseDto("USD", "EUR", 0.0, 0.0, null, null, StateFlag.UNAVAILABLE),
+                response(StateFlag.DERIVED, Instant.now())), 3_000_000);
+
+        assertEquals(1, meterRegistry.get("conversion.batch").tag("outcome", "SUCCESS").timer().count());
+        assertEquals(0, meterRegistry.get("conversion.requests").tag("outcome", "CACHED").timer().count());
+        assertEquals(1, meterRegistry.get("conversion.served.rate.age").tag("outcome", "CACHED").summary().count());
+        assertEquals(0.5, meterRegistry.get("conversion.cache.hit.ratio").gauge().value());
+    }
+
+    @Test
+    @DisplayName("recordTier() registers a timer per tier and outcome on first use")
+    public void givenTierLookups_whenRecorded_thenTimedPerTierAndOutcome() {
+        metrics.recordTier(ConversionMetrics.Tier.REDIS, ConversionMetrics.Outcome.HIT, 300_000);
+        metrics.recordTier(ConversionMetrics.Tier.REDIS, ConversionMetrics.Outcome.HIT, 500_000);
+        metrics.recordTier(ConversionMetrics.Tier.HISTORY, ConversionMetrics.Outcome.ERROR, 2_000_000);
+
+        assertEquals(2, meterRegistry.get("conversion.tier").tags("tier", "redis", "outcome", "hit").timer().count());
+        assertEquals(1, meterRegistry.get("conversion.tier").tags("tier", "history", "outcome", "error").timer().count());
+        assertNull(meterRegistry.find("conversion.tier").tags("tier", "redis", "outcome", "miss").timer());
+    }
+
+    private ConversionResponseDto response(StateFlag flag, Instant timestamp) {
+        return new ConversionResponseDto("USD", "EUR", 0.92, 92.0, DEFAULT_SOURCE, timestamp, flag);
+    }
+}
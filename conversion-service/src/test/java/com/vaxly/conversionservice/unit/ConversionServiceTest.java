@@ -1,12 +1,28 @@
 package com.vaxly.conversionservice.unit;
 
 import com.vaxly.conversionservice.service.ConversionService;
+import com.vaxly.conversionservice.dtos.ConversionRequestDto;
 import com.vaxly.conversionservice.dtos.ConversionResponseDto;
+import com.vaxly.vaxlyshared.constants.RedisKeys;
 import com.vaxly.vaxlyshared.dtos.RateInfoDto;
 import com.vaxly.conversionservice.enums.StateFlag;
 import com.vaxly.vaxlyshared.aws.AwsCognitoTokenProvider;
-import com.vaxly.vaxlyshared.service.SqsProducerService;
 import com.vaxly.conversionservice.service.UsageCounterService;
+import com.vaxly.conversionservice.service.LocalRateCache;
+import com.vaxly.conversionservice.service.RequestCoalescer;
+import com.vaxly.conversionservice.service.CrossRateEngine;
+import com.vaxly.conversionservice.service.StaleRateRevalidator;
+import com.vaxly.conversionservice.service.RefreshRequestPublisher;
+import com.vaxly.conversionservice.service.UnknownPairCache;
+import com.vaxly.conversionservice.service.ConversionMetrics;
+import com.vaxly.conversionservice.service.RateMatrix;
+import com.vaxly.conversionservice.enums.RateFreshness;
+import com.vaxly.conversionservice.service.DerivedRate;
+import com.vaxly.conversionservice.exceptions.DownStreamException;
+import com.vaxly.conversionservice.exceptions.InvalidConversionRequestException;
+import com.vaxly.vaxlyshared.resilience.DownstreamRejectedException;
+import com.vaxly.vaxlyshared.service.RateUpdatePublisher;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.InjectMocks;
 import org.mockito.Spy;
@@ -18,8 +34,13 @@ import org.junit.jupiter.api.DisplayName;
 import org.springframework.data.redis.core.RedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
 
+import java.time.Duration;
 import java.time.Instant;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static org.mockito.Mockito.*;
 import static org.junit.jupiter.api.Assertions.*;
@@ -40,7 +61,31 @@ public class ConversionServiceTest {
     UsageCounterService usageCounterService;
 
     @Mock
-    SqsProducerService sqsProducerService;
+    RefreshRequestPublisher refreshRequestPublisher;
+
+    @Mock
+    LocalRateCache localRateCache;
+
+    @Mock
+    RequestCoalescer requestCoalescer;
+
+    @Mock
+    CrossRateEngine crossRateEngine;
+
+    @Mock
+    StaleRateRevalidator staleRateRevalidator;
+
+    @Mock
+    UnknownPairCache unknownPairCache;
+
+    @Mock
+    RateMatrix rateMatrix;
+
+    @Mock
+    ConversionMetrics conversionMetrics;
+
+    @Mock
+    RateUpdatePublisher rateUpdatePublisher;
 
     @Spy
     @InjectMocks
@@ -60,7 +105,7 @@ public class ConversionServiceTest {
         RateInfoDto mockRateInfo = new RateInfoDto(DEFAULT_SOURCE, Instant.now(), DEFAULT_RATE, DEFAULT_CURRENCY_PAIR);
 
         when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(valueOperations.get(DEFAULT_CURRENCY_PAIR)).thenReturn(mockRateInfo);
+        when(valueOperations.get(RedisKeys.rateKey(DEFAULT_CURRENCY_PAIR))).thenReturn(mockRateInfo);
 
         ConversionResponseDto result = conversionService.convert(DEFAULT_FROM, DEFAULT_TO, DEFAULT_AMOUNT);
 
@@ -69,13 +114,43 @@ public class ConversionServiceTest {
         assertEquals(DEFAULT_RATE, result.getRate());
         assertEquals(DEFAULT_SOURCE, result.getSource());
         assertEquals(StateFlag.CACHED, result.getStateFlag());
+        verify(localRateCache, times(1)).put(DEFAULT_CURRENCY_PAIR, mockRateInfo);
+    }
+
+    @Test
+    @DisplayName("convert() serves a rate stored under the key the worker and re-prime job write")
+    public void givenRateUnderPrimedKey_whenConvert_thenReturnsCachedData() {
+        RateInfoDto primedRate = new RateInfoDto(DEFAULT_SOURCE, Instant.now(), DEFAULT_RATE, DEFAULT_CURRENCY_PAIR);
+
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(RedisKeys.RATE_PREFIX + DEFAULT_CURRENCY_PAIR)).thenReturn(primedRate);
+
+        ConversionResponseDto result = conversionService.convert(DEFAULT_FROM, DEFAULT_TO, DEFAULT_AMOUNT);
+
+        verify(valueOperations, never()).get(DEFAULT_CURRENCY_PAIR);
+        assertEquals(DEFAULT_RATE * DEFAULT_AMOUNT, result.getConvertedAmount());
+        assertEquals(StateFlag.CACHED, result.getStateFlag());
+    }
+
+    @Test
+    @DisplayName("convert() serves from the local cache without touching Redis")
+    public void givenLocalCacheHit_whenConvert_thenSkipsRedis() {
+        RateInfoDto mockRateInfo = new RateInfoDto(DEFAULT_SOURCE, Instant.now(), DEFAULT_RATE, DEFAULT_CURRENCY_PAIR);
+        when(localRateCache.get(DEFAULT_CURRENCY_PAIR)).thenReturn(Optional.of(mockRateInfo));
+
+        ConversionResponseDto result = conversionService.convert(DEFAULT_FROM, DEFAULT_TO, DEFAULT_AMOUNT);
+
+        verifyNoInteractions(redisTemplate);
+        verify(usageCounterService, times(1)).incrementUsage(DEFAULT_CURRENCY_PAIR);
+        assertEquals(DEFAULT_RATE * DEFAULT_AMOUNT, result.getConvertedAmount());
+        assertEquals(StateFlag.CACHED, result.getStateFlag());
     }
 
     @Test
     @DisplayName("convert() returns historical rate when cache is empty")
     public void givenCacheEmpty_whenConvert_thenReturnsHistoricalRate() {
         when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(valueOperations.get(DEFAULT_CURRENCY_PAIR)).thenReturn(null);
+        when(valueOperations.get(RedisKeys.rateKey(DEFAULT_CURRENCY_PAIR))).thenReturn(null);
 
         when(tokenProvider.getAccessToken()).thenReturn(DEFAULT_ACCESS_TOKEN);
 
@@ -92,20 +167,116 @@ public class ConversionServiceTest {
     }
 
 
+    @Test
+    @DisplayName("convert() serves a rate past its soft TTL as STALE and refreshes it in the background")
+    public void givenStaleCachedRate_whenConvert_thenReturnsStaleAndRevalidates() {
+        RateInfoDto staleRate = new RateInfoDto(DEFAULT_SOURCE, Instant.now().minusSeconds(600), DEFAULT_RATE, DEFAULT_CURRENCY_PAIR);
+        when(localRateCache.get(DEFAULT_CURRENCY_PAIR)).thenReturn(Optional.of(staleRate));
+        when(staleRateRevalidator.freshness(staleRate)).thenReturn(RateFreshness.STALE);
+
+        ConversionResponseDto result = conversionService.convert(DEFAULT_FROM, DEFAULT_TO, DEFAULT_AMOUNT);
+
+        assertEquals(StateFlag.STALE, result.getStateFlag());
+        assertEquals(DEFAULT_RATE * DEFAULT_AMOUNT, result.getConvertedAmount());
+        verify(staleRateRevalidator, times(1)).revalidate(eq(DEFAULT_CURRENCY_PAIR), any(Runnable.class));
+        verifyNoInteractions(redisTemplate, tokenProvider);
+    }
+
+    @Test
+    @DisplayName("Refreshing a stale rate requests an upstream refresh and stores and announces a newer stored rate")
+    public void givenNewerHistoricalRate_whenRefreshStaleRate_thenStoresAndPublishes() {
+        RateInfoDto staleRate = new RateInfoDto(DEFAULT_SOURCE, Instant.now().minusSeconds(600), DEFAULT_RATE, DEFAULT_CURRENCY_PAIR);
+        RateInfoDto newerRate = new RateInfoDto(DEFAULT_SOURCE, Instant.now().minusSeconds(60), 1.3, DEFAULT_CURRENCY_PAIR);
+        when(localRateCache.get(DEFAULT_CURRENCY_PAIR)).thenReturn(Optional.of(staleRate));
+        when(staleRateRevalidator.freshness(staleRate)).thenReturn(RateFreshness.STALE);
+        when(tokenProvider.getAccessToken()).thenReturn(DEFAULT_ACCESS_TOKEN);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        doReturn(Optional.of(newerRate))
+                .when(conversionService).getHistoricalRate(DEFAULT_CURRENCY_PAIR, DEFAULT_ACCESS_TOKEN);
+
+        conversionService.convert(DEFAULT_FROM, DEFAULT_TO, DEFAULT_AMOUNT);
+        runRevalidation();
+
+        verify(refreshRequestPublisher, times(1)).request(DEFAULT_CURRENCY_PAIR);
+        verify(valueOperations, times(1)).set(RedisKeys.rateKey(DEFAULT_CURRENCY_PAIR), newerRate);
+        verify(localRateCache, times(1)).put(DEFAULT_CURRENCY_PAIR, newerRate);
+        verify(rateUpdatePublisher, times(1)).publish(newerRate);
+    }
+
+    @Test
+    @DisplayName("Refreshing a stale rate does not re-cache a stored rate that is no newer than the one served")
+    public void givenSameHistoricalRate_whenRefreshStaleRate_thenOnlyRequestsUpstreamRefresh() {
+        RateInfoDto staleRate = new RateInfoDto(DEFAULT_SOURCE, Instant.now().minusSeconds(600), DEFAULT_RATE, DEFAULT_CURRENCY_PAIR);
+        when(localRateCache.get(DEFAULT_CURRENCY_PAIR)).thenReturn(Optional.of(staleRate));
+        when(staleRateRevalidator.freshness(staleRate)).thenReturn(RateFreshness.STALE);
+        when(tokenProvider.getAccessToken()).thenReturn(DEFAULT_ACCESS_TOKEN);
+        doReturn(Optional.of(new RateInfoDto(DEFAULT_SOURCE, staleRate.getTimestamp(), DEFAULT_RATE, DEFAULT_CURRENCY_PAIR)))
+                .when(conversionService).getHistoricalRate(DEFAULT_CURRENCY_PAIR, DEFAULT_ACCESS_TOKEN);
+
+        conversionService.convert(DEFAULT_FROM, DEFAULT_TO, DEFAULT_AMOUNT);
+        runRevalidation();
+
+        verify(refreshRequestPublisher, times(1)).request(DEFAULT_CURRENCY_PAIR);
+        verifyNoInteractions(redisTemplate, rateUpdatePublisher);
+        verify(localRateCache, never()).put(anyString(), any(RateInfoDto.class));
+    }
+
+    @Test
+    @DisplayName("convert() ignores a rate past its hard TTL and falls back to the external API")
+    public void givenExpiredCachedRate_whenConvert_thenReturnsHistoricalRate() {
+        RateInfoDto expiredRate = new RateInfoDto(DEFAULT_SOURCE, Instant.now().minusSeconds(7200), 9.99, DEFAULT_CURRENCY_PAIR);
+        RateInfoDto historicalRate = new RateInfoDto(DEFAULT_SOURCE, Instant.now(), DEFAULT_RATE, DEFAULT_CURRENCY_PAIR);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(RedisKeys.rateKey(DEFAULT_CURRENCY_PAIR))).thenReturn(expiredRate);
+        when(staleRateRevalidator.freshness(expiredRate)).thenReturn(RateFreshness.EXPIRED);
+        when(tokenProvider.getAccessToken()).thenReturn(DEFAULT_ACCESS_TOKEN);
+        doReturn(Optional.of(historicalRate))
+                .when(conversionService).getHistoricalRate(DEFAULT_CURRENCY_PAIR, DEFAULT_ACCESS_TOKEN);
+
+        ConversionResponseDto result = conversionService.convert(DEFAULT_FROM, DEFAULT_TO, DEFAULT_AMOUNT);
+
+        assertEquals(StateFlag.FALLBACK_DB, result.getStateFlag());
+        assertEquals(DEFAULT_RATE, result.getRate());
+        verify(staleRateRevalidator, never()).revalidate(anyString(), any(Runnable.class));
+    }
+
+    @Test
+    @DisplayName("convert() derives a rate from cached legs before calling the external API")
+    public void givenInverseLegCached_whenConvert_thenReturnsDerivedRate() {
+        String inversePair = DEFAULT_TO + "_" + DEFAULT_FROM;
+        RateInfoDto inverseRate = new RateInfoDto(DEFAULT_SOURCE, Instant.now(), 0.8, inversePair);
+        DerivedRate derivedRate = new DerivedRate(
+                new RateInfoDto(DEFAULT_SOURCE, inverseRate.getTimestamp(), DEFAULT_RATE, DEFAULT_CURRENCY_PAIR),
+                List.of(inversePair), 5L);
+
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(RedisKeys.rateKey(DEFAULT_CURRENCY_PAIR))).thenReturn(null);
+        when(crossRateEngine.legsFor(DEFAULT_FROM, DEFAULT_TO)).thenReturn(Set.of(inversePair));
+        when(valueOperations.multiGet(List.of(RedisKeys.rateKey(inversePair)))).thenReturn(List.of(inverseRate));
+        when(crossRateEngine.derive(DEFAULT_FROM, DEFAULT_TO, Map.of(inversePair, inverseRate))).thenReturn(Optional.of(derivedRate));
+
+        ConversionResponseDto result = conversionService.convert(DEFAULT_FROM, DEFAULT_TO, DEFAULT_AMOUNT);
+
+        assertEquals(StateFlag.DERIVED, result.getStateFlag());
+        assertEquals(DEFAULT_RATE * DEFAULT_AMOUNT, result.getConvertedAmount());
+        assertEquals(5L, result.getOldestLegAgeSeconds());
+        verify(usageCounterService, times(1)).incrementUsage(Map.of(inversePair, 1L));
+        verifyNoInteractions(tokenProvider, refreshRequestPublisher);
+    }
+
     @Test
     @DisplayName("convert() returns UNAVAILABLE when no cached or historical rate exists")
     public void givenNoCacheOrHistoricalData_whenConvert_thenReturnsUnavailableState() {
         when(redisTemplate.opsForValue()).thenReturn(valueOperations);
-        when(valueOperations.get(DEFAULT_CURRENCY_PAIR)).thenReturn(null);
+        when(valueOperations.get(RedisKeys.rateKey(DEFAULT_CURRENCY_PAIR))).thenReturn(null);
         when(tokenProvider.getAccessToken()).thenReturn(DEFAULT_ACCESS_TOKEN);
-        doNothing().when(sqsProducerService).sendMessage(DEFAULT_CURRENCY_PAIR);
 
         doReturn(Optional.empty()).when(conversionService).getHistoricalRate(DEFAULT_CURRENCY_PAIR, DEFAULT_ACCESS_TOKEN);
 
         ConversionResponseDto result = conversionService.convert(DEFAULT_FROM, DEFAULT_TO, DEFAULT_AMOUNT);
 
         verify(usageCounterService, times(0)).incrementUsage(DEFAULT_CURRENCY_PAIR);
-        verify(sqsProducerService, times(1)).sendMessage(DEFAULT_CURRENCY_PAIR);
+        verify(refreshRequestPublisher, times(1)).request(DEFAULT_CURRENCY_PAIR);
 
         assertEquals(0.0, result.getRate());
         assertNull(result.getSource());
@@ -113,4 +284,83 @@ public class ConversionServiceTest {
         assertNull(result.getTimestamp());
     }
 
+    @Test
+    @DisplayName("convert() skips the external API for a pair it recently reported unknown")
+    public void givenUnknownPair_whenConvert_thenSkipsExternalApi() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(RedisKeys.rateKey(DEFAULT_CURRENCY_PAIR))).thenReturn(null);
+        when(unknownPairCache.isUnknown(DEFAULT_CURRENCY_PAIR)).thenReturn(true);
+
+        ConversionResponseDto result = conversionService.convert(DEFAULT_FROM, DEFAULT_TO, DEFAULT_AMOUNT);
+
+        assertEquals(StateFlag.UNAVAILABLE, result.getStateFlag());
+        verifyNoInteractions(tokenProvider);
+        verify(conversionService, never()).getHistoricalRate(anyString(), anyString());
+        verify(refreshRequestPublisher, times(1)).request(DEFAULT_CURRENCY_PAIR);
+    }
+
+    @Test
+    @DisplayName("convert() and convertBatch() reject unsupported currency codes before any I/O")
+    public void givenUnsupportedCurrency_whenConvert_thenRejectsBeforeIo() {
+        assertThrows(InvalidConversionRequestException.class,
+                () -> conversionService.convert(DEFAULT_FROM, "XYZ", DEFAULT_AMOUNT));
+        assertThrows(InvalidConversionRequestException.class,
+                () -> conversionService.convertBatch(List.of(
+                        new ConversionRequestDto(DEFAULT_FROM, DEFAULT_TO, DEFAULT_AMOUNT),
+                        new ConversionRequestDto("GBP", "JP", 2.0))));
+
+        verifyNoInteractions(redisTemplate, localRateCache, tokenProvider, unknownPairCache, refreshRequestPublisher);
+    }
+
+    @Test
+    @DisplayName("getHistoricalRate() fails fast with the guard's Retry-After when the call is rejected")
+    public void givenRejectedCall_whenGetHistoricalRate_thenThrowsDownStreamException() {
+        when(requestCoalescer.execute(eq(DEFAULT_CURRENCY_PAIR), any()))
+                .thenThrow(new DownstreamRejectedException("Circuit breaker is open", Duration.ofSeconds(12)));
+
+        DownStreamException e = assertThrows(DownStreamException.class,
+                () -> conversionService.getHistoricalRate(DEFAULT_CURRENCY_PAIR, DEFAULT_ACCESS_TOKEN));
+
+        assertEquals(Duration.ofSeconds(12), e.getRetryAfter());
+    }
+
+    @Test
+    @DisplayName("convertBatch() resolves each tier once and keeps per-item state flags")
+    public void givenMixedAvailability_whenConvertBatch_thenResolvesEachTierOnce() {
+        String historicalPair = "GBP_JPY";
+        String missingPair = "AUD_CAD";
+        RateInfoDto cachedRate = new RateInfoDto(DEFAULT_SOURCE, Instant.now(), DEFAULT_RATE, DEFAULT_CURRENCY_PAIR);
+        RateInfoDto historicalRate = new RateInfoDto(DEFAULT_SOURCE, Instant.now(), 190.0, historicalPair);
+
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.multiGet(List.of(RedisKeys.rateKey(DEFAULT_CURRENCY_PAIR), RedisKeys.rateKey(historicalPair), RedisKeys.rateKey(missingPair))))
+                .thenReturn(Arrays.asList(cachedRate, null, null));
+        when(tokenProvider.getAccessToken()).thenReturn(DEFAULT_ACCESS_TOKEN);
+        doReturn(Map.of(historicalPair, historicalRate))
+                .when(conversionService).getHistoricalRates(Set.of(historicalPair, missingPair), DEFAULT_ACCESS_TOKEN);
+
+        List<ConversionResponseDto> results = conversionService.convertBatch(List.of(
+                new ConversionRequestDto(DEFAULT_FROM, DEFAULT_TO, DEFAULT_AMOUNT),
+                new ConversionRequestDto("GBP", "JPY", 2.0),
+                new ConversionRequestDto("AUD", "CAD", 3.0),
+                new ConversionRequestDto("usd", "eur", 1.0)));
+
+        assertEquals(4, results.size());
+        assertEquals(StateFlag.CACHED, results.get(0).getStateFlag());
+        assertEquals(StateFlag.FALLBACK_DB, results.get(1).getStateFlag());
+        assertEquals(380.0, results.get(1).getConvertedAmount());
+        assertEquals(StateFlag.UNAVAILABLE, results.get(2).getStateFlag());
+        assertEquals(StateFlag.CACHED, results.get(3).getStateFlag());
+
+        verify(valueOperations, times(1)).multiGet(anyList());
+        verify(usageCounterService, times(1)).incrementUsage(Map.of(DEFAULT_CURRENCY_PAIR, 2L, historicalPair, 1L));
+        verify(conversionMetrics, times(1)).recordBatch(eq(results), anyLong());
+        verify(refreshRequestPublisher, times(1)).request(missingPair);
+    }
+
+    private void runRevalidation() {
+        ArgumentCaptor<Runnable> refresh = ArgumentCaptor.forClass(Runnable.class);
+        verify(staleRateRevalidator).revalidate(eq(DEFAULT_CURRENCY_PAIR), refresh.capture());
+        refresh.getValue().run();
+    }
 }
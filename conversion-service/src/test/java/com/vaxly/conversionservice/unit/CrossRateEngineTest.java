@@ -0,0 +1,90 @@
+package com.vaxly.conversionservice.unit;
+
+import com.vaxly.conversionservice.config.CrossRateProperties;
+import com.vaxly.conversionservice.service.CrossRateEngine;
+import com.vaxly.conversionservice.service.DerivedRate;
+import com.vaxly.vaxlyshared.dtos.RateInfoDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CrossRateEngineTest {
+
+    private static final String DEFAULT_SOURCE = "TEST_SOURCE";
+
+    private CrossRateEngine crossRateEngine;
+
+    @BeforeEach
+    void setUp() {
+        CrossRateProperties properties = new CrossRateProperties();
+        properties.setPivots(List.of("usd", "EUR"));
+        crossRateEngine = new CrossRateEngine(properties);
+    }
+
+    @Test
+    @DisplayName("legsFor() lists the inverse and both orientations of each pivot leg")
+    public void whenLegsFor_thenListsInverseAndPivotLegs() {
+        assertEquals(List.of("GBP_EUR", "EUR_USD", "USD_EUR", "USD_GBP", "GBP_USD"),
+                List.copyOf(crossRateEngine.legsFor("eur", "gbp")));
+    }
+
+    @Test
+    @DisplayName("derive() inverts a cached reverse pair")
+    public void givenInverseCached_whenDerive_thenReturnsReciprocal() {
+        RateInfoDto inverse = rate("GBP_EUR", 1.25, Instant.now());
+
+        Optional<DerivedRate> result = crossRateEngine.derive("EUR", "GBP", Map.of("GBP_EUR", inverse));
+
+        assertTrue(result.isPresent());
+        assertEquals(0.8, result.get().getRate().getRate(), 1e-12);
+        assertEquals("EUR_GBP", result.get().getRate().getCurrencyPair());
+        assertEquals(List.of("GBP_EUR"), result.get().getLegs());
+    }
+
+    @Test
+    @DisplayName("derive() triangulates through a pivot and reports the oldest leg")
+    public void givenPivotLegsCached_whenDerive_thenTriangulatesAndReportsOldestLeg() {
+        Instant older = Instant.now().minusSeconds(120);
+        Map<String, RateInfoDto> cached = Map.of(
+                "USD_EUR", rate("USD_EUR", 0.9, older),
+                "USD_GBP", rate("USD_GBP", 0.75, Instant.now()));
+
+        Optional<DerivedRate> result = crossRateEngine.derive("EUR", "GBP", cached);
+
+        assertTrue(result.isPresent());
+        assertEquals(0.75 / 0.9, result.get().getRate().getRate(), 1e-12);
+        assertEquals(older, result.get().getRate().getTimestamp());
+        assertEquals(List.of("USD_EUR", "USD_GBP"), result.get().getLegs());
+        assertTrue(result.get().getOldestLegAgeSeconds() >= 120);
+    }
+
+    @Test
+    @DisplayName("derive() returns empty when only one leg of a route is cached")
+    public void givenIncompleteRoute_whenDerive_thenReturnsEmpty() {
+        Optional<DerivedRate> result = crossRateEngine.derive("EUR", "GBP", Map.of("USD_EUR", rate("USD_EUR", 0.9, Instant.now())));
+
+        assertTrue(result.isEmpty());
+    }
+
+    @Test
+    @DisplayName("legsFor() and derive() are inert when cross rates are disabled")
+    public void givenDisabled_whenDerive_thenReturnsEmpty() {
+        CrossRateProperties properties = new CrossRateProperties();
+        properties.setEnabled(false);
+        CrossRateEngine disabled = new CrossRateEngine(properties);
+
+        assertTrue(disabled.legsFor("EUR", "GBP").isEmpty());
+        assertTrue(disabled.derive("EUR", "GBP", Map.of("GBP_EUR", rate("GBP_EUR", 1.25, Instant.now()))).isEmpty());
+    }
+
+    private static RateInfoDto rate(String currencyPair, double rate, Instant timestamp) {
+        return new RateInfoDto(DEFAULT_SOURCE, timestamp, rate, currencyPair);
+    }
+}
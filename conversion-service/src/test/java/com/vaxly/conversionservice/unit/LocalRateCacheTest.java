@@ -0,0 +1,58 @@
+package com.vaxly.conversionservice.unit;
+
+import com.vaxly.conversionservice.config.CrossRateProperties;
+import com.vaxly.conversionservice.config.FreshnessProperties;
+import com.vaxly.conversionservice.config.LocalCacheProperties;
+import com.vaxly.conversionservice.service.LocalRateCache;
+import com.vaxly.conversionservice.service.RateMatrix;
+import com.vaxly.vaxlyshared.currency.CurrencyRegistry;
+import com.vaxly.vaxlyshared.dtos.RateInfoDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LocalRateCacheTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private LocalRateCache localRateCache;
+    private RateMatrix rateMatrix;
+
+    private final String DEFAULT_CURRENCY_PAIR = "USD_EUR";
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        rateMatrix = new RateMatrix(new CrossRateProperties(), new FreshnessProperties());
+        localRateCache = new LocalRateCache(new LocalCacheProperties(), rateMatrix, meterRegistry);
+    }
+
+    @Test
+    @DisplayName("get() returns a previously stored rate and counts the hit")
+    public void givenStoredRate_whenGet_thenReturnsRateAndRecordsHit() {
+        RateInfoDto rate = new RateInfoDto("TEST_SOURCE", Instant.now(), 1.25, DEFAULT_CURRENCY_PAIR);
+        localRateCache.put(DEFAULT_CURRENCY_PAIR, rate);
+
+        assertSame(rate, localRateCache.get(DEFAULT_CURRENCY_PAIR).orElseThrow());
+        assertTrue(localRateCache.get("GBP_JPY").isEmpty());
+
+        assertEquals(1, localRateCache.stats().hitCount());
+        assertEquals(1, localRateCache.stats().missCount());
+        assertEquals(1.0, meterRegistry.get("cache.gets").tag("result", "hit").functionCounter().count());
+        assertEquals(1.25, rateMatrix.snapshot().rate(CurrencyRegistry.currencyId("USD"), CurrencyRegistry.currencyId("EUR")));
+    }
+
+    @Test
+    @DisplayName("invalidate() drops the local copy of a pair")
+    public void givenStoredRate_whenInvalidate_thenGetMisses() {
+        localRateCache.put(DEFAULT_CURRENCY_PAIR, new RateInfoDto("TEST_SOURCE", Instant.now(), 1.25, DEFAULT_CURRENCY_PAIR));
+
+        localRateCache.invalidate(DEFAULT_CURRENCY_PAIR);
+
+        assertTrue(localRateCache.get(DEFAULT_CURRENCY_PAIR).isEmpty());
+    }
+}
@@ -0,0 +1,102 @@
+package com.vaxly.conversionservice.unit;
+
+import com.vaxly.conversionservice.config.CrossRateProperties;
+import com.vaxly.conversionservice.config.FreshnessProperties;
+import com.vaxly.conversionservice.config.RateUpdateListenerConfig;
+import com.vaxly.conversionservice.service.RateMatrix;
+import com.vaxly.vaxlyshared.constants.RedisKeys;
+import com.vaxly.vaxlyshared.currency.CurrencyRegistry;
+import com.vaxly.vaxlyshared.dtos.RateInfoDto;
+import com.vaxly.vaxlyshared.serialization.RateInfoRedisSerializer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.MessageListener;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RateMatrixTest {
+
+    private RateMatrix rateMatrix;
+
+    private final String DEFAULT_SOURCE = "TEST_SOURCE";
+    private final int USD = CurrencyRegistry.currencyId("USD");
+    private final int EUR = CurrencyRegistry.currencyId("EUR");
+    private final int GBP = CurrencyRegistry.currencyId("GBP");
+    private final int JPY = CurrencyRegistry.currencyId("JPY");
+
+    @BeforeEach
+    public void setup() {
+        FreshnessProperties freshness = new FreshnessProperties();
+        freshness.setHardTtl(Duration.ofHours(1));
+        rateMatrix = new RateMatrix(new CrossRateProperties(), freshness);
+    }
+
+    @Test
+    @DisplayName("snapshot() is unaffected by later updates")
+    public void givenSnapshot_whenUpdated_thenSnapshotUnchanged() {
+        rateMatrix.update("USD_EUR", rate(0.92, Instant.now(), "USD_EUR"));
+        RateMatrix.Snapshot before = rateMatrix.snapshot();
+
+        rateMatrix.update("USD_EUR", rate(0.95, Instant.now(), "USD_EUR"));
+        rateMatrix.update("USD_XYZ", rate(2.0, Instant.now(), "USD_XYZ"));
+
+        assertEquals(0.92, before.rate(USD, EUR));
+        assertEquals(0.95, rateMatrix.snapshot().rate(USD, EUR));
+        assertTrue(Double.isNaN(rateMatrix.snapshot().rate(USD, GBP)));
+    }
+
+    @Test
+    @DisplayName("The matrix follows rates published on the per-pair rate channels")
+    public void givenPublishedRate_whenReceived_thenUpdatesCell() {
+        MessageListener updater = new RateUpdateListenerConfig().rateMatrixUpdater(rateMatrix);
+        rateMatrix.update("USD_EUR", rate(0.92, Instant.now().minusSeconds(60), "USD_EUR"));
+        byte[] payload = new RateInfoRedisSerializer(RateInfoRedisSerializer.Format.BINARY)
+                .serialize(rate(0.95, Instant.now(), "USD_EUR"));
+
+        updater.onMessage(new DefaultMessage(RedisKeys.rateChannel("USD_EUR").getBytes(StandardCharsets.UTF_8), payload), null);
+
+        assertEquals(0.95, rateMatrix.snapshot().rate(USD, EUR));
+    }
+
+    @Test
+    @DisplayName("resolve() reads the direct cell, then the inverse, then two legs through a pivot")
+    public void givenCells_whenResolve_thenFollowsCrossRateOrder() {
+        long now = System.currentTimeMillis();
+        rateMatrix.update("USD_EUR", rate(0.8, Instant.ofEpochMilli(now), "USD_EUR"));
+        rateMatrix.update("GBP_USD", rate(1.25, Instant.ofEpochMilli(now - 60_000), "GBP_USD"));
+        RateMatrix.Snapshot snapshot = rateMatrix.snapshot();
+
+        RateMatrix.Resolved direct = rateMatrix.resolve(snapshot, USD, EUR, now);
+        assertEquals(0.8, direct.rate());
+        assertFalse(direct.derived());
+
+        RateMatrix.Resolved inverse = rateMatrix.resolve(snapshot, EUR, USD, now);
+        assertEquals(1.25, inverse.rate(), 1e-12);
+        assertTrue(inverse.derived());
+
+        RateMatrix.Resolved triangulated = rateMatrix.resolve(snapshot, GBP, EUR, now);
+        assertEquals(1.0, triangulated.rate(), 1e-12);
+        assertEquals(now - 60_000, triangulated.timestamp());
+
+        assertNull(rateMatrix.resolve(snapshot, GBP, JPY, now));
+    }
+
+    @Test
+    @DisplayName("resolve() skips cells past the hard TTL")
+    public void givenExpiredCell_whenResolve_thenIgnoresIt() {
+        long now = System.currentTimeMillis();
+        rateMatrix.update("USD_JPY", rate(150.0, Instant.ofEpochMilli(now - Duration.ofHours(2).toMillis()), "USD_JPY"));
+
+        assertNull(rateMatrix.resolve(rateMatrix.snapshot(), USD, JPY, now));
+    }
+
+    private RateInfoDto rate(double value, Instant timestamp, String currencyPair) {
+        return new RateInfoDto(DEFAULT_SOURCE, timestamp, value, currencyPair);
+    }
+}
@@ -0,0 +1,136 @@
+package com.vaxly.conversionservice.unit;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vaxly.conversionservice.config.CrossRateProperties;
+import com.vaxly.conversionservice.config.FreshnessProperties;
+import com.vaxly.conversionservice.service.RateMatrix;
+import com.vaxly.conversionservice.service.RateStreamHub;
+import com.vaxly.vaxlyshared.constants.RedisKeys;
+import com.vaxly.vaxlyshared.dtos.RateInfoDto;
+import com.vaxly.vaxlyshared.serialization.RateInfoRedisSerializer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.DefaultMessage;
+import org.springframework.data.redis.connection.MessageListener;
+import org.springframework.data.redis.listener.ChannelTopic;
+import org.springframework.data.redis.listener.RedisMessageListenerContainer;
+import org.springframework.web.servlet.mvc.method.annotation.SseEmitter;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class RateStreamHubTest {
+
+    @Mock
+    private RedisMessageListenerContainer listenerContainer;
+
+    private RateMatrix rateMatrix;
+    private RateStreamHub hub;
+
+    private final String DEFAULT_CURRENCY_PAIR = "USD_EUR";
+    private final String DEFAULT_SOURCE = "TEST_SOURCE";
+    private final ChannelTopic DEFAULT_CHANNEL = new ChannelTopic(RedisKeys.rateChannel(DEFAULT_CURRENCY_PAIR));
+
+    @BeforeEach
+    public void setup() {
+        FreshnessProperties freshness = new FreshnessProperties();
+        freshness.setHardTtl(Duration.ofHours(1));
+        rateMatrix = new RateMatrix(new CrossRateProperties(), freshness);
+        hub = new RateStreamHub(listenerContainer, rateMatrix, new ObjectMapper().findAndRegisterModules());
+    }
+
+    @Test
+    @DisplayName("subscribe() opens one Redis subscription per pair and drops it with the pair's last stream")
+    public void givenStreamsOnSamePair_whenSubscribeAndUnsubscribe_thenOneSubscriptionPerPair() {
+        RecordingEmitter first = new RecordingEmitter();
+        RecordingEmitter second = new RecordingEmitter();
+
+        hub.subscribe(first, List.of(DEFAULT_CURRENCY_PAIR));
+        hub.subscribe(second, List.of(DEFAULT_CURRENCY_PAIR, "GBP_JPY"));
+
+        verify(listenerContainer).addMessageListener(any(MessageListener.class), eq(DEFAULT_CHANNEL));
+        verify(listenerContainer).addMessageListener(any(MessageListener.class), eq(new ChannelTopic(RedisKeys.rateChannel("GBP_JPY"))));
+        assertEquals(2, hub.watchedPairs());
+
+        hub.unsubscribe(first);
+        verify(listenerContainer, never()).removeMessageListener(any(MessageListener.class), eq(DEFAULT_CHANNEL));
+
+        hub.unsubscribe(second);
+        verify(listenerContainer).removeMessageListener(any(MessageListener.class), eq(DEFAULT_CHANNEL));
+        assertEquals(0, hub.watchedPairs());
+    }
+
+    @Test
+    @DisplayName("A published rate is pushed to every stream on the pair, and only when it changes")
+    public void givenPublishedRates_whenReceived_thenPushesChangesToEveryStream() {
+        RecordingEmitter first = new RecordingEmitter();
+        RecordingEmitter second = new RecordingEmitter();
+        hub.subscribe(first, List.of(DEFAULT_CURRENCY_PAIR));
+        hub.subscribe(second, List.of(DEFAULT_CURRENCY_PAIR));
+        MessageListener listener = captureListener(DEFAULT_CHANNEL);
+
+        listener.onMessage(message(0.92), null);
+        listener.onMessage(message(0.92), null);
+        listener.onMessage(message(0.93), null);
+
+        assertEquals(2, first.events.size());
+        assertEquals(2, second.events.size());
+        assertTrue(first.events.get(0).contains("event:rate"));
+        assertTrue(first.events.get(0).contains("\"rate\":0.92"));
+        assertTrue(first.events.get(1).contains("\"rate\":0.93"));
+    }
+
+    @Test
+    @DisplayName("subscribe() sends the pair's current rate when this instance already has one")
+    public void givenKnownRate_whenSubscribe_thenSendsItFirst() {
+        rateMatrix.update(DEFAULT_CURRENCY_PAIR, new RateInfoDto(DEFAULT_SOURCE, Instant.now(), 0.92, DEFAULT_CURRENCY_PAIR));
+        RecordingEmitter emitter = new RecordingEmitter();
+
+        hub.subscribe(emitter, List.of(DEFAULT_CURRENCY_PAIR, "GBP_JPY"));
+
+        assertEquals(1, emitter.events.size());
+        assertTrue(emitter.events.get(0).contains("\"currencyPair\":\"USD_EUR\""));
+    }
+
+    private MessageListener captureListener(ChannelTopic channel) {
+        ArgumentCaptor<MessageListener> captor = ArgumentCaptor.forClass(MessageListener.class);
+        verify(listenerContainer).addMessageListener(captor.capture(), eq(channel));
+        return captor.getValue();
+    }
+
+    private DefaultMessage message(double rate) {
+        byte[] body = new RateInfoRedisSerializer().serialize(new RateInfoDto(DEFAULT_SOURCE, Instant.now(), rate, DEFAULT_CURRENCY_PAIR));
+        return new DefaultMessage(DEFAULT_CHANNEL.getTopic().getBytes(StandardCharsets.UTF_8), body);
+    }
+
+    /**
+     * Records each event as the text that would go on the wire, instead of writing to a response.
+     */
+    private static class RecordingEmitter extends SseEmitter {
+        private final List<String> events = new ArrayList<>();
+
+        @Override
+        public synchronized void send(Set<DataWithMediaType> items) {
+            StringBuilder event = new StringBuilder();
+            for (DataWithMediaType item : items) {
+                event.append(item.getData());
+            }
+            events.add(event.toString());
+        }
+    }
+}
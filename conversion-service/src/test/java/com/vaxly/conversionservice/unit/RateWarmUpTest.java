@@ -0,0 +1,157 @@
+package com.vaxly.conversionservice.unit;
+
+import com.vaxly.conversionservice.config.WarmUpProperties;
+import com.vaxly.conversionservice.enums.WarmUpSource;
+import com.vaxly.conversionservice.service.ConversionService;
+import com.vaxly.conversionservice.service.LocalRateCache;
+import com.vaxly.conversionservice.service.RateWarmUp;
+import com.vaxly.vaxlyshared.aws.AwsCognitoTokenProvider;
+import com.vaxly.vaxlyshared.constants.RedisKeys;
+import com.vaxly.vaxlyshared.dtos.RateInfoDto;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.DefaultApplicationArguments;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.ZSetOperations;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class RateWarmUpTest {
+
+    @Mock
+    private RedisTemplate<String, RateInfoDto> redisTemplate;
+
+    @Mock
+    private ValueOperations<String, RateInfoDto> valueOperations;
+
+    @Mock
+    private StringRedisTemplate stringRedisTemplate;
+
+    @Mock
+    private ZSetOperations<String, String> zSetOperations;
+
+    @Mock
+    private ConversionService conversionService;
+
+    @Mock
+    private AwsCognitoTokenProvider tokenProvider;
+
+    @Mock
+    private LocalRateCache localRateCache;
+
+    private WarmUpProperties properties;
+
+    private final String DEFAULT_ACCESS_TOKEN = "MOCK_ACCESS_TOKEN";
+    private final String DEFAULT_SOURCE = "TEST_SOURCE";
+    private final String EXPORT_BODY = """
+            {"currencyPair":"USD_EUR","rate":0.92,"lastUpdatedAt":"2025-10-01T12:00:00Z","source":"TEST_SOURCE"}
+            {"currencyPair":"GBP_JPY","rate":190.5,"lastUpdatedAt":"2025-10-01T12:00:00Z","source":"TEST_SOURCE"}
+            """;
+
+    @BeforeEach
+    public void setUp() {
+        properties = new WarmUpProperties();
+        properties.setTimeout(Duration.ofSeconds(5));
+        lenient().when(stringRedisTemplate.opsForZSet()).thenReturn(zSetOperations);
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        lenient().when(tokenProvider.getAccessToken()).thenReturn(DEFAULT_ACCESS_TOKEN);
+    }
+
+    @Test
+    @DisplayName("TOP_PAIRS warm-up loads Redis hits and fetches the rest from history-service into Redis")
+    public void givenTopPairs_whenWarmUp_thenLoadsFromRedisAndHistory() {
+        RateInfoDto cached = new RateInfoDto(DEFAULT_SOURCE, Instant.now(), 0.92, "USD_EUR");
+        RateInfoDto historical = new RateInfoDto(DEFAULT_SOURCE, Instant.now(), 190.5, "GBP_JPY");
+        when(zSetOperations.reverseRange(RedisKeys.USAGE_TOPK_KEY, 0, 999))
+                .thenReturn(new LinkedHashSet<>(List.of("USD_EUR", "GBP_JPY")));
+        when(valueOperations.multiGet(List.of("rate:USD_EUR", "rate:GBP_JPY"))).thenReturn(Arrays.asList(cached, null));
+        when(conversionService.getHistoricalRates(List.of("GBP_JPY"), DEFAULT_ACCESS_TOKEN))
+                .thenReturn(Map.of("GBP_JPY", historical));
+
+        warmUp(unusedWebClient());
+
+        verify(localRateCache).put("USD_EUR", cached);
+        verify(localRateCache).put("GBP_JPY", historical);
+        verify(redisTemplate, times(1)).executePipelined(any(RedisCallback.class));
+    }
+
+    @Test
+    @DisplayName("TOP_PAIRS warm-up streams the full book when no usage has been recorded")
+    public void givenNoTopPairs_whenWarmUp_thenLoadsFullBook() {
+        when(zSetOperations.reverseRange(RedisKeys.USAGE_TOPK_KEY, 0, 999)).thenReturn(Set.of());
+
+        warmUp(exportClient());
+
+        verify(localRateCache).put(eq("USD_EUR"), argThat(rate -> rate.getRate() == 0.92
+                && Instant.parse("2025-10-01T12:00:00Z").equals(rate.getTimestamp())));
+        verify(localRateCache).put(eq("GBP_JPY"), argThat(rate -> rate.getRate() == 190.5));
+        verify(redisTemplate, times(1)).executePipelined(any(RedisCallback.class));
+        verifyNoInteractions(conversionService);
+    }
+
+    @Test
+    @DisplayName("FULL_BOOK warm-up stops after max-pairs rates")
+    public void givenMaxPairs_whenWarmUpFullBook_thenStopsAtLimit() {
+        properties.setSource(WarmUpSource.FULL_BOOK);
+        properties.setMaxPairs(1);
+
+        warmUp(exportClient());
+
+        verify(localRateCache, times(1)).put(anyString(), any(RateInfoDto.class));
+        verifyNoInteractions(stringRedisTemplate);
+    }
+
+    @Test
+    @DisplayName("Warm-up failures are logged and never fail startup")
+    public void givenRedisFailure_whenWarmUp_thenStartsCold() {
+        when(zSetOperations.reverseRange(RedisKeys.USAGE_TOPK_KEY, 0, 999)).thenThrow(new IllegalStateException("down"));
+
+        warmUp(unusedWebClient());
+
+        verifyNoInteractions(localRateCache);
+    }
+
+    private void warmUp(WebClient webClient) {
+        new RateWarmUp(redisTemplate, stringRedisTemplate, conversionService, webClient, tokenProvider, localRateCache, properties)
+                .run(new DefaultApplicationArguments());
+    }
+
+    private WebClient exportClient() {
+        return WebClient.builder()
+                .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.OK)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_NDJSON_VALUE)
+                        .body(EXPORT_BODY)
+                        .build()))
+                .build();
+    }
+
+    private WebClient unusedWebClient() {
+        return WebClient.builder()
+                .exchangeFunction(request -> Mono.error(new AssertionError("history-service export should not be called")))
+                .build();
+    }
+}
@@ -0,0 +1,68 @@
+package com.vaxly.conversionservice.unit;
+
+import com.vaxly.conversionservice.ReactiveConversionController;
+import com.vaxly.conversionservice.dtos.ConversionResponseDto;
+import com.vaxly.conversionservice.config.HttpCacheProperties;
+import com.vaxly.conversionservice.enums.StateFlag;
+import com.vaxly.conversionservice.service.ConversionService;
+import com.vaxly.conversionservice.service.ReactiveConversionService;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
+import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
+import reactor.core.publisher.Mono;
+
+import static org.mockito.Mockito.when;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.jsonPath;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.request;
+import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.status;
+
+@WebMvcTest(value = ReactiveConversionController.class, properties = "conversion.reactive.enabled=true")
+@Import(HttpCacheProperties.class)
+public class ReactiveConversionControllerTest {
+    @MockitoBean
+    private ReactiveConversionService reactiveConversionService;
+
+    @MockitoBean
+    private ConversionService conversionService;
+
+    @Autowired
+    private MockMvc mockMvc;
+
+    @Test
+    @DisplayName("should return 200 OK asynchronously when service is available")
+    public void whenGetConvertEndpoint_thenReturnsSuccessfulConversionResponse() throws Exception {
+        ConversionResponseDto mockResponse = new ConversionResponseDto("USD", "EUR", 0.92, 92.0, "external", null, StateFlag.CACHED);
+        when(reactiveConversionService.convert("USD", "EUR", 100.0)).thenReturn(Mono.just(mockResponse));
+
+        MvcResult result = mockMvc.perform(get("/api/v1/convert?from=USD&to=EUR&amount=100.0"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.convertedAmount").value(92))
+                .andExpect(jsonPath("$.stateFlag").value("CACHED"));
+    }
+
+    @Test
+    @DisplayName("should return 503 SERVICE UNAVAILABLE asynchronously when data is unavailable")
+    void whenGetConvertEndpoint_thenReturnsServiceUnavailable() throws Exception {
+        ConversionResponseDto unavailableResponse = new ConversionResponseDto("USD", "EUR", 0.0, 0.0, null, null, StateFlag.UNAVAILABLE);
+        when(reactiveConversionService.convert("USD", "EUR", 100.0)).thenReturn(Mono.just(unavailableResponse));
+
+        MvcResult result = mockMvc.perform(get("/api/v1/convert?from=USD&to=EUR&amount=100.0"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        mockMvc.perform(asyncDispatch(result))
+                .andExpect(status().isServiceUnavailable())
+                .andExpect(jsonPath("$.stateFlag").value("UNAVAILABLE"));
+    }
+}
@@ -0,0 +1,165 @@
+package com.vaxly.conversionservice.unit;
+
+import com.vaxly.conversionservice.enums.StateFlag;
+import com.vaxly.conversionservice.service.ConversionMetrics;
+import com.vaxly.conversionservice.service.LocalRateCache;
+import com.vaxly.conversionservice.service.ReactiveConversionService;
+import com.vaxly.conversionservice.service.RequestCoalescer;
+import com.vaxly.conversionservice.service.CrossRateEngine;
+import com.vaxly.conversionservice.service.StaleRateRevalidator;
+import com.vaxly.conversionservice.service.RefreshRequestPublisher;
+import com.vaxly.conversionservice.service.UnknownPairCache;
+import com.vaxly.conversionservice.enums.RateFreshness;
+import com.vaxly.conversionservice.service.UsageCounterService;
+import com.vaxly.vaxlyshared.aws.AwsCognitoTokenProvider;
+import com.vaxly.vaxlyshared.constants.RedisKeys;
+import com.vaxly.vaxlyshared.dtos.RateInfoDto;
+import com.vaxly.vaxlyshared.service.RateUpdatePublisher;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
+import org.springframework.data.redis.core.ReactiveValueOperations;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+import java.time.Instant;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class ReactiveConversionServiceTest {
+
+    @Mock
+    private ReactiveRedisTemplate<String, RateInfoDto> redisTemplate;
+
+    @Mock
+    private ReactiveValueOperations<String, RateInfoDto> valueOperations;
+
+    @Mock
+    AwsCognitoTokenProvider tokenProvider;
+
+    @Mock
+    UsageCounterService usageCounterService;
+
+    @Mock
+    RefreshRequestPublisher refreshRequestPublisher;
+
+    @Mock
+    LocalRateCache localRateCache;
+
+    @Mock
+    RequestCoalescer requestCoalescer;
+
+    @Mock
+    CrossRateEngine crossRateEngine;
+
+    @Mock
+    StaleRateRevalidator staleRateRevalidator;
+
+    @Mock
+    UnknownPairCache unknownPairCache;
+
+    @Mock
+    RateUpdatePublisher rateUpdatePublisher;
+
+    @Mock
+    ConversionMetrics conversionMetrics;
+
+    @Spy
+    @InjectMocks
+    private ReactiveConversionService conversionService;
+
+    private final String DEFAULT_FROM = "USD";
+    private final String DEFAULT_TO = "EUR";
+    private final String DEFAULT_ACCESS_TOKEN = "MOCK_ACCESS_TOKEN";
+    private final double DEFAULT_AMOUNT = 100.0;
+    private final double DEFAULT_RATE = 1.25;
+    private final String DEFAULT_SOURCE = "TEST_SOURCE";
+    private final String DEFAULT_CURRENCY_PAIR = DEFAULT_FROM + "_" + DEFAULT_TO;
+
+    @Test
+    @DisplayName("convert() emits cached data from the reactive Redis template")
+    public void whenConvert_thenEmitsCachedData() {
+        RateInfoDto mockRateInfo = new RateInfoDto(DEFAULT_SOURCE, Instant.now(), DEFAULT_RATE, DEFAULT_CURRENCY_PAIR);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(RedisKeys.rateKey(DEFAULT_CURRENCY_PAIR))).thenReturn(Mono.just(mockRateInfo));
+        when(usageCounterService.incrementUsageAsync(DEFAULT_CURRENCY_PAIR)).thenReturn(Mono.empty());
+
+        StepVerifier.create(conversionService.convert(DEFAULT_FROM, DEFAULT_TO, DEFAULT_AMOUNT))
+                .assertNext(result -> {
+                    assertEquals(DEFAULT_RATE, result.getRate());
+                    assertEquals(DEFAULT_SOURCE, result.getSource());
+                    assertEquals(StateFlag.CACHED, result.getStateFlag());
+                })
+                .verifyComplete();
+
+        verify(usageCounterService, times(1)).incrementUsageAsync(DEFAULT_CURRENCY_PAIR);
+        verify(localRateCache, times(1)).put(DEFAULT_CURRENCY_PAIR, mockRateInfo);
+        verify(conversionMetrics, times(1)).recordRequest(argThat(result -> result.getStateFlag() == StateFlag.CACHED), anyLong());
+        verify(conversionMetrics, times(1)).recordTier(eq(ConversionMetrics.Tier.REDIS), eq(ConversionMetrics.Outcome.HIT), anyLong());
+        verifyNoInteractions(tokenProvider);
+    }
+
+    @Test
+    @DisplayName("convert() emits a rate past its soft TTL as STALE and refreshes it in the background")
+    public void givenStaleCachedRate_whenConvert_thenEmitsStaleAndRevalidates() {
+        RateInfoDto staleRate = new RateInfoDto(DEFAULT_SOURCE, Instant.now().minusSeconds(600), DEFAULT_RATE, DEFAULT_CURRENCY_PAIR);
+        when(localRateCache.get(DEFAULT_CURRENCY_PAIR)).thenReturn(Optional.of(staleRate));
+        when(staleRateRevalidator.freshness(staleRate)).thenReturn(RateFreshness.STALE);
+        when(usageCounterService.incrementUsageAsync(DEFAULT_CURRENCY_PAIR)).thenReturn(Mono.empty());
+
+        StepVerifier.create(conversionService.convert(DEFAULT_FROM, DEFAULT_TO, DEFAULT_AMOUNT))
+                .assertNext(result -> assertEquals(StateFlag.STALE, result.getStateFlag()))
+                .verifyComplete();
+
+        verify(staleRateRevalidator, times(1)).revalidate(eq(DEFAULT_CURRENCY_PAIR), any(Runnable.class));
+        verifyNoInteractions(tokenProvider);
+    }
+
+    @Test
+    @DisplayName("convert() emits historical rate when cache is empty")
+    public void givenCacheEmpty_whenConvert_thenEmitsHistoricalRate() {
+        RateInfoDto mockHistoricalRate = new RateInfoDto(DEFAULT_SOURCE, Instant.now(), DEFAULT_RATE, DEFAULT_CURRENCY_PAIR);
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(RedisKeys.rateKey(DEFAULT_CURRENCY_PAIR))).thenReturn(Mono.empty());
+        when(unknownPairCache.isUnknownAsync(DEFAULT_CURRENCY_PAIR)).thenReturn(Mono.just(false));
+        when(tokenProvider.getAccessTokenAsync()).thenReturn(Mono.just(DEFAULT_ACCESS_TOKEN));
+        when(usageCounterService.incrementUsageAsync(DEFAULT_CURRENCY_PAIR)).thenReturn(Mono.empty());
+        doReturn(Mono.just(mockHistoricalRate))
+                .when(conversionService).getHistoricalRate(DEFAULT_CURRENCY_PAIR, DEFAULT_ACCESS_TOKEN);
+
+        StepVerifier.create(conversionService.convert(DEFAULT_FROM, DEFAULT_TO, DEFAULT_AMOUNT))
+                .assertNext(result -> {
+                    assertEquals(DEFAULT_RATE * DEFAULT_AMOUNT, result.getConvertedAmount());
+                    assertEquals(StateFlag.FALLBACK_DB, result.getStateFlag());
+                })
+                .verifyComplete();
+
+        verify(usageCounterService, times(1)).incrementUsageAsync(DEFAULT_CURRENCY_PAIR);
+        verifyNoInteractions(refreshRequestPublisher);
+    }
+
+    @Test
+    @DisplayName("convert() emits UNAVAILABLE and requests a refresh when no rate exists")
+    public void givenNoCacheOrHistoricalData_whenConvert_thenEmitsUnavailableState() {
+        when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        when(valueOperations.get(RedisKeys.rateKey(DEFAULT_CURRENCY_PAIR))).thenReturn(Mono.empty());
+        when(unknownPairCache.isUnknownAsync(DEFAULT_CURRENCY_PAIR)).thenReturn(Mono.just(false));
+        when(tokenProvider.getAccessTokenAsync()).thenReturn(Mono.just(DEFAULT_ACCESS_TOKEN));
+        doReturn(Mono.empty()).when(conversionService).getHistoricalRate(DEFAULT_CURRENCY_PAIR, DEFAULT_ACCESS_TOKEN);
+
+        StepVerifier.create(conversionService.convert(DEFAULT_FROM, DEFAULT_TO, DEFAULT_AMOUNT))
+                .assertNext(result -> assertEquals(StateFlag.UNAVAILABLE, result.getStateFlag()))
+                .verifyComplete();
+
+        verify(usageCounterService, never()).incrementUsageAsync(DEFAULT_CURRENCY_PAIR);
+        verify(refreshRequestPublisher, times(1)).request(DEFAULT_CURRENCY_PAIR);
+    }
+}
@@ -0,0 +1,135 @@
+package com.vaxly.conversionservice.unit;
+
+import com.vaxly.conversionservice.config.RefreshProperties;
+import com.vaxly.conversionservice.service.ConversionMetrics;
+import com.vaxly.conversionservice.service.ConversionMetrics.Outcome;
+import com.vaxly.conversionservice.service.ConversionMetrics.Tier;
+import com.vaxly.conversionservice.service.RefreshRequestPublisher;
+import com.vaxly.vaxlyshared.config.AwsSqsProperties;
+import com.vaxly.vaxlyshared.constants.RedisKeys;
+import com.vaxly.vaxlyshared.service.SqsProducerService;
+import io.awspring.cloud.sqs.operations.MessagingOperationFailedException;
+import io.awspring.cloud.sqs.operations.SqsTemplate;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class RefreshRequestPublisherTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    @Mock
+    private SqsProducerService sqsProducerService;
+
+    @Mock
+    private SqsTemplate sqsTemplate;
+
+    private RefreshProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+    private RefreshRequestPublisher publisher;
+
+    private final String DEFAULT_CURRENCY_PAIR = "USD_EUR";
+    private final String DEFAULT_QUEUE_URL = "http://localhost:4566/000000000000/rate-refresh";
+    private final long TIMEOUT_MS = 5000;
+
+    @BeforeEach
+    public void setUp() {
+        properties = new RefreshProperties();
+        properties.setDedupWindow(Duration.ofMinutes(1));
+        meterRegistry = new SimpleMeterRegistry();
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        publisher = new RefreshRequestPublisher(redisTemplate, sqsProducerService, properties, false, meterRegistry);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        publisher.shutdown();
+    }
+
+    @Test
+    @DisplayName("request() takes the in-flight lease and publishes once for a burst of requests")
+    public void givenBurstOfRequests_whenRequest_thenPublishesOnce() {
+        when(valueOperations.setIfAbsent(eq(RedisKeys.inflightKey(DEFAULT_CURRENCY_PAIR)), eq("true"), any(Duration.class)))
+                .thenReturn(true);
+
+        assertTrue(publisher.request(DEFAULT_CURRENCY_PAIR));
+        for (int i = 0; i < 100; i++) {
+            assertFalse(publisher.request(DEFAULT_CURRENCY_PAIR));
+        }
+
+        verify(sqsProducerService, timeout(TIMEOUT_MS).times(1)).sendMessage(DEFAULT_CURRENCY_PAIR);
+        verify(valueOperations, times(1)).setIfAbsent(anyString(), anyString(), any(Duration.class));
+        assertEquals(100.0, meterRegistry.counter("conversion.refresh.deduplicated", "by", "window").count());
+    }
+
+    @Test
+    @DisplayName("request() does not publish while another instance or the scheduler holds the lease")
+    public void givenLeaseHeld_whenRequest_thenDoesNotPublish() {
+        when(valueOperations.setIfAbsent(eq(RedisKeys.inflightKey(DEFAULT_CURRENCY_PAIR)), eq("true"), any(Duration.class)))
+                .thenReturn(false);
+
+        publisher.request(DEFAULT_CURRENCY_PAIR);
+
+        verify(valueOperations, timeout(TIMEOUT_MS)).setIfAbsent(anyString(), anyString(), any(Duration.class));
+        verify(sqsProducerService, after(100).never()).sendMessage(anyString());
+    }
+
+    @Test
+    @DisplayName("request() lets the next miss retry when the lease could not be taken")
+    public void givenRedisFailure_whenRequestAgain_thenRetries() {
+        when(valueOperations.setIfAbsent(eq(RedisKeys.inflightKey(DEFAULT_CURRENCY_PAIR)), eq("true"), any(Duration.class)))
+                .thenThrow(new IllegalStateException("down"))
+                .thenReturn(true);
+
+        publisher.request(DEFAULT_CURRENCY_PAIR);
+        verify(valueOperations, timeout(TIMEOUT_MS)).setIfAbsent(anyString(), anyString(), any(Duration.class));
+
+        long deadline = System.currentTimeMillis() + TIMEOUT_MS;
+        while (!publisher.request(DEFAULT_CURRENCY_PAIR) && System.currentTimeMillis() < deadline) {
+            Thread.onSpinWait();
+        }
+
+        verify(sqsProducerService, timeout(TIMEOUT_MS).times(1)).sendMessage(DEFAULT_CURRENCY_PAIR);
+    }
+
+    @Test
+    @DisplayName("request() releases the in-flight lease when the SQS send fails")
+    public void givenSendFailure_whenRequest_thenReleasesLease() {
+        AwsSqsProperties sqsProperties = new AwsSqsProperties();
+        sqsProperties.setQueueUrl(DEFAULT_QUEUE_URL);
+        when(sqsTemplate.send(any(Consumer.class)))
+                .thenThrow(new MessagingOperationFailedException("sqs down", DEFAULT_QUEUE_URL));
+        when(valueOperations.setIfAbsent(eq(RedisKeys.inflightKey(DEFAULT_CURRENCY_PAIR)), eq("true"), any(Duration.class)))
+                .thenReturn(true);
+        publisher.shutdown();
+        publisher = new RefreshRequestPublisher(redisTemplate, new SqsProducerService(sqsProperties, sqsTemplate),
+                properties, false, meterRegistry);
+
+        publisher.request(DEFAULT_CURRENCY_PAIR);
+
+        verify(redisTemplate, timeout(TIMEOUT_MS)).delete(RedisKeys.inflightKey(DEFAULT_CURRENCY_PAIR));
+        assertEquals(0, meterRegistry.get("conversion.refresh.enqueued").counter().count());
+        assertEquals(1, ConversionMetrics.tierTimer(meterRegistry, Tier.SQS_PUBLISH, Outcome.ERROR).count());
+    }
+}
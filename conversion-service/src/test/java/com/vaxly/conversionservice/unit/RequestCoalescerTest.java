@@ -0,0 +1,111 @@
+package com.vaxly.conversionservice.unit;
+
+import com.vaxly.conversionservice.service.RequestCoalescer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RequestCoalescerTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private RequestCoalescer requestCoalescer;
+
+    @BeforeEach
+    public void setup() {
+        meterRegistry = new SimpleMeterRegistry();
+        requestCoalescer = new RequestCoalescer(Duration.ofSeconds(5), meterRegistry);
+    }
+
+    @Test
+    @DisplayName("execute() runs the loader once for concurrent callers of the same key")
+    public void givenConcurrentCallers_whenExecute_thenLoaderRunsOnce() throws Exception {
+        int callers = 8;
+        AtomicInteger loads = new AtomicInteger();
+        CountDownLatch release = new CountDownLatch(1);
+        ExecutorService executor = Executors.newFixedThreadPool(callers);
+
+        try {
+            List<Future<String>> results = new ArrayList<>();
+            for (int i = 0; i < callers; i++) {
+                results.add(executor.submit(() -> requestCoalescer.execute("USD_EUR", () -> {
+                    loads.incrementAndGet();
+                    awaitQuietly(release);
+                    return "rate";
+                })));
+            }
+
+            // Wait until every follower has joined the leader's flight before releasing it
+            while (meterRegistry.get("conversion.history.coalesced").counter().count() < callers - 1) {
+                Thread.sleep(5);
+            }
+            release.countDown();
+
+            for (Future<String> result : results) {
+                assertEquals("rate", result.get(5, TimeUnit.SECONDS));
+            }
+        } finally {
+            executor.shutdownNow();
+        }
+
+        assertEquals(1, loads.get());
+        assertEquals(callers - 1, meterRegistry.get("conversion.history.coalesced").counter().count());
+    }
+
+    @Test
+    @DisplayName("execute() runs the loader again once the previous flight has completed")
+    public void givenSequentialCallers_whenExecute_thenEachCallLoads() {
+        AtomicInteger loads = new AtomicInteger();
+
+        requestCoalescer.execute("USD_EUR", loads::incrementAndGet);
+        requestCoalescer.execute("USD_EUR", loads::incrementAndGet);
+
+        assertEquals(2, loads.get());
+        assertEquals(0, meterRegistry.get("conversion.history.coalesced").counter().count());
+    }
+
+    @Test
+    @DisplayName("execute() fails a follower whose wait exceeds the bound")
+    public void givenSlowLeader_whenFollowerWaitsTooLong_thenFollowerTimesOut() throws Exception {
+        RequestCoalescer impatient = new RequestCoalescer(Duration.ofMillis(50), meterRegistry);
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch started = new CountDownLatch(1);
+        ExecutorService executor = Executors.newSingleThreadExecutor();
+
+        try {
+            Future<String> leader = executor.submit(() -> impatient.execute("USD_EUR", () -> {
+                started.countDown();
+                awaitQuietly(release);
+                return "rate";
+            }));
+            assertTrue(started.await(5, TimeUnit.SECONDS));
+
+            assertThrows(IllegalStateException.class, () -> impatient.execute("USD_EUR", () -> "unused"));
+
+            release.countDown();
+            assertEquals("rate", leader.get(5, TimeUnit.SECONDS));
+        } finally {
+            executor.shutdownNow();
+        }
+    }
+
+    private static void awaitQuietly(CountDownLatch latch) {
+        try {
+            latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+    }
+}
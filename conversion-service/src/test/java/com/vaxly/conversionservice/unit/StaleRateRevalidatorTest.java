@@ -0,0 +1,95 @@
+package com.vaxly.conversionservice.unit;
+
+import com.vaxly.conversionservice.config.FreshnessProperties;
+import com.vaxly.conversionservice.enums.RateFreshness;
+import com.vaxly.conversionservice.service.StaleRateRevalidator;
+import com.vaxly.vaxlyshared.dtos.RateInfoDto;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class StaleRateRevalidatorTest {
+
+    private SimpleMeterRegistry meterRegistry;
+    private StaleRateRevalidator revalidator;
+
+    private final String DEFAULT_CURRENCY_PAIR = "USD_EUR";
+
+    @BeforeEach
+    public void setup() {
+        FreshnessProperties properties = new FreshnessProperties();
+        properties.setSoftTtl(Duration.ofMinutes(5));
+        properties.setHardTtl(Duration.ofHours(1));
+        meterRegistry = new SimpleMeterRegistry();
+        revalidator = new StaleRateRevalidator(properties, false, meterRegistry);
+    }
+
+    @AfterEach
+    public void tearDown() {
+        revalidator.shutdown();
+    }
+
+    @Test
+    @DisplayName("freshness() classifies rates by age against the soft and hard TTLs")
+    public void givenRatesOfDifferentAges_whenFreshness_thenClassifiesByTtl() {
+        assertEquals(RateFreshness.FRESH, revalidator.freshness(rateAged(Duration.ofMinutes(1))));
+        assertEquals(RateFreshness.STALE, revalidator.freshness(rateAged(Duration.ofMinutes(10))));
+        assertEquals(RateFreshness.EXPIRED, revalidator.freshness(rateAged(Duration.ofHours(2))));
+        assertEquals(RateFreshness.FRESH, revalidator.freshness(new RateInfoDto("TEST_SOURCE", null, 1.25, DEFAULT_CURRENCY_PAIR)));
+    }
+
+    @Test
+    @DisplayName("revalidate() runs one refresh per pair at a time and drops duplicates")
+    public void givenRefreshInFlight_whenRevalidate_thenDeduplicates() throws InterruptedException {
+        CountDownLatch release = new CountDownLatch(1);
+        CountDownLatch finished = new CountDownLatch(1);
+        AtomicInteger refreshes = new AtomicInteger();
+        Runnable refresh = () -> {
+            refreshes.incrementAndGet();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            finished.countDown();
+        };
+
+        assertTrue(revalidator.revalidate(DEFAULT_CURRENCY_PAIR, refresh));
+        assertFalse(revalidator.revalidate(DEFAULT_CURRENCY_PAIR, refresh));
+        release.countDown();
+        assertTrue(finished.await(5, TimeUnit.SECONDS));
+
+        assertEquals(1, refreshes.get());
+        assertEquals(1.0, meterRegistry.counter("conversion.revalidation.deduplicated").count());
+    }
+
+    @Test
+    @DisplayName("revalidate() allows a new refresh once the previous one has failed")
+    public void givenFailedRefresh_whenRevalidateAgain_thenStartsNewRefresh() throws InterruptedException {
+        CountDownLatch retried = new CountDownLatch(1);
+
+        revalidator.revalidate(DEFAULT_CURRENCY_PAIR, () -> {
+            throw new IllegalStateException("downstream unavailable");
+        });
+        long deadline = System.nanoTime() + TimeUnit.SECONDS.toNanos(5);
+        while (!revalidator.revalidate(DEFAULT_CURRENCY_PAIR, retried::countDown) && System.nanoTime() < deadline) {
+            Thread.sleep(10);
+        }
+
+        assertTrue(retried.await(5, TimeUnit.SECONDS));
+    }
+
+    private RateInfoDto rateAged(Duration age) {
+        return new RateInfoDto("TEST_SOURCE", Instant.now().minus(age), 1.25, DEFAULT_CURRENCY_PAIR);
+    }
+}
@@ -0,0 +1,105 @@
+package com.vaxly.conversionservice.unit;
+
+import com.vaxly.conversionservice.config.NegativeCacheProperties;
+import com.vaxly.conversionservice.service.UnknownPairCache;
+import com.vaxly.vaxlyshared.constants.RedisKeys;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class UnknownPairCacheTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private ValueOperations<String, String> valueOperations;
+
+    private NegativeCacheProperties properties;
+    private SimpleMeterRegistry meterRegistry;
+
+    private final String DEFAULT_CURRENCY_PAIR = "USD_XYZ";
+
+    @BeforeEach
+    public void setUp() {
+        properties = new NegativeCacheProperties();
+        meterRegistry = new SimpleMeterRegistry();
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+    }
+
+    @Test
+    @DisplayName("isUnknown() remembers a 404 locally until invalidated and counts each saved call")
+    public void givenMarkedPair_whenIsUnknown_thenSkipsUntilInvalidated() {
+        UnknownPairCache cache = new UnknownPairCache(redisTemplate, properties, meterRegistry);
+
+        assertFalse(cache.isUnknown(DEFAULT_CURRENCY_PAIR));
+        cache.markUnknown(DEFAULT_CURRENCY_PAIR);
+        assertTrue(cache.isUnknown(DEFAULT_CURRENCY_PAIR));
+        assertTrue(cache.isUnknown(DEFAULT_CURRENCY_PAIR));
+        cache.invalidate(DEFAULT_CURRENCY_PAIR);
+        assertFalse(cache.isUnknown(DEFAULT_CURRENCY_PAIR));
+
+        assertEquals(2.0, meterRegistry.counter("conversion.negative-cache.saved").count());
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    @DisplayName("markUnknown() shares the pair through Redis and isUnknown() reads entries written by other instances")
+    public void givenSharedCache_whenMarkAndLookUp_thenUsesRedis() {
+        properties.setShared(true);
+        UnknownPairCache cache = new UnknownPairCache(redisTemplate, properties, meterRegistry);
+        when(redisTemplate.hasKey(RedisKeys.unknownPairKey("GBP_XYZ"))).thenReturn(true);
+
+        cache.markUnknown(DEFAULT_CURRENCY_PAIR);
+
+        verify(valueOperations, timeout(5000)).set(RedisKeys.unknownPairKey(DEFAULT_CURRENCY_PAIR), "true", Duration.ofSeconds(60));
+        assertTrue(cache.isUnknown("GBP_XYZ"));
+        assertTrue(cache.isUnknown("GBP_XYZ"));
+        verify(redisTemplate, times(1)).hasKey(RedisKeys.unknownPairKey("GBP_XYZ"));
+    }
+
+    @Test
+    @DisplayName("unknownAmong() reads every pair not listed locally from Redis with a single MGET")
+    public void givenSharedCache_whenUnknownAmong_thenReadsRedisOnce() {
+        properties.setShared(true);
+        UnknownPairCache cache = new UnknownPairCache(redisTemplate, properties, meterRegistry);
+        when(valueOperations.multiGet(List.of(RedisKeys.unknownPairKey("GBP_XYZ"), RedisKeys.unknownPairKey("USD_EUR"))))
+                .thenReturn(Arrays.asList("true", null));
+
+        cache.markUnknown(DEFAULT_CURRENCY_PAIR);
+        Set<String> unknown = cache.unknownAmong(List.of(DEFAULT_CURRENCY_PAIR, "GBP_XYZ", "USD_EUR"));
+
+        assertEquals(Set.of(DEFAULT_CURRENCY_PAIR, "GBP_XYZ"), unknown);
+        assertTrue(cache.isUnknown("GBP_XYZ"));
+        verify(redisTemplate, never()).hasKey(anyString());
+        assertEquals(3.0, meterRegistry.counter("conversion.negative-cache.saved").count());
+    }
+
+    @Test
+    @DisplayName("isUnknown() never skips a call when the negative cache is disabled")
+    public void givenDisabled_whenIsUnknown_thenAlwaysFalse() {
+        properties.setEnabled(false);
+        UnknownPairCache cache = new UnknownPairCache(redisTemplate, properties, meterRegistry);
+
+        cache.markUnknown(DEFAULT_CURRENCY_PAIR);
+
+        assertFalse(cache.isUnknown(DEFAULT_CURRENCY_PAIR));
+    }
+}
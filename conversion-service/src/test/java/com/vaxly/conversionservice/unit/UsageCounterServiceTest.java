@@ -0,0 +1,156 @@
+package com.vaxly.conversionservice.unit;
+
+import com.vaxly.conversionservice.config.UsageProperties;
+import com.vaxly.conversionservice.service.UsageCounterService;
+import com.vaxly.vaxlyshared.constants.RedisKeys;
+import com.vaxly.vaxlyshared.usage.CountMinSketch;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.RedisConnectionFailureException;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisHashCommands;
+import org.springframework.data.redis.connection.RedisZSetCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.serializer.RedisSerializer;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class UsageCounterServiceTest {
+
+    @Mock
+    private StringRedisTemplate redisTemplate;
+
+    @Mock
+    private RedisConnection connection;
+
+    @Mock
+    private RedisHashCommands hashCommands;
+
+    @Mock
+    private RedisZSetCommands zSetCommands;
+
+    private UsageCounterService usageCounterService;
+    private SimpleMeterRegistry meterRegistry;
+
+    private final String DEFAULT_CURRENCY_PAIR = "USD_EUR";
+    private final String OTHER_CURRENCY_PAIR = "GBP_JPY";
+    private final int DEFAULT_DEPTH = 2;
+    private final int DEFAULT_WIDTH = 64;
+    private final int DEFAULT_TOP_K = 10;
+
+    @BeforeEach
+    public void setUp() {
+        UsageProperties properties = new UsageProperties();
+        properties.setSketchDepth(DEFAULT_DEPTH);
+        properties.setSketchWidth(DEFAULT_WIDTH);
+        properties.setTopK(DEFAULT_TOP_K);
+        properties.setMaxPendingPairs(2);
+        meterRegistry = new SimpleMeterRegistry();
+        usageCounterService = new UsageCounterService(redisTemplate, properties, meterRegistry);
+
+        lenient().when(redisTemplate.getStringSerializer()).thenReturn(RedisSerializer.string());
+        lenient().when(connection.hashCommands()).thenReturn(hashCommands);
+        lenient().when(connection.zSetCommands()).thenReturn(zSetCommands);
+    }
+
+    @Test
+    @DisplayName("incrementUsage() makes no Redis call until flush")
+    public void whenIncrementUsage_thenNoRedisCall() {
+        usageCounterService.incrementUsage(DEFAULT_CURRENCY_PAIR);
+        usageCounterService.incrementUsage(Map.of(OTHER_CURRENCY_PAIR, 2L));
+
+        verifyNoInteractions(redisTemplate);
+    }
+
+    @Test
+    @DisplayName("flush() adds aggregated counts to the sketch and scores the top-K set with the smallest counter")
+    public void givenIncrements_whenFlush_thenUpdatesSketchAndTopK() {
+        when(redisTemplate.executePipelined(any(RedisCallback.class)))
+                .thenReturn(List.of(7L, 5L))
+                .thenReturn(List.of());
+
+        usageCounterService.incrementUsage(DEFAULT_CURRENCY_PAIR);
+        usageCounterService.incrementUsage(Map.of(DEFAULT_CURRENCY_PAIR, 3L));
+
+        usageCounterService.flush();
+        runPipelinedCallbacks(2);
+        usageCounterService.flush();
+
+        int[] columns = CountMinSketch.cells(DEFAULT_CURRENCY_PAIR, DEFAULT_DEPTH, DEFAULT_WIDTH);
+        for (int row = 0; row < DEFAULT_DEPTH; row++) {
+            verify(hashCommands).hIncrBy(bytes(RedisKeys.USAGE_SKETCH_KEY), bytes(RedisKeys.usageSketchField(row, columns[row])), 4L);
+        }
+        verify(zSetCommands).zAdd(eq(bytes(RedisKeys.USAGE_TOPK_KEY)), eq(5.0), eq(bytes(DEFAULT_CURRENCY_PAIR)), any(RedisZSetCommands.ZAddArgs.class));
+        verify(zSetCommands).zRemRange(bytes(RedisKeys.USAGE_TOPK_KEY), 0, -(DEFAULT_TOP_K + 1L));
+        verify(redisTemplate, times(2)).executePipelined(any(RedisCallback.class));
+    }
+
+    @Test
+    @DisplayName("flush() adds the counts to the decayed ranking and the current window bucket")
+    public void givenIncrements_whenFlush_thenUpdatesRecencyRankings() {
+        when(redisTemplate.executePipelined(any(RedisCallback.class))).thenReturn(List.of(1L, 1L)).thenReturn(List.of());
+
+        usageCounterService.incrementUsage(DEFAULT_CURRENCY_PAIR);
+        usageCounterService.flush();
+
+        verify(redisTemplate).execute(any(RedisScript.class),
+                eq(List.of(RedisKeys.USAGE_DECAYED_KEY, RedisKeys.USAGE_DECAYED_LANDMARK_KEY)), any(Object[].class));
+        verify(redisTemplate).execute(any(RedisScript.class),
+                argThat((List<String> keys) -> keys.size() == 1 && keys.get(0).startsWith(RedisKeys.USAGE_WINDOW_PREFIX)),
+                any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("flush() keeps the counts for the next flush when Redis is unavailable")
+    public void givenRedisFailure_whenFlush_thenRetriesCountsOnNextFlush() {
+        when(redisTemplate.executePipelined(any(RedisCallback.class)))
+                .thenThrow(new RedisConnectionFailureException("down"))
+                .thenReturn(List.of(5L, 5L))
+                .thenReturn(List.of());
+
+        usageCounterService.incrementUsage(Map.of(DEFAULT_CURRENCY_PAIR, 4L));
+        usageCounterService.flush();
+        usageCounterService.incrementUsage(DEFAULT_CURRENCY_PAIR);
+        usageCounterService.flush();
+        runPipelinedCallbacks(3);
+
+        int[] columns = CountMinSketch.cells(DEFAULT_CURRENCY_PAIR, DEFAULT_DEPTH, DEFAULT_WIDTH);
+        verify(hashCommands).hIncrBy(bytes(RedisKeys.USAGE_SKETCH_KEY), bytes(RedisKeys.usageSketchField(0, columns[0])), 5L);
+    }
+
+    @Test
+    @DisplayName("incrementUsage() drops new pairs once the pending buffer is full")
+    public void givenFullBuffer_whenIncrementUsage_thenDropsNewPairs() {
+        usageCounterService.incrementUsage(DEFAULT_CURRENCY_PAIR);
+        usageCounterService.incrementUsage(OTHER_CURRENCY_PAIR);
+        usageCounterService.incrementUsage(Map.of("XXX_YYY", 3L));
+        usageCounterService.incrementUsage(DEFAULT_CURRENCY_PAIR);
+
+        assertEquals(3.0, meterRegistry.counter("conversion.usage.dropped").count());
+    }
+
+    @SuppressWarnings("unchecked")
+    private void runPipelinedCallbacks(int expectedCalls) {
+        ArgumentCaptor<RedisCallback<Object>> callback = ArgumentCaptor.forClass(RedisCallback.class);
+        verify(redisTemplate, times(expectedCalls)).executePipelined(callback.capture());
+        callback.getAllValues().forEach(value -> value.doInRedis(connection));
+    }
+
+    private static byte[] bytes(String value) {
+        return RedisSerializer.string().serialize(value);
+    }
+}
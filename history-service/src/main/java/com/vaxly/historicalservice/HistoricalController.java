@@ -1,27 +1,92 @@
 package com.vaxly.historicalservice;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializationFeature;
 import com.vaxly.historicalservice.exceptions.HistoricalRateNotFoundException;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.access.prepost.PreAuthorize;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
+import java.io.IOException;
+import java.io.UncheckedIOException;
 import java.net.URI;
+import java.util.List;
 
 @RestController
 @RequestMapping("/api/v1/historical-rates")
 public class HistoricalController {
+    private static final Logger logger = LoggerFactory.getLogger(HistoricalController.class);
+    private static final byte[] NEWLINE = {'\n'};
+
     private final HistoricalRateService historicalRateService;
+    private final HistoricalRateVersions rateVersions;
+    private final ObjectWriter rateWriter;
 
-    public HistoricalController(HistoricalRateService historicalRateService) {
+    public HistoricalController(HistoricalRateService historicalRateService, HistoricalRateVersions rateVersions, ObjectMapper objectMapper) {
         this.historicalRateService = historicalRateService;
+        this.rateVersions = rateVersions;
+        // Rows share the response stream: leave it open, and let the container's buffer decide when to flush
+        this.rateWriter = objectMapper.writerFor(HistoricalRateDto.class)
+                .without(JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+                .without(SerializationFeature.FLUSH_AFTER_WRITE_VALUE);
     }
 
+    /**
+     * Returns the pair's rate with an ETag and Cache-Control. A conditional GET whose ETag matches the version this
+     * instance last saw for the pair is answered with 304 before the database is queried.
+     */
     @GetMapping("/{currencyPair}")
     @PreAuthorize("hasAuthority('SCOPE_historical-service-api/historical-rates-reader')")
-    public HistoricalRateDto getHistoricalRate(@PathVariable String currencyPair) {
-        return historicalRateService.getHistoricalRate(currencyPair)
+    public ResponseEntity<HistoricalRateDto> getHistoricalRate(@PathVariable String currencyPair, WebRequest request) {
+        String cachedEtag = rateVersions.cachedEtag(currencyPair);
+        if (cachedEtag != null && request.checkNotModified(cachedEtag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(cachedEtag).cacheControl(rateVersions.cacheControl()).build();
+        }
+
+        HistoricalRateDto rate = historicalRateService.getHistoricalRate(currencyPair)
                 .orElseThrow(() -> new HistoricalRateNotFoundException("Historical rate not found for " + currencyPair));
+        rateVersions.record(rate);
+        // A matching If-None-Match still gets 304 here; the body is only serialized for a changed rate
+        return ResponseEntity.ok()
+                .eTag(HistoricalRateVersions.etag(rate))
+                .cacheControl(rateVersions.cacheControl())
+                .body(rate);
+    }
+
+    @GetMapping("/batch")
+    @PreAuthorize("hasAuthority('SCOPE_historical-service-api/historical-rates-reader')")
+    public List<HistoricalRateDto> getHistoricalRates(@RequestParam List<String> currencyPairs) {
+        return historicalRateService.getHistoricalRates(currencyPairs);
+    }
+
+    /**
+     * Streams the latest rate of every currency pair as newline-delimited JSON, one {@link HistoricalRateDto} per line.
+     * Rows are written as they are read from the database, so callers can start loading before the export ends.
+     */
+    @GetMapping(value = "/export", produces = MediaType.APPLICATION_NDJSON_VALUE)
+    @PreAuthorize("hasAuthority('SCOPE_historical-service-api/historical-rates-reader')")
+    public ResponseEntity<StreamingResponseBody> exportLatestRates() {
+        StreamingResponseBody body = outputStream -> {
+            long exported = historicalRateService.exportLatestRates(rate -> {
+                try {
+                    rateWriter.writeValue(outputStream, rate);
+                    outputStream.write(NEWLINE);
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+            });
+            logger.info("Exported {} historical rate(s).", exported);
+        };
+        return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(body);
     }
 
     @PostMapping
@@ -35,6 +100,7 @@ public class HistoricalController {
                 createdRate.getLastUpdatedAt(),
                 createdRate.getSource()
         );
+        rateVersions.record(responseDto);
 
         URI location = ServletUriComponentsBuilder.fromCurrentRequest()
                 .path("/{id}")
@@ -1,8 +1,15 @@
 package com.vaxly.historicalservice;
 
+import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.jpa.repository.QueryHints;
 
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.stream.Stream;
 
 public interface HistoricalRateRepository extends JpaRepository<HistoricalRate, Integer> {
 
@@ -14,4 +21,25 @@ public interface HistoricalRateRepository extends JpaRepository<HistoricalRate,
      * @return an Optional containing the found entity, or empty if not found
      */
      Optional<HistoricalRate> findByCurrencyPair(String currencyPair);
+
+    /**
+     * Finds all HistoricalRate entities whose currencyPair is in the given collection,
+     * using a single IN query.
+     *
+     * @param currencyPairs the currency pairs to look up (e.g., ["USD_EUR", "GBP_JPY"])
+     * @return the entities found; pairs with no stored rate are simply absent
+     */
+     List<HistoricalRate> findByCurrencyPairIn(Collection<String> currencyPairs);
+
+    /**
+     * Streams the latest rate of every currency pair, ordered by pair, straight into DTOs.
+     * Rows are fetched from a cursor in chunks and never become managed entities, so memory
+     * stays flat however large the book is. Must be consumed inside a transaction and closed.
+     *
+     * @return a stream over every stored rate
+     */
+     @Query("select new com.vaxly.historicalservice.HistoricalRateDto(r.currencyPair, r.rate, r.lastUpdatedAt, r.source) "
+             + "from HistoricalRate r order by r.currencyPair")
+     @QueryHints(@QueryHint(name = HibernateHints.HINT_FETCH_SIZE, value = "500"))
+     Stream<HistoricalRateDto> streamAllLatestRates();
 }
@@ -4,7 +4,11 @@ import jakarta.transaction.Transactional;
 import org.springframework.stereotype.Service;
 
 import java.time.Instant;
+import java.util.Collection;
+import java.util.List;
 import java.util.Optional;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
 
 @Service
 public class HistoricalRateService {
@@ -24,6 +28,35 @@ public class HistoricalRateService {
         return historicalRate.map(rate -> new HistoricalRateDto(rate.getCurrencyPair(), rate.getRate(), rate.getLastUpdatedAt(), rate.getSource()));
     }
 
+    /**
+     * Retrieves historical rate data for several currency pairs in one database query.
+     * @param currencyPairs The currency pairs to retrieve (e.g., ["USD_EUR", "GBP_JPY"]).
+     * @return The rate DTOs found; pairs with no stored rate are omitted.
+     */
+    public List<HistoricalRateDto> getHistoricalRates(Collection<String> currencyPairs) {
+        return historicalRateRepository.findByCurrencyPairIn(currencyPairs).stream()
+                .map(rate -> new HistoricalRateDto(rate.getCurrencyPair(), rate.getRate(), rate.getLastUpdatedAt(), rate.getSource()))
+                .toList();
+    }
+
+    /**
+     * Passes the latest rate of every currency pair to {@code action}, one at a time, ordered by pair.
+     * Rates are read from a database cursor, so the whole book is never held in memory.
+     * @param action Receives each rate DTO; typically writes it to a streamed response.
+     * @return The number of rates exported.
+     */
+    @Transactional
+    public long exportLatestRates(Consumer<HistoricalRateDto> action) {
+        long exported = 0;
+        try (Stream<HistoricalRateDto> rates = historicalRateRepository.streamAllLatestRates()) {
+            for (HistoricalRateDto rate : (Iterable<HistoricalRateDto>) rates::iterator) {
+                action.accept(rate);
+                exported++;
+            }
+        }
+        return exported;
+    }
+
     /**
      * Creates a new historical rate entry or updates an existing one.
      * Ensures all database operations are atomic.
@@ -0,0 +1,90 @@
+package com.vaxly.historicalservice;
+
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.CacheControl;
+import org.springframework.stereotype.Component;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Remembers the ETag of the last version of each currency pair this instance has served or written, so a
+ * conditional GET for an unchanged rate can be answered with 304 without querying the database.
+ * <p>
+ * A version is derived from the rate's source and last-updated time. Entries expire after
+ * {@code history.http-cache.version-ttl}: a write taken by another replica is not seen here, so a client holding
+ * the old ETag may be told its copy is current for at most that long, the same window {@code max-age} already
+ * gives it. Keep the TTL at or below the scheduler's refresh interval.
+ */
+@Component
+public class HistoricalRateVersions {
+
+    private final long ttlNanos;
+    private final int maxPairs;
+    private final CacheControl cacheControl;
+    private final Map<String, Version> versions = new ConcurrentHashMap<>();
+
+    public HistoricalRateVersions(@Value("${history.http-cache.version-ttl:30s}") Duration versionTtl,
+                                  @Value("${history.http-cache.max-age:30s}") Duration maxAge,
+                                  @Value("${history.http-cache.max-pairs:100000}") int maxPairs) {
+        this.ttlNanos = versionTtl.toNanos();
+        this.maxPairs = maxPairs;
+        this.cacheControl = CacheControl.maxAge(maxAge);
+    }
+
+    /**
+     * @param rate A stored rate.
+     * @return The rate's strong ETag, or {@code null} if it has no timestamp to derive one from.
+     */
+    public static String etag(HistoricalRateDto rate) {
+        if (rate.getLastUpdatedAt() == null) {
+            return null;
+        }
+        // Millisecond precision: the database may not round-trip finer timestamps
+        return "\"" + Long.toHexString(rate.getLastUpdatedAt().toEpochMilli())
+                + '-' + Integer.toHexString(String.valueOf(rate.getSource()).hashCode()) + "\"";
+    }
+
+    /**
+     * @param currencyPair The currency pair (e.g., "USD_EUR").
+     * @return The ETag of the pair's last known version, or {@code null} if none is remembered or it has expired.
+     */
+    public String cachedEtag(String currencyPair) {
+        Version version = versions.get(currencyPair);
+        if (version == null) {
+            return null;
+        }
+        if (System.nanoTime() - version.recordedAtNanos > ttlNanos) {
+            versions.remove(currencyPair, version);
+            return null;
+        }
+        return version.etag;
+    }
+
+    /**
+     * Remembers a rate that was just read from or written to the database.
+     */
+    public void record(HistoricalRateDto rate) {
+        String etag = etag(rate);
+        if (etag == null) {
+            versions.remove(rate.getCurrencyPair());
+            return;
+        }
+        if (versions.size() >= maxPairs && !versions.containsKey(rate.getCurrencyPair())) {
+            // The book is bounded in practice; if it is not, start over rather than grow without limit
+            versions.clear();
+        }
+        versions.put(rate.getCurrencyPair(), new Version(etag, System.nanoTime()));
+    }
+
+    /**
+     * @return The Cache-Control header sent with single-rate reads.
+     */
+    public CacheControl cacheControl() {
+        return cacheControl;
+    }
+
+    private record Version(String etag, long recordedAtNanos) {
+    }
+}
@@ -4,28 +4,40 @@ import com.vaxly.historicalservice.HistoricalController;
 import com.vaxly.historicalservice.HistoricalRateDto;
 import com.vaxly.historicalservice.HistoricalRate;
 import com.vaxly.historicalservice.HistoricalRateService;
+import com.vaxly.historicalservice.HistoricalRateVersions;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.WebMvcTest;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.security.test.context.support.WithMockUser;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.util.ReflectionTestUtils;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.test.web.servlet.MvcResult;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.List;
 import java.util.Optional;
 
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static org.springframework.security.test.web.servlet.request.SecurityMockMvcRequestPostProcessors.csrf;
+import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.asyncDispatch;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.get;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
 import static org.springframework.test.web.servlet.result.MockMvcResultMatchers.*;
 
 @WebMvcTest(HistoricalController.class)
+@Import(HistoricalRateVersions.class)
 public class HistoricalRateControllerTest {
     @MockitoBean
     private HistoricalRateService historicalRateService;
@@ -52,6 +64,81 @@ public class HistoricalRateControllerTest {
                 .andExpect(jsonPath("$.source").value(source));
     }
 
+    @Test
+    @DisplayName("GET /api/v1/historical-rates/{currencyPair} answers a matching If-None-Match with 304 without querying again")
+    @WithMockUser(authorities = "SCOPE_historical-service-api/historical-rates-reader")
+    void givenMatchingEtag_whenGetHistoricalRate_thenReturns304WithoutQuery() throws Exception {
+        String currencyPair = "GBP_CHF";
+        HistoricalRateDto mockResponse = new HistoricalRateDto(currencyPair, BigDecimal.valueOf(1.1), Instant.now(), "test_source");
+
+        when(historicalRateService.getHistoricalRate(currencyPair)).thenReturn(Optional.of(mockResponse));
+
+        String etag = mockMvc.perform(get("/api/v1/historical-rates/" + currencyPair))
+                .andExpect(status().isOk())
+                .andExpect(header().string("Cache-Control", "max-age=30"))
+                .andReturn().getResponse().getHeader("ETag");
+
+        mockMvc.perform(get("/api/v1/historical-rates/" + currencyPair).header("If-None-Match", etag))
+                .andExpect(status().isNotModified())
+                .andExpect(header().string("ETag", etag))
+                .andExpect(content().string(""));
+
+        verify(historicalRateService, times(1)).getHistoricalRate(currencyPair);
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/historical-rates/batch returns every rate found for the requested pairs")
+    @WithMockUser(authorities = "SCOPE_historical-service-api/historical-rates-reader")
+    void givenExistingCurrencyPairs_whenGetHistoricalRates_thenReturns200AndRates() throws Exception {
+        Instant t = Instant.now();
+        List<HistoricalRateDto> mockResponse = List.of(
+                new HistoricalRateDto("EUR_USD", BigDecimal.valueOf(1.9), t, "test_source"),
+                new HistoricalRateDto("GBP_JPY", BigDecimal.valueOf(190.5), t, "test_source"));
+
+        when(historicalRateService.getHistoricalRates(List.of("EUR_USD", "GBP_JPY", "XXX_YYY"))).thenReturn(mockResponse);
+
+        mockMvc.perform(get("/api/v1/historical-rates/batch?currencyPairs=EUR_USD,GBP_JPY,XXX_YYY"))
+                .andExpect(status().isOk())
+                .andExpect(jsonPath("$.length()").value(2))
+                .andExpect(jsonPath("$[0].currencyPair").value("EUR_USD"))
+                .andExpect(jsonPath("$[1].rate").value(190.5));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/historical-rates/export streams every rate as newline-delimited JSON")
+    @WithMockUser(authorities = "SCOPE_historical-service-api/historical-rates-reader")
+    void givenStoredRates_whenExportLatestRates_thenStreamsOneLinePerRate() throws Exception {
+        Instant t = Instant.now();
+        when(historicalRateService.exportLatestRates(any())).thenAnswer(invocation -> {
+            Consumer<HistoricalRateDto> action = invocation.getArgument(0);
+            action.accept(new HistoricalRateDto("EUR_USD", BigDecimal.valueOf(1.9), t, "test_source"));
+            action.accept(new HistoricalRateDto("GBP_JPY", BigDecimal.valueOf(190.5), t, "test_source"));
+            return 2L;
+        });
+
+        MvcResult started = mockMvc.perform(get("/api/v1/historical-rates/export"))
+                .andExpect(request().asyncStarted())
+                .andReturn();
+
+        String body = mockMvc.perform(asyncDispatch(started))
+                .andExpect(status().isOk())
+                .andExpect(content().contentType(MediaType.APPLICATION_NDJSON))
+                .andReturn().getResponse().getContentAsString();
+
+        String[] lines = body.split("\n");
+        assertEquals(2, lines.length);
+        assertTrue(lines[0].contains("\"currencyPair\":\"EUR_USD\""));
+        assertTrue(lines[1].contains("\"rate\":190.5"));
+    }
+
+    @Test
+    @DisplayName("GET /api/v1/historical-rates/export returns 403 Forbidden when scope is invalid")
+    @WithMockUser(authorities = "SCOPE_historical-service-api/historical-rates-updater")
+    void givenInvalidScope_whenExportLatestRates_thenReturns403() throws Exception {
+        mockMvc.perform(get("/api/v1/historical-rates/export"))
+                .andExpect(status().isForbidden());
+    }
+
     @Test
     @DisplayName("GET /api/v1/historical-rates/{currencyPair} returns 403 Forbidden when scope is invalid")
     @WithMockUser(authorities = "SCOPE_historical-service-api/historical-rates-updater")
@@ -15,7 +15,11 @@ import org.springframework.test.util.ReflectionTestUtils;
 
 import java.math.BigDecimal;
 import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Optional;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Stream;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertTrue;
@@ -66,6 +70,40 @@ public class HistoricalRateServiceTest {
         assertTrue(result.isEmpty(), "HistoricalRate should be empty for non-existing currency pair");
     }
 
+    @Test
+    @DisplayName("getHistoricalRates returns only the currency pairs found in repository")
+    void givenSomeExistingCurrencyPairs_whenGetHistoricalRates_thenReturnsFoundRates() {
+        List<String> currencyPairs = List.of("EUR_USD", "NON_EXISTENT_PAIR");
+        HistoricalRate storedRate = new HistoricalRate("EUR_USD", BigDecimal.valueOf(1.95), Instant.now(), "test_source");
+
+        when(historicalRateRepository.findByCurrencyPairIn(currencyPairs)).thenReturn(List.of(storedRate));
+
+        List<HistoricalRateDto> result = historicalRateService.getHistoricalRates(currencyPairs);
+
+        assertEquals(1, result.size(), "Only the stored currency pair should be returned");
+        assertEquals("EUR_USD", result.get(0).getCurrencyPair(), "Currency pair should match");
+        assertEquals(storedRate.getRate(), result.get(0).getRate(), "Rate should match");
+    }
+
+    @Test
+    @DisplayName("exportLatestRates passes every streamed rate to the action and closes the stream")
+    void givenStoredRates_whenExportLatestRates_thenPassesEachRateAndClosesStream() {
+        Instant now = Instant.now();
+        AtomicBoolean closed = new AtomicBoolean();
+        Stream<HistoricalRateDto> stored = Stream.of(
+                new HistoricalRateDto("EUR_USD", BigDecimal.valueOf(1.95), now, "test_source"),
+                new HistoricalRateDto("GBP_JPY", BigDecimal.valueOf(190.5), now, "test_source"))
+                .onClose(() -> closed.set(true));
+
+        when(historicalRateRepository.streamAllLatestRates()).thenReturn(stored);
+
+        List<HistoricalRateDto> exported = new ArrayList<>();
+        long count = historicalRateService.exportLatestRates(exported::add);
+
+        assertEquals(2, count, "Every stored rate should be counted");
+        assertEquals("GBP_JPY", exported.get(1).getCurrencyPair(), "Rates should be passed in stream order");
+        assertTrue(closed.get(), "The database stream should be closed after the export");
+    }
 
     @Test
     @DisplayName("createOrUpdateHistoricalRate creates a new HistoricalRate when not present")
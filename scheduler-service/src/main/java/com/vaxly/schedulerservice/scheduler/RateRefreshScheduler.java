@@ -2,13 +2,19 @@ package com.vaxly.schedulerservice.scheduler;
 
 import com.vaxly.vaxlyshared.service.SqsProducerService;
 import com.vaxly.vaxlyshared.constants.RedisKeys;
+import com.vaxly.vaxlyshared.usage.PopularityRanking;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Value;
 import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ZSetOperations;
 import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 
+import java.time.Duration;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
 import java.util.Set;
 import java.util.concurrent.TimeUnit;
 import java.util.stream.Collectors;
@@ -18,7 +24,7 @@ import jakarta.annotation.PostConstruct;
 /**
  * Scheduler for refreshing currency rates.
  *
- * - Fetches the most popular currency pairs from Redis.
+ * - Fetches the most popular currency pairs from Redis, ranked by lifetime, windowed or decayed usage.
  * - Filters pairs that are already in-flight or recently refreshed.
  * - Publishes eligible pairs to SQS for asynchronous processing by workers.
  *
@@ -38,6 +44,16 @@ public class RateRefreshScheduler {
     @Value("${scheduler.refreshInterval}")
     private long refreshInterval;
 
+    @Value("${scheduler.ranking:LIFETIME}")
+    private PopularityRanking ranking = PopularityRanking.LIFETIME;
+
+    // Must match conversion-service's conversion.usage.window and conversion.usage.window-bucket
+    @Value("${scheduler.window:15m}")
+    private Duration window = Duration.ofMinutes(15);
+
+    @Value("${scheduler.windowBucket:1m}")
+    private Duration windowBucket = Duration.ofMinutes(1);
+
     public RateRefreshScheduler(SqsProducerService sqsProducerService, StringRedisTemplate redisTemplate) {
         this.sqsProducerService = sqsProducerService;
         this.redisTemplate = redisTemplate;
@@ -45,7 +61,7 @@ public class RateRefreshScheduler {
 
     @PostConstruct
     public void logInjectedConfig() {
-        logger.info("Scheduler configured to refresh the top {} popular pairs.", topPairsCount);
+        logger.info("Scheduler configured to refresh the top {} popular pairs by {} usage.", topPairsCount, ranking);
     }
 
     /**
@@ -55,9 +71,8 @@ public class RateRefreshScheduler {
     @Scheduled(fixedRateString = "${scheduler.fixedRate}")
     public void refreshPopularRates() {
         logger.info("Executing scheduled task to refresh popular currency rates.");
-        // Get top N pairs from usage sorted set
-        Set<String> topPairs = redisTemplate.opsForZSet()
-                .reverseRange(RedisKeys.USAGE_ZSET_KEY, 0, topPairsCount - 1);
+        // Get top N pairs from the ranking maintained by conversion-service
+        Set<String> topPairs = getTopPairs();
 
         if (topPairs == null || topPairs.isEmpty()) {
             logger.warn("No popular pairs found in Redis to refresh.");
@@ -78,11 +93,48 @@ public class RateRefreshScheduler {
             String inflightKey = RedisKeys.inflightKey(pair);
             // Set in-flight with TTL to prevent duplicate processing
             redisTemplate.opsForValue().set(inflightKey, "true", 120, TimeUnit.SECONDS);
-            sqsProducerService.sendMessage(pair);
+            try {
+                sqsProducerService.sendMessage(pair);
+            } catch (RuntimeException e) {
+                // Nothing was enqueued, so clear the marker and let the next run retry the pair
+                redisTemplate.delete(inflightKey);
+                logger.warn("Failed to publish {} for refresh; released its in-flight marker.", pair);
+            }
         });
     }
 
 
+    /**
+     * Reads the top N pairs from the configured ranking.
+     *
+     * @return the most popular pairs, most popular first; null or empty if none are tracked
+     */
+    private Set<String> getTopPairs() {
+        return switch (ranking) {
+            case LIFETIME -> redisTemplate.opsForZSet().reverseRange(RedisKeys.USAGE_TOPK_KEY, 0, topPairsCount - 1);
+            case DECAYED -> redisTemplate.opsForZSet().reverseRange(RedisKeys.USAGE_DECAYED_KEY, 0, topPairsCount - 1);
+            case WINDOWED -> getTopWindowedPairs();
+        };
+    }
+
+    /**
+     * Sums the per-bucket counts across the sliding window with one ZUNION and keeps the top N.
+     */
+    private Set<String> getTopWindowedPairs() {
+        List<String> bucketKeys = RedisKeys.usageWindowKeys(System.currentTimeMillis(), window, windowBucket);
+        Set<ZSetOperations.TypedTuple<String>> counts = redisTemplate.opsForZSet()
+                .unionWithScores(bucketKeys.get(0), bucketKeys.subList(1, bucketKeys.size()));
+        if (counts == null) {
+            return null;
+        }
+        return counts.stream()
+                .filter(tuple -> tuple.getValue() != null && tuple.getScore() != null)
+                .sorted(Comparator.comparing(ZSetOperations.TypedTuple<String>::getScore, Comparator.reverseOrder()))
+                .limit(topPairsCount)
+                .map(ZSetOperations.TypedTuple::getValue)
+                .collect(Collectors.toCollection(LinkedHashSet::new));
+    }
+
     /**
      * Filters currency pairs to only those eligible for refresh:
      * - Not currently in-flight
@@ -0,0 +1,164 @@
+package com.vaxly.schedulerservice.scheduler;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vaxly.vaxlyshared.aws.AwsCognitoTokenProvider;
+import com.vaxly.vaxlyshared.constants.RedisKeys;
+import com.vaxly.vaxlyshared.dtos.RateInfoDto;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.io.ClassPathResource;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.http.MediaType;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.UUID;
+
+/**
+ * Restores every rate to Redis after it has been flushed or replaced, from history-service's bulk export.
+ *
+ * - Checks for {@link RedisKeys#RATES_PRIMED_KEY} at startup and every {@code scheduler.reprime.checkInterval}.
+ *   The marker is written after a successful prime and disappears with everything else when Redis is flushed.
+ * - Takes the {@link RedisKeys#REPRIME_LOCK_KEY} lease (SET NX) so only one scheduler instance streams the export.
+ *   The lease holds a random token and is released by compare-and-delete, and the export is abandoned once four
+ *   fifths of {@code scheduler.reprime.lockTtl} have passed, so the lease outlives the export and no other
+ *   instance's lease is ever released.
+ * - Writes the rates in pipelined batches of {@code scheduler.reprime.batchSize}, under the same keys the worker
+ *   writes. Each write is SET NX, so a rate the worker stored in the meantime is never replaced by an older one.
+ *
+ * The check is a single EXISTS, so it costs nothing while Redis stays primed.
+ */
+@Component
+public class RedisRePrimeJob {
+
+    private static final RedisScript<Long> RELEASE_LOCK_SCRIPT =
+            RedisScript.of(new ClassPathResource("scripts/release_lock.lua"), Long.class);
+    private static final Logger logger = LoggerFactory.getLogger(RedisRePrimeJob.class);
+
+    private final StringRedisTemplate redisTemplate;
+    private final RedisTemplate<String, RateInfoDto> rateRedisTemplate;
+    private final WebClient webClient;
+    private final AwsCognitoTokenProvider tokenProvider;
+    private final ObjectMapper mapper = new ObjectMapper();
+
+    @Value("${scheduler.reprime.enabled:true}")
+    private boolean enabled = true;
+
+    @Value("${scheduler.reprime.batchSize:500}")
+    private int batchSize = 500;
+
+    @Value("${scheduler.reprime.lockTtl:5m}")
+    private Duration lockTtl = Duration.ofMinutes(5);
+
+    public RedisRePrimeJob(StringRedisTemplate redisTemplate, RedisTemplate<String, RateInfoDto> rateRedisTemplate, WebClient webClient, AwsCognitoTokenProvider tokenProvider) {
+        this.redisTemplate = redisTemplate;
+        this.rateRedisTemplate = rateRedisTemplate;
+        this.webClient = webClient;
+        this.tokenProvider = tokenProvider;
+    }
+
+    /**
+     * Scheduled task that re-primes Redis from the full book if the primed marker is missing.
+     */
+    @Scheduled(initialDelayString = "${scheduler.reprime.initialDelay:0}", fixedRateString = "${scheduler.reprime.checkInterval:60000}")
+    public void rePrimeIfFlushed() {
+        if (!enabled || Boolean.TRUE.equals(redisTemplate.hasKey(RedisKeys.RATES_PRIMED_KEY))) {
+            return;
+        }
+        String token = UUID.randomUUID().toString();
+        Boolean acquired = redisTemplate.opsForValue().setIfAbsent(RedisKeys.REPRIME_LOCK_KEY, token, lockTtl);
+        if (!Boolean.TRUE.equals(acquired)) {
+            logger.info("Redis is not primed, but another instance is already re-priming it.");
+            return;
+        }
+
+        logger.info("Redis is not primed. Re-priming rates from the history-service export.");
+        long start = System.nanoTime();
+        // Leave a fifth of the lease to write the primed marker and release the lock before it can expire
+        long deadline = start + lockTtl.toNanos() / 5 * 4;
+        Mono<Long> untilDeadline = Mono.defer(() -> Mono.delay(Duration.ofNanos(Math.max(0, deadline - System.nanoTime()))));
+        try {
+            long written = 0;
+            // Batches are written on this thread as they arrive; the export is paused while a batch is being written.
+            // Every timeout window ends at the same deadline, so it bounds the whole export rather than each batch.
+            for (List<RateInfoDto> batch : streamExport().buffer(batchSize).timeout(untilDeadline, b -> untilDeadline).toIterable(1)) {
+                written += writeBatch(batch);
+            }
+            redisTemplate.opsForValue().set(RedisKeys.RATES_PRIMED_KEY, Instant.now().toString());
+            logger.info("Re-primed {} rate(s) in {} ms.", written, Duration.ofNanos(System.nanoTime() - start).toMillis());
+        } catch (Exception e) {
+            logger.error("Failed to re-prime Redis; will retry on the next check. Error: {}", e.getMessage(), e);
+        } finally {
+            redisTemplate.execute(RELEASE_LOCK_SCRIPT, List.of(RedisKeys.REPRIME_LOCK_KEY), token);
+        }
+    }
+
+    private Flux<RateInfoDto> streamExport() {
+        return webClient.get()
+                .uri("export")
+                .header("Authorization", "Bearer " + tokenProvider.getAccessToken())
+                .accept(MediaType.APPLICATION_NDJSON)
+                .retrieve()
+                .bodyToFlux(String.class)
+                .concatMap(line -> Mono.justOrEmpty(parseLine(line)));
+    }
+
+    /**
+     * @return The number of rates written; keys that already held a rate are left as they were.
+     */
+    @SuppressWarnings("unchecked")
+    private long writeBatch(List<RateInfoDto> rates) {
+        RedisSerializer<String> keySerializer = rateRedisTemplate.getStringSerializer();
+        RedisSerializer<RateInfoDto> valueSerializer = (RedisSerializer<RateInfoDto>) rateRedisTemplate.getValueSerializer();
+        List<Object> results = rateRedisTemplate.executePipelined((RedisCallback<Object>) connection -> {
+            rates.forEach(rate -> connection.stringCommands().set(
+                    keySerializer.serialize(RedisKeys.rateKey(rate.getCurrencyPair())),
+                    valueSerializer.serialize(rate),
+                    Expiration.persistent(),
+                    RedisStringCommands.SetOption.ifAbsent()));
+            return null;
+        });
+        return results.stream().filter(Boolean.TRUE::equals).count();
+    }
+
+    /**
+     * Maps one export line ({@code HistoricalRateDto} JSON) onto a {@link RateInfoDto}, keeping the time
+     * history-service last updated the rate.
+     */
+    private RateInfoDto parseLine(String line) {
+        if (line.isBlank()) {
+            return null;
+        }
+        try {
+            JsonNode node = mapper.readTree(line);
+            if (!node.hasNonNull("currencyPair") || !node.hasNonNull("rate")) {
+                logger.warn("Skipping export line without a currency pair or rate.");
+                return null;
+            }
+            Instant lastUpdatedAt = node.hasNonNull("lastUpdatedAt") ? Instant.parse(node.get("lastUpdatedAt").asText()) : null;
+            return new RateInfoDto(
+                    node.path("source").asText(null),
+                    lastUpdatedAt,
+                    node.get("rate").asDouble(),
+                    node.get("currencyPair").asText()
+            );
+        } catch (Exception e) {
+            logger.warn("Skipping unreadable export line. Error: {}", e.getMessage());
+            return null;
+        }
+    }
+}
@@ -0,0 +1,11 @@
+-- Releases a lock only if it still holds the caller's token (compare-and-delete).
+--
+-- KEYS[1]  lock key
+-- ARGV[1]  token written when the lock was taken
+--
+-- A lease that expired and was taken by another instance holds a different token and is left alone.
+
+if redis.call('GET', KEYS[1]) == ARGV[1] then
+    return redis.call('DEL', KEYS[1])
+end
+return 0
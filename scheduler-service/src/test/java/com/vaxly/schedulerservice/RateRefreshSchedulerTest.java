@@ -3,6 +3,8 @@ package com.vaxly.schedulerservice;
 import com.vaxly.schedulerservice.scheduler.RateRefreshScheduler;
 import com.vaxly.vaxlyshared.constants.RedisKeys;
 import com.vaxly.vaxlyshared.service.SqsProducerService;
+import com.vaxly.vaxlyshared.usage.PopularityRanking;
+import io.awspring.cloud.sqs.operations.MessagingOperationFailedException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
@@ -12,6 +14,7 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.data.redis.core.StringRedisTemplate;
 import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.DefaultTypedTuple;
 import org.springframework.data.redis.core.ZSetOperations;
 import org.springframework.test.util.ReflectionTestUtils;
 
@@ -56,7 +59,7 @@ public class RateRefreshSchedulerTest {
         mockTopPairs.add("BTCUSD");
         mockTopPairs.add("ETHUSD");
 
-        when(zSetOperations.reverseRange(RedisKeys.USAGE_ZSET_KEY, 0, 4)).thenReturn(mockTopPairs);
+        when(zSetOperations.reverseRange(RedisKeys.USAGE_TOPK_KEY, 0, 4)).thenReturn(mockTopPairs);
         when(valueOperations.get(RedisKeys.lastRefreshKey("BTCUSD"))).thenReturn(null);
         when(valueOperations.get(RedisKeys.lastRefreshKey("ETHUSD"))).thenReturn(null);
         when(valueOperations.get(RedisKeys.inflightKey("BTCUSD"))).thenReturn(null);
@@ -72,13 +75,31 @@ public class RateRefreshSchedulerTest {
                 .set(eq(RedisKeys.inflightKey("ETHUSD")), eq("true"), anyLong(), eq(TimeUnit.SECONDS));
     }
 
+    @Test
+    @DisplayName("should release the in-flight marker and keep publishing when a send fails")
+    public void testRefreshPopularRates_releasesInFlightOnSendFailure() {
+        Set<String> mockTopPairs = new HashSet<>();
+        mockTopPairs.add("BTCUSD");
+        mockTopPairs.add("ETHUSD");
+
+        when(zSetOperations.reverseRange(RedisKeys.USAGE_TOPK_KEY, 0, 4)).thenReturn(mockTopPairs);
+        doThrow(new MessagingOperationFailedException("sqs down", "queue"))
+                .when(sqsProducerService).sendMessage("BTCUSD");
+
+        rateRefreshScheduler.refreshPopularRates();
+
+        verify(sqsProducerService, times(1)).sendMessage("ETHUSD");
+        verify(redisTemplate, times(1)).delete(RedisKeys.inflightKey("BTCUSD"));
+        verify(redisTemplate, never()).delete(RedisKeys.inflightKey("ETHUSD"));
+    }
+
     @Test
     @DisplayName("should not process pairs that have been recently refreshed")
     public void testRefreshPopularRates_ignoresRecentlyRefreshedPairs() {
         Set<String> mockTopPairs = new HashSet<>();
         mockTopPairs.add("BTCUSD");
 
-        when(zSetOperations.reverseRange(RedisKeys.USAGE_ZSET_KEY, 0, 4)).thenReturn(mockTopPairs);
+        when(zSetOperations.reverseRange(RedisKeys.USAGE_TOPK_KEY, 0, 4)).thenReturn(mockTopPairs);
         long recentTime = System.currentTimeMillis() - 1000; // refreshed 1s ago
         when(valueOperations.get(RedisKeys.lastRefreshKey("BTCUSD"))).thenReturn(String.valueOf(recentTime));
 
@@ -93,7 +114,7 @@ public class RateRefreshSchedulerTest {
         Set<String> mockTopPairs = new HashSet<>();
         mockTopPairs.add("ETHUSD");
 
-        when(zSetOperations.reverseRange(RedisKeys.USAGE_ZSET_KEY, 0, 4)).thenReturn(mockTopPairs);
+        when(zSetOperations.reverseRange(RedisKeys.USAGE_TOPK_KEY, 0, 4)).thenReturn(mockTopPairs);
         when(valueOperations.get(RedisKeys.lastRefreshKey("ETHUSD"))).thenReturn(null);
         when(valueOperations.get(RedisKeys.inflightKey("ETHUSD"))).thenReturn("true");
 
@@ -105,7 +126,7 @@ public class RateRefreshSchedulerTest {
     @Test
     @DisplayName("should handle null top pairs from Redis gracefully")
     public void testRefreshPopularRates_handlesNullPopularPairs() {
-        when(zSetOperations.reverseRange(RedisKeys.USAGE_ZSET_KEY, 0, 4)).thenReturn(null);
+        when(zSetOperations.reverseRange(RedisKeys.USAGE_TOPK_KEY, 0, 4)).thenReturn(null);
 
         rateRefreshScheduler.refreshPopularRates();
 
@@ -115,10 +136,38 @@ public class RateRefreshSchedulerTest {
     @Test
     @DisplayName("should handle empty top pairs from Redis gracefully")
     public void testRefreshPopularRates_handlesEmptyPopularPairs() {
-        when(zSetOperations.reverseRange(RedisKeys.USAGE_ZSET_KEY, 0, 4)).thenReturn(Collections.emptySet());
+        when(zSetOperations.reverseRange(RedisKeys.USAGE_TOPK_KEY, 0, 4)).thenReturn(Collections.emptySet());
 
         rateRefreshScheduler.refreshPopularRates();
 
         verifyNoInteractions(sqsProducerService);
     }
+
+    @Test
+    @DisplayName("should read top pairs from the decayed ranking when configured")
+    public void testRefreshPopularRates_readsDecayedRanking() {
+        ReflectionTestUtils.setField(rateRefreshScheduler, "ranking", PopularityRanking.DECAYED);
+        when(zSetOperations.reverseRange(RedisKeys.USAGE_DECAYED_KEY, 0, 4)).thenReturn(Set.of("ETHUSD"));
+
+        rateRefreshScheduler.refreshPopularRates();
+
+        verify(sqsProducerService, times(1)).sendMessage("ETHUSD");
+        verify(zSetOperations, never()).reverseRange(eq(RedisKeys.USAGE_TOPK_KEY), anyLong(), anyLong());
+    }
+
+    @Test
+    @DisplayName("should sum the window buckets and refresh only the top N pairs")
+    public void testRefreshPopularRates_readsWindowedRanking() {
+        ReflectionTestUtils.setField(rateRefreshScheduler, "ranking", PopularityRanking.WINDOWED);
+        ReflectionTestUtils.setField(rateRefreshScheduler, "topPairsCount", 1L);
+        Set<ZSetOperations.TypedTuple<String>> windowCounts = Set.of(
+                new DefaultTypedTuple<>("BTCUSD", 3.0),
+                new DefaultTypedTuple<>("ETHUSD", 9.0));
+        when(zSetOperations.unionWithScores(anyString(), anyList())).thenReturn(windowCounts);
+
+        rateRefreshScheduler.refreshPopularRates();
+
+        verify(sqsProducerService, times(1)).sendMessage("ETHUSD");
+        verify(sqsProducerService, never()).sendMessage("BTCUSD");
+    }
 }
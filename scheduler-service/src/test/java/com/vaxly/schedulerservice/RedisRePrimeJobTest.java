@@ -0,0 +1,174 @@
+package com.vaxly.schedulerservice;
+
+import com.vaxly.schedulerservice.scheduler.RedisRePrimeJob;
+import com.vaxly.vaxlyshared.aws.AwsCognitoTokenProvider;
+import com.vaxly.vaxlyshared.constants.RedisKeys;
+import com.vaxly.vaxlyshared.dtos.RateInfoDto;
+import com.vaxly.vaxlyshared.serialization.RateInfoRedisSerializer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.redis.connection.RedisConnection;
+import org.springframework.data.redis.connection.RedisStringCommands;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.RedisTemplate;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.data.redis.core.ValueOperations;
+import org.springframework.data.redis.core.script.RedisScript;
+import org.springframework.data.redis.core.types.Expiration;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+public class RedisRePrimeJobTest {
+
+    @Mock
+    StringRedisTemplate redisTemplate;
+
+    @Mock
+    ValueOperations<String, String> valueOperations;
+
+    @Mock
+    RedisTemplate<String, RateInfoDto> rateRedisTemplate;
+
+    @Mock
+    RedisConnection connection;
+
+    @Mock
+    RedisStringCommands stringCommands;
+
+    @Mock
+    AwsCognitoTokenProvider tokenProvider;
+
+    private final RateInfoRedisSerializer valueSerializer = new RateInfoRedisSerializer();
+
+    private final String EXPORT_BODY = """
+            {"currencyPair":"USD_EUR","rate":0.92,"lastUpdatedAt":"2025-10-01T12:00:00Z","source":"TEST_SOURCE"}
+            not json
+            {"currencyPair":"GBP_JPY","rate":190.5,"lastUpdatedAt":"2025-10-01T12:00:00Z","source":"TEST_SOURCE"}
+            """;
+
+    @BeforeEach
+    public void setUp() {
+        lenient().when(redisTemplate.opsForValue()).thenReturn(valueOperations);
+        lenient().when(tokenProvider.getAccessToken()).thenReturn("MOCK_ACCESS_TOKEN");
+        lenient().when(rateRedisTemplate.getStringSerializer()).thenReturn(RedisSerializer.string());
+        lenient().when(rateRedisTemplate.getValueSerializer()).thenReturn((RedisSerializer) valueSerializer);
+        lenient().when(connection.stringCommands()).thenReturn(stringCommands);
+    }
+
+    @Test
+    @DisplayName("should do nothing while Redis is primed")
+    public void givenPrimedMarker_whenRePrimeIfFlushed_thenSkips() {
+        when(redisTemplate.hasKey(RedisKeys.RATES_PRIMED_KEY)).thenReturn(true);
+
+        job(exportClient()).rePrimeIfFlushed();
+
+        verifyNoInteractions(valueOperations, rateRedisTemplate, tokenProvider);
+    }
+
+    @Test
+    @DisplayName("should skip when another instance holds the re-prime lease")
+    public void givenLeaseHeld_whenRePrimeIfFlushed_thenSkips() {
+        when(redisTemplate.hasKey(RedisKeys.RATES_PRIMED_KEY)).thenReturn(false);
+        when(valueOperations.setIfAbsent(eq(RedisKeys.REPRIME_LOCK_KEY), anyString(), any(Duration.class))).thenReturn(false);
+
+        job(exportClient()).rePrimeIfFlushed();
+
+        verifyNoInteractions(rateRedisTemplate);
+        verify(redisTemplate, never()).execute(any(RedisScript.class), anyList(), any(Object[].class));
+    }
+
+    @Test
+    @DisplayName("should write every exported rate with SET NX, then mark Redis primed and release the lease")
+    public void givenFlushedRedis_whenRePrimeIfFlushed_thenWritesRatesAndMarksPrimed() {
+        when(redisTemplate.hasKey(RedisKeys.RATES_PRIMED_KEY)).thenReturn(false);
+        when(valueOperations.setIfAbsent(eq(RedisKeys.REPRIME_LOCK_KEY), anyString(), any(Duration.class))).thenReturn(true);
+        when(rateRedisTemplate.executePipelined(any(RedisCallback.class))).thenReturn(List.of(true, false));
+
+        job(exportClient()).rePrimeIfFlushed();
+
+        ArgumentCaptor<RedisCallback<Object>> callback = ArgumentCaptor.forClass(RedisCallback.class);
+        verify(rateRedisTemplate).executePipelined(callback.capture());
+        callback.getValue().doInRedis(connection);
+
+        ArgumentCaptor<byte[]> values = ArgumentCaptor.forClass(byte[].class);
+        verify(stringCommands).set(eq(RedisSerializer.string().serialize(RedisKeys.rateKey("USD_EUR"))), values.capture(),
+                eq(Expiration.persistent()), eq(RedisStringCommands.SetOption.ifAbsent()));
+        verify(stringCommands).set(eq(RedisSerializer.string().serialize(RedisKeys.rateKey("GBP_JPY"))), any(byte[].class),
+                eq(Expiration.persistent()), eq(RedisStringCommands.SetOption.ifAbsent()));
+        assertEquals(0.92, valueSerializer.deserialize(values.getValue()).getRate());
+
+        verify(valueOperations).set(eq(RedisKeys.RATES_PRIMED_KEY), anyString());
+        verifyLeaseReleasedWithToken();
+    }
+
+    @Test
+    @DisplayName("should leave Redis unprimed and release the lease when the export fails")
+    public void givenExportFailure_whenRePrimeIfFlushed_thenRetriesLater() {
+        when(redisTemplate.hasKey(RedisKeys.RATES_PRIMED_KEY)).thenReturn(false);
+        when(valueOperations.setIfAbsent(eq(RedisKeys.REPRIME_LOCK_KEY), anyString(), any(Duration.class))).thenReturn(true);
+        WebClient failingClient = WebClient.builder()
+                .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build()))
+                .build();
+
+        job(failingClient).rePrimeIfFlushed();
+
+        verify(valueOperations, never()).set(eq(RedisKeys.RATES_PRIMED_KEY), anyString());
+        verifyLeaseReleasedWithToken();
+    }
+
+    @Test
+    @DisplayName("should give up on an export that outlasts the lease and leave Redis unprimed")
+    public void givenStalledExport_whenRePrimeIfFlushed_thenAbandonsBeforeLeaseExpires() {
+        when(redisTemplate.hasKey(RedisKeys.RATES_PRIMED_KEY)).thenReturn(false);
+        when(valueOperations.setIfAbsent(eq(RedisKeys.REPRIME_LOCK_KEY), anyString(), any(Duration.class))).thenReturn(true);
+        WebClient stalledClient = WebClient.builder()
+                .exchangeFunction(request -> Mono.never())
+                .build();
+        RedisRePrimeJob job = job(stalledClient);
+        ReflectionTestUtils.setField(job, "lockTtl", Duration.ofMillis(500));
+
+        job.rePrimeIfFlushed();
+
+        verify(valueOperations, never()).set(eq(RedisKeys.RATES_PRIMED_KEY), anyString());
+        verifyLeaseReleasedWithToken();
+    }
+
+    private void verifyLeaseReleasedWithToken() {
+        ArgumentCaptor<String> token = ArgumentCaptor.forClass(String.class);
+        verify(valueOperations).setIfAbsent(eq(RedisKeys.REPRIME_LOCK_KEY), token.capture(), any(Duration.class));
+        verify(redisTemplate).execute(any(RedisScript.class), eq(List.of(RedisKeys.REPRIME_LOCK_KEY)), eq(token.getValue()));
+        verify(redisTemplate, never()).delete(RedisKeys.REPRIME_LOCK_KEY);
+    }
+
+    private RedisRePrimeJob job(WebClient webClient) {
+        return new RedisRePrimeJob(redisTemplate, rateRedisTemplate, webClient, tokenProvider);
+    }
+
+    private WebClient exportClient() {
+        return WebClient.builder()
+                .exchangeFunction(request -> Mono.just(ClientResponse.create(HttpStatus.OK)
+                        .header(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_NDJSON_VALUE)
+                        .body(EXPORT_BODY)
+                        .build()))
+                .build();
+    }
+}
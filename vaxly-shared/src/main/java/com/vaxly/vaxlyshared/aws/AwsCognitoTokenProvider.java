@@ -9,8 +9,10 @@ import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Component;
 import org.springframework.web.reactive.function.client.WebClient;
 import org.springframework.web.reactive.function.client.WebClientResponseException;
+import reactor.core.publisher.Mono;
 
 import java.time.Instant;
+import java.util.concurrent.atomic.AtomicReference;
 import java.util.concurrent.locks.ReentrantLock;
 
 /**
@@ -23,6 +25,7 @@ public class AwsCognitoTokenProvider {
 
     private volatile CachedToken currentToken;
     private final ReentrantLock lock = new ReentrantLock();
+    private final AtomicReference<Mono<CachedToken>> pendingRefresh = new AtomicReference<>();
 
     @Value("${security.cognito.client-id}")
     private String clientId;
@@ -47,6 +50,19 @@ public class AwsCognitoTokenProvider {
         return currentToken.getAccessToken();
     }
 
+    /**
+     * Non-blocking variant of {@link #getAccessToken()}.
+     * Completes immediately from the cached token; otherwise subscribes to a single shared
+     * Cognito request, so concurrent callers never trigger more than one fetch.
+     */
+    public Mono<String> getAccessTokenAsync() {
+        CachedToken token = currentToken;
+        if (token != null) {
+            return Mono.just(token.getAccessToken());
+        }
+        return sharedRefresh().map(CachedToken::getAccessToken);
+    }
+
     /**
      * Scheduled task to refresh token proactively before it expires.
      * Runs every minute (adjustable).
@@ -77,39 +93,70 @@ public class AwsCognitoTokenProvider {
         }
     }
 
+    /**
+     * Returns the in-flight non-blocking refresh, starting one if none is running.
+     * The request is cached so every subscriber shares its outcome; once it terminates
+     * the slot is cleared so a failed refresh can be retried by the next caller.
+     */
+    private Mono<CachedToken> sharedRefresh() {
+        while (true) {
+            Mono<CachedToken> existing = pendingRefresh.get();
+            if (existing != null) {
+                return existing;
+            }
+
+            Mono<CachedToken> refresh = requestNewTokenFromCognitoAsync()
+                    .map(response -> new CachedToken(response.getAccessToken(), Instant.now().plusSeconds(response.getExpiresIn())))
+                    .doOnNext(token -> currentToken = token)
+                    .doFinally(signal -> pendingRefresh.set(null))
+                    .cache();
+            if (pendingRefresh.compareAndSet(null, refresh)) {
+                return refresh;
+            }
+        }
+    }
+
     /**
      * Fetches a new token from Cognito using client credentials flow.
      */
     private CognitoResponseDto requestNewTokenFromCognito() {
-        try {
-            String body = "grant_type=client_credentials" +
-                    "&client_id=" + clientId +
-                    "&client_secret=" + clientSecret +
-                    "&scope=" + scope;
-
-            WebClient client = WebClient.builder()
-                    .baseUrl(tokenEndpoint)
-                    .defaultHeader("Content-Type", MediaType.APPLICATION_FORM_URLENCODED_VALUE)
-                    .build();
-
-            String responseBody = client.post()
-                    .bodyValue(body)
-                    .retrieve()
-                    .bodyToMono(String.class)
-                    .block();
-
-            ObjectMapper mapper = new ObjectMapper();
-            JsonNode jsonNode = mapper.readTree(responseBody);
-
-            String accessToken = jsonNode.get("access_token").asText();
-            long expiresIn = jsonNode.get("expires_in").asLong();
-
-            return new CognitoResponseDto(accessToken, expiresIn);
-
-        } catch (WebClientResponseException e) {
-            throw new RuntimeException("Failed to fetch token from Cognito: " + e.getResponseBodyAsString(), e);
-        } catch (Exception e) {
-            throw new RuntimeException("Unexpected error fetching token from Cognito", e);
-        }
+        return requestNewTokenFromCognitoAsync().block();
+    }
+
+    /**
+     * Fetches a new token from Cognito using client credentials flow without blocking the caller.
+     */
+    private Mono<CognitoResponseDto> requestNewTokenFromCognitoAsync() {
+        String body = "grant_type=client_credentials" +
+                "&client_id=" + clientId +
+                "&client_secret=" + clientSecret +
+                "&scope=" + scope;
+
+        WebClient client = WebClient.builder()
+                .baseUrl(tokenEndpoint)
+                .defaultHeader("Content-Type", MediaType.APPLICATION_FORM_URLENCODED_VALUE)
+                .build();
+
+        return client.post()
+                .bodyValue(body)
+                .retrieve()
+                .bodyToMono(String.class)
+                .<CognitoResponseDto>handle((responseBody, sink) -> {
+                    try {
+                        ObjectMapper mapper = new ObjectMapper();
+                        JsonNode jsonNode = mapper.readTree(responseBody);
+
+                        String accessToken = jsonNode.get("access_token").asText();
+                        long expiresIn = jsonNode.get("expires_in").asLong();
+
+                        sink.next(new CognitoResponseDto(accessToken, expiresIn));
+                    } catch (Exception e) {
+                        sink.error(e);
+                    }
+                })
+                .switchIfEmpty(Mono.error(() -> new IllegalStateException("Empty token response from Cognito")))
+                .onErrorMap(e -> e instanceof WebClientResponseException responseException
+                        ? new RuntimeException("Failed to fetch token from Cognito: " + responseException.getResponseBodyAsString(), e)
+                        : new RuntimeException("Unexpected error fetching token from Cognito", e));
     }
 }
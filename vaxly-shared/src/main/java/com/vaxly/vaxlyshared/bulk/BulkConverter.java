@@ -0,0 +1,369 @@
+package com.vaxly.vaxlyshared.bulk;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.vaxly.vaxlyshared.currency.CurrencyRegistry;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.Reader;
+import java.io.Writer;
+import java.util.Arrays;
+
+/**
+ * Streams a file of {@code (from, to, amount)} rows through rate lookup and multiplication in constant memory.
+ * <p>
+ * Rows are read into fixed-size columnar chunks: one array each of line numbers, pair ids, amounts, rates and
+ * results. For every chunk:
+ * <ol>
+ *   <li>pairs not seen earlier in the upload are handed to the {@link PairRateResolver} in one call, and their
+ *   rates kept in arrays indexed by pair id for the rest of the upload;</li>
+ *   <li>each row's rate is gathered from those arrays into the chunk's rate column;</li>
+ *   <li>the amount and rate columns are multiplied in a single branch-free loop, which HotSpot compiles to SIMD
+ *   instructions;</li>
+ *   <li>the results are written and flushed, so the caller receives output while the input is still arriving.</li>
+ * </ol>
+ * Output rows carry the input line number, so clients can match them up. A line that cannot be parsed, or names an
+ * unsupported currency, produces a row flagged {@link #INVALID}; a pair without a rate keeps the resolver's state
+ * and has no rate or converted amount.
+ * <p>
+ * Instances are thread-safe; each call to {@link #convert} uses its own buffers.
+ */
+public final class BulkConverter {
+
+    /** State of a row that could not be parsed or names an unsupported currency. */
+    public static final String INVALID = "INVALID";
+
+    static final String CSV_HEADER = "line,from,to,amount,rate,convertedAmount,stateFlag";
+
+    private static final double[] POWERS_OF_TEN = {
+            1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11, 1e12, 1e13, 1e14, 1e15
+    };
+
+    private final int chunkSize;
+    private final JsonFactory jsonFactory = new JsonFactory();
+
+    /**
+     * @param chunkSize Rows per chunk: the unit of rate resolution, multiplication and flushing.
+     */
+    public BulkConverter(int chunkSize) {
+        if (chunkSize <= 0) {
+            throw new IllegalArgumentException("chunkSize must be positive");
+        }
+        this.chunkSize = chunkSize;
+    }
+
+    /**
+     * Converts every row of {@code input} and writes the results to {@code output} in the same format.
+     * Neither stream is closed.
+     *
+     * @param input    The uploaded rows.
+     * @param output   Receives one result row per non-blank input row, in order.
+     * @param format   The format of both streams.
+     * @param resolver Supplies the rate of each distinct pair, once per upload.
+     * @return The number of rows converted, including invalid ones.
+     * @throws IOException if either stream fails.
+     */
+    public long convert(Reader input, Writer output, BulkFormat format, PairRateResolver resolver) throws IOException {
+        BufferedReader reader = input instanceof BufferedReader buffered ? buffered : new BufferedReader(input, 64 * 1024);
+        Upload upload = new Upload(chunkSize);
+        if (format == BulkFormat.CSV) {
+            output.write(CSV_HEADER);
+            output.write('\n');
+        }
+
+        long lineNumber = 0;
+        long rows = 0;
+        String line;
+        while ((line = reader.readLine()) != null) {
+            lineNumber++;
+            if (line.isBlank() || (lineNumber == 1 && format == BulkFormat.CSV && isCsvHeader(line))) {
+                continue;
+            }
+            int row = upload.size++;
+            upload.lines[row] = lineNumber;
+            if (format == BulkFormat.CSV) {
+                parseCsv(line, upload, row);
+            } else {
+                parseJson(line, upload, row);
+            }
+            rows++;
+            if (upload.size == chunkSize) {
+                flushChunk(upload, output, format, resolver);
+            }
+        }
+        flushChunk(upload, output, format, resolver);
+        return rows;
+    }
+
+    /**
+     * Multiplies {@code amounts} by {@code rates} element-wise. Kept as a plain counted loop over primitive arrays
+     * with no calls or branches so the JIT's superword pass vectorises it.
+     */
+    public static void multiply(double[] amounts, double[] rates, double[] results, int length) {
+        for (int i = 0; i < length; i++) {
+            results[i] = amounts[i] * rates[i];
+        }
+    }
+
+    private void flushChunk(Upload upload, Writer output, BulkFormat format, PairRateResolver resolver) throws IOException {
+        int size = upload.size;
+        if (size == 0) {
+            return;
+        }
+        resolveNewPairs(upload, resolver);
+
+        for (int i = 0; i < size; i++) {
+            int pairId = upload.pairIds[i];
+            upload.rates[i] = pairId == CurrencyRegistry.UNKNOWN ? Double.NaN : upload.rateByPair[pairId];
+        }
+        multiply(upload.amounts, upload.rates, upload.results, size);
+
+        StringBuilder text = upload.text;
+        text.setLength(0);
+        for (int i = 0; i < size; i++) {
+            if (format == BulkFormat.CSV) {
+                appendCsv(text, upload, i);
+            } else {
+                appendJson(text, upload, i);
+            }
+        }
+        upload.write(output);
+        output.flush();
+        upload.size = 0;
+    }
+
+    private static void resolveNewPairs(Upload upload, PairRateResolver resolver) {
+        int pending = 0;
+        for (int i = 0; i < upload.size; i++) {
+            int pairId = upload.pairIds[i];
+            if (pairId != CurrencyRegistry.UNKNOWN && !upload.seen[pairId]) {
+                upload.seen[pairId] = true;
+                upload.pendingPairs[pending++] = pairId;
+            }
+        }
+        if (pending == 0) {
+            return;
+        }
+        Arrays.fill(upload.pendingRates, 0, pending, Double.NaN);
+        Arrays.fill(upload.pendingStates, 0, pending, null);
+        resolver.resolve(upload.pendingPairs, pending, upload.pendingRates, upload.pendingStates);
+        for (int i = 0; i < pending; i++) {
+            int pairId = upload.pendingPairs[i];
+            upload.rateByPair[pairId] = upload.pendingRates[i];
+            upload.stateByPair[pairId] = upload.pendingStates[i];
+        }
+    }
+
+    private static boolean isCsvHeader(String line) {
+        int start = skipSpaces(line, 0, line.length());
+        return line.regionMatches(true, start, "from", 0, 4);
+    }
+
+    private static void parseCsv(String line, Upload upload, int row) {
+        int firstComma = line.indexOf(',');
+        int secondComma = firstComma < 0 ? -1 : line.indexOf(',', firstComma + 1);
+        if (secondComma < 0 || line.indexOf(',', secondComma + 1) >= 0) {
+            upload.invalid(row);
+            return;
+        }
+        int base = currencyId(line, 0, firstComma);
+        int quote = currencyId(line, firstComma + 1, secondComma);
+        double amount = parseAmount(line, secondComma + 1);
+        upload.set(row, base, quote, amount);
+    }
+
+    private void parseJson(String line, Upload upload, int row) {
+        int base = CurrencyRegistry.UNKNOWN;
+        int quote = CurrencyRegistry.UNKNOWN;
+        double amount = Double.NaN;
+        try (JsonParser parser = jsonFactory.createParser(line)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                upload.invalid(row);
+                return;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken value = parser.nextToken();
+                switch (field) {
+                    case "from" -> base = value == JsonToken.VALUE_STRING ? CurrencyRegistry.currencyId(parser.getText()) : CurrencyRegistry.UNKNOWN;
+                    case "to" -> quote = value == JsonToken.VALUE_STRING ? CurrencyRegistry.currencyId(parser.getText()) : CurrencyRegistry.UNKNOWN;
+                    case "amount" -> amount = value.isNumeric() ? parser.getDoubleValue() : Double.NaN;
+                    default -> parser.skipChildren();
+                }
+            }
+        } catch (IOException e) {
+            upload.invalid(row);
+            return;
+        }
+        upload.set(row, base, quote, amount);
+    }
+
+    private static int currencyId(String line, int start, int end) {
+        int from = skipSpaces(line, start, end);
+        int to = end;
+        while (to > from && line.charAt(to - 1) == ' ') {
+            to--;
+        }
+        return CurrencyRegistry.currencyId(line, from, to);
+    }
+
+    private static int skipSpaces(String line, int start, int end) {
+        while (start < end && line.charAt(start) == ' ') {
+            start++;
+        }
+        return start;
+    }
+
+    private static double parseAmount(String line, int start) {
+        int end = line.length();
+        start = skipSpaces(line, start, end);
+        while (end > start && line.charAt(end - 1) == ' ') {
+            end--;
+        }
+        double amount = parsePlainDecimal(line, start, end);
+        if (!Double.isNaN(amount)) {
+            return amount;
+        }
+        try {
+            return Double.parseDouble(line.substring(start, end));
+        } catch (NumberFormatException e) {
+            return Double.NaN;
+        }
+    }
+
+    /**
+     * Parses amounts such as "1234.56" without allocating. With at most 15 digits the mantissa and the power of ten
+     * are both exact doubles, so the single division is correctly rounded and matches {@link Double#parseDouble}.
+     *
+     * @return The amount, or NaN if the text is not a plain decimal of at most 15 digits.
+     */
+    private static double parsePlainDecimal(String text, int start, int end) {
+        int i = start;
+        boolean negative = false;
+        if (i < end && (text.charAt(i) == '-' || text.charAt(i) == '+')) {
+            negative = text.charAt(i) == '-';
+            i++;
+        }
+        long mantissa = 0;
+        int digits = 0;
+        int fractionDigits = -1;
+        for (; i < end; i++) {
+            char c = text.charAt(i);
+            if (c == '.' && fractionDigits < 0) {
+                fractionDigits = 0;
+                continue;
+            }
+            if (c < '0' || c > '9' || digits == 15) {
+                return Double.NaN;
+            }
+            mantissa = mantissa * 10 + (c - '0');
+            digits++;
+            if (fractionDigits >= 0) {
+                fractionDigits++;
+            }
+        }
+        if (digits == 0) {
+            return Double.NaN;
+        }
+        double value = fractionDigits > 0 ? mantissa / POWERS_OF_TEN[fractionDigits] : mantissa;
+        return negative ? -value : value;
+    }
+
+    private static void appendCsv(StringBuilder text, Upload upload, int row) {
+        text.append(upload.lines[row]).append(',');
+        int pairId = upload.pairIds[row];
+        if (pairId == CurrencyRegistry.UNKNOWN) {
+            text.append(",,,,,").append(INVALID).append('\n');
+            return;
+        }
+        text.append(CurrencyRegistry.code(CurrencyRegistry.baseId(pairId))).append(',')
+                .append(CurrencyRegistry.code(CurrencyRegistry.quoteId(pairId))).append(',')
+                .append(upload.amounts[row]).append(',');
+        double rate = upload.rates[row];
+        if (!Double.isNaN(rate)) {
+            text.append(rate).append(',').append(upload.results[row]);
+        } else {
+            text.append(',');
+        }
+        text.append(',').append(upload.stateByPair[pairId]).append('\n');
+    }
+
+    private static void appendJson(StringBuilder text, Upload upload, int row) {
+        text.append("{\"line\":").append(upload.lines[row]);
+        int pairId = upload.pairIds[row];
+        if (pairId == CurrencyRegistry.UNKNOWN) {
+            text.append(",\"stateFlag\":\"").append(INVALID).append("\"}\n");
+            return;
+        }
+        text.append(",\"from\":\"").append(CurrencyRegistry.code(CurrencyRegistry.baseId(pairId)))
+                .append("\",\"to\":\"").append(CurrencyRegistry.code(CurrencyRegistry.quoteId(pairId)))
+                .append("\",\"amount\":").append(upload.amounts[row]);
+        double rate = upload.rates[row];
+        if (!Double.isNaN(rate)) {
+            text.append(",\"rate\":").append(rate).append(",\"convertedAmount\":").append(upload.results[row]);
+        } else {
+            text.append(",\"rate\":null,\"convertedAmount\":null");
+        }
+        text.append(",\"stateFlag\":\"").append(upload.stateByPair[pairId]).append("\"}\n");
+    }
+
+    /**
+     * Buffers of one {@link #convert} call. The per-pair arrays are indexed by pair id and live for the whole upload;
+     * the rest are reused by every chunk.
+     */
+    private static final class Upload {
+        final long[] lines;
+        final int[] pairIds;
+        final double[] amounts;
+        final double[] rates;
+        final double[] results;
+        final int[] pendingPairs;
+        final double[] pendingRates;
+        final String[] pendingStates;
+        final boolean[] seen = new boolean[CurrencyRegistry.PAIR_COUNT];
+        final double[] rateByPair = new double[CurrencyRegistry.PAIR_COUNT];
+        final String[] stateByPair = new String[CurrencyRegistry.PAIR_COUNT];
+        final StringBuilder text = new StringBuilder();
+        char[] chars = new char[0];
+        int size;
+
+        Upload(int chunkSize) {
+            lines = new long[chunkSize];
+            pairIds = new int[chunkSize];
+            amounts = new double[chunkSize];
+            rates = new double[chunkSize];
+            results = new double[chunkSize];
+            pendingPairs = new int[chunkSize];
+            pendingRates = new double[chunkSize];
+            pendingStates = new String[chunkSize];
+        }
+
+        void set(int row, int base, int quote, double amount) {
+            if (base == CurrencyRegistry.UNKNOWN || quote == CurrencyRegistry.UNKNOWN || !Double.isFinite(amount)) {
+                invalid(row);
+                return;
+            }
+            pairIds[row] = CurrencyRegistry.pairId(base, quote);
+            amounts[row] = amount;
+        }
+
+        void invalid(int row) {
+            pairIds[row] = CurrencyRegistry.UNKNOWN;
+            amounts[row] = Double.NaN;
+        }
+
+        /**
+         * Writes the chunk's text through a reused char buffer rather than a new String per chunk.
+         */
+        void write(Writer output) throws IOException {
+            int length = text.length();
+            if (chars.length < length) {
+                chars = new char[Math.max(length, chars.length * 2)];
+            }
+            text.getChars(0, length, chars, 0);
+            output.write(chars, 0, length);
+        }
+    }
+}
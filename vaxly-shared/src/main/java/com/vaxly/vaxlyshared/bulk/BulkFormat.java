@@ -0,0 +1,37 @@
+package com.vaxly.vaxlyshared.bulk;
+
+/**
+ * Line formats accepted and produced by {@link BulkConverter}. A response is written in the request's format.
+ */
+public enum BulkFormat {
+    /** {@code from,to,amount} per line, with an optional header line. */
+    CSV("text/csv"),
+    /** One {@code {"from":"USD","to":"EUR","amount":100.0}} object per line. */
+    NDJSON("application/x-ndjson");
+
+    private final String mediaType;
+
+    BulkFormat(String mediaType) {
+        this.mediaType = mediaType;
+    }
+
+    public String getMediaType() {
+        return mediaType;
+    }
+
+    /**
+     * @param contentType A request's Content-Type, possibly with parameters (e.g., "text/csv; charset=UTF-8").
+     * @return The matching format, or {@code null} if it is neither CSV nor NDJSON.
+     */
+    public static BulkFormat fromContentType(String contentType) {
+        if (contentType == null) {
+            return null;
+        }
+        for (BulkFormat format : values()) {
+            if (contentType.regionMatches(true, 0, format.mediaType, 0, format.mediaType.length())) {
+                return format;
+            }
+        }
+        return null;
+    }
+}
@@ -0,0 +1,17 @@
+package com.vaxly.vaxlyshared.bulk;
+
+/**
+ * Supplies rates to a {@link BulkConverter}. It is called at most once per chunk, with only the pairs
+ * not seen earlier in the same upload, so each distinct pair is resolved once per upload.
+ */
+@FunctionalInterface
+public interface PairRateResolver {
+
+    /**
+     * @param pairIds {@link com.vaxly.vaxlyshared.currency.CurrencyRegistry} pair ids; only the first {@code count} are set.
+     * @param count   The number of pairs to resolve.
+     * @param rates   Receives each pair's rate at the same index, or NaN if none is available.
+     * @param states  Receives each pair's state label at the same index (e.g., "CACHED", "UNAVAILABLE").
+     */
+    void resolve(int[] pairIds, int count, double[] rates, String[] states);
+}
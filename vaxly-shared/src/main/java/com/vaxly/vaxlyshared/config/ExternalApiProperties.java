@@ -3,12 +3,24 @@ package com.vaxly.vaxlyshared.config;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.context.annotation.Configuration;
 
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
 @Configuration
 @ConfigurationProperties(prefix = "external.api")
 public class ExternalApiProperties {
 
     private String baseUrl;
 
+    /**
+     * Base URLs of every replica, each with the same path as {@link #baseUrl}. When set, calls are spread
+     * across them by least outstanding requests; otherwise {@code baseUrl} is the only endpoint.
+     */
+    private List<String> baseUrls = new ArrayList<>();
+
+    private final Hedging hedging = new Hedging();
+
     public String getBaseUrl() {
         return baseUrl;
     }
@@ -16,4 +28,117 @@ public class ExternalApiProperties {
     public void setBaseUrl(String baseUrl) {
         this.baseUrl = baseUrl;
     }
+
+    public List<String> getBaseUrls() {
+        return baseUrls;
+    }
+
+    public void setBaseUrls(List<String> baseUrls) {
+        this.baseUrls = baseUrls;
+    }
+
+    /**
+     * @return The replicas to balance across: {@code baseUrls} if configured, otherwise {@code baseUrl} alone.
+     */
+    public List<String> getEndpoints() {
+        if (baseUrls != null && !baseUrls.isEmpty()) {
+            return baseUrls;
+        }
+        return baseUrl == null ? List.of() : List.of(baseUrl);
+    }
+
+    public Hedging getHedging() {
+        return hedging;
+    }
+
+    public static class Hedging {
+
+        /**
+         * Whether a slow GET is duplicated to a second replica.
+         */
+        private boolean enabled = false;
+
+        /**
+         * Latency percentile after which the duplicate is sent (0..1).
+         */
+        private double percentile = 0.95;
+
+        /**
+         * Delay used until {@code minSamples} latencies have been observed.
+         */
+        private Duration initialDelay = Duration.ofMillis(100);
+
+        /**
+         * Lower bound on the delay, so a burst of very fast responses cannot make every call hedge.
+         */
+        private Duration minDelay = Duration.ofMillis(10);
+
+        private int minSamples = 100;
+
+        /**
+         * Hedges allowed per request sent, e.g. 0.05 caps the extra load at 5%.
+         */
+        private double budgetRatio = 0.05;
+
+        /**
+         * Hedges that may be sent back to back when the budget is full; also the budget at startup.
+         */
+        private int budgetBurst = 10;
+
+        public boolean isEnabled() {
+            return enabled;
+        }
+
+        public void setEnabled(boolean enabled) {
+            this.enabled = enabled;
+        }
+
+        public double getPercentile() {
+            return percentile;
+        }
+
+        public void setPercentile(double percentile) {
+            this.percentile = percentile;
+        }
+
+        public Duration getInitialDelay() {
+            return initialDelay;
+        }
+
+        public void setInitialDelay(Duration initialDelay) {
+            this.initialDelay = initialDelay;
+        }
+
+        public Duration getMinDelay() {
+            return minDelay;
+        }
+
+        public void setMinDelay(Duration minDelay) {
+            this.minDelay = minDelay;
+        }
+
+        public int getMinSamples() {
+            return minSamples;
+        }
+
+        public void setMinSamples(int minSamples) {
+            this.minSamples = minSamples;
+        }
+
+        public double getBudgetRatio() {
+            return budgetRatio;
+        }
+
+        public void setBudgetRatio(double budgetRatio) {
+            this.budgetRatio = budgetRatio;
+        }
+
+        public int getBudgetBurst() {
+            return budgetBurst;
+        }
+
+        public void setBudgetBurst(int budgetBurst) {
+            this.budgetBurst = budgetBurst;
+        }
+    }
 }
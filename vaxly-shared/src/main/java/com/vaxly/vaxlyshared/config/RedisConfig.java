@@ -1,32 +1,73 @@
 package com.vaxly.vaxlyshared.config;
 
 import com.vaxly.vaxlyshared.dtos.RateInfoDto;
+import com.vaxly.vaxlyshared.serialization.RateInfoRedisSerializer;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.data.redis.connection.ReactiveRedisConnectionFactory;
 import org.springframework.data.redis.connection.RedisConnectionFactory;
+import org.springframework.data.redis.core.ReactiveRedisTemplate;
 import org.springframework.data.redis.core.RedisTemplate;
-import org.springframework.data.redis.serializer.Jackson2JsonRedisSerializer;
+import org.springframework.data.redis.serializer.RedisSerializationContext;
+import org.springframework.data.redis.serializer.RedisSerializer;
 import org.springframework.data.redis.serializer.StringRedisSerializer;
 
 @Configuration
 public class RedisConfig {
 
-    private <T> RedisTemplate<String, T> createRedisTemplate(RedisConnectionFactory cf, Class<T> clazz) {
+    /**
+     * Encoding written for rates; JSON until every service reading the cache understands the binary form.
+     */
+    @Value("${vaxly.redis.rate-write-format:JSON}")
+    private RateInfoRedisSerializer.Format rateWriteFormat = RateInfoRedisSerializer.Format.JSON;
+
+    public RedisConfig() {
+    }
+
+    /**
+     * For building templates outside the application context, where {@code vaxly.redis.rate-write-format} is not read.
+     */
+    public RedisConfig(RateInfoRedisSerializer.Format rateWriteFormat) {
+        this.rateWriteFormat = rateWriteFormat;
+    }
+
+    private <T> RedisTemplate<String, T> createRedisTemplate(RedisConnectionFactory cf, RedisSerializer<T> valueSerializer) {
         RedisTemplate<String, T> template = new RedisTemplate<>();
         template.setConnectionFactory(cf);
 
         template.setKeySerializer(new StringRedisSerializer());
         template.setHashKeySerializer(new StringRedisSerializer());
 
-        template.setValueSerializer(new Jackson2JsonRedisSerializer<>(clazz));
-        template.setHashValueSerializer(new Jackson2JsonRedisSerializer<>(clazz));
+        template.setValueSerializer(valueSerializer);
+        template.setHashValueSerializer(valueSerializer);
 
         template.afterPropertiesSet();
         return template;
     }
 
+    private <T> ReactiveRedisTemplate<String, T> createReactiveRedisTemplate(ReactiveRedisConnectionFactory cf, RedisSerializer<T> valueSerializer) {
+        RedisSerializationContext<String, T> context = RedisSerializationContext
+                .<String, T>newSerializationContext(new StringRedisSerializer())
+                .value(valueSerializer)
+                .hashKey(new StringRedisSerializer())
+                .hashValue(valueSerializer)
+                .build();
+
+        return new ReactiveRedisTemplate<>(cf, context);
+    }
+
+    /**
+     * Rates are read in either format {@link RateInfoRedisSerializer} understands, and written as JSON or in its
+     * compact binary format according to {@code vaxly.redis.rate-write-format}.
+     */
     @Bean
     public RedisTemplate<String, RateInfoDto> rateRedisTemplate(RedisConnectionFactory cf) {
-        return createRedisTemplate(cf, RateInfoDto.class);
+        return createRedisTemplate(cf, new RateInfoRedisSerializer(rateWriteFormat));
+    }
+
+    @Bean
+    public ReactiveRedisTemplate<String, RateInfoDto> reactiveRateRedisTemplate(ReactiveRedisConnectionFactory cf) {
+        return createReactiveRedisTemplate(cf, new RateInfoRedisSerializer(rateWriteFormat));
     }
-}
\ No newline at end of file
+}
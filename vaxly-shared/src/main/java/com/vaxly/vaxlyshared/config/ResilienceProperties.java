@@ -0,0 +1,218 @@
+package com.vaxly.vaxlyshared.config;
+
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.time.Duration;
+
+@Configuration
+@ConfigurationProperties(prefix = "external.api.resilience")
+public class ResilienceProperties {
+
+    /**
+     * Whether the external API client applies the deadline, concurrency limit and circuit breaker.
+     */
+    private boolean enabled = true;
+
+    /**
+     * Deadline for each call to receive the response status and headers; a streamed body is not bounded by it.
+     */
+    private Duration timeout = Duration.ofSeconds(2);
+
+    /**
+     * Retry-After suggested to callers rejected by the concurrency limit.
+     */
+    private Duration limitRetryAfter = Duration.ofSeconds(1);
+
+    private final Limiter limiter = new Limiter();
+
+    private final Breaker breaker = new Breaker();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    public void setEnabled(boolean enabled) {
+        this.enabled = enabled;
+    }
+
+    public Duration getTimeout() {
+        return timeout;
+    }
+
+    public void setTimeout(Duration timeout) {
+        this.timeout = timeout;
+    }
+
+    public Duration getLimitRetryAfter() {
+        return limitRetryAfter;
+    }
+
+    public void setLimitRetryAfter(Duration limitRetryAfter) {
+        this.limitRetryAfter = limitRetryAfter;
+    }
+
+    public Limiter getLimiter() {
+        return limiter;
+    }
+
+    public Breaker getBreaker() {
+        return breaker;
+    }
+
+    public static class Limiter {
+
+        /**
+         * Concurrent calls allowed before any latency has been observed.
+         */
+        private int initialLimit = 20;
+
+        private int minLimit = 2;
+
+        private int maxLimit = 200;
+
+        /**
+         * Weight of each new estimate in the limit (0..1); lower values change the limit more slowly.
+         */
+        private double smoothing = 0.2;
+
+        /**
+         * How far above the long-term average RTT latency may rise before the limit starts to shrink.
+         */
+        private double tolerance = 1.5;
+
+        /**
+         * Factor applied to the limit after a timeout or overload response.
+         */
+        private double backoffRatio = 0.9;
+
+        /**
+         * Number of samples the long-term average RTT roughly spans.
+         */
+        private int rttWindow = 100;
+
+        public int getInitialLimit() {
+            return initialLimit;
+        }
+
+        public void setInitialLimit(int initialLimit) {
+            this.initialLimit = initialLimit;
+        }
+
+        public int getMinLimit() {
+            return minLimit;
+        }
+
+        public void setMinLimit(int minLimit) {
+            this.minLimit = minLimit;
+        }
+
+        public int getMaxLimit() {
+            return maxLimit;
+        }
+
+        public void setMaxLimit(int maxLimit) {
+            this.maxLimit = maxLimit;
+        }
+
+        public double getSmoothing() {
+            return smoothing;
+        }
+
+        public void setSmoothing(double smoothing) {
+            this.smoothing = smoothing;
+        }
+
+        public double getTolerance() {
+            return tolerance;
+        }
+
+        public void setTolerance(double tolerance) {
+            this.tolerance = tolerance;
+        }
+
+        public double getBackoffRatio() {
+            return backoffRatio;
+        }
+
+        public void setBackoffRatio(double backoffRatio) {
+            this.backoffRatio = backoffRatio;
+        }
+
+        public int getRttWindow() {
+            return rttWindow;
+        }
+
+        public void setRttWindow(int rttWindow) {
+            this.rttWindow = rttWindow;
+        }
+    }
+
+    public static class Breaker {
+
+        /**
+         * Number of most recent call outcomes the failure rate is computed over.
+         */
+        private int windowSize = 50;
+
+        /**
+         * Outcomes required in the window before the breaker may open.
+         */
+        private int minimumCalls = 20;
+
+        /**
+         * Failure rate (0..1) at which the breaker opens.
+         */
+        private double failureRateThreshold = 0.5;
+
+        /**
+         * How long the breaker rejects calls before letting probes through.
+         */
+        private Duration openDuration = Duration.ofSeconds(30);
+
+        /**
+         * Probe calls allowed while half-open; all must succeed to close the breaker.
+         */
+        private int halfOpenProbes = 3;
+
+        public int getWindowSize() {
+            return windowSize;
+        }
+
+        public void setWindowSize(int windowSize) {
+            this.windowSize = windowSize;
+        }
+
+        public int getMinimumCalls() {
+            return minimumCalls;
+        }
+
+        public void setMinimumCalls(int minimumCalls) {
+            this.minimumCalls = minimumCalls;
+        }
+
+        public double getFailureRateThreshold() {
+            return failureRateThreshold;
+        }
+
+        public void setFailureRateThreshold(double failureRateThreshold) {
+            this.failureRateThreshold = failureRateThreshold;
+        }
+
+        public Duration getOpenDuration() {
+            return openDuration;
+        }
+
+        public void setOpenDuration(Duration openDuration) {
+            this.openDuration = openDuration;
+        }
+
+        public int getHalfOpenProbes() {
+            return halfOpenProbes;
+        }
+
+        public void setHalfOpenProbes(int halfOpenProbes) {
+            this.halfOpenProbes = halfOpenProbes;
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package com.vaxly.vaxlyshared.config;
 
+import com.vaxly.vaxlyshared.loadbalancing.LoadBalancingFilter;
+import com.vaxly.vaxlyshared.resilience.ResilienceFilter;
 import org.slf4j.MDC;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -10,18 +12,37 @@ import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
 import org.springframework.web.reactive.function.client.WebClient;
 import reactor.core.publisher.Mono;
 
+import java.util.List;
+
 @Configuration
 public class WebClientConfig {
 
     private static final String CORRELATION_ID = "X-Correlation-ID";
 
     @Bean
-    public WebClient externalApiClient(WebClient.Builder webClientBuilder, ExternalApiProperties props) {
-        return webClientBuilder
-                .baseUrl(props.getBaseUrl())
+    public WebClient externalApiClient(WebClient.Builder webClientBuilder, ExternalApiProperties props,
+                                       ResilienceProperties resilienceProps, ResilienceFilter externalApiResilienceFilter) {
+        List<String> endpoints = props.getEndpoints();
+        webClientBuilder
+                .baseUrl(endpoints.isEmpty() ? props.getBaseUrl() : endpoints.get(0))
                 .defaultHeader(HttpHeaders.CONTENT_TYPE, MediaType.APPLICATION_JSON_VALUE)
-                .filter(addCorrelationIdToRequest())
-                .build();
+                .filter(addCorrelationIdToRequest());
+        // Resilience wraps the balancer, so a hedged call counts once against the limit and deadline
+        if (resilienceProps.isEnabled()) {
+            webClientBuilder.filter(externalApiResilienceFilter);
+        }
+        if (endpoints.size() > 1) {
+            webClientBuilder.filter(new LoadBalancingFilter(endpoints, props.getHedging()));
+        }
+        return webClientBuilder.build();
+    }
+
+    /**
+     * Circuit breaker, adaptive concurrency limit and per-call deadline shared by every call to the external API.
+     */
+    @Bean
+    public ResilienceFilter externalApiResilienceFilter(ResilienceProperties resilienceProps) {
+        return new ResilienceFilter(resilienceProps);
     }
 
     private ExchangeFilterFunction addCorrelationIdToRequest() {
@@ -1,9 +1,17 @@
 package com.vaxly.vaxlyshared.constants;
 
+import com.vaxly.vaxlyshared.currency.CurrencyRegistry;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
 /**
  * Provides a centralized and consistent way to manage all Redis keys used across multiple services.
  * This class helps prevent key naming collisions and typos, ensuring data integrity across services.
  * Keys are structured using prefixes to clearly define their purpose (e.g., `inflight:`, `last_refresh:`).
+ * Per-pair keys of pairs known to {@link CurrencyRegistry} are built once and reused; other pairs are upper-cased
+ * and concatenated on every call, as before.
  */
 public final class RedisKeys {
 
@@ -11,10 +19,44 @@ public final class RedisKeys {
     public static final String INFLIGHT_PREFIX = "inflight:";
     public static final String LAST_REFRESH_PREFIX = "last_refresh:";
     public static final String RATE_PREFIX = "rate:";
-    public static final String USAGE_ZSET_KEY = "usage:popular_pairs";
+    // Pairs the history-service recently answered 404 for; removed whenever a rate for the pair is written
+    public static final String UNKNOWN_PAIR_PREFIX = "unknown:";
+
+    // Popularity tracking: a Count-Min Sketch hash (fields "row:column") and the top-K pairs ranked by its estimates
+    public static final String USAGE_SKETCH_KEY = "usage:sketch";
+    public static final String USAGE_TOPK_KEY = "usage:topk";
+    // Recency-weighted rankings: exponentially decayed scores, and per-bucket counts for a sliding window
+    public static final String USAGE_DECAYED_KEY = "usage:decayed";
+    public static final String USAGE_DECAYED_LANDMARK_KEY = "usage:decayed:landmark";
+    public static final String USAGE_WINDOW_PREFIX = "usage:window:";
+
+    // Cold-start priming: marker present while Redis holds the full book, and the lease of the job restoring it
+    public static final String RATES_PRIMED_KEY = "rates:primed";
+    public static final String REPRIME_LOCK_KEY = INFLIGHT_PREFIX + "reprime";
+
+    // Pub/Sub channels
+    public static final String RATE_UPDATES_CHANNEL = "channel:rate_updates";
+    // One channel per pair carrying the new rate itself, so listeners only hear about the pairs they watch
+    public static final String RATE_CHANNEL_PREFIX = "channel:rates:";
+
+    // Per-pair keys by pair id, filled on first use like CurrencyRegistry's pair strings
+    private static final String[] INFLIGHT_KEYS = new String[CurrencyRegistry.PAIR_COUNT];
+    private static final String[] LAST_REFRESH_KEYS = new String[CurrencyRegistry.PAIR_COUNT];
+    private static final String[] RATE_KEYS = new String[CurrencyRegistry.PAIR_COUNT];
 
     private RedisKeys() {}
 
+    /**
+     * Generates the hash field holding one counter of the usage sketch.
+     *
+     * @param row The sketch row.
+     * @param column The column within the row.
+     * @return The field name within {@link #USAGE_SKETCH_KEY} (e.g., "2:1031").
+     */
+    public static String usageSketchField(int row, int column) {
+        return row + ":" + column;
+    }
+
     // Key generators
     /**
      * Generates a key for a currency pair's in-flight status.
@@ -24,7 +66,8 @@ public final class RedisKeys {
      * @return The Redis key for the in-flight status.
      */
     public static String inflightKey(String base, String quote) {
-        return INFLIGHT_PREFIX + normalizePair(base, quote);
+        int pairId = CurrencyRegistry.pairId(base, quote);
+        return pairId != CurrencyRegistry.UNKNOWN ? inflightKey(pairId) : INFLIGHT_PREFIX + normalizePair(base, quote);
     }
 
     /**
@@ -34,7 +77,23 @@ public final class RedisKeys {
      * @return The Redis key for the in-flight status.
      */
     public static String inflightKey(String currencyPair) {
-        return INFLIGHT_PREFIX + currencyPair.toUpperCase();
+        int pairId = CurrencyRegistry.pairId(currencyPair);
+        return pairId != CurrencyRegistry.UNKNOWN ? inflightKey(pairId) : INFLIGHT_PREFIX + currencyPair.toUpperCase();
+    }
+
+    /**
+     * Generates a key for a currency pair's in-flight status.
+     *
+     * @param pairId The {@link CurrencyRegistry} pair id.
+     * @return The Redis key for the in-flight status; the same instance on every call.
+     */
+    public static String inflightKey(int pairId) {
+        String key = INFLIGHT_KEYS[pairId];
+        if (key == null) {
+            key = INFLIGHT_PREFIX + CurrencyRegistry.pairKey(pairId);
+            INFLIGHT_KEYS[pairId] = key;
+        }
+        return key;
     }
 
     /**
@@ -45,7 +104,8 @@ public final class RedisKeys {
      * @return The Redis key for the last refresh timestamp.
      */
     public static String lastRefreshKey(String base, String quote) {
-        return LAST_REFRESH_PREFIX + normalizePair(base, quote);
+        int pairId = CurrencyRegistry.pairId(base, quote);
+        return pairId != CurrencyRegistry.UNKNOWN ? lastRefreshKey(pairId) : LAST_REFRESH_PREFIX + normalizePair(base, quote);
     }
 
     /**
@@ -55,7 +115,23 @@ public final class RedisKeys {
      * @return The Redis key for the last refresh timestamp.
      */
     public static String lastRefreshKey(String currencyPair) {
-        return LAST_REFRESH_PREFIX + currencyPair.toUpperCase();
+        int pairId = CurrencyRegistry.pairId(currencyPair);
+        return pairId != CurrencyRegistry.UNKNOWN ? lastRefreshKey(pairId) : LAST_REFRESH_PREFIX + currencyPair.toUpperCase();
+    }
+
+    /**
+     * Generates a key for a currency pair's last refresh timestamp.
+     *
+     * @param pairId The {@link CurrencyRegistry} pair id.
+     * @return The Redis key for the last refresh timestamp; the same instance on every call.
+     */
+    public static String lastRefreshKey(int pairId) {
+        String key = LAST_REFRESH_KEYS[pairId];
+        if (key == null) {
+            key = LAST_REFRESH_PREFIX + CurrencyRegistry.pairKey(pairId);
+            LAST_REFRESH_KEYS[pairId] = key;
+        }
+        return key;
     }
 
     /**
@@ -66,11 +142,83 @@ public final class RedisKeys {
      * @return The Redis key for the rate data.
      */
     public static String rateKey(String base, String quote) {
-        return RATE_PREFIX + normalizePair(base, quote);
+        int pairId = CurrencyRegistry.pairId(base, quote);
+        return pairId != CurrencyRegistry.UNKNOWN ? rateKey(pairId) : RATE_PREFIX + normalizePair(base, quote);
     }
 
+    /**
+     * Generates a key for a currency pair's rate data.
+     *
+     * @param currencyPair The currency pair string (e.g., "USD_EUR").
+     * @return The Redis key for the rate data.
+     */
     public static String rateKey(String currencyPair) {
-        return RATE_PREFIX +currencyPair.toUpperCase();
+        int pairId = CurrencyRegistry.pairId(currencyPair);
+        return pairId != CurrencyRegistry.UNKNOWN ? rateKey(pairId) : RATE_PREFIX + currencyPair.toUpperCase();
+    }
+
+    /**
+     * Generates a key for a currency pair's rate data.
+     *
+     * @param pairId The {@link CurrencyRegistry} pair id.
+     * @return The Redis key for the rate data; the same instance on every call.
+     */
+    public static String rateKey(int pairId) {
+        String key = RATE_KEYS[pairId];
+        if (key == null) {
+            key = RATE_PREFIX + CurrencyRegistry.pairKey(pairId);
+            RATE_KEYS[pairId] = key;
+        }
+        return key;
+    }
+
+    /**
+     * Generates a key marking a currency pair as recently unknown to the history-service.
+     *
+     * @param currencyPair The currency pair string (e.g., "USD_EUR").
+     * @return The Redis key for the negative-cache entry.
+     */
+    public static String unknownPairKey(String currencyPair) {
+        return UNKNOWN_PAIR_PREFIX + currencyPair.toUpperCase();
+    }
+
+    /**
+     * Generates the channel on which a currency pair's new rates are published.
+     *
+     * @param currencyPair The currency pair string (e.g., "USD_EUR").
+     * @return The Pub/Sub channel for the pair (e.g., "channel:rates:USD_EUR").
+     */
+    public static String rateChannel(String currencyPair) {
+        return RATE_CHANNEL_PREFIX + currencyPair.toUpperCase();
+    }
+
+    /**
+     * Generates the key of the sliding-window bucket containing a point in time.
+     *
+     * @param epochMillis The point in time, in epoch milliseconds.
+     * @param bucket The bucket length.
+     * @return The Redis key for the bucket (e.g., "usage:window:1700000040000").
+     */
+    public static String usageWindowKey(long epochMillis, Duration bucket) {
+        long bucketMillis = bucket.toMillis();
+        return USAGE_WINDOW_PREFIX + Math.floorDiv(epochMillis, bucketMillis) * bucketMillis;
+    }
+
+    /**
+     * Generates the keys of every bucket that makes up the window ending at a point in time, newest first.
+     *
+     * @param epochMillis The end of the window, in epoch milliseconds.
+     * @param window The window length.
+     * @param bucket The bucket length.
+     * @return The Redis keys of the buckets in the window.
+     */
+    public static List<String> usageWindowKeys(long epochMillis, Duration window, Duration bucket) {
+        long bucketCount = Math.max(1, window.toMillis() / bucket.toMillis());
+        List<String> keys = new ArrayList<>();
+        for (long i = 0; i < bucketCount; i++) {
+            keys.add(usageWindowKey(epochMillis - i * bucket.toMillis(), bucket));
+        }
+        return keys;
     }
 
     /**
@@ -78,9 +226,14 @@ public final class RedisKeys {
      *
      * @param base The base currency code.
      * @param quote The quote currency code.
-     * @return The normalized currency pair string (e.g., "USD_EUR").
+     * @return The normalized currency pair string (e.g., "USD_EUR"); the shared {@link CurrencyRegistry#pairKey(int)}
+     * instance for supported pairs.
      */
     public static String normalizePair(String base, String quote) {
+        int pairId = CurrencyRegistry.pairId(base, quote);
+        if (pairId != CurrencyRegistry.UNKNOWN) {
+            return CurrencyRegistry.pairKey(pairId);
+        }
         return base.toUpperCase() + "_" + quote.toUpperCase();
     }
 }
\ No newline at end of file
@@ -0,0 +1,206 @@
+package com.vaxly.vaxlyshared.currency;
+
+import java.util.Arrays;
+
+/**
+ * Registry of ISO 4217 currency codes, and of the currency pairs built from them, as compact ints.
+ * <p>
+ * Each supported code has a currency id, its position in {@link #CODES}. A pair's id is
+ * {@code baseId * CURRENCY_COUNT + quoteId}, so every pair id lies in {@code [0, PAIR_COUNT)} and can index an array,
+ * key a map without boxing a string, or travel in a message as a plain int. Ids are shared by every service,
+ * so codes are only ever appended to {@link #CODES}, never inserted or reordered.
+ * <p>
+ * Lookups accept upper- or lower-case codes and allocate nothing. A pair's canonical string (e.g., "USD_EUR")
+ * is built and interned the first time it is asked for and reused afterwards, so hot paths keyed by pair
+ * always get the same instance with its hash code already computed.
+ */
+public final class CurrencyRegistry {
+
+    /** Returned by the lookups when a code or pair is not supported. */
+    public static final int UNKNOWN = -1;
+
+    public static final char PAIR_SEPARATOR = '_';
+
+    // Active ISO 4217 codes, including funds and precious metals. Append only: a code's position is its id.
+    private static final String[] CODES = {
+            "AED", "AFN", "ALL", "AMD", "ANG", "AOA", "ARS", "AUD", "AWG", "AZN",
+            "BAM", "BBD", "BDT", "BGN", "BHD", "BIF", "BMD", "BND", "BOB", "BOV",
+            "BRL", "BSD", "BTN", "BWP", "BYN", "BZD", "CAD", "CDF", "CHE", "CHF",
+            "CHW", "CLF", "CLP", "CNY", "COP", "COU", "CRC", "CUC", "CUP", "CVE",
+            "CZK", "DJF", "DKK", "DOP", "DZD", "EGP", "ERN", "ETB", "EUR", "FJD",
+            "FKP", "GBP", "GEL", "GHS", "GIP", "GMD", "GNF", "GTQ", "GYD", "HKD",
+            "HNL", "HTG", "HUF", "IDR", "ILS", "INR", "IQD", "IRR", "ISK", "JMD",
+            "JOD", "JPY", "KES", "KGS", "KHR", "KMF", "KPW", "KRW", "KWD", "KYD",
+            "KZT", "LAK", "LBP", "LKR", "LRD", "LSL", "LYD", "MAD", "MDL", "MGA",
+            "MKD", "MMK", "MNT", "MOP", "MRU", "MUR", "MVR", "MWK", "MXN", "MXV",
+            "MYR", "MZN", "NAD", "NGN", "NIO", "NOK", "NPR", "NZD", "OMR", "PAB",
+            "PEN", "PGK", "PHP", "PKR", "PLN", "PYG", "QAR", "RON", "RSD", "RUB",
+            "RWF", "SAR", "SBD", "SCR", "SDG", "SEK", "SGD", "SHP", "SLE", "SLL",
+            "SOS", "SRD", "SSP", "STN", "SVC", "SYP", "SZL", "THB", "TJS", "TMT",
+            "TND", "TOP", "TRY", "TTD", "TWD", "TZS", "UAH", "UGX", "USD", "USN",
+            "UYI", "UYU", "UYW", "UZS", "VED", "VES", "VND", "VUV", "WST", "XAF",
+            "XAG", "XAU", "XBA", "XBB", "XBC", "XBD", "XCD", "XCG", "XDR", "XOF",
+            "XPD", "XPF", "XPT", "XSU", "XTS", "XUA", "XXX", "YER", "ZAR", "ZMW",
+            "ZWG", "ZWL"
+    };
+
+    public static final int CURRENCY_COUNT = CODES.length;
+    public static final int PAIR_COUNT = CURRENCY_COUNT * CURRENCY_COUNT;
+
+    // Currency id for every three-letter code, indexed by its letters in base 26; UNKNOWN for unsupported codes
+    private static final short[] IDS_BY_CODE = new short[26 * 26 * 26];
+
+    // Canonical pair strings, filled on first use. Racing writers store equal interned strings, so no locking is needed.
+    private static final String[] PAIR_KEYS = new String[PAIR_COUNT];
+
+    static {
+        Arrays.fill(IDS_BY_CODE, (short) UNKNOWN);
+        for (int id = 0; id < CODES.length; id++) {
+            CODES[id] = CODES[id].intern();
+            IDS_BY_CODE[letterIndex(CODES[id], 0)] = (short) id;
+        }
+    }
+
+    private CurrencyRegistry() {}
+
+    /**
+     * @param code A currency code in any case (e.g., "usd").
+     * @return The code's currency id, or {@link #UNKNOWN} if it is not a supported ISO 4217 code.
+     */
+    public static int currencyId(CharSequence code) {
+        if (code == null || code.length() != 3) {
+            return UNKNOWN;
+        }
+        return currencyId(code, 0);
+    }
+
+    /**
+     * Looks up a code inside a larger string, such as a CSV line, without extracting it.
+     *
+     * @param chars The text containing the code.
+     * @param start Index of the code's first character.
+     * @param end   Index just past the code's last character.
+     * @return The code's currency id, or {@link #UNKNOWN} if the range is not a supported ISO 4217 code.
+     */
+    public static int currencyId(CharSequence chars, int start, int end) {
+        if (end - start != 3) {
+            return UNKNOWN;
+        }
+        return currencyId(chars, start);
+    }
+
+    /**
+     * @param currencyId A currency id.
+     * @return The upper-case ISO 4217 code (e.g., "USD").
+     */
+    public static String code(int currencyId) {
+        return CODES[currencyId];
+    }
+
+    /**
+     * @param code A currency code in any case.
+     * @return {@code true} if the code is a supported ISO 4217 code.
+     */
+    public static boolean isSupported(CharSequence code) {
+        return currencyId(code) != UNKNOWN;
+    }
+
+    /**
+     * @param base  The base currency code, in any case.
+     * @param quote The quote currency code, in any case.
+     * @return The pair id, or {@link #UNKNOWN} if either code is not supported.
+     */
+    public static int pairId(CharSequence base, CharSequence quote) {
+        int baseId = currencyId(base);
+        int quoteId = currencyId(quote);
+        if (baseId == UNKNOWN || quoteId == UNKNOWN) {
+            return UNKNOWN;
+        }
+        return pairId(baseId, quoteId);
+    }
+
+    /**
+     * @param baseId  The base currency id.
+     * @param quoteId The quote currency id.
+     * @return The pair id.
+     */
+    public static int pairId(int baseId, int quoteId) {
+        return baseId * CURRENCY_COUNT + quoteId;
+    }
+
+    /**
+     * Parses a pair string without allocating.
+     *
+     * @param currencyPair The currency pair in any case (e.g., "usd_eur").
+     * @return The pair id, or {@link #UNKNOWN} if the string is not two supported codes joined by {@link #PAIR_SEPARATOR}.
+     */
+    public static int pairId(CharSequence currencyPair) {
+        if (currencyPair == null || currencyPair.length() != 7 || currencyPair.charAt(3) != PAIR_SEPARATOR) {
+            return UNKNOWN;
+        }
+        int baseId = currencyId(currencyPair, 0);
+        int quoteId = currencyId(currencyPair, 4);
+        if (baseId == UNKNOWN || quoteId == UNKNOWN) {
+            return UNKNOWN;
+        }
+        return pairId(baseId, quoteId);
+    }
+
+    /**
+     * @param pairId A pair id.
+     * @return The pair's base currency id.
+     */
+    public static int baseId(int pairId) {
+        return pairId / CURRENCY_COUNT;
+    }
+
+    /**
+     * @param pairId A pair id.
+     * @return The pair's quote currency id.
+     */
+    public static int quoteId(int pairId) {
+        return pairId % CURRENCY_COUNT;
+    }
+
+    /**
+     * @param pairId A pair id.
+     * @return The id of the same pair quoted the other way round (e.g., EUR_USD for USD_EUR).
+     */
+    public static int inverse(int pairId) {
+        return pairId(quoteId(pairId), baseId(pairId));
+    }
+
+    /**
+     * @param pairId A pair id.
+     * @return The canonical, interned pair string (e.g., "USD_EUR"); the same instance on every call.
+     */
+    public static String pairKey(int pairId) {
+        String key = PAIR_KEYS[pairId];
+        if (key == null) {
+            key = (CODES[baseId(pairId)] + PAIR_SEPARATOR + CODES[quoteId(pairId)]).intern();
+            PAIR_KEYS[pairId] = key;
+        }
+        return key;
+    }
+
+    private static int currencyId(CharSequence chars, int offset) {
+        int index = letterIndex(chars, offset);
+        return index < 0 ? UNKNOWN : IDS_BY_CODE[index];
+    }
+
+    /**
+     * @return The three letters at {@code offset} read as a base-26 number, or -1 if any of them is not a letter.
+     */
+    private static int letterIndex(CharSequence chars, int offset) {
+        int index = 0;
+        for (int i = offset; i < offset + 3; i++) {
+            // Clearing bit 5 upper-cases ASCII letters
+            int letter = (chars.charAt(i) & ~0x20) - 'A';
+            if (letter < 0 || letter >= 26) {
+                return -1;
+            }
+            index = index * 26 + letter;
+        }
+        return index;
+    }
+}
@@ -0,0 +1,35 @@
+package com.vaxly.vaxlyshared.loadbalancing;
+
+/**
+ * Token bucket capping hedged requests to a fraction of all requests.
+ * <p>
+ * Every request deposits {@code ratio} tokens, up to {@code burst}; every hedge spends one. Over time no more than
+ * {@code ratio} hedges are sent per request, so a downstream slowdown can add at most that much extra load.
+ */
+public final class HedgeBudget {
+
+    private final double ratio;
+    private final double burst;
+    private double tokens;
+
+    public HedgeBudget(double ratio, int burst) {
+        this.ratio = ratio;
+        this.burst = burst;
+        this.tokens = burst;
+    }
+
+    public synchronized void onRequest() {
+        tokens = Math.min(burst, tokens + ratio);
+    }
+
+    /**
+     * @return {@code true} if a hedge may be sent; its token has then been spent.
+     */
+    public synchronized boolean tryAcquire() {
+        if (tokens < 1) {
+            return false;
+        }
+        tokens -= 1;
+        return true;
+    }
+}
@@ -0,0 +1,50 @@
+package com.vaxly.vaxlyshared.loadbalancing;
+
+import java.util.Arrays;
+
+/**
+ * Percentile of the most recent response latencies, kept in a fixed ring of samples.
+ * <p>
+ * The percentile is recomputed every {@value #RECOMPUTE_EVERY} samples rather than on every read,
+ * so reading it on each request costs a volatile load.
+ */
+public final class LatencyTracker {
+
+    static final int RECOMPUTE_EVERY = 16;
+
+    private final long[] samples;
+    private final double percentile;
+    private final int minSamples;
+
+    private int count;
+    private int next;
+    private int sinceRecompute;
+    private volatile long percentileNanos = -1;
+
+    public LatencyTracker(int capacity, double percentile, int minSamples) {
+        this.samples = new long[Math.max(capacity, minSamples)];
+        this.percentile = percentile;
+        this.minSamples = Math.max(1, minSamples);
+    }
+
+    public synchronized void record(long latencyNanos) {
+        samples[next] = latencyNanos;
+        next = (next + 1) % samples.length;
+        if (count < samples.length) {
+            count++;
+        }
+        if (count >= minSamples && (++sinceRecompute >= RECOMPUTE_EVERY || percentileNanos < 0)) {
+            sinceRecompute = 0;
+            long[] sorted = Arrays.copyOf(samples, count);
+            Arrays.sort(sorted);
+            percentileNanos = sorted[Math.min(count - 1, (int) Math.ceil(percentile * count) - 1)];
+        }
+    }
+
+    /**
+     * @return The latency percentile in nanoseconds, or -1 until enough samples have been recorded.
+     */
+    public long percentileNanos() {
+        return percentileNanos;
+    }
+}
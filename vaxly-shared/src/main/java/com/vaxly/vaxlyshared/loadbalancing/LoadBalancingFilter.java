@@ -0,0 +1,145 @@
+package com.vaxly.vaxlyshared.loadbalancing;
+
+import com.vaxly.vaxlyshared.config.ExternalApiProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpMethod;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Spreads calls made through a {@code WebClient} across replicas of the same service, and optionally hedges slow ones.
+ * <p>
+ * The client's base URL is the first replica's; each call's URL is rewritten onto the replica with the fewest
+ * outstanding calls, ties going round-robin. With hedging enabled, a GET that has not answered after the
+ * configured latency percentile is sent again to a different replica. The first response wins and the other call
+ * is cancelled. A {@link HedgeBudget} caps hedges to a fraction of all calls, so a slow fleet cannot double its own load.
+ * <p>
+ * URLs that do not start with the first replica's base URL are passed through untouched.
+ */
+public class LoadBalancingFilter implements ExchangeFilterFunction {
+
+    private static final Logger logger = LoggerFactory.getLogger(LoadBalancingFilter.class);
+    private static final int LATENCY_SAMPLES = 1024;
+
+    private final String primaryBaseUrl;
+    private final List<Replica> replicas;
+    private final AtomicInteger rotation = new AtomicInteger();
+
+    private final boolean hedging;
+    private final LatencyTracker latencies;
+    private final HedgeBudget budget;
+    private final Duration initialDelay;
+    private final Duration minDelay;
+    private final AtomicLong hedgesSent = new AtomicLong();
+
+    public LoadBalancingFilter(List<String> baseUrls, ExternalApiProperties.Hedging props) {
+        if (baseUrls.isEmpty()) {
+            throw new IllegalArgumentException("At least one base URL is required");
+        }
+        this.primaryBaseUrl = baseUrls.get(0);
+        this.replicas = baseUrls.stream().map(Replica::new).toList();
+        this.hedging = props.isEnabled() && replicas.size() > 1;
+        this.latencies = new LatencyTracker(LATENCY_SAMPLES, props.getPercentile(), props.getMinSamples());
+        this.budget = new HedgeBudget(props.getBudgetRatio(), props.getBudgetBurst());
+        this.initialDelay = props.getInitialDelay();
+        this.minDelay = props.getMinDelay();
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        String url = request.url().toString();
+        if (!url.startsWith(primaryBaseUrl)) {
+            return next.exchange(request);
+        }
+        String path = url.substring(primaryBaseUrl.length());
+
+        return Mono.defer(() -> {
+            Replica primary = pick(null);
+            Mono<ClientResponse> primaryCall = send(primary, request, path, next);
+            if (!hedging || !(HttpMethod.GET.equals(request.method()) || HttpMethod.HEAD.equals(request.method()))) {
+                return primaryCall;
+            }
+
+            budget.onRequest();
+            Mono<ClientResponse> hedgeCall = Mono.delay(hedgeDelay())
+                    .flatMap(tick -> {
+                        if (!budget.tryAcquire()) {
+                            return Mono.never();
+                        }
+                        Replica secondary = pick(primary);
+                        hedgesSent.incrementAndGet();
+                        logger.debug("Hedging {} {} to {}; {} has not answered.", request.method(), path, secondary.baseUrl, primary.baseUrl);
+                        return send(secondary, request, path, next);
+                    });
+            // Whichever signals first wins; the other subscription is cancelled
+            return Mono.firstWithSignal(primaryCall, hedgeCall)
+                    .doOnDiscard(ClientResponse.class, response -> response.releaseBody().subscribe());
+        });
+    }
+
+    /**
+     * @return The number of hedged calls sent so far.
+     */
+    public long getHedgesSent() {
+        return hedgesSent.get();
+    }
+
+    private Mono<ClientResponse> send(Replica replica, ClientRequest request, String path, ExchangeFunction next) {
+        ClientRequest routed = ClientRequest.from(request)
+                .url(URI.create(replica.baseUrl + path))
+                .build();
+        return Mono.defer(() -> {
+            replica.outstanding.incrementAndGet();
+            long start = System.nanoTime();
+            return next.exchange(routed)
+                    .doOnNext(response -> latencies.record(System.nanoTime() - start))
+                    .doFinally(signal -> replica.outstanding.decrementAndGet());
+        });
+    }
+
+    /**
+     * Picks the replica with the fewest outstanding calls, scanning from a rotating start so ties alternate.
+     *
+     * @param exclude A replica to skip (the one already serving the call), or {@code null}.
+     */
+    private Replica pick(Replica exclude) {
+        int size = replicas.size();
+        int start = exclude == null
+                ? Math.floorMod(rotation.getAndIncrement(), size)
+                : replicas.indexOf(exclude) + 1;
+        Replica best = null;
+        for (int i = 0; i < size; i++) {
+            Replica candidate = replicas.get((start + i) % size);
+            if (candidate != exclude && (best == null || candidate.outstanding.get() < best.outstanding.get())) {
+                best = candidate;
+            }
+        }
+        return best;
+    }
+
+    private Duration hedgeDelay() {
+        long percentileNanos = latencies.percentileNanos();
+        Duration delay = percentileNanos < 0 ? initialDelay : Duration.ofNanos(percentileNanos);
+        return delay.compareTo(minDelay) < 0 ? minDelay : delay;
+    }
+
+    private static final class Replica {
+
+        private final String baseUrl;
+        private final AtomicInteger outstanding = new AtomicInteger();
+
+        private Replica(String baseUrl) {
+            this.baseUrl = baseUrl;
+        }
+    }
+}
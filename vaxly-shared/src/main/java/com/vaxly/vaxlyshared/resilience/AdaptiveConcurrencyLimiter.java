@@ -0,0 +1,152 @@
+package com.vaxly.vaxlyshared.resilience;
+
+import com.vaxly.vaxlyshared.config.ResilienceProperties;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Concurrency limit for calls to a downstream service that adapts to its observed latency (gradient limiter).
+ * <p>
+ * A long-term average of round-trip times stands for the service's healthy latency. Each completed call compares
+ * its own RTT with it: while RTTs stay within {@code tolerance} of the average the limit grows by about
+ * {@code sqrt(limit)}, and as they rise above it the limit shrinks in proportion (never by more than half per step).
+ * Timeouts and overload responses cut the limit by {@code backoffRatio}. The limit only grows while at least half
+ * of it is in use, so an idle client does not accumulate headroom it has never tested.
+ * <p>
+ * Calls beyond the limit are rejected immediately rather than queued.
+ */
+public final class AdaptiveConcurrencyLimiter {
+
+    private final int minLimit;
+    private final int maxLimit;
+    private final double smoothing;
+    private final double tolerance;
+    private final double backoffRatio;
+    private final int rttWindow;
+
+    private final AtomicInteger inFlight = new AtomicInteger();
+    private double estimatedLimit;
+    private double longRttNanos;
+    private volatile int limit;
+
+    public AdaptiveConcurrencyLimiter(int initialLimit, int minLimit, int maxLimit, double smoothing,
+                                      double tolerance, double backoffRatio, int rttWindow) {
+        if (minLimit < 1 || maxLimit < minLimit) {
+            throw new IllegalArgumentException("Invalid concurrency limit bounds: " + minLimit + ".." + maxLimit);
+        }
+        this.minLimit = minLimit;
+        this.maxLimit = maxLimit;
+        this.smoothing = smoothing;
+        this.tolerance = tolerance;
+        this.backoffRatio = backoffRatio;
+        this.rttWindow = Math.max(1, rttWindow);
+        this.estimatedLimit = Math.clamp(initialLimit, minLimit, maxLimit);
+        this.limit = (int) estimatedLimit;
+    }
+
+    public AdaptiveConcurrencyLimiter(ResilienceProperties.Limiter props) {
+        this(props.getInitialLimit(), props.getMinLimit(), props.getMaxLimit(), props.getSmoothing(),
+                props.getTolerance(), props.getBackoffRatio(), props.getRttWindow());
+    }
+
+    /**
+     * Reserves a slot for one call.
+     *
+     * @return A permit to settle when the call completes, or {@code null} if the limit is reached.
+     */
+    public Permit tryAcquire() {
+        while (true) {
+            int current = inFlight.get();
+            if (current >= limit) {
+                return null;
+            }
+            if (inFlight.compareAndSet(current, current + 1)) {
+                return new Permit(current + 1, System.nanoTime());
+            }
+        }
+    }
+
+    public int getLimit() {
+        return limit;
+    }
+
+    public int getInFlight() {
+        return inFlight.get();
+    }
+
+    private synchronized void onSample(long rttNanos, int inFlightAtStart) {
+        if (longRttNanos == 0) {
+            longRttNanos = rttNanos;
+        } else {
+            longRttNanos += (rttNanos - longRttNanos) / rttWindow;
+        }
+        // After a latency spike the long-term average stays high; pull it down faster once RTTs recover
+        if (longRttNanos > 2.0 * rttNanos) {
+            longRttNanos *= 0.95;
+        }
+        if (inFlightAtStart < estimatedLimit / 2) {
+            return;
+        }
+        double gradient = Math.clamp(tolerance * longRttNanos / Math.max(1, rttNanos), 0.5, 1.0);
+        double target = estimatedLimit * gradient + Math.sqrt(estimatedLimit);
+        update(estimatedLimit * (1 - smoothing) + target * smoothing);
+    }
+
+    private synchronized void onDropped() {
+        update(estimatedLimit * backoffRatio);
+    }
+
+    private void update(double newLimit) {
+        estimatedLimit = Math.clamp(newLimit, minLimit, maxLimit);
+        limit = (int) estimatedLimit;
+    }
+
+    /**
+     * One admitted call. Exactly one of the settling methods takes effect; later calls are ignored.
+     */
+    public final class Permit {
+
+        private final int inFlightAtStart;
+        private final long startNanos;
+        private final AtomicBoolean settled = new AtomicBoolean();
+
+        private Permit(int inFlightAtStart, long startNanos) {
+            this.inFlightAtStart = inFlightAtStart;
+            this.startNanos = startNanos;
+        }
+
+        /**
+         * The downstream answered; its latency is fed to the limit.
+         */
+        public void success() {
+            if (settle()) {
+                onSample(System.nanoTime() - startNanos, inFlightAtStart);
+            }
+        }
+
+        /**
+         * The call timed out or the downstream reported overload; the limit is reduced.
+         */
+        public void dropped() {
+            if (settle()) {
+                onDropped();
+            }
+        }
+
+        /**
+         * The call ended without a meaningful latency (e.g., cancelled or failed to connect); the limit is unchanged.
+         */
+        public void ignore() {
+            settle();
+        }
+
+        private boolean settle() {
+            if (!settled.compareAndSet(false, true)) {
+                return false;
+            }
+            inFlight.decrementAndGet();
+            return true;
+        }
+    }
+}
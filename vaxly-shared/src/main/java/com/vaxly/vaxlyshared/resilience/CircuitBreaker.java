@@ -0,0 +1,157 @@
+package com.vaxly.vaxlyshared.resilience;
+
+import com.vaxly.vaxlyshared.config.ResilienceProperties;
+
+import java.time.Duration;
+import java.util.Arrays;
+import java.util.function.LongSupplier;
+
+/**
+ * Count-based circuit breaker for calls to a downstream service.
+ * <p>
+ * - CLOSED: calls pass and their outcomes fill a ring of the last {@code windowSize} results. Once at least
+ *   {@code minimumCalls} are recorded and the failure rate reaches {@code failureRateThreshold}, the breaker opens.
+ * - OPEN: calls are rejected without reaching the downstream service until {@code openDuration} has passed.
+ * - HALF_OPEN: up to {@code halfOpenProbes} calls are let through. If all succeed the breaker closes with an
+ *   empty window; the first failure opens it again for another {@code openDuration}.
+ */
+public final class CircuitBreaker {
+
+    public enum State { CLOSED, OPEN, HALF_OPEN }
+
+    private final int windowSize;
+    private final int minimumCalls;
+    private final double failureRateThreshold;
+    private final long openNanos;
+    private final int halfOpenProbes;
+    private final LongSupplier nanoClock;
+
+    private final boolean[] failures;
+    private int recorded;
+    private int next;
+    private int failureCount;
+
+    private State state = State.CLOSED;
+    private long openedAt;
+    private int probesPermitted;
+    private int probeSuccesses;
+
+    public CircuitBreaker(int windowSize, int minimumCalls, double failureRateThreshold, Duration openDuration,
+                          int halfOpenProbes, LongSupplier nanoClock) {
+        if (windowSize < 1 || halfOpenProbes < 1) {
+            throw new IllegalArgumentException("Circuit breaker window and probe count must be positive");
+        }
+        this.windowSize = windowSize;
+        this.minimumCalls = Math.clamp(minimumCalls, 1, windowSize);
+        this.failureRateThreshold = failureRateThreshold;
+        this.openNanos = openDuration.toNanos();
+        this.halfOpenProbes = halfOpenProbes;
+        this.nanoClock = nanoClock;
+        this.failures = new boolean[windowSize];
+    }
+
+    public CircuitBreaker(ResilienceProperties.Breaker props) {
+        this(props.getWindowSize(), props.getMinimumCalls(), props.getFailureRateThreshold(), props.getOpenDuration(),
+                props.getHalfOpenProbes(), System::nanoTime);
+    }
+
+    /**
+     * @return {@code true} if a call may go ahead; it must then be settled with exactly one of
+     * {@link #onSuccess()}, {@link #onFailure()} or {@link #onIgnored()}.
+     */
+    public synchronized boolean tryAcquirePermission() {
+        if (state == State.OPEN) {
+            if (nanoClock.getAsLong() - openedAt < openNanos) {
+                return false;
+            }
+            state = State.HALF_OPEN;
+            probesPermitted = 0;
+            probeSuccesses = 0;
+        }
+        if (state == State.HALF_OPEN) {
+            if (probesPermitted >= halfOpenProbes) {
+                return false;
+            }
+            probesPermitted++;
+        }
+        return true;
+    }
+
+    public synchronized void onSuccess() {
+        if (state == State.HALF_OPEN) {
+            if (++probeSuccesses >= halfOpenProbes) {
+                close();
+            }
+        } else if (state == State.CLOSED) {
+            record(false);
+            openIfFailureRateExceeded();
+        }
+    }
+
+    public synchronized void onFailure() {
+        if (state == State.HALF_OPEN) {
+            open();
+        } else if (state == State.CLOSED) {
+            record(true);
+            openIfFailureRateExceeded();
+        }
+    }
+
+    /**
+     * Settles a permitted call that never reached the downstream service, freeing its probe slot if half-open.
+     */
+    public synchronized void onIgnored() {
+        if (state == State.HALF_OPEN && probesPermitted > 0) {
+            probesPermitted--;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * @return How long until the breaker lets a probe through; zero unless open.
+     */
+    public synchronized Duration retryAfter() {
+        if (state != State.OPEN) {
+            return Duration.ZERO;
+        }
+        return Duration.ofNanos(Math.max(0, openNanos - (nanoClock.getAsLong() - openedAt)));
+    }
+
+    private void record(boolean failed) {
+        if (recorded == windowSize) {
+            if (failures[next]) {
+                failureCount--;
+            }
+        } else {
+            recorded++;
+        }
+        failures[next] = failed;
+        if (failed) {
+            failureCount++;
+        }
+        next = (next + 1) % windowSize;
+    }
+
+    private void openIfFailureRateExceeded() {
+        // Checked after every outcome: a success can complete the minimum number of calls
+        if (recorded >= minimumCalls && (double) failureCount / recorded >= failureRateThreshold) {
+            open();
+        }
+    }
+
+    private void open() {
+        state = State.OPEN;
+        openedAt = nanoClock.getAsLong();
+    }
+
+    private void close() {
+        state = State.CLOSED;
+        Arrays.fill(failures, false);
+        recorded = 0;
+        next = 0;
+        failureCount = 0;
+    }
+}
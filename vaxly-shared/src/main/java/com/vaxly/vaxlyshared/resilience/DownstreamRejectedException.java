@@ -0,0 +1,24 @@
+package com.vaxly.vaxlyshared.resilience;
+
+import java.time.Duration;
+
+/**
+ * Raised without calling the downstream service because its circuit breaker is open
+ * or its concurrency limit is reached.
+ */
+public class DownstreamRejectedException extends RuntimeException {
+
+    private final Duration retryAfter;
+
+    public DownstreamRejectedException(String message, Duration retryAfter) {
+        super(message);
+        this.retryAfter = retryAfter;
+    }
+
+    /**
+     * @return How long callers should wait before trying again.
+     */
+    public Duration getRetryAfter() {
+        return retryAfter;
+    }
+}
@@ -0,0 +1,107 @@
+package com.vaxly.vaxlyshared.resilience;
+
+import com.vaxly.vaxlyshared.config.ResilienceProperties;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import org.springframework.web.reactive.function.client.ExchangeFilterFunction;
+import org.springframework.web.reactive.function.client.ExchangeFunction;
+import reactor.core.publisher.Mono;
+
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Guards every call made through a {@code WebClient} with a circuit breaker, an adaptive concurrency limit
+ * and a deadline.
+ * <p>
+ * A call is rejected with {@link DownstreamRejectedException} before any I/O while the breaker is open or the limit
+ * is reached. Otherwise it must receive its response status within {@code timeout}. Outcomes feed both guards:
+ * - 2xx-4xx responses are successes and their latency adjusts the limit;
+ * - 5xx and 429 responses and timeouts are failures and shrink the limit;
+ * - connection errors are failures for the breaker but carry no latency for the limit.
+ */
+public class ResilienceFilter implements ExchangeFilterFunction {
+
+    private static final Logger logger = LoggerFactory.getLogger(ResilienceFilter.class);
+
+    private final AdaptiveConcurrencyLimiter limiter;
+    private final CircuitBreaker breaker;
+    private final Duration timeout;
+    private final Duration limitRetryAfter;
+
+    public ResilienceFilter(AdaptiveConcurrencyLimiter limiter, CircuitBreaker breaker, Duration timeout, Duration limitRetryAfter) {
+        this.limiter = limiter;
+        this.breaker = breaker;
+        this.timeout = timeout;
+        this.limitRetryAfter = limitRetryAfter;
+    }
+
+    public ResilienceFilter(ResilienceProperties props) {
+        this(new AdaptiveConcurrencyLimiter(props.getLimiter()), new CircuitBreaker(props.getBreaker()),
+                props.getTimeout(), props.getLimitRetryAfter());
+    }
+
+    @Override
+    public Mono<ClientResponse> filter(ClientRequest request, ExchangeFunction next) {
+        return Mono.defer(() -> {
+            if (!breaker.tryAcquirePermission()) {
+                logger.warn("Circuit breaker is open; rejecting {} {}.", request.method(), request.url());
+                return Mono.error(new DownstreamRejectedException("Circuit breaker is open", breaker.retryAfter()));
+            }
+            AdaptiveConcurrencyLimiter.Permit permit = limiter.tryAcquire();
+            if (permit == null) {
+                breaker.onIgnored();
+                logger.warn("Concurrency limit of {} reached; rejecting {} {}.", limiter.getLimit(), request.method(), request.url());
+                return Mono.error(new DownstreamRejectedException("Concurrency limit reached", limitRetryAfter));
+            }
+
+            AtomicBoolean settled = new AtomicBoolean();
+            return next.exchange(request)
+                    .timeout(timeout)
+                    .doOnNext(response -> {
+                        if (settled.compareAndSet(false, true)) {
+                            if (isOverloaded(response)) {
+                                permit.dropped();
+                                breaker.onFailure();
+                            } else {
+                                permit.success();
+                                breaker.onSuccess();
+                            }
+                        }
+                    })
+                    .doOnError(e -> {
+                        if (settled.compareAndSet(false, true)) {
+                            if (e instanceof TimeoutException) {
+                                logger.warn("{} {} exceeded its {} ms deadline.", request.method(), request.url(), timeout.toMillis());
+                                permit.dropped();
+                            } else {
+                                permit.ignore();
+                            }
+                            breaker.onFailure();
+                        }
+                    })
+                    .doFinally(signal -> {
+                        if (settled.compareAndSet(false, true)) {
+                            permit.ignore();
+                            breaker.onIgnored();
+                        }
+                    });
+        });
+    }
+
+    public AdaptiveConcurrencyLimiter getLimiter() {
+        return limiter;
+    }
+
+    public CircuitBreaker getBreaker() {
+        return breaker;
+    }
+
+    private static boolean isOverloaded(ClientResponse response) {
+        return response.statusCode().is5xxServerError() || response.statusCode().value() == HttpStatus.TOO_MANY_REQUESTS.value();
+    }
+}
@@ -0,0 +1,260 @@
+package com.vaxly.vaxlyshared.serialization;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.node.ObjectNode;
+import com.vaxly.vaxlyshared.dtos.RateInfoDto;
+import org.springframework.data.redis.serializer.RedisSerializer;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.io.IOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.time.format.DateTimeParseException;
+
+/**
+ * Compact, versioned binary encoding of {@link RateInfoDto} for Redis values.
+ * <p>
+ * Version 1 layout (big-endian):
+ * <pre>
+ *   byte    version   (0x01)
+ *   byte    flags     (bit 0: timestamp present, bit 1: source present, bit 2: currency pair present)
+ *   double  rate
+ *   long    timestamp (epoch millis, only if present)
+ *   varint  length + UTF-8 bytes of the currency pair (only if present)
+ *   varint  length + UTF-8 bytes of the source (only if present)
+ * </pre>
+ * A typical entry is about 40 bytes against roughly 100 for the JSON form. Timestamps are kept to the millisecond.
+ * <p>
+ * Values written as JSON objects by earlier releases are always read. Which form is written is chosen at
+ * construction: {@link Format#JSON}, the default, can be read by every release, so it is safe while old
+ * instances still share the cache; switch to {@link Format#BINARY} once every reader is upgraded.
+ */
+public class RateInfoRedisSerializer implements RedisSerializer<RateInfoDto> {
+
+    /**
+     * The encoding {@link #serialize(RateInfoDto)} writes.
+     */
+    public enum Format {
+        /** The JSON object earlier releases wrote and read, with an ISO-8601 timestamp. */
+        JSON,
+        /** The version 1 binary layout above. */
+        BINARY
+    }
+
+    static final byte VERSION_1 = 0x01;
+
+    private static final int HAS_TIMESTAMP = 1;
+    private static final int HAS_SOURCE = 1 << 1;
+    private static final int HAS_CURRENCY_PAIR = 1 << 2;
+
+    private final ObjectMapper mapper = new ObjectMapper();
+    private final Format writeFormat;
+
+    /**
+     * Creates a serializer that writes {@link Format#JSON}.
+     */
+    public RateInfoRedisSerializer() {
+        this(Format.JSON);
+    }
+
+    /**
+     * @param writeFormat The encoding to write; both are always read.
+     */
+    public RateInfoRedisSerializer(Format writeFormat) {
+        this.writeFormat = writeFormat;
+    }
+
+    @Override
+    public byte[] serialize(RateInfoDto value) throws SerializationException {
+        if (value == null) {
+            return new byte[0];
+        }
+        return writeFormat == Format.BINARY ? writeVersion1(value) : writeJson(value);
+    }
+
+    private static byte[] writeVersion1(RateInfoDto value) {
+        byte[] currencyPair = utf8(value.getCurrencyPair());
+        byte[] source = utf8(value.getSource());
+        Instant timestamp = value.getTimestamp();
+
+        int flags = (timestamp != null ? HAS_TIMESTAMP : 0)
+                | (source != null ? HAS_SOURCE : 0)
+                | (currencyPair != null ? HAS_CURRENCY_PAIR : 0);
+        int size = 2 + Double.BYTES
+                + (timestamp != null ? Long.BYTES : 0)
+                + sizeOf(currencyPair)
+                + sizeOf(source);
+
+        byte[] bytes = new byte[size];
+        bytes[0] = VERSION_1;
+        bytes[1] = (byte) flags;
+        int position = writeLong(bytes, 2, Double.doubleToRawLongBits(value.getRate()));
+        if (timestamp != null) {
+            position = writeLong(bytes, position, timestamp.toEpochMilli());
+        }
+        position = writeString(bytes, position, currencyPair);
+        writeString(bytes, position, source);
+        return bytes;
+    }
+
+    @Override
+    public RateInfoDto deserialize(byte[] bytes) throws SerializationException {
+        if (bytes == null || bytes.length == 0) {
+            return null;
+        }
+        if (bytes[0] == VERSION_1) {
+            return readVersion1(bytes);
+        }
+        if (isJsonObject(bytes)) {
+            return readJson(bytes);
+        }
+        throw new SerializationException("Unsupported rate encoding version: " + (bytes[0] & 0xff));
+    }
+
+    private static RateInfoDto readVersion1(byte[] bytes) {
+        try {
+            int flags = bytes[1];
+            double rate = Double.longBitsToDouble(readLong(bytes, 2));
+            int[] position = {2 + Double.BYTES};
+
+            Instant timestamp = null;
+            if ((flags & HAS_TIMESTAMP) != 0) {
+                timestamp = Instant.ofEpochMilli(readLong(bytes, position[0]));
+                position[0] += Long.BYTES;
+            }
+            String currencyPair = (flags & HAS_CURRENCY_PAIR) != 0 ? readString(bytes, position) : null;
+            String source = (flags & HAS_SOURCE) != 0 ? readString(bytes, position) : null;
+            return new RateInfoDto(source, timestamp, rate, currencyPair);
+        } catch (IndexOutOfBoundsException e) {
+            throw new SerializationException("Truncated rate value of " + bytes.length + " bytes", e);
+        }
+    }
+
+    /**
+     * Writes the JSON object earlier releases read: the DTO's four properties, with the timestamp as an ISO-8601 string.
+     */
+    private byte[] writeJson(RateInfoDto value) {
+        ObjectNode node = mapper.createObjectNode();
+        node.put("source", value.getSource());
+        node.put("timestamp", value.getTimestamp() == null ? null : value.getTimestamp().toString());
+        node.put("rate", value.getRate());
+        node.put("currencyPair", value.getCurrencyPair());
+        try {
+            return mapper.writeValueAsBytes(node);
+        } catch (IOException e) {
+            throw new SerializationException("Could not write JSON rate value", e);
+        }
+    }
+
+    /**
+     * Reads the JSON written by earlier releases. The timestamp may be an ISO-8601 string, epoch seconds
+     * with a nanosecond fraction, or epoch millis, depending on how the writer's mapper was configured.
+     */
+    private RateInfoDto readJson(byte[] bytes) {
+        try {
+            JsonNode node = mapper.readTree(bytes);
+            return new RateInfoDto(
+                    text(node, "source"),
+                    timestamp(node.get("timestamp")),
+                    node.path("rate").asDouble(),
+                    text(node, "currencyPair")
+            );
+        } catch (IOException | DateTimeParseException | ArithmeticException e) {
+            throw new SerializationException("Could not read JSON rate value", e);
+        }
+    }
+
+    private static boolean isJsonObject(byte[] bytes) {
+        for (byte b : bytes) {
+            if (!Character.isWhitespace(b)) {
+                return b == '{';
+            }
+        }
+        return false;
+    }
+
+    private static String text(JsonNode node, String field) {
+        JsonNode value = node.get(field);
+        return value == null || value.isNull() ? null : value.asText();
+    }
+
+    private static Instant timestamp(JsonNode value) {
+        if (value == null || value.isNull()) {
+            return null;
+        }
+        if (value.isTextual()) {
+            return Instant.parse(value.asText());
+        }
+        if (value.isIntegralNumber()) {
+            return Instant.ofEpochMilli(value.asLong());
+        }
+        BigDecimal seconds = value.decimalValue();
+        return Instant.ofEpochSecond(seconds.longValue(),
+                seconds.remainder(BigDecimal.ONE).movePointRight(9).intValueExact());
+    }
+
+    private static byte[] utf8(String value) {
+        return value == null ? null : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int sizeOf(byte[] string) {
+        if (string == null) {
+            return 0;
+        }
+        int size = string.length;
+        int prefix = 1;
+        while ((size >>>= 7) != 0) {
+            prefix++;
+        }
+        return prefix + string.length;
+    }
+
+    private static int writeString(byte[] bytes, int position, byte[] string) {
+        if (string == null) {
+            return position;
+        }
+        int length = string.length;
+        while ((length & ~0x7f) != 0) {
+            bytes[position++] = (byte) ((length & 0x7f) | 0x80);
+            length >>>= 7;
+        }
+        bytes[position++] = (byte) length;
+        System.arraycopy(string, 0, bytes, position, string.length);
+        return position + string.length;
+    }
+
+    private static String readString(byte[] bytes, int[] position) {
+        int length = 0;
+        int shift = 0;
+        byte b;
+        do {
+            b = bytes[position[0]++];
+            length |= (b & 0x7f) << shift;
+            shift += 7;
+        } while ((b & 0x80) != 0);
+
+        if (length < 0 || position[0] + length > bytes.length) {
+            throw new IndexOutOfBoundsException(length);
+        }
+        String value = new String(bytes, position[0], length, StandardCharsets.UTF_8);
+        position[0] += length;
+        return value;
+    }
+
+    private static int writeLong(byte[] bytes, int position, long value) {
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            bytes[position++] = (byte) (value >>> shift);
+        }
+        return position;
+    }
+
+    private static long readLong(byte[] bytes, int position) {
+        long value = 0;
+        for (int i = 0; i < Long.BYTES; i++) {
+            value = (value << 8) | (bytes[position + i] & 0xff);
+        }
+        return value;
+    }
+}
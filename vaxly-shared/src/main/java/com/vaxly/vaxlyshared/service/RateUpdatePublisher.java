@@ -0,0 +1,67 @@
+package com.vaxly.vaxlyshared.service;
+
+import com.vaxly.vaxlyshared.constants.RedisKeys;
+import com.vaxly.vaxlyshared.dtos.RateInfoDto;
+import com.vaxly.vaxlyshared.serialization.RateInfoRedisSerializer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.data.redis.core.RedisCallback;
+import org.springframework.data.redis.core.StringRedisTemplate;
+import org.springframework.stereotype.Service;
+
+/**
+ * Publishes rate-change notifications on the {@link RedisKeys#RATE_UPDATES_CHANNEL} channel.
+ * <p>
+ * Any service that writes a rate to Redis should call {@link #publish(String)} afterwards so that
+ * in-process caches in other services can drop their copy of that pair. Any shared negative-cache entry
+ * ({@link RedisKeys#unknownPairKey(String)}) for the pair is removed first, since the pair now exists.
+ * The payload is the normalized currency pair (e.g., "USD_EUR").
+ * <p>
+ * {@link #publish(RateInfoDto)} also sends the rate itself, encoded with {@link RateInfoRedisSerializer}, on the
+ * pair's own {@link RedisKeys#rateChannel(String)}, for subscribers that push rates to clients.
+ */
+@Service
+public class RateUpdatePublisher {
+
+    private static final Logger logger = LoggerFactory.getLogger(RateUpdatePublisher.class);
+
+    private final StringRedisTemplate redisTemplate;
+    // Only subscribers that read both encodings listen on the per-pair channels, so the compact form is always safe
+    private final RateInfoRedisSerializer rateSerializer = new RateInfoRedisSerializer(RateInfoRedisSerializer.Format.BINARY);
+
+    public RateUpdatePublisher(StringRedisTemplate redisTemplate) {
+        this.redisTemplate = redisTemplate;
+    }
+
+    /**
+     * Notifies subscribers that the rate for a currency pair has changed.
+     * Failures are logged and swallowed: subscribers fall back to their own TTL expiry.
+     *
+     * @param currencyPair The currency pair whose rate was written (e.g., "USD_EUR").
+     */
+    public void publish(String currencyPair) {
+        try {
+            redisTemplate.delete(RedisKeys.unknownPairKey(currencyPair));
+            redisTemplate.convertAndSend(RedisKeys.RATE_UPDATES_CHANNEL, currencyPair.toUpperCase());
+        } catch (Exception e) {
+            logger.error("Failed to publish rate update for currency pair '{}'. Error: {}", currencyPair, e.getMessage(), e);
+        }
+    }
+
+    /**
+     * Notifies subscribers that a rate has been written, and sends the new rate to the pair's subscribers.
+     * Failures are logged and swallowed.
+     *
+     * @param rate The rate that was written.
+     */
+    public void publish(RateInfoDto rate) {
+        publish(rate.getCurrencyPair());
+        try {
+            byte[] channel = redisTemplate.getStringSerializer().serialize(RedisKeys.rateChannel(rate.getCurrencyPair()));
+            byte[] payload = rateSerializer.serialize(rate);
+            redisTemplate.execute((RedisCallback<Long>) connection -> connection.publish(channel, payload));
+        } catch (Exception e) {
+            logger.error("Failed to publish rate for currency pair '{}'. Error: {}", rate.getCurrencyPair(), e.getMessage(), e);
+        }
+    }
+}
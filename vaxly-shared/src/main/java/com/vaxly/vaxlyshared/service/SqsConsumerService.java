@@ -4,6 +4,7 @@ import com.vaxly.vaxlyshared.config.AwsSqsProperties;
 import io.awspring.cloud.sqs.operations.SqsTemplate;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 import org.springframework.messaging.Message;
 
@@ -26,6 +27,8 @@ import java.util.concurrent.atomic.AtomicBoolean;
  *   <li>Failed messages remain on the queue and will be retried after the visibility timeout.</li>
  *   <li>Polling runs in a dedicated background thread with error backoff and graceful shutdown support.</li>
  * </ul>
+ * When {@code spring.threads.virtual.enabled} is set the worker runs on a virtual thread, so the
+ * 20s long poll parks instead of holding a platform thread.
  */
 @Service
 public class SqsConsumerService {
@@ -36,12 +39,15 @@ public class SqsConsumerService {
     private final String queueUrl;
     private final AtomicBoolean running = new AtomicBoolean(true);
     private final SqsMessageHandler messageHandler;
+    private final boolean virtualThreads;
     private Thread workerThread;
 
-    public SqsConsumerService(AwsSqsProperties props, SqsTemplate sqsTemplate, SqsMessageHandler messageHandler) {
+    public SqsConsumerService(AwsSqsProperties props, SqsTemplate sqsTemplate, SqsMessageHandler messageHandler,
+                              @Value("${spring.threads.virtual.enabled:false}") boolean virtualThreads) {
         this.sqsTemplate = sqsTemplate;
         this.queueUrl = props.getQueueUrl();
         this.messageHandler = messageHandler;
+        this.virtualThreads = virtualThreads;
     }
 
     /**
@@ -49,9 +55,9 @@ public class SqsConsumerService {
      */
     @PostConstruct
     public void startWorker() {
-        workerThread = new Thread(this::pollMessages, "sqs-consumer-worker");
-        workerThread.start();
-        logger.info("Started SQS consumer worker for queue: {}", queueUrl);
+        Thread.Builder builder = virtualThreads ? Thread.ofVirtual() : Thread.ofPlatform();
+        workerThread = builder.name("sqs-consumer-worker").start(this::pollMessages);
+        logger.info("Started SQS consumer worker for queue: {} (virtual={})", queueUrl, virtualThreads);
     }
 
     /**
@@ -27,6 +27,8 @@ public class SqsProducerService {
      * This decouples the initial request from the background task.
      *
      * @param currencyPair The currency pair to be refreshed.
+     * @throws MessagingOperationFailedException if the message could not be queued, so callers
+     *         can release any in-flight marker they took for the pair.
      */
     public void sendMessage(String currencyPair) {
         logger.info("Sending message to SQS '{}' with payload: {}", queueUrl, currencyPair);
@@ -39,6 +41,7 @@ public class SqsProducerService {
         } catch (MessagingOperationFailedException e) {
             logger.error("Failed to send message to SQS queue '{}' for currency pair '{}'. Error: {}",
                     queueUrl, currencyPair, e.getMessage(), e);
+            throw e;
         }
     }
 }
@@ -0,0 +1,123 @@
+package com.vaxly.vaxlyshared.usage;
+
+import java.nio.charset.StandardCharsets;
+
+/**
+ * Fixed-size Count-Min Sketch for approximate per-key counts.
+ * <p>
+ * Memory is {@code depth × width} counters regardless of how many distinct keys are added. Estimates
+ * never undercount; they overcount by at most {@code e·N/width} with probability {@code 1 − e^-depth},
+ * where {@code N} is the total of all counts.
+ * <p>
+ * Cell positions depend only on the key and the dimensions, never on the JVM, so sketches built by
+ * different instances with the same dimensions can be merged by adding their counters cell by cell.
+ * The same property lets instances share one sketch in Redis by incrementing its cells (see {@link #cells}).
+ */
+public final class CountMinSketch {
+
+    private static final long FNV_OFFSET_BASIS = 0xcbf29ce484222325L;
+    private static final long FNV_PRIME = 0x100000001b3L;
+
+    private final int depth;
+    private final int width;
+    private final long[][] counts;
+
+    public CountMinSketch(int depth, int width) {
+        if (depth < 1 || width < 1) {
+            throw new IllegalArgumentException("Sketch depth and width must be positive: " + depth + "x" + width);
+        }
+        this.depth = depth;
+        this.width = width;
+        this.counts = new long[depth][width];
+    }
+
+    /**
+     * Returns the column the key maps to in each row.
+     *
+     * @param key The key to locate (e.g., "USD_EUR").
+     * @return One column index per row, in row order.
+     */
+    public int[] cells(String key) {
+        return cells(key, depth, width);
+    }
+
+    /**
+     * Returns the column the key maps to in each row of a {@code depth × width} sketch.
+     * Uses double hashing over a 64-bit FNV-1a hash of the key's UTF-8 bytes.
+     *
+     * @param key   The key to locate (e.g., "USD_EUR").
+     * @param depth Number of rows.
+     * @param width Number of columns per row.
+     * @return One column index per row, in row order.
+     */
+    public static int[] cells(String key, int depth, int width) {
+        long hash = FNV_OFFSET_BASIS;
+        for (byte b : key.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= (b & 0xff);
+            hash *= FNV_PRIME;
+        }
+        int h1 = (int) hash;
+        int h2 = (int) (hash >>> 32) | 1;
+
+        int[] columns = new int[depth];
+        for (int row = 0; row < depth; row++) {
+            columns[row] = Math.floorMod(h1 + row * h2, width);
+        }
+        return columns;
+    }
+
+    /**
+     * Adds {@code count} occurrences of a key.
+     *
+     * @param key   The key to count (e.g., "USD_EUR").
+     * @param count Number of occurrences; must not be negative.
+     */
+    public void add(String key, long count) {
+        if (count < 0) {
+            throw new IllegalArgumentException("Count-Min Sketch counts cannot be decremented: " + count);
+        }
+        int[] columns = cells(key);
+        for (int row = 0; row < depth; row++) {
+            counts[row][columns[row]] += count;
+        }
+    }
+
+    /**
+     * @param key The key to look up (e.g., "USD_EUR").
+     * @return An upper bound on the number of times the key has been added.
+     */
+    public long estimate(String key) {
+        int[] columns = cells(key);
+        long estimate = Long.MAX_VALUE;
+        for (int row = 0; row < depth; row++) {
+            estimate = Math.min(estimate, counts[row][columns[row]]);
+        }
+        return estimate;
+    }
+
+    /**
+     * Adds every counter of {@code other} into this sketch.
+     *
+     * @param other A sketch with the same dimensions.
+     * @throws IllegalArgumentException if the dimensions differ.
+     */
+    public void merge(CountMinSketch other) {
+        if (other.depth != depth || other.width != width) {
+            throw new IllegalArgumentException("Cannot merge a " + other.depth + "x" + other.width
+                    + " sketch into a " + depth + "x" + width + " sketch");
+        }
+        for (int row = 0; row < depth; row++) {
+            for (int column = 0; column < width; column++) {
+                counts[row][column] += other.counts[row][column];
+            }
+        }
+    }
+
+    public int getDepth() {
+        return depth;
+    }
+
+    public int getWidth() {
+        return width;
+    }
+}
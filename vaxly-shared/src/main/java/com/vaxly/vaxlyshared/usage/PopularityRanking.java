@@ -0,0 +1,13 @@
+package com.vaxly.vaxlyshared.usage;
+
+/**
+ * How currency pairs are ranked when choosing which rates to refresh.
+ */
+public enum PopularityRanking {
+    /** Total uses since tracking began, estimated from the shared Count-Min Sketch. */
+    LIFETIME,
+    /** Uses within a sliding window of recent buckets. */
+    WINDOWED,
+    /** Uses weighted by recency, halving in weight every configured half-life. */
+    DECAYED
+}
@@ -0,0 +1,99 @@
+package com.vaxly.vaxlyshared.bulk;
+
+import com.vaxly.vaxlyshared.currency.CurrencyRegistry;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class BulkConverterTest {
+
+    private final String DEFAULT_STATE = "CACHED";
+
+    @Test
+    @DisplayName("convert() resolves each distinct pair once per upload, across chunks")
+    public void givenRepeatedPairs_whenConvert_thenResolvesEachPairOnce() throws IOException {
+        List<String> resolved = new ArrayList<>();
+        StringWriter output = new StringWriter();
+
+        long rows = new BulkConverter(2).convert(new StringReader("""
+                from,to,amount
+                USD,EUR,100
+                usd,eur,10
+                GBP,JPY,2
+                USD,EUR,1
+                """), output, BulkFormat.CSV, recordingResolver(resolved));
+
+        assertEquals(4, rows);
+        assertEquals(List.of("USD_EUR", "GBP_JPY"), resolved);
+        assertEquals("""
+                line,from,to,amount,rate,convertedAmount,stateFlag
+                2,USD,EUR,100.0,0.5,50.0,CACHED
+                3,USD,EUR,10.0,0.5,5.0,CACHED
+                4,GBP,JPY,2.0,,,UNAVAILABLE
+                5,USD,EUR,1.0,0.5,0.5,CACHED
+                """, output.toString());
+    }
+
+    @Test
+    @DisplayName("convert() flags unparseable rows and unsupported currencies as INVALID without resolving them")
+    public void givenInvalidRows_whenConvert_thenFlagsThem() throws IOException {
+        List<String> resolved = new ArrayList<>();
+        StringWriter output = new StringWriter();
+
+        new BulkConverter(16).convert(new StringReader("""
+                USD,XYZ,1
+                USD,EUR
+                USD,EUR,abc
+
+                USD, EUR ,3
+                """), output, BulkFormat.CSV, recordingResolver(resolved));
+
+        assertEquals(List.of("USD_EUR"), resolved);
+        assertEquals("""
+                line,from,to,amount,rate,convertedAmount,stateFlag
+                1,,,,,,INVALID
+                2,,,,,,INVALID
+                3,,,,,,INVALID
+                5,USD,EUR,3.0,0.5,1.5,CACHED
+                """, output.toString());
+    }
+
+    @Test
+    @DisplayName("convert() reads and writes NDJSON")
+    public void givenNdjson_whenConvert_thenWritesNdjson() throws IOException {
+        StringWriter output = new StringWriter();
+
+        new BulkConverter(16).convert(new StringReader("""
+                {"from":"USD","to":"EUR","amount":4,"reference":{"id":1}}
+                {"from":"USD","to":"EUR"}
+                not json
+                """), output, BulkFormat.NDJSON, recordingResolver(new ArrayList<>()));
+
+        assertEquals("""
+                {"line":1,"from":"USD","to":"EUR","amount":4.0,"rate":0.5,"convertedAmount":2.0,"stateFlag":"CACHED"}
+                {"line":2,"stateFlag":"INVALID"}
+                {"line":3,"stateFlag":"INVALID"}
+                """, output.toString());
+    }
+
+    /**
+     * Prices USD_EUR at 0.5 and reports every other pair unavailable, recording what it was asked for.
+     */
+    private PairRateResolver recordingResolver(List<String> resolved) {
+        int usdEur = CurrencyRegistry.pairId("USD", "EUR");
+        return (pairIds, count, rates, states) -> {
+            for (int i = 0; i < count; i++) {
+                resolved.add(CurrencyRegistry.pairKey(pairIds[i]));
+                rates[i] = pairIds[i] == usdEur ? 0.5 : Double.NaN;
+                states[i] = pairIds[i] == usdEur ? DEFAULT_STATE : "UNAVAILABLE";
+            }
+        };
+    }
+}
@@ -0,0 +1,51 @@
+package com.vaxly.vaxlyshared.currency;
+
+import com.vaxly.vaxlyshared.constants.RedisKeys;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CurrencyRegistryTest {
+
+    @Test
+    @DisplayName("pairId() accepts ISO 4217 codes in any case and rejects everything else")
+    public void givenCodes_whenPairId_thenOnlySupportedCodesResolve() {
+        int pairId = CurrencyRegistry.pairId("USD", "EUR");
+
+        assertNotEquals(CurrencyRegistry.UNKNOWN, pairId);
+        assertEquals(pairId, CurrencyRegistry.pairId("usd", "eUr"));
+        assertEquals(pairId, CurrencyRegistry.pairId("usd_eur"));
+        assertEquals(CurrencyRegistry.UNKNOWN, CurrencyRegistry.pairId("USD", "XYZ"));
+        assertEquals(CurrencyRegistry.UNKNOWN, CurrencyRegistry.pairId("US", "EUR"));
+        assertEquals(CurrencyRegistry.UNKNOWN, CurrencyRegistry.pairId("U{D", "EUR"));
+        assertEquals(CurrencyRegistry.UNKNOWN, CurrencyRegistry.pairId("USDEUR"));
+        assertEquals(CurrencyRegistry.UNKNOWN, CurrencyRegistry.pairId("USD-EUR"));
+        assertEquals(CurrencyRegistry.UNKNOWN, CurrencyRegistry.pairId(null, "EUR"));
+    }
+
+    @Test
+    @DisplayName("pair ids round-trip through their currency ids and stay within PAIR_COUNT")
+    public void givenPairId_whenDecoded_thenRoundTrips() {
+        int pairId = CurrencyRegistry.pairId("GBP", "JPY");
+
+        assertTrue(pairId >= 0 && pairId < CurrencyRegistry.PAIR_COUNT);
+        assertEquals("GBP", CurrencyRegistry.code(CurrencyRegistry.baseId(pairId)));
+        assertEquals("JPY", CurrencyRegistry.code(CurrencyRegistry.quoteId(pairId)));
+        assertEquals(CurrencyRegistry.pairId("JPY", "GBP"), CurrencyRegistry.inverse(pairId));
+    }
+
+    @Test
+    @DisplayName("pairKey() and the Redis keys of a supported pair are built once and reused")
+    public void givenSupportedPair_whenKeys_thenSameInstanceEveryTime() {
+        int pairId = CurrencyRegistry.pairId("usd", "eur");
+
+        assertEquals("USD_EUR", CurrencyRegistry.pairKey(pairId));
+        assertSame(CurrencyRegistry.pairKey(pairId), RedisKeys.normalizePair("Usd", "eur"));
+        assertEquals("rate:USD_EUR", RedisKeys.rateKey("usd_eur"));
+        assertSame(RedisKeys.rateKey(pairId), RedisKeys.rateKey("USD_EUR"));
+        assertSame(RedisKeys.inflightKey(pairId), RedisKeys.inflightKey("USD", "EUR"));
+        assertSame(RedisKeys.lastRefreshKey(pairId), RedisKeys.lastRefreshKey("USD_EUR"));
+        assertEquals("inflight:BTCUSD", RedisKeys.inflightKey("btcusd"));
+    }
+}
@@ -0,0 +1,117 @@
+package com.vaxly.vaxlyshared.loadbalancing;
+
+import com.vaxly.vaxlyshared.config.ExternalApiProperties;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.web.reactive.function.client.WebClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.netty.DisposableServer;
+import reactor.netty.http.server.HttpServer;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class LoadBalancingFilterTest {
+
+    private final AtomicInteger slowHits = new AtomicInteger();
+    private final AtomicInteger fastHits = new AtomicInteger();
+    private DisposableServer slowReplica;
+    private DisposableServer fastReplica;
+
+    @BeforeEach
+    public void startReplicas() {
+        slowReplica = stubReplica("slow", Duration.ofSeconds(1), slowHits);
+        fastReplica = stubReplica("fast", Duration.ZERO, fastHits);
+    }
+
+    @AfterEach
+    public void stopReplicas() {
+        slowReplica.disposeNow();
+        fastReplica.disposeNow();
+    }
+
+    @Test
+    @DisplayName("should route more calls to the replica with fewer outstanding requests")
+    public void givenSlowReplica_whenConcurrentCalls_thenFastReplicaTakesMost() {
+        WebClient client = client(new ExternalApiProperties.Hedging());
+
+        List<String> bodies = Flux.range(0, 40)
+                .flatMap(i -> client.get().uri("USD_EUR").retrieve().bodyToMono(String.class), 4)
+                .collectList()
+                .block(Duration.ofSeconds(20));
+
+        assertEquals(40, bodies.size());
+        assertTrue(fastHits.get() > 3 * slowHits.get(), "fast=" + fastHits.get() + " slow=" + slowHits.get());
+    }
+
+    @Test
+    @DisplayName("should answer from the second replica when the first is slower than the hedge delay")
+    public void givenSlowPrimary_whenHedgingEnabled_thenFastReplicaAnswers() {
+        ExternalApiProperties.Hedging hedging = hedging(1);
+        LoadBalancingFilter filter = new LoadBalancingFilter(List.of(baseUrl(slowReplica), baseUrl(fastReplica)), hedging);
+        WebClient client = WebClient.builder().baseUrl(baseUrl(slowReplica)).filter(filter).build();
+
+        long start = System.nanoTime();
+        String body = client.get().uri("USD_EUR").retrieve().bodyToMono(String.class).block(Duration.ofSeconds(5));
+
+        assertEquals("fast", body);
+        assertTrue(Duration.ofNanos(System.nanoTime() - start).toMillis() < 800);
+        assertEquals(1, filter.getHedgesSent());
+        assertEquals(1, slowHits.get());
+    }
+
+    @Test
+    @DisplayName("should stop hedging once the budget is spent")
+    public void givenBudgetSpent_whenPrimarySlow_thenWaitsForPrimary() {
+        ExternalApiProperties.Hedging hedging = hedging(1);
+        LoadBalancingFilter filter = new LoadBalancingFilter(List.of(baseUrl(slowReplica), baseUrl(fastReplica)), hedging);
+        WebClient client = WebClient.builder().baseUrl(baseUrl(slowReplica)).filter(filter).build();
+
+        // Round-robin on ties: slow (hedged), fast, slow (budget spent)
+        List<String> bodies = Flux.range(0, 3)
+                .concatMap(i -> client.get().uri("USD_EUR").retrieve().bodyToMono(String.class))
+                .collectList()
+                .block(Duration.ofSeconds(5));
+
+        assertEquals(List.of("fast", "fast", "slow"), bodies);
+        assertEquals(1, filter.getHedgesSent());
+    }
+
+    private WebClient client(ExternalApiProperties.Hedging hedging) {
+        return WebClient.builder()
+                .baseUrl(baseUrl(slowReplica))
+                .filter(new LoadBalancingFilter(List.of(baseUrl(slowReplica), baseUrl(fastReplica)), hedging))
+                .build();
+    }
+
+    private static ExternalApiProperties.Hedging hedging(int budgetBurst) {
+        ExternalApiProperties.Hedging hedging = new ExternalApiProperties.Hedging();
+        hedging.setEnabled(true);
+        hedging.setInitialDelay(Duration.ofMillis(50));
+        hedging.setMinSamples(1_000);
+        hedging.setBudgetRatio(0);
+        hedging.setBudgetBurst(budgetBurst);
+        return hedging;
+    }
+
+    private static String baseUrl(DisposableServer server) {
+        return "http://localhost:" + server.port() + "/api/v1/historical-rates/";
+    }
+
+    private static DisposableServer stubReplica(String name, Duration delay, AtomicInteger hits) {
+        return HttpServer.create()
+                .host("localhost")
+                .port(0)
+                .route(routes -> routes.get("/api/v1/historical-rates/{pair}", (request, response) -> {
+                    hits.incrementAndGet();
+                    return response.sendString(Mono.just(name).delayElement(delay));
+                }))
+                .bindNow();
+    }
+}
@@ -0,0 +1,73 @@
+package com.vaxly.vaxlyshared.resilience;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.locks.LockSupport;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class AdaptiveConcurrencyLimiterTest {
+
+    @Test
+    @DisplayName("tryAcquire() rejects calls beyond the limit and admits again once a permit is settled")
+    public void givenLimitReached_whenTryAcquire_thenRejects() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(2, 1, 10, 0.2, 1.5, 0.9, 10);
+
+        AdaptiveConcurrencyLimiter.Permit first = limiter.tryAcquire();
+        assertNotNull(limiter.tryAcquire());
+        assertNull(limiter.tryAcquire());
+
+        first.ignore();
+        first.ignore();
+        assertEquals(1, limiter.getInFlight());
+        assertNotNull(limiter.tryAcquire());
+    }
+
+    @Test
+    @DisplayName("dropped() cuts the limit but never below the minimum")
+    public void givenTimeouts_whenDropped_thenLimitShrinksToMinimum() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(20, 5, 100, 0.2, 1.5, 0.5, 10);
+
+        limiter.tryAcquire().dropped();
+        assertEquals(10, limiter.getLimit());
+
+        for (int i = 0; i < 10; i++) {
+            limiter.tryAcquire().dropped();
+        }
+        assertEquals(5, limiter.getLimit());
+    }
+
+    @Test
+    @DisplayName("the limit grows while latency is steady and shrinks when latency rises well above its average")
+    public void givenLatencyChanges_whenSuccess_thenLimitFollows() {
+        AdaptiveConcurrencyLimiter limiter = new AdaptiveConcurrencyLimiter(4, 1, 1000, 0.5, 1.5, 0.9, 1000);
+
+        for (int round = 0; round < 5; round++) {
+            settleAll(fill(limiter), 1_000_000);
+        }
+        int grown = limiter.getLimit();
+        assertTrue(grown > 4, "limit should grow under steady latency but was " + grown);
+
+        for (int round = 0; round < 5; round++) {
+            settleAll(fill(limiter), 20_000_000);
+        }
+        assertTrue(limiter.getLimit() < grown, "limit should shrink when latency rises but was " + limiter.getLimit());
+    }
+
+    private static List<AdaptiveConcurrencyLimiter.Permit> fill(AdaptiveConcurrencyLimiter limiter) {
+        List<AdaptiveConcurrencyLimiter.Permit> permits = new ArrayList<>();
+        AdaptiveConcurrencyLimiter.Permit permit;
+        while ((permit = limiter.tryAcquire()) != null) {
+            permits.add(permit);
+        }
+        return permits;
+    }
+
+    private static void settleAll(List<AdaptiveConcurrencyLimiter.Permit> permits, long latencyNanos) {
+        LockSupport.parkNanos(latencyNanos);
+        permits.forEach(AdaptiveConcurrencyLimiter.Permit::success);
+    }
+}
@@ -0,0 +1,70 @@
+package com.vaxly.vaxlyshared.resilience;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CircuitBreakerTest {
+
+    private final AtomicLong clock = new AtomicLong();
+
+    private CircuitBreaker breaker() {
+        return new CircuitBreaker(10, 4, 0.5, Duration.ofSeconds(30), 2, clock::get);
+    }
+
+    @Test
+    @DisplayName("opens once the failure rate reaches the threshold over the minimum number of calls")
+    public void givenFailures_whenThresholdReached_thenOpens() {
+        CircuitBreaker breaker = breaker();
+        breaker.onFailure();
+        breaker.onFailure();
+        breaker.onFailure();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquirePermission());
+        assertEquals(Duration.ofSeconds(30), breaker.retryAfter());
+    }
+
+    @Test
+    @DisplayName("lets a limited number of probes through after the open duration and closes when they succeed")
+    public void givenOpenDurationElapsed_whenProbesSucceed_thenCloses() {
+        CircuitBreaker breaker = breaker();
+        for (int i = 0; i < 4; i++) {
+            breaker.onFailure();
+        }
+        clock.addAndGet(Duration.ofSeconds(31).toNanos());
+
+        assertTrue(breaker.tryAcquirePermission());
+        assertTrue(breaker.tryAcquirePermission());
+        assertFalse(breaker.tryAcquirePermission());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+
+        breaker.onSuccess();
+        breaker.onSuccess();
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertTrue(breaker.tryAcquirePermission());
+    }
+
+    @Test
+    @DisplayName("reopens for another open duration when a probe fails")
+    public void givenHalfOpen_whenProbeFails_thenReopens() {
+        CircuitBreaker breaker = breaker();
+        for (int i = 0; i < 4; i++) {
+            breaker.onFailure();
+        }
+        clock.addAndGet(Duration.ofSeconds(31).toNanos());
+        assertTrue(breaker.tryAcquirePermission());
+
+        breaker.onFailure();
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertFalse(breaker.tryAcquirePermission());
+        assertEquals(Duration.ofSeconds(30), breaker.retryAfter());
+    }
+}
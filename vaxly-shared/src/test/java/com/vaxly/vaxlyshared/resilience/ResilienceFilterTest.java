@@ -0,0 +1,76 @@
+package com.vaxly.vaxlyshared.resilience;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.HttpMethod;
+import org.springframework.http.HttpStatus;
+import org.springframework.web.reactive.function.client.ClientRequest;
+import org.springframework.web.reactive.function.client.ClientResponse;
+import reactor.core.publisher.Mono;
+
+import java.net.URI;
+import java.time.Duration;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class ResilienceFilterTest {
+
+    private final ClientRequest request = ClientRequest.create(HttpMethod.GET, URI.create("http://history/USD_EUR")).build();
+
+    private ResilienceFilter filter(int limit, int breakerWindow) {
+        return new ResilienceFilter(
+                new AdaptiveConcurrencyLimiter(limit, 1, limit, 0.2, 1.5, 0.9, 10),
+                new CircuitBreaker(breakerWindow, breakerWindow, 0.5, Duration.ofSeconds(30), 1, System::nanoTime),
+                Duration.ofMillis(100),
+                Duration.ofSeconds(1));
+    }
+
+    @Test
+    @DisplayName("should fail fast without calling downstream once the breaker has opened")
+    public void givenServerErrors_whenBreakerOpens_thenRejectsWithoutCalling() {
+        ResilienceFilter filter = filter(10, 2);
+        AtomicInteger calls = new AtomicInteger();
+
+        for (int i = 0; i < 2; i++) {
+            filter.filter(request, req -> {
+                calls.incrementAndGet();
+                return Mono.just(ClientResponse.create(HttpStatus.SERVICE_UNAVAILABLE).build());
+            }).block();
+        }
+
+        DownstreamRejectedException rejected = assertThrows(DownstreamRejectedException.class,
+                () -> filter.filter(request, req -> {
+                    calls.incrementAndGet();
+                    return Mono.just(ClientResponse.create(HttpStatus.OK).build());
+                }).block());
+        assertEquals(2, calls.get());
+        assertTrue(rejected.getRetryAfter().compareTo(Duration.ofSeconds(29)) > 0);
+        assertEquals(0, filter.getLimiter().getInFlight());
+    }
+
+    @Test
+    @DisplayName("should fail a call that misses its deadline and release its slot")
+    public void givenSlowDownstream_whenDeadlinePasses_thenTimesOut() {
+        ResilienceFilter filter = filter(10, 10);
+
+        Exception e = assertThrows(Exception.class, () -> filter.filter(request, req -> Mono.never()).block());
+
+        assertInstanceOf(TimeoutException.class, e.getCause());
+        assertEquals(0, filter.getLimiter().getInFlight());
+        assertEquals(9, filter.getLimiter().getLimit());
+    }
+
+    @Test
+    @DisplayName("should reject calls beyond the concurrency limit with a short Retry-After")
+    public void givenLimitReached_whenFilter_thenRejects() {
+        ResilienceFilter filter = filter(1, 10);
+        filter.filter(request, req -> Mono.never()).subscribe();
+
+        DownstreamRejectedException rejected = assertThrows(DownstreamRejectedException.class,
+                () -> filter.filter(request, req -> Mono.just(ClientResponse.create(HttpStatus.OK).build())).block());
+
+        assertEquals(Duration.ofSeconds(1), rejected.getRetryAfter());
+    }
+}
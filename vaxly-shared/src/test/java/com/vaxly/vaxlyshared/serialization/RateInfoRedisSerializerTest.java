@@ -0,0 +1,90 @@
+package com.vaxly.vaxlyshared.serialization;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.vaxly.vaxlyshared.dtos.RateInfoDto;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.data.redis.serializer.SerializationException;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class RateInfoRedisSerializerTest {
+
+    private final RateInfoRedisSerializer serializer = new RateInfoRedisSerializer(RateInfoRedisSerializer.Format.BINARY);
+
+    private final Instant DEFAULT_TIMESTAMP = Instant.parse("2025-10-01T12:30:45.123Z");
+
+    @Test
+    @DisplayName("serialize() and deserialize() round-trip every field")
+    public void givenRate_whenRoundTrip_thenFieldsPreserved() {
+        RateInfoDto rate = new RateInfoDto("exchangerate-api", DEFAULT_TIMESTAMP, 0.9214, "USD_EUR");
+
+        byte[] bytes = serializer.serialize(rate);
+        RateInfoDto decoded = serializer.deserialize(bytes);
+
+        assertEquals(RateInfoRedisSerializer.VERSION_1, bytes[0]);
+        assertTrue(bytes.length < 48);
+        assertEquals("exchangerate-api", decoded.getSource());
+        assertEquals(DEFAULT_TIMESTAMP, decoded.getTimestamp());
+        assertEquals(0.9214, decoded.getRate());
+        assertEquals("USD_EUR", decoded.getCurrencyPair());
+    }
+
+    @Test
+    @DisplayName("serialize() keeps missing fields missing")
+    public void givenNullFields_whenRoundTrip_thenNullsPreserved() {
+        RateInfoDto decoded = serializer.deserialize(serializer.serialize(new RateInfoDto(null, null, 1.5, null)));
+
+        assertNull(decoded.getSource());
+        assertNull(decoded.getTimestamp());
+        assertNull(decoded.getCurrencyPair());
+        assertEquals(1.5, decoded.getRate());
+    }
+
+    @Test
+    @DisplayName("serialize() writes the JSON earlier releases read by default")
+    public void givenDefaultFormat_whenSerialize_thenWritesLegacyJson() throws Exception {
+        RateInfoDto rate = new RateInfoDto("exchangerate-api", DEFAULT_TIMESTAMP, 0.9214, "USD_EUR");
+
+        byte[] bytes = new RateInfoRedisSerializer().serialize(rate);
+        JsonNode json = new ObjectMapper().readTree(bytes);
+        RateInfoDto decoded = serializer.deserialize(bytes);
+
+        assertEquals("exchangerate-api", json.get("source").asText());
+        assertEquals("2025-10-01T12:30:45.123Z", json.get("timestamp").asText());
+        assertEquals(0.9214, json.get("rate").asDouble());
+        assertEquals("USD_EUR", json.get("currencyPair").asText());
+        assertEquals(DEFAULT_TIMESTAMP, decoded.getTimestamp());
+        assertEquals(0.9214, decoded.getRate());
+    }
+
+    @Test
+    @DisplayName("deserialize() reads JSON values written by earlier releases")
+    public void givenLegacyJson_whenDeserialize_thenReadsRate() {
+        String isoTimestamp = "{\"source\":\"api\",\"timestamp\":\"2025-10-01T12:30:45.123Z\",\"rate\":0.92,\"currencyPair\":\"USD_EUR\"}";
+        String numericTimestamp = " {\"source\":\"api\",\"timestamp\":1759321845.123000000,\"rate\":0.92,\"currencyPair\":\"USD_EUR\"}";
+
+        RateInfoDto fromIso = serializer.deserialize(isoTimestamp.getBytes(StandardCharsets.UTF_8));
+        RateInfoDto fromNumber = serializer.deserialize(numericTimestamp.getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(DEFAULT_TIMESTAMP, fromIso.getTimestamp());
+        assertEquals(DEFAULT_TIMESTAMP, fromNumber.getTimestamp());
+        assertEquals(0.92, fromNumber.getRate());
+        assertEquals("USD_EUR", fromNumber.getCurrencyPair());
+    }
+
+    @Test
+    @DisplayName("deserialize() rejects unknown versions and truncated values")
+    public void givenInvalidBytes_whenDeserialize_thenThrows() {
+        byte[] valid = serializer.serialize(new RateInfoDto("api", DEFAULT_TIMESTAMP, 0.92, "USD_EUR"));
+
+        assertThrows(SerializationException.class, () -> serializer.deserialize(new byte[]{0x7f, 0, 0}));
+        assertThrows(SerializationException.class, () -> serializer.deserialize(Arrays.copyOf(valid, valid.length - 2)));
+        assertNull(serializer.deserialize(new byte[0]));
+    }
+}
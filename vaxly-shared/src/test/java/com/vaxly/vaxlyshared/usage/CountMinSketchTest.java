@@ -0,0 +1,50 @@
+package com.vaxly.vaxlyshared.usage;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class CountMinSketchTest {
+
+    @Test
+    @DisplayName("estimate() never undercounts, even with many colliding keys")
+    public void givenManyKeys_whenEstimate_thenNeverUndercounts() {
+        CountMinSketch sketch = new CountMinSketch(4, 256);
+        for (int i = 0; i < 5_000; i++) {
+            sketch.add("JUNK_" + i, 1);
+        }
+        sketch.add("USD_EUR", 1_000);
+
+        assertTrue(sketch.estimate("USD_EUR") >= 1_000);
+        assertTrue(sketch.estimate("USD_EUR") < 1_200);
+    }
+
+    @Test
+    @DisplayName("merge() sums counters from sketches built independently")
+    public void givenTwoSketches_whenMerge_thenEstimatesAreSummed() {
+        CountMinSketch first = new CountMinSketch(4, 1024);
+        CountMinSketch second = new CountMinSketch(4, 1024);
+        first.add("USD_EUR", 3);
+        second.add("USD_EUR", 4);
+        second.add("GBP_JPY", 2);
+
+        first.merge(second);
+
+        assertEquals(7, first.estimate("USD_EUR"));
+        assertEquals(2, first.estimate("GBP_JPY"));
+    }
+
+    @Test
+    @DisplayName("cells() depends only on the key and dimensions")
+    public void whenCells_thenStableAcrossInstances() {
+        assertArrayEquals(new CountMinSketch(4, 2048).cells("USD_EUR"), CountMinSketch.cells("USD_EUR", 4, 2048));
+    }
+
+    @Test
+    @DisplayName("merge() rejects sketches of different dimensions")
+    public void givenDifferentDimensions_whenMerge_thenThrows() {
+        assertThrows(IllegalArgumentException.class,
+                () -> new CountMinSketch(4, 1024).merge(new CountMinSketch(2, 1024)));
+    }
+}
@@ -3,6 +3,7 @@ package com.vaxly.workerservice.workerservice.service;
 import com.vaxly.vaxlyshared.aws.AwsCognitoTokenProvider;
 import com.vaxly.vaxlyshared.constants.RedisKeys;
 import com.vaxly.vaxlyshared.dtos.RateInfoDto;
+import com.vaxly.vaxlyshared.service.RateUpdatePublisher;
 import com.vaxly.vaxlyshared.service.SqsMessageHandler;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
@@ -22,13 +23,15 @@ public class SqsConsumerHandler implements SqsMessageHandler {
     private RedisTemplate<String, RateInfoDto> redisTemplate;
     private final AwsCognitoTokenProvider tokenProvider;
     private final WebClient webClient;
+    private final RateUpdatePublisher rateUpdatePublisher;
 
     private static final Logger logger = LoggerFactory.getLogger(SqsConsumerHandler.class);
 
-    public SqsConsumerHandler(RedisTemplate<String, RateInfoDto> redisTemplate, AwsCognitoTokenProvider tokenProvider, WebClient webClient) {
+    public SqsConsumerHandler(RedisTemplate<String, RateInfoDto> redisTemplate, AwsCognitoTokenProvider tokenProvider, WebClient webClient, RateUpdatePublisher rateUpdatePublisher) {
         this.redisTemplate = redisTemplate;
         this.tokenProvider = tokenProvider;
         this.webClient = webClient;
+        this.rateUpdatePublisher = rateUpdatePublisher;
     }
 
     @Override
@@ -58,6 +61,8 @@ public class SqsConsumerHandler implements SqsMessageHandler {
             try {
                 String key = RedisKeys.rateKey(rate.getCurrencyPair());
                 redisTemplate.opsForValue().set(key, rate);
+                // Let conversion-service instances drop their in-process copy of this pair and push it to streams
+                rateUpdatePublisher.publish(rate);
             } catch (Exception e) {
                 logger.error("Failed to write rate {} to Redis", rate, e);
             }